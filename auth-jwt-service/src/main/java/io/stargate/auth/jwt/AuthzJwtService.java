@@ -34,6 +34,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 import java.util.regex.Pattern;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -75,6 +76,35 @@ public class AuthzJwtService implements AuthorizationService {
     return result.withRowInspector(row -> hasCorrectClaims(stargateClaims, row));
   }
 
+  /**
+   * Using the provided JWT and the claims it contains will perform pre-authorization where
+   * possible, starts the query provided, and then authorizes the response of the query once it
+   * completes.
+   *
+   * <p>{@inheritdoc}
+   */
+  @Override
+  public CompletionStage<ResultSet> authorizedAsyncDataRead(
+      Callable<CompletionStage<ResultSet>> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI)
+      throws Exception {
+    JSONObject stargateClaims = extractClaimsFromJWT(authenticationSubject.token());
+
+    preCheckDataReadWrite(stargateClaims, typedKeyValues);
+
+    return action
+        .call()
+        .thenApply(
+            result ->
+                null == result
+                    ? null
+                    : result.withRowInspector(row -> hasCorrectClaims(stargateClaims, row)));
+  }
+
   @VisibleForTesting
   static boolean hasCorrectClaims(JSONObject stargateClaims, io.stargate.db.datastore.Row row) {
     if (row == null) {
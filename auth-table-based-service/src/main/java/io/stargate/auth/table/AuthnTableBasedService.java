@@ -21,8 +21,10 @@ import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.db.Authenticator.SaslNegotiator;
 import io.stargate.db.ClientInfo;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.DataStoreFactory;
+import io.stargate.db.datastore.DataStoreOptions;
 import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.datastore.Row;
 import io.stargate.db.query.Predicate;
@@ -52,7 +54,10 @@ public class AuthnTableBasedService implements AuthenticationService {
       Boolean.parseBoolean(System.getProperty("stargate.auth_tablebased_init", "true"));
 
   public void setDataStoreFactory(DataStoreFactory dataStoreFactory) {
-    this.dataStore = dataStoreFactory.createInternal();
+    // token lookups must not wait behind the bulk requests
+    this.dataStore =
+        dataStoreFactory.createInternal(
+            DataStoreOptions.defaultsWithPriority(RequestPriority.SYSTEM));
 
     if (shouldInitializeAuthKeyspace) {
       initAuthTable(this.dataStore);
@@ -25,6 +25,7 @@ import io.stargate.auth.entity.ResourceKind;
 import io.stargate.db.datastore.ResultSet;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
 
 public class AuthzTableBasedService implements AuthorizationService {
 
@@ -47,6 +48,25 @@ public class AuthzTableBasedService implements AuthorizationService {
     return action.call();
   }
 
+  /**
+   * Authorization for data access is not provided by table based tokens so all authorization will
+   * be deferred to the underlying permissions assigned to the role the token maps to.
+   *
+   * <p>{@inheritdoc}
+   */
+  @Override
+  public CompletionStage<ResultSet> authorizedAsyncDataRead(
+      Callable<CompletionStage<ResultSet>> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI)
+      throws Exception {
+    // Cannot perform authorization with a table based token so just return
+    return action.call();
+  }
+
   /**
    * Authorization for data access is not provided by table based tokens so all authorization will
    * be deferred to the underlying permissions assigned to the role the token maps to.
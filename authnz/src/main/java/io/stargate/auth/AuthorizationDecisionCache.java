@@ -0,0 +1,225 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of positive authorization decisions.
+ *
+ * <p>Only successful decisions are cached, a denied request is always re-evaluated by the
+ * underlying {@link AuthorizationService}. Entries are keyed by the subject (token and role), the
+ * keyspace, the table, the {@link Scope} and the {@link SourceAPI}, and expire after a fixed TTL.
+ * Role and grant changes should call {@link #invalidateAll()} once applied, so that revoked
+ * permissions take effect immediately.
+ *
+ * <p>Every invalidation bumps a generation counter, and a decision is only cached (and then only
+ * valid) for the generation that was current when its authorization started. This way an
+ * authorization that runs concurrently with a revocation cannot cache the revoked permission.
+ *
+ * <p>A single {@link #shared() shared} instance is used by all API layers and persistence backends
+ * running in the same Stargate node.
+ */
+public class AuthorizationDecisionCache {
+
+  private static final long TTL_MILLIS =
+      Long.getLong("stargate.auth.authorization_cache.ttl_ms", 2000);
+
+  private static final int MAX_SIZE =
+      Integer.getInteger("stargate.auth.authorization_cache.max_size", 10000);
+
+  private static final AuthorizationDecisionCache SHARED =
+      new AuthorizationDecisionCache(TTL_MILLIS, MAX_SIZE);
+
+  private final Map<Key, Decision> decisions = new ConcurrentHashMap<>();
+
+  private final AtomicLong generation = new AtomicLong();
+
+  private final long ttlNanos;
+
+  private final int maxSize;
+
+  private final LongSupplier nanoClock;
+
+  public AuthorizationDecisionCache(long ttlMillis, int maxSize) {
+    this(ttlMillis, maxSize, System::nanoTime);
+  }
+
+  AuthorizationDecisionCache(long ttlMillis, int maxSize, LongSupplier nanoClock) {
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.maxSize = maxSize;
+    this.nanoClock = nanoClock;
+  }
+
+  /** @return The cache shared by all the components of this node. */
+  public static AuthorizationDecisionCache shared() {
+    return SHARED;
+  }
+
+  /** @return If this cache stores any decisions, {@code false} if the TTL is zero or less. */
+  public boolean isEnabled() {
+    return ttlNanos > 0 && maxSize > 0;
+  }
+
+  /**
+   * Runs the given authorization only if there is no valid positive decision for the same
+   * arguments. If the authorization does not throw, the decision is cached.
+   *
+   * @param subject the authenticated subject
+   * @param keyspace the keyspace
+   * @param table the table, can be {@code null}
+   * @param scope the scope
+   * @param sourceAPI the source API
+   * @param authorization the authorization to run on a cache miss
+   * @throws UnauthorizedException if the authorization fails
+   */
+  public void authorize(
+      AuthenticationSubject subject,
+      String keyspace,
+      String table,
+      Scope scope,
+      SourceAPI sourceAPI,
+      Authorization authorization)
+      throws UnauthorizedException {
+    if (!isEnabled()) {
+      authorization.authorize();
+      return;
+    }
+
+    Key key = new Key(subject.token(), subject.roleName(), keyspace, table, scope, sourceAPI);
+    // read before authorizing, so that a concurrent invalidation voids this decision
+    long currentGeneration = generation.get();
+    long now = nanoClock.getAsLong();
+    Decision decision = decisions.get(key);
+    if (null != decision && decision.isValid(currentGeneration, now)) {
+      return;
+    }
+
+    authorization.authorize();
+
+    if (generation.get() != currentGeneration) {
+      return;
+    }
+    if (decisions.size() >= maxSize) {
+      evictExpired(now);
+      if (decisions.size() >= maxSize) {
+        decisions.clear();
+      }
+    }
+    decisions.put(key, new Decision(currentGeneration, now + ttlNanos));
+  }
+
+  /**
+   * Removes all cached decisions of the given subject token.
+   *
+   * <p>Unlike {@link #invalidateAll()}, this does not void the decisions being computed
+   * concurrently, the token is expected to fail authentication from now on.
+   */
+  public void invalidate(String token) {
+    decisions.keySet().removeIf(key -> Objects.equals(key.token, token));
+  }
+
+  /** Removes all cached decisions, to be called once a role or grant change is applied. */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    decisions.clear();
+  }
+
+  /** @return The number of cached decisions, including the expired ones not evicted yet. */
+  int size() {
+    return decisions.size();
+  }
+
+  private void evictExpired(long now) {
+    Iterator<Decision> iterator = decisions.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().expiresAt - now <= 0) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /** An authorization call that can be skipped on a cache hit. */
+  @FunctionalInterface
+  public interface Authorization {
+    void authorize() throws UnauthorizedException;
+  }
+
+  private static final class Decision {
+    private final long generation;
+    private final long expiresAt;
+
+    private Decision(long generation, long expiresAt) {
+      this.generation = generation;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isValid(long currentGeneration, long now) {
+      return generation == currentGeneration && expiresAt - now > 0;
+    }
+  }
+
+  private static final class Key {
+    private final String token;
+    private final String roleName;
+    private final String keyspace;
+    private final String table;
+    private final Scope scope;
+    private final SourceAPI sourceAPI;
+    private final int hash;
+
+    private Key(
+        String token,
+        String roleName,
+        String keyspace,
+        String table,
+        Scope scope,
+        SourceAPI sourceAPI) {
+      this.token = token;
+      this.roleName = roleName;
+      this.keyspace = keyspace;
+      this.table = table;
+      this.scope = scope;
+      this.sourceAPI = sourceAPI;
+      this.hash = Objects.hash(token, roleName, keyspace, table, scope, sourceAPI);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key that = (Key) o;
+      return hash == that.hash
+          && scope == that.scope
+          && sourceAPI == that.sourceAPI
+          && Objects.equals(token, that.token)
+          && Objects.equals(roleName, that.roleName)
+          && Objects.equals(keyspace, that.keyspace)
+          && Objects.equals(table, that.table);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
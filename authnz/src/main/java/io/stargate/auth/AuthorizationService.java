@@ -19,6 +19,8 @@ import io.stargate.auth.entity.ResourceKind;
 import io.stargate.db.datastore.ResultSet;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public interface AuthorizationService {
 
@@ -46,6 +48,45 @@ public interface AuthorizationService {
       SourceAPI sourceAPI)
       throws Exception;
 
+  /**
+   * Non-blocking variant of {@link #authorizedDataRead(Callable, AuthenticationSubject, String,
+   * String, List, SourceAPI)}, where the action starts the query and returns the stage of its
+   * result. Pre-authorization failures are thrown directly, the authorization of the response is
+   * applied once the stage completes.
+   *
+   * <p>The default implementation waits for the query within {@link #authorizedDataRead(Callable,
+   * AuthenticationSubject, String, String, List, SourceAPI)}, which is correct for any
+   * implementation but blocks the calling thread.
+   *
+   * @param action The action starting the query to be executed and authorized against a token.
+   * @param authenticationSubject The authenticated user to use for authorization.
+   * @param keyspace The keyspace containing the table with data to be read.
+   * @param table The table within the provided keyspace containing the data to be read.
+   * @param typedKeyValues A list of {@link TypedKeyValue} that will be used in the query and should
+   *     be authorized against the token.
+   * @param sourceAPI The source api which calls this method.
+   * @return The stage of the authorized result of the query.
+   * @throws Exception An exception relating to the failure to authorize.
+   */
+  default CompletionStage<ResultSet> authorizedAsyncDataRead(
+      Callable<CompletionStage<ResultSet>> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI)
+      throws Exception {
+    ResultSet result =
+        authorizedDataRead(
+            () -> action.call().toCompletableFuture().get(),
+            authenticationSubject,
+            keyspace,
+            table,
+            typedKeyValues,
+            sourceAPI);
+    return CompletableFuture.completedFuture(result);
+  }
+
   /**
    * Using the provided token will perform pre-authorization and if not successful throws an
    * exception. Intended to be used when the keys for the query are not readily accessible or when a
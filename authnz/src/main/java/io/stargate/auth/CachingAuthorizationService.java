@@ -0,0 +1,210 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth;
+
+import io.stargate.auth.entity.ResourceKind;
+import io.stargate.db.datastore.ResultSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link AuthorizationService} that consults an {@link AuthorizationDecisionCache} before
+ * delegating the table-level data authorizations.
+ *
+ * <p>Only {@link #authorizeDataRead(AuthenticationSubject, String, String, SourceAPI)} and {@link
+ * #authorizeDataWrite(AuthenticationSubject, String, String, Scope, SourceAPI)} are cached, as
+ * their outcome depends only on the subject and the target table. All other calls are delegated
+ * as-is.
+ *
+ * <p>Role and permission management authorizations do not invalidate the cache, as they only
+ * precede the change. The cache is invalidated by the persistence query handler once the role or
+ * grant statement has been executed.
+ */
+public class CachingAuthorizationService implements AuthorizationService {
+
+  private final AuthorizationService delegate;
+
+  private final AuthorizationDecisionCache cache;
+
+  public CachingAuthorizationService(
+      AuthorizationService delegate, AuthorizationDecisionCache cache) {
+    this.delegate = delegate;
+    this.cache = cache;
+  }
+
+  /**
+   * Wraps the given service with the {@link AuthorizationDecisionCache#shared() shared} decision
+   * cache. Returns the given service if it's {@code null}, already wrapped or if the cache is
+   * disabled.
+   */
+  public static AuthorizationService wrap(AuthorizationService authorizationService) {
+    AuthorizationDecisionCache cache = AuthorizationDecisionCache.shared();
+    if (null == authorizationService
+        || authorizationService instanceof CachingAuthorizationService
+        || !cache.isEnabled()) {
+      return authorizationService;
+    }
+    return new CachingAuthorizationService(authorizationService, cache);
+  }
+
+  public AuthorizationService getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public ResultSet authorizedDataRead(
+      Callable<ResultSet> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI)
+      throws Exception {
+    return delegate.authorizedDataRead(
+        action, authenticationSubject, keyspace, table, typedKeyValues, sourceAPI);
+  }
+
+  @Override
+  public CompletionStage<ResultSet> authorizedAsyncDataRead(
+      Callable<CompletionStage<ResultSet>> action,
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      SourceAPI sourceAPI)
+      throws Exception {
+    return delegate.authorizedAsyncDataRead(
+        action, authenticationSubject, keyspace, table, typedKeyValues, sourceAPI);
+  }
+
+  @Override
+  public void authorizeDataRead(
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    cache.authorize(
+        authenticationSubject,
+        keyspace,
+        table,
+        Scope.SELECT,
+        sourceAPI,
+        () -> delegate.authorizeDataRead(authenticationSubject, keyspace, table, sourceAPI));
+  }
+
+  @Override
+  public void authorizeDataWrite(
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      Scope scope,
+      SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    cache.authorize(
+        authenticationSubject,
+        keyspace,
+        table,
+        scope,
+        sourceAPI,
+        () ->
+            delegate.authorizeDataWrite(authenticationSubject, keyspace, table, scope, sourceAPI));
+  }
+
+  @Override
+  public void authorizeDataWrite(
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      List<TypedKeyValue> typedKeyValues,
+      Scope scope,
+      SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    // outcome can depend on the keys, never cached
+    delegate.authorizeDataWrite(
+        authenticationSubject, keyspace, table, typedKeyValues, scope, sourceAPI);
+  }
+
+  @Override
+  public void authorizeSchemaRead(
+      AuthenticationSubject authenticationSubject,
+      List<String> keyspaceNames,
+      List<String> tableNames,
+      SourceAPI sourceAPI,
+      ResourceKind resource)
+      throws UnauthorizedException {
+    delegate.authorizeSchemaRead(
+        authenticationSubject, keyspaceNames, tableNames, sourceAPI, resource);
+  }
+
+  @Override
+  public void authorizeSchemaWrite(
+      AuthenticationSubject authenticationSubject,
+      String keyspace,
+      String table,
+      Scope scope,
+      SourceAPI sourceAPI,
+      ResourceKind resource)
+      throws UnauthorizedException {
+    delegate.authorizeSchemaWrite(
+        authenticationSubject, keyspace, table, scope, sourceAPI, resource);
+  }
+
+  @Override
+  public void authorizeRoleManagement(
+      AuthenticationSubject authenticationSubject, String role, Scope scope, SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    delegate.authorizeRoleManagement(authenticationSubject, role, scope, sourceAPI);
+  }
+
+  @Override
+  public void authorizeRoleManagement(
+      AuthenticationSubject authenticationSubject,
+      String role,
+      String grantee,
+      Scope scope,
+      SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    delegate.authorizeRoleManagement(authenticationSubject, role, grantee, scope, sourceAPI);
+  }
+
+  @Override
+  public void authorizeRoleRead(
+      AuthenticationSubject authenticationSubject, String role, SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    delegate.authorizeRoleRead(authenticationSubject, role, sourceAPI);
+  }
+
+  @Override
+  public void authorizePermissionManagement(
+      AuthenticationSubject authenticationSubject,
+      String resource,
+      String grantee,
+      Scope scope,
+      SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    delegate.authorizePermissionManagement(
+        authenticationSubject, resource, grantee, scope, sourceAPI);
+  }
+
+  @Override
+  public void authorizePermissionRead(
+      AuthenticationSubject authenticationSubject, String role, SourceAPI sourceAPI)
+      throws UnauthorizedException {
+    delegate.authorizePermissionRead(authenticationSubject, role, sourceAPI);
+  }
+}
@@ -13,19 +13,24 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.stargate.config.store.yaml.metrics;
+package io.stargate.auth;
 
-import com.codahale.metrics.MetricRegistry;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
 
-public class MetricsHelper {
+/** The table-level access a data statement needs to be authorized for. */
+@Value.Immutable
+public interface DataAccess {
 
-  public static Number getMetricValue(MetricRegistry metricRegistry, String metricName) {
-    return (Number)
-        metricRegistry.getGauges().entrySet().stream()
-            .filter(v -> v.getKey().contains(metricName))
-            .findFirst()
-            .get()
-            .getValue()
-            .getValue();
+  @Nullable
+  String keyspace();
+
+  @Nullable
+  String table();
+
+  Scope scope();
+
+  static DataAccess of(String keyspace, String table, Scope scope) {
+    return ImmutableDataAccess.builder().keyspace(keyspace).table(table).scope(scope).build();
   }
 }
@@ -20,7 +20,8 @@ package io.stargate.auth;
 public enum SourceAPI {
   GRAPHQL("graphql"),
   CQL("cql"),
-  REST("rest");
+  REST("rest"),
+  GRPC("grpc");
 
   private final String name;
 
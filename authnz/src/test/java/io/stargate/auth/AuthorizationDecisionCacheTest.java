@@ -0,0 +1,186 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class AuthorizationDecisionCacheTest {
+
+  private static final AuthenticationSubject SUBJECT = AuthenticationSubject.of("token1", "role1");
+  private static final AuthenticationSubject OTHER_SUBJECT =
+      AuthenticationSubject.of("token2", "role2");
+
+  private long now;
+
+  private int calls;
+
+  private AuthorizationDecisionCache cache(long ttlMillis, int maxSize) {
+    return new AuthorizationDecisionCache(ttlMillis, maxSize, () -> now);
+  }
+
+  private void authorize(
+      AuthorizationDecisionCache cache, AuthenticationSubject subject, String table)
+      throws UnauthorizedException {
+    cache.authorize(subject, "ks", table, Scope.SELECT, SourceAPI.REST, () -> calls++);
+  }
+
+  @Test
+  public void hitWithinTtl() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 10);
+
+    authorize(cache, SUBJECT, "tbl");
+    now += TimeUnit.MILLISECONDS.toNanos(999);
+    authorize(cache, SUBJECT, "tbl");
+
+    assertThat(calls).isEqualTo(1);
+  }
+
+  @Test
+  public void expiresAfterTtl() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 10);
+
+    authorize(cache, SUBJECT, "tbl");
+    now += TimeUnit.MILLISECONDS.toNanos(1000);
+    authorize(cache, SUBJECT, "tbl");
+
+    assertThat(calls).isEqualTo(2);
+  }
+
+  @Test
+  public void keyedByArguments() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 10);
+
+    authorize(cache, SUBJECT, "tbl");
+    authorize(cache, OTHER_SUBJECT, "tbl");
+    authorize(cache, SUBJECT, "tbl2");
+    cache.authorize(SUBJECT, "ks", "tbl", Scope.MODIFY, SourceAPI.REST, () -> calls++);
+    cache.authorize(SUBJECT, "ks", "tbl", Scope.SELECT, SourceAPI.GRAPHQL, () -> calls++);
+
+    assertThat(calls).isEqualTo(5);
+  }
+
+  @Test
+  public void failuresNotCached() {
+    AuthorizationDecisionCache cache = cache(1000, 10);
+    AuthorizationDecisionCache.Authorization denied =
+        () -> {
+          calls++;
+          throw new UnauthorizedException("denied");
+        };
+
+    assertThrows(
+        UnauthorizedException.class,
+        () -> cache.authorize(SUBJECT, "ks", "tbl", Scope.SELECT, SourceAPI.REST, denied));
+    assertThrows(
+        UnauthorizedException.class,
+        () -> cache.authorize(SUBJECT, "ks", "tbl", Scope.SELECT, SourceAPI.REST, denied));
+
+    assertThat(calls).isEqualTo(2);
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void invalidateToken() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 10);
+    authorize(cache, SUBJECT, "tbl");
+    authorize(cache, OTHER_SUBJECT, "tbl");
+
+    cache.invalidate(SUBJECT.token());
+    authorize(cache, SUBJECT, "tbl");
+    authorize(cache, OTHER_SUBJECT, "tbl");
+
+    assertThat(calls).isEqualTo(3);
+  }
+
+  @Test
+  public void invalidateAll() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 10);
+    authorize(cache, SUBJECT, "tbl");
+    authorize(cache, OTHER_SUBJECT, "tbl");
+
+    cache.invalidateAll();
+    authorize(cache, SUBJECT, "tbl");
+    authorize(cache, OTHER_SUBJECT, "tbl");
+
+    assertThat(calls).isEqualTo(4);
+  }
+
+  @Test
+  public void invalidateAllDuringAuthorization() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 10);
+
+    // the grant is revoked while the (positive) authorization is in progress
+    cache.authorize(
+        SUBJECT,
+        "ks",
+        "tbl",
+        Scope.SELECT,
+        SourceAPI.REST,
+        () -> {
+          calls++;
+          cache.invalidateAll();
+        });
+    authorize(cache, SUBJECT, "tbl");
+
+    assertThat(calls).isEqualTo(2);
+  }
+
+  @Test
+  public void evictsExpiredWhenFull() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 2);
+    authorize(cache, SUBJECT, "tbl1");
+    now += TimeUnit.MILLISECONDS.toNanos(500);
+    authorize(cache, SUBJECT, "tbl2");
+    now += TimeUnit.MILLISECONDS.toNanos(600);
+
+    // tbl1 has expired and makes room for tbl3
+    authorize(cache, SUBJECT, "tbl3");
+    assertThat(cache.size()).isEqualTo(2);
+
+    authorize(cache, SUBJECT, "tbl2");
+    assertThat(calls).isEqualTo(3);
+  }
+
+  @Test
+  public void clearsWhenFullOfValidDecisions() throws Exception {
+    AuthorizationDecisionCache cache = cache(1000, 2);
+    authorize(cache, SUBJECT, "tbl1");
+    authorize(cache, SUBJECT, "tbl2");
+
+    authorize(cache, SUBJECT, "tbl3");
+    assertThat(cache.size()).isEqualTo(1);
+
+    authorize(cache, SUBJECT, "tbl3");
+    authorize(cache, SUBJECT, "tbl1");
+    assertThat(calls).isEqualTo(4);
+  }
+
+  @Test
+  public void disabled() throws Exception {
+    AuthorizationDecisionCache cache = cache(0, 10);
+
+    authorize(cache, SUBJECT, "tbl");
+    authorize(cache, SUBJECT, "tbl");
+
+    assertThat(cache.isEnabled()).isFalse();
+    assertThat(calls).isEqualTo(2);
+    assertThat(cache.size()).isZero();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.auth;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingAuthorizationServiceTest {
+
+  private static final AuthenticationSubject SUBJECT = AuthenticationSubject.of("token1", "role1");
+
+  private AuthorizationService delegate;
+
+  private AuthorizationDecisionCache cache;
+
+  private CachingAuthorizationService service;
+
+  @BeforeEach
+  public void setup() {
+    delegate = mock(AuthorizationService.class);
+    cache = new AuthorizationDecisionCache(60_000, 100);
+    service = new CachingAuthorizationService(delegate, cache);
+  }
+
+  @Test
+  public void cachesDataRead() throws Exception {
+    service.authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+    service.authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+
+    verify(delegate, times(1)).authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+  }
+
+  @Test
+  public void cachesDataWrite() throws Exception {
+    service.authorizeDataWrite(SUBJECT, "ks", "tbl", Scope.MODIFY, SourceAPI.REST);
+    service.authorizeDataWrite(SUBJECT, "ks", "tbl", Scope.MODIFY, SourceAPI.REST);
+    service.authorizeDataWrite(SUBJECT, "ks", "tbl", Scope.DELETE, SourceAPI.REST);
+
+    verify(delegate, times(1))
+        .authorizeDataWrite(SUBJECT, "ks", "tbl", Scope.MODIFY, SourceAPI.REST);
+    verify(delegate, times(1))
+        .authorizeDataWrite(SUBJECT, "ks", "tbl", Scope.DELETE, SourceAPI.REST);
+  }
+
+  @Test
+  public void doesNotCacheDenied() throws Exception {
+    doThrow(new UnauthorizedException("denied"))
+        .when(delegate)
+        .authorizeDataRead(any(), anyString(), anyString(), any());
+
+    assertThrows(
+        UnauthorizedException.class,
+        () -> service.authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST));
+    assertThrows(
+        UnauthorizedException.class,
+        () -> service.authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST));
+
+    verify(delegate, times(2)).authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+  }
+
+  @Test
+  public void doesNotCacheKeyedDataWrite() throws Exception {
+    List<TypedKeyValue> keys = Collections.emptyList();
+
+    service.authorizeDataWrite(SUBJECT, "ks", "tbl", keys, Scope.MODIFY, SourceAPI.REST);
+    service.authorizeDataWrite(SUBJECT, "ks", "tbl", keys, Scope.MODIFY, SourceAPI.REST);
+
+    verify(delegate, times(2))
+        .authorizeDataWrite(SUBJECT, "ks", "tbl", keys, Scope.MODIFY, SourceAPI.REST);
+  }
+
+  @Test
+  public void invalidatedOnceChangeIsApplied() throws Exception {
+    service.authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+
+    // authorizing a grant change does not apply it yet, so the cache is kept
+    service.authorizePermissionManagement(SUBJECT, "ks", "role2", Scope.AUTHORIZE, SourceAPI.REST);
+    service.authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+    verify(delegate, times(1)).authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+
+    // the query handler invalidates the cache once the change is executed
+    cache.invalidateAll();
+    service.authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+    verify(delegate, times(2)).authorizeDataRead(SUBJECT, "ks", "tbl", SourceAPI.REST);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.benchmarks;
+
+import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.AuthorizationDecisionCache;
+import io.stargate.auth.Scope;
+import io.stargate.auth.SourceAPI;
+import io.stargate.auth.UnauthorizedException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Authorization of a data read with and without the {@link AuthorizationDecisionCache}.
+ *
+ * <p>The cost of the delegate authorization (a role and permissions lookup in the real services)
+ * is simulated with {@link Blackhole#consumeCPU(long)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(4)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class AuthorizationDecisionCacheBenchmark {
+
+  private static final AuthenticationSubject SUBJECT = AuthenticationSubject.of("token", "role");
+
+  @Param({"0", "1000"})
+  public long authorizationTokens;
+
+  private final AuthorizationDecisionCache cache = new AuthorizationDecisionCache(60_000, 10_000);
+
+  private final AuthorizationDecisionCache disabled = new AuthorizationDecisionCache(0, 10_000);
+
+  private void authorize() throws UnauthorizedException {
+    Blackhole.consumeCPU(authorizationTokens);
+  }
+
+  @Benchmark
+  public void cached() throws UnauthorizedException {
+    cache.authorize(SUBJECT, "ks", "tbl", Scope.SELECT, SourceAPI.REST, this::authorize);
+  }
+
+  @Benchmark
+  public void uncached() throws UnauthorizedException {
+    disabled.authorize(SUBJECT, "ks", "tbl", Scope.SELECT, SourceAPI.REST, this::authorize);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.benchmarks;
+
+import com.bpodgursky.jbool_expressions.And;
+import com.bpodgursky.jbool_expressions.Or;
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.service.query.FilterExpression;
+import io.stargate.web.docsapi.service.query.ImmutableFilterExpression;
+import io.stargate.web.docsapi.service.query.ImmutableFilterPath;
+import io.stargate.web.docsapi.service.query.condition.impl.ImmutableNumberCondition;
+import io.stargate.web.docsapi.service.query.condition.impl.ImmutableStringCondition;
+import io.stargate.web.docsapi.service.query.eval.CompiledExpression;
+import io.stargate.web.docsapi.service.query.filter.operation.impl.EqFilterOperation;
+import io.stargate.web.docsapi.service.query.filter.operation.impl.GtFilterOperation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * In-memory evaluation of {@code (a EQ x AND b GT y) OR c EQ z} against the rows of a document
+ * with {@code 2 * fields} leaves, as done by the OR and sub-document resolvers for every candidate
+ * document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class CompiledExpressionBenchmark {
+
+  @Param({"10", "100"})
+  public int fields;
+
+  private CompiledExpression expression;
+
+  private List<Row> rows;
+
+  @Setup
+  public void setup() {
+    DocumentRows document = new DocumentRows("doc");
+    for (int i = 0; i < fields; i++) {
+      document.add("value" + i, "field" + i, "nested", "text");
+      document.add(i, "field" + i, "number");
+    }
+    rows = document.rows();
+
+    String last = "field" + (fields - 1);
+    FilterExpression a = filter(0, "other", "field1", "nested", "text");
+    FilterExpression b =
+        ImmutableFilterExpression.of(
+            ImmutableFilterPath.of(Arrays.asList("field2", "number")),
+            ImmutableNumberCondition.of(GtFilterOperation.of(), 100),
+            1);
+    FilterExpression c = filter(2, "value" + (fields - 1), last, "nested", "text");
+    expression = CompiledExpression.compile(Or.of(And.of(a, b), c));
+  }
+
+  private static FilterExpression filter(int orderIndex, String value, String... path) {
+    return ImmutableFilterExpression.of(
+        ImmutableFilterPath.of(Arrays.asList(path)),
+        ImmutableStringCondition.of(EqFilterOperation.of(), value),
+        orderIndex);
+  }
+
+  @Benchmark
+  public boolean test() {
+    return expression.test(rows);
+  }
+}
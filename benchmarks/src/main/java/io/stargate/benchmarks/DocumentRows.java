@@ -0,0 +1,95 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.benchmarks;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import io.stargate.db.datastore.ArrayListBackedRow;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.schema.Column;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.query.QueryConstants;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rows of a document as returned by the persistence for a Docs API collection table: the key, all
+ * the path columns, the leaf, the value columns and the write time of the leaf.
+ */
+class DocumentRows {
+
+  private static final List<Column> COLUMNS = columns();
+
+  private static List<Column> columns() {
+    List<Column> columns = new ArrayList<>();
+    columns.add(Column.create(QueryConstants.KEY_COLUMN_NAME, Column.Type.Text));
+    for (int i = 0; i < DocumentDB.MAX_DEPTH; i++) {
+      columns.add(Column.create(QueryConstants.P_COLUMN_NAME.apply(i), Column.Type.Text));
+    }
+    columns.add(Column.create(QueryConstants.LEAF_COLUMN_NAME, Column.Type.Text));
+    columns.add(Column.create(QueryConstants.STRING_VALUE_COLUMN_NAME, Column.Type.Text));
+    columns.add(Column.create(QueryConstants.DOUBLE_VALUE_COLUMN_NAME, Column.Type.Double));
+    columns.add(Column.create(QueryConstants.BOOLEAN_VALUE_COLUMN_NAME, Column.Type.Boolean));
+    columns.add(Column.create("writetime(leaf)", Column.Type.Bigint));
+    return Collections.unmodifiableList(columns);
+  }
+
+  private final String key;
+
+  private final List<Row> rows = new ArrayList<>();
+
+  DocumentRows(String key) {
+    this.key = key;
+  }
+
+  /** Adds a row with a string value at the given path, the last path element is the leaf. */
+  DocumentRows add(String value, String... path) {
+    return add(value, null, path);
+  }
+
+  /** Adds a row with a number value at the given path, the last path element is the leaf. */
+  DocumentRows add(double value, String... path) {
+    return add(null, value, path);
+  }
+
+  private DocumentRows add(String text, Double number, String... path) {
+    List<ByteBuffer> values = new ArrayList<>(COLUMNS.size());
+    values.add(encode(0, key));
+    for (int i = 0; i < DocumentDB.MAX_DEPTH; i++) {
+      values.add(encode(i + 1, i < path.length ? path[i] : ""));
+    }
+    int leaf = DocumentDB.MAX_DEPTH + 1;
+    values.add(encode(leaf, path[path.length - 1]));
+    values.add(encode(leaf + 1, text));
+    values.add(encode(leaf + 2, number));
+    values.add(null);
+    values.add(encode(leaf + 4, 1L));
+    rows.add(new ArrayListBackedRow(COLUMNS, values, ProtocolVersion.DEFAULT));
+    return this;
+  }
+
+  private static ByteBuffer encode(int column, Object value) {
+    if (null == value) {
+      return null;
+    }
+    return COLUMNS.get(column).type().codec().encode(value, ProtocolVersion.DEFAULT);
+  }
+
+  List<Row> rows() {
+    return rows;
+  }
+}
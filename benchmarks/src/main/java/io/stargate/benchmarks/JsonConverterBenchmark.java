@@ -0,0 +1,75 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.service.DocsApiConfiguration;
+import io.stargate.web.docsapi.service.JsonConverter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of the rows of a document with {@code leaves} leaves into a JSON document, with the
+ * persistence row implementation. Run with {@code -prof gc} for the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class JsonConverterBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int leaves;
+
+  private final JsonConverter converter =
+      new JsonConverter(new ObjectMapper(), DocsApiConfiguration.DEFAULT);
+
+  private List<Row> rows;
+
+  @Setup
+  public void setup() {
+    DocumentRows document = new DocumentRows("doc");
+    for (int i = 0; i < leaves; i++) {
+      String field = "field" + i;
+      if (i % 2 == 0) {
+        document.add("value" + i, field, "nested", "text");
+      } else {
+        document.add(i, field, String.format("[%06d]", i % 10));
+      }
+    }
+    rows = document.rows();
+  }
+
+  @Benchmark
+  public JsonNode convertToJsonDoc() {
+    return converter.convertToJsonDoc(rows, false, false);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import io.stargate.web.docsapi.service.JsonSchemaHandler;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validation of a document against a collection schema, with the compiled schema cached by the
+ * {@link JsonSchemaHandler}, and with the generic validator of the schema factory as before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class JsonSchemaHandlerBenchmark {
+
+  private static final String SCHEMA =
+      "{\"$schema\":\"http://json-schema.org/draft-04/schema#\",\"type\":\"object\","
+          + "\"properties\":{"
+          + "\"name\":{\"type\":\"string\",\"maxLength\":100},"
+          + "\"age\":{\"type\":\"integer\",\"minimum\":0},"
+          + "\"tags\":{\"type\":\"array\",\"items\":{\"type\":\"string\"}},"
+          + "\"address\":{\"type\":\"object\",\"properties\":{"
+          + "\"street\":{\"type\":\"string\"},"
+          + "\"zip\":{\"type\":\"string\",\"pattern\":\"^[0-9]+$\"}},"
+          + "\"required\":[\"street\"]}},"
+          + "\"required\":[\"name\",\"age\"]}";
+
+  private static final String DOCUMENT =
+      "{\"name\":\"Jane\",\"age\":42,\"tags\":[\"a\",\"b\",\"c\"],"
+          + "\"address\":{\"street\":\"Main Street\",\"zip\":\"12345\"}}";
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final JsonSchemaHandler handler = new JsonSchemaHandler(mapper);
+
+  private final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
+
+  private JsonNode schema;
+
+  private JsonNode document;
+
+  @Setup
+  public void setup() throws IOException {
+    schema = mapper.readTree(SCHEMA);
+    document = mapper.readTree(DOCUMENT);
+  }
+
+  @Benchmark
+  public void validateCached() throws ProcessingException {
+    handler.validate(schema, document);
+  }
+
+  @Benchmark
+  public ProcessingReport validateUncached() throws ProcessingException {
+    return schemaFactory.getValidator().validate(schema, document);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.benchmarks;
+
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.google.protobuf.Any;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Result.Flag;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.PreparedMetadata;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.Result.Rows;
+import io.stargate.db.schema.Column;
+import io.stargate.grpc.payload.PayloadHandler;
+import io.stargate.grpc.payload.PayloadHandlers;
+import io.stargate.proto.QueryOuterClass.Payload;
+import io.stargate.proto.QueryOuterClass.QueryParameters;
+import io.stargate.proto.QueryOuterClass.Value;
+import io.stargate.proto.QueryOuterClass.Values;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Binding of the gRPC {@code CQL} payload values and conversion of result pages, over rows of
+ * {@code columns} int columns. Repeated calls for the same prepared statement or result metadata
+ * ID use the cached codec plans.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ValuesHandlerBenchmark {
+
+  private static final ByteBuffer UNSET = ByteBuffer.allocate(0);
+
+  @Param({"10", "100"})
+  public int columns;
+
+  @Param({"100"})
+  public int rows;
+
+  private final PayloadHandler handler = PayloadHandlers.get(Payload.Type.CQL);
+
+  private Prepared prepared;
+
+  private Any payload;
+
+  private Rows page;
+
+  @Setup
+  public void setup() {
+    List<Column> columnList = new ArrayList<>(columns);
+    Values.Builder values = Values.newBuilder();
+    List<ByteBuffer> row = new ArrayList<>(columns);
+    for (int i = 0; i < columns; i++) {
+      Column column = Column.create("c" + i, Column.Type.Int);
+      columnList.add(column);
+      values.addValues(Value.newBuilder().setInt(i));
+      row.add(column.type().codec().encode(i, ProtocolVersion.DEFAULT));
+    }
+
+    ResultMetadata resultMetadata =
+        new ResultMetadata(
+            EnumSet.noneOf(Flag.class), columnList, MD5Digest.compute("resultMetadata"), null);
+    prepared =
+        new Prepared(
+            MD5Digest.compute("statement"),
+            resultMetadata.resultMetadataId,
+            resultMetadata,
+            new PreparedMetadata(EnumSet.noneOf(Flag.class), columnList, null));
+    payload = Any.pack(values.build());
+    page = new Rows(Collections.nCopies(rows, row), resultMetadata);
+  }
+
+  @Benchmark
+  public BoundStatement bindValues() throws Exception {
+    return handler.bindValues(prepared, payload, UNSET);
+  }
+
+  @Benchmark
+  public Any processResult() throws Exception {
+    return handler.processResult(page, QueryParameters.getDefaultInstance());
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.config.store.api;
+
+/**
+ * Notified by a {@link ConfigStore} when the settings of a module change.
+ *
+ * @see ConfigStore#addListener(String, ConfigListener)
+ */
+@FunctionalInterface
+public interface ConfigListener {
+
+  /**
+   * Called with the new settings of the module, after they were published. Stores call listeners
+   * from their own reload thread, implementations should therefore be fast and must not block.
+   *
+   * @param moduleName the module whose settings changed.
+   * @param config the new settings of the module.
+   */
+  void onConfigChanged(String moduleName, ConfigWithOverrides config);
+}
@@ -36,4 +36,21 @@ public interface ConfigStore {
   default ConfigWithOverrides getGlobalConfig() {
     return getConfigForModule("stargate");
   }
+
+  /**
+   * Registers a listener that is notified every time the settings of the given module change, so
+   * that callers can react to changes without polling {@link #getConfigForModule(String)}.
+   *
+   * <p>The listener is not called with the current settings, and it is not called when the module
+   * is removed from the store. Stores whose settings never change do not need to keep the listener,
+   * which is what the default implementation does.
+   */
+  default void addListener(String moduleName, ConfigListener listener) {
+    // no-op
+  }
+
+  /** Unregisters a listener previously passed to {@link #addListener(String, ConfigListener)}. */
+  default void removeListener(ConfigListener listener) {
+    // no-op
+  }
 }
@@ -18,6 +18,7 @@ package io.stargate.config.store.api;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -26,6 +27,7 @@ import javax.annotation.Nullable;
 public class ConfigWithOverrides {
   private final Map<String, Object> configMap;
   private final String moduleName;
+  private final Map<Class<?>, Object> typedConfigs = new ConcurrentHashMap<>();
 
   public ConfigWithOverrides(@Nonnull Map<String, Object> configMap, @Nonnull String moduleName) {
     this.configMap = configMap;
@@ -183,6 +185,25 @@ public class ConfigWithOverrides {
     return getWithOverrides(settingName, String::valueOf);
   }
 
+  /**
+   * It returns a typed view of this config, created by the parser the first time it is requested
+   * for a given type and cached afterwards. Config stores publish a new {@code ConfigWithOverrides}
+   * when the settings of a module change, so callers on hot paths can call this method for every
+   * request and only pay the parsing cost once per change.
+   *
+   * <p>Overrides are resolved when the typed view is created: system properties or environment
+   * variables that change afterwards are not reflected in the cached value.
+   *
+   * @param type - the type of the view, used as the cache key.
+   * @param parser - it creates the view from this config, it should not return null.
+   * @return the cached view of the given type.
+   */
+  @Nonnull
+  public <T> T getTypedConfig(
+      @Nonnull Class<T> type, @Nonnull Function<ConfigWithOverrides, ? extends T> parser) {
+    return type.cast(typedConfigs.computeIfAbsent(type, k -> parser.apply(this)));
+  }
+
   private String withModulePrefix(String settingName) {
     return String.format("%s.%s", moduleName, settingName);
   }
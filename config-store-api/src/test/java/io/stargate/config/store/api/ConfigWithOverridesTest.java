@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -97,6 +98,30 @@ class ConfigWithOverridesTest {
     assertThat(value).isEqualTo("v");
   }
 
+  @Test
+  public void shouldCreateTypedConfigOnlyOnce() {
+    // given
+    Map<String, Object> options = new HashMap<>();
+    options.put("setting-a", "v");
+    ConfigWithOverrides config = new ConfigWithOverrides(options, "ignored");
+    AtomicInteger parsed = new AtomicInteger();
+
+    // when
+    String first =
+        config.getTypedConfig(
+            String.class,
+            c -> {
+              parsed.incrementAndGet();
+              return c.getSettingValue("setting-a", String.class).toUpperCase();
+            });
+    String second = config.getTypedConfig(String.class, c -> "not called");
+
+    // then
+    assertThat(first).isEqualTo("V");
+    assertThat(second).isSameAs(first);
+    assertThat(parsed.get()).isEqualTo(1);
+  }
+
   @Test
   public void shouldSuccessfullyGetRequiredBooleanValue() {
     // given
@@ -18,6 +18,7 @@ package io.stargate.config.store.yaml;
 import io.stargate.config.store.api.ConfigStore;
 import io.stargate.core.activator.BaseActivator;
 import io.stargate.core.metrics.api.Metrics;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Hashtable;
@@ -33,6 +34,7 @@ public class ConfigStoreActivator extends BaseActivator {
 
   private final String configYamlLocation;
   private ServicePointer<Metrics> metricsService = ServicePointer.create(Metrics.class);
+  private ConfigStoreYaml configStoreYaml;
 
   // for testing purpose
   public ConfigStoreActivator(String configYamlLocation) {
@@ -55,11 +57,19 @@ public class ConfigStoreActivator extends BaseActivator {
     props.put("ConfigStoreIdentifier", CONFIG_STORE_YAML_IDENTIFIER);
 
     logger.info("Creating Config Store YAML for config file location: {} ", configYamlLocation);
-    return new ServiceAndProperties(
+    configStoreYaml =
         new ConfigStoreYaml(
-            Paths.get(configYamlLocation), metrics.getRegistry(CONFIG_STORE_YAML_METRICS_PREFIX)),
-        ConfigStore.class,
-        props);
+            Paths.get(configYamlLocation), metrics.getRegistry(CONFIG_STORE_YAML_METRICS_PREFIX));
+    return new ServiceAndProperties(configStoreYaml, ConfigStore.class, props);
+  }
+
+  @Override
+  protected void stopService() {
+    try {
+      configStoreYaml.close();
+    } catch (IOException e) {
+      logger.warn("Unable to stop watching {}", configYamlLocation, e);
+    }
   }
 
   @Override
@@ -15,42 +15,92 @@
  */
 package io.stargate.config.store.yaml;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.MapType;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Ticker;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.stargate.config.store.api.ConfigListener;
 import io.stargate.config.store.api.ConfigStore;
 import io.stargate.config.store.api.ConfigWithOverrides;
 import io.stargate.config.store.api.MissingModuleSettingsException;
-import io.stargate.config.store.yaml.metrics.CacheMetricsRegistry;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import javax.annotation.Nonnull;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConfigStore} backed by a YAML file.
+ *
+ * <p>The file is parsed once per change, into immutable per-module {@link ConfigWithOverrides}
+ * snapshots that are published through an atomic reference, so {@link #getConfigForModule(String)}
+ * never parses nor copies anything. Changes are detected with a {@link WatchService} on the parent
+ * directory of the file; any event in that directory triggers a reload if the size or modification
+ * time of the (resolved) file changed, which also covers K8s config maps that are updated by
+ * swapping symbolic links. When the directory cannot be watched, the file is re-read at most every
+ * {@link #DEFAULT_EVICTION_TIME}, on the calling thread.
+ *
+ * <p>If a reload fails (f.e. because the file is being rewritten), the previous snapshot is kept.
+ * Listeners registered with {@link #addListener(String, ConfigListener)} are called from the
+ * thread doing the reload, for the modules whose settings changed.
+ */
+public class ConfigStoreYaml implements ConfigStore, Closeable {
+  private static final Logger logger = LoggerFactory.getLogger(ConfigStoreYaml.class);
+
+  /** How often the file is re-read when it cannot be watched. */
+  public static final Duration DEFAULT_EVICTION_TIME = Duration.ofSeconds(30);
+
+  public static final String RELOADS_METRIC = name("file", "reloads");
+  public static final String RELOAD_FAILURES_METRIC = name("file", "reload-failures");
+
+  // editors and config map updates produce bursts of events, they are coalesced into one reload
+  private static final long COALESCE_MILLIS = 50;
 
-public class ConfigStoreYaml implements ConfigStore {
   private final ObjectMapper mapper;
   private final Path configFilePath;
   private final MapType yamlConfigType;
-  @VisibleForTesting final LoadingCache<Path, Map<String, Map<String, Object>>> configFileCache;
-  public static final Duration DEFAULT_EVICTION_TIME = Duration.ofSeconds(30);
+  private final Ticker ticker;
+  private final Counter reloads;
+  private final Counter reloadFailures;
+  private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+  private final List<ModuleListener> listeners = new CopyOnWriteArrayList<>();
+
+  @Nullable private final WatchService watchService;
+  private volatile boolean watching;
 
   public ConfigStoreYaml(Path configFilePath, MetricRegistry metricRegistry) {
-    this(configFilePath, Ticker.systemTicker(), metricRegistry);
+    this(configFilePath, Ticker.systemTicker(), metricRegistry, true);
   }
 
   @VisibleForTesting
-  public ConfigStoreYaml(Path configFilePath, Ticker ticker, MetricRegistry metricRegistry) {
+  public ConfigStoreYaml(
+      Path configFilePath, Ticker ticker, MetricRegistry metricRegistry, boolean watchFile) {
     this.configFilePath = configFilePath;
+    this.ticker = ticker;
     mapper = new ObjectMapper(new YAMLFactory());
     MapType mapType =
         mapper.getTypeFactory().constructMapType(HashMap.class, String.class, Object.class);
@@ -59,39 +109,228 @@ public class ConfigStoreYaml implements ConfigStore {
             .getTypeFactory()
             .constructMapType(
                 HashMap.class, mapper.getTypeFactory().constructType(String.class), mapType);
+    reloads = metricRegistry.counter(RELOADS_METRIC);
+    reloadFailures = metricRegistry.counter(RELOAD_FAILURES_METRIC);
 
-    configFileCache =
-        CacheBuilder.newBuilder()
-            .ticker(ticker)
-            .expireAfterWrite(DEFAULT_EVICTION_TIME)
-            .recordStats()
-            .build(
-                new CacheLoader<Path, Map<String, Map<String, Object>>>() {
-                  @Override
-                  public Map<String, Map<String, Object>> load(@Nonnull Path configFilePath)
-                      throws Exception {
-                    return mapper.readValue(configFilePath.toFile(), yamlConfigType);
-                  }
-                });
-
-    CacheMetricsRegistry.registerCacheMetrics(metricRegistry, configFileCache);
+    // watch before the initial load, so that no change can be missed in between
+    watchService = watchFile ? watchParentDirectory() : null;
+    snapshot.set(load(null));
+    if (watchService != null) {
+      watching = true;
+      Thread watcher = new Thread(this::watch, "config-store-yaml-watcher");
+      watcher.setDaemon(true);
+      watcher.start();
+    }
   }
 
   @Override
   public ConfigWithOverrides getConfigForModule(String moduleName)
       throws MissingModuleSettingsException {
+    Snapshot current = snapshot.get();
+    if (!watching && isStale(current)) {
+      current = reloadIfStale();
+    }
+    if (current.failure != null) {
+      throw new UncheckedExecutionException(
+          "Problem when processing yaml file from: " + configFilePath, current.failure);
+    }
+    ConfigWithOverrides config = current.modules.get(moduleName);
+    if (config == null) {
+      throw new MissingModuleSettingsException(
+          String.format(
+              "The loaded configuration map: %s, does not contain settings from a given module: %s",
+              Maps.transformValues(current.modules, ConfigWithOverrides::getConfigMap),
+              moduleName));
+    }
+    return config;
+  }
+
+  @Override
+  public void addListener(String moduleName, ConfigListener listener) {
+    listeners.add(new ModuleListener(moduleName, listener));
+  }
+
+  @Override
+  public void removeListener(ConfigListener listener) {
+    listeners.removeIf(l -> l.listener == listener);
+  }
+
+  /** Stops watching the file, the last loaded settings are still served. */
+  @Override
+  public void close() throws IOException {
+    watching = false;
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+
+  @Nullable
+  private WatchService watchParentDirectory() {
+    Path directory = configFilePath.toAbsolutePath().getParent();
+    WatchService service = null;
     try {
-      Map<String, Map<String, Object>> result = configFileCache.get(configFilePath);
-      if (!result.containsKey(moduleName)) {
-        throw new MissingModuleSettingsException(
-            String.format(
-                "The loaded configuration map: %s, does not contain settings from a given module: %s",
-                result, moduleName));
+      service = directory.getFileSystem().newWatchService();
+      directory.register(
+          service,
+          StandardWatchEventKinds.ENTRY_CREATE,
+          StandardWatchEventKinds.ENTRY_MODIFY,
+          StandardWatchEventKinds.ENTRY_DELETE);
+      return service;
+    } catch (IOException | UnsupportedOperationException e) {
+      logger.warn(
+          "Unable to watch {} for changes, it will be re-read every {} seconds instead: {}",
+          directory,
+          DEFAULT_EVICTION_TIME.getSeconds(),
+          e.toString());
+      if (service != null) {
+        try {
+          service.close();
+        } catch (IOException ignored) {
+          // nothing else to do
+        }
       }
-      return new ConfigWithOverrides(ImmutableMap.copyOf(result.get(moduleName)), moduleName);
-    } catch (ExecutionException e) {
-      throw new UncheckedExecutionException(
-          "Problem when processing yaml file from: " + configFilePath, e);
+      return null;
+    }
+  }
+
+  private void watch() {
+    try {
+      while (watching) {
+        WatchKey key = watchService.take();
+        // the events themselves do not matter, the file fingerprint tells whether it changed
+        boolean valid = discardEvents(key);
+        while (valid && (key = watchService.poll(COALESCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+          valid = discardEvents(key);
+        }
+
+        if (!Objects.equals(fingerprint(), snapshot.get().fingerprint)) {
+          reload();
+        }
+        if (!valid) {
+          logger.warn(
+              "The directory of {} can no longer be watched, it will be re-read every {} seconds",
+              configFilePath,
+              DEFAULT_EVICTION_TIME.getSeconds());
+          watching = false;
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // closed
+    } catch (RuntimeException e) {
+      logger.error("Unexpected error while watching {}", configFilePath, e);
+      watching = false;
+    }
+  }
+
+  private static boolean discardEvents(WatchKey key) {
+    key.pollEvents();
+    return key.reset();
+  }
+
+  private boolean isStale(Snapshot current) {
+    return ticker.read() - current.loadedNanos >= DEFAULT_EVICTION_TIME.toNanos();
+  }
+
+  private synchronized Snapshot reloadIfStale() {
+    Snapshot current = snapshot.get();
+    return isStale(current) ? reload() : current;
+  }
+
+  private synchronized Snapshot reload() {
+    Snapshot previous = snapshot.get();
+    Snapshot next = load(previous);
+    snapshot.set(next);
+    if (next.failure == null && next != previous) {
+      notifyListeners(previous, next);
+    }
+    return next;
+  }
+
+  private Snapshot load(@Nullable Snapshot previous) {
+    long now = ticker.read();
+    String fingerprint = fingerprint();
+    Map<String, Map<String, Object>> content;
+    try {
+      content = mapper.readValue(configFilePath.toFile(), yamlConfigType);
+    } catch (IOException | RuntimeException e) {
+      reloadFailures.inc();
+      if (previous != null && previous.failure == null) {
+        logger.warn("Unable to reload {}, keeping the previous settings", configFilePath, e);
+        return new Snapshot(previous.modules, null, fingerprint, now);
+      }
+      return new Snapshot(Collections.emptyMap(), e, fingerprint, now);
+    }
+    reloads.inc();
+
+    Map<String, ConfigWithOverrides> modules = new LinkedHashMap<>();
+    if (content != null) {
+      for (Map.Entry<String, Map<String, Object>> entry : content.entrySet()) {
+        String moduleName = entry.getKey();
+        Map<String, Object> settings =
+            entry.getValue() == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(entry.getValue()));
+        ConfigWithOverrides unchanged = previous == null ? null : previous.modules.get(moduleName);
+        // keep unchanged modules, so that their typed configs remain cached
+        modules.put(
+            moduleName,
+            unchanged != null && unchanged.getConfigMap().equals(settings)
+                ? unchanged
+                : new ConfigWithOverrides(settings, moduleName));
+      }
+    }
+    return new Snapshot(Collections.unmodifiableMap(modules), null, fingerprint, now);
+  }
+
+  private void notifyListeners(Snapshot previous, Snapshot next) {
+    for (ModuleListener moduleListener : listeners) {
+      ConfigWithOverrides config = next.modules.get(moduleListener.moduleName);
+      if (config != null && config != previous.modules.get(moduleListener.moduleName)) {
+        try {
+          moduleListener.listener.onConfigChanged(moduleListener.moduleName, config);
+        } catch (RuntimeException e) {
+          logger.error("Config listener of {} failed", moduleListener.moduleName, e);
+        }
+      }
+    }
+  }
+
+  @Nullable
+  private String fingerprint() {
+    try {
+      BasicFileAttributes attributes =
+          Files.readAttributes(configFilePath.toRealPath(), BasicFileAttributes.class);
+      return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static class Snapshot {
+    private final Map<String, ConfigWithOverrides> modules;
+    @Nullable private final Exception failure;
+    @Nullable private final String fingerprint;
+    private final long loadedNanos;
+
+    private Snapshot(
+        Map<String, ConfigWithOverrides> modules,
+        @Nullable Exception failure,
+        @Nullable String fingerprint,
+        long loadedNanos) {
+      this.modules = modules;
+      this.failure = failure;
+      this.fingerprint = fingerprint;
+      this.loadedNanos = loadedNanos;
+    }
+  }
+
+  private static class ModuleListener {
+    private final String moduleName;
+    private final ConfigListener listener;
+
+    private ModuleListener(String moduleName, ConfigListener listener) {
+      this.moduleName = moduleName;
+      this.listener = listener;
     }
   }
 }
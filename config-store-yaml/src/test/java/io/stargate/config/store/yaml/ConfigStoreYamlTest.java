@@ -15,7 +15,6 @@
  */
 package io.stargate.config.store.yaml;
 
-import static io.stargate.config.store.yaml.metrics.MetricsHelper.getMetricValue;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -23,14 +22,20 @@ import com.codahale.metrics.MetricRegistry;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.stargate.config.store.api.ConfigWithOverrides;
 import io.stargate.config.store.api.MissingModuleSettingsException;
-import io.stargate.config.store.yaml.metrics.CacheMetricsRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ConfigStoreYamlTest {
 
@@ -82,34 +87,78 @@ class ConfigStoreYamlTest {
   }
 
   @Test
-  public void shouldEvictLoadedContentAfterDefaultEvictionTimeAndExposeStatsOnMetricRegistry() {
+  public void shouldReloadAfterDefaultEvictionTimeWhenNotWatching(@TempDir Path dir)
+      throws IOException {
     // given
     FakeTicker ticker = new FakeTicker();
-    Path path =
-        Paths.get(
-            Objects.requireNonNull(getClass().getClassLoader().getResource("stargate-config.yaml"))
-                .getPath());
+    Path path = dir.resolve("stargate-config.yaml");
+    write(path, "extension-1:\n  a: 1\n");
     MetricRegistry metricRegistry = new MetricRegistry();
-    ConfigStoreYaml configStoreYaml = new ConfigStoreYaml(path, ticker, metricRegistry);
+    ConfigStoreYaml configStoreYaml = new ConfigStoreYaml(path, ticker, metricRegistry, false);
+    ConfigWithOverrides loaded = configStoreYaml.getConfigForModule("extension-1");
 
     // when
-    assertThat(configStoreYaml.getConfigForModule("extension-1").getConfigMap()).isNotEmpty();
+    write(path, "extension-1:\n  a: 22\n");
+    ticker.advance(ConfigStoreYaml.DEFAULT_EVICTION_TIME.minusSeconds(1));
 
-    // then
-    assertThat(configStoreYaml.configFileCache.size()).isEqualTo(1);
-    assertThat(configStoreYaml.configFileCache.stats().evictionCount()).isEqualTo(0);
+    // then the same snapshot is served until the eviction time
+    assertThat(configStoreYaml.getConfigForModule("extension-1")).isSameAs(loaded);
 
     // when
-    ticker.advance(ConfigStoreYaml.DEFAULT_EVICTION_TIME.minusSeconds(1));
-    // loading value does not refresh eviction time
-    assertThat(configStoreYaml.getConfigForModule("extension-1").getConfigMap()).isNotEmpty();
     ticker.advance(Duration.ofSeconds(1));
-    // the eviction is done on the load operation - to trigger this we need to call the
-    // getConfigForModule method
-    assertThat(configStoreYaml.getConfigForModule("extension-1").getConfigMap()).isNotEmpty();
 
     // then
-    assertThat(getMetricValue(metricRegistry, CacheMetricsRegistry.SIZE)).isEqualTo(1L);
-    assertThat(getMetricValue(metricRegistry, CacheMetricsRegistry.EVICTION_COUNT)).isEqualTo(1L);
+    assertThat(configStoreYaml.getConfigForModule("extension-1").getConfigMap())
+        .containsOnly(new SimpleEntry<>("a", 22));
+    assertThat(metricRegistry.counter(ConfigStoreYaml.RELOADS_METRIC).getCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldKeepPreviousSettingsWhenReloadFails(@TempDir Path dir) throws IOException {
+    // given
+    FakeTicker ticker = new FakeTicker();
+    Path path = dir.resolve("stargate-config.yaml");
+    write(path, "extension-1:\n  a: 1\n");
+    MetricRegistry metricRegistry = new MetricRegistry();
+    ConfigStoreYaml configStoreYaml = new ConfigStoreYaml(path, ticker, metricRegistry, false);
+
+    // when
+    write(path, "extension-1: [\n");
+    ticker.advance(ConfigStoreYaml.DEFAULT_EVICTION_TIME);
+
+    // then
+    assertThat(configStoreYaml.getConfigForModule("extension-1").getConfigMap())
+        .containsOnly(new SimpleEntry<>("a", 1));
+    assertThat(metricRegistry.counter(ConfigStoreYaml.RELOAD_FAILURES_METRIC).getCount())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotifyListenersOfChangedModulesWhenFileChanges(@TempDir Path dir)
+      throws Exception {
+    // given
+    Path path = dir.resolve("stargate-config.yaml");
+    write(path, "extension-1:\n  a: 1\nextension-2:\n  a: 2\n");
+    try (ConfigStoreYaml configStoreYaml = new ConfigStoreYaml(path, new MetricRegistry())) {
+      ConfigWithOverrides unchanged = configStoreYaml.getConfigForModule("extension-2");
+      BlockingQueue<ConfigWithOverrides> changes = new LinkedBlockingQueue<>();
+      configStoreYaml.addListener("extension-1", (module, config) -> changes.add(config));
+      configStoreYaml.addListener("extension-2", (module, config) -> changes.add(config));
+
+      // when
+      write(path, "extension-1:\n  a: 100\nextension-2:\n  a: 2\n");
+
+      // then
+      ConfigWithOverrides changed = changes.poll(30, TimeUnit.SECONDS);
+      assertThat(changed).isNotNull();
+      assertThat(changed.getConfigMap()).containsOnly(new SimpleEntry<>("a", 100));
+      assertThat(configStoreYaml.getConfigForModule("extension-1")).isSameAs(changed);
+      assertThat(configStoreYaml.getConfigForModule("extension-2")).isSameAs(unchanged);
+      assertThat(changes).isEmpty();
+    }
+  }
+
+  private static void write(Path path, String content) throws IOException {
+    Files.write(path, content.getBytes(StandardCharsets.UTF_8));
   }
 }
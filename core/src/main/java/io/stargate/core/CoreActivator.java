@@ -2,6 +2,7 @@ package io.stargate.core;
 
 import com.codahale.metrics.health.HealthCheckRegistry;
 import io.stargate.core.activator.BaseActivator;
+import io.stargate.core.activator.StartupTimeline;
 import io.stargate.core.metrics.api.DefaultHttpMetricsTagProvider;
 import io.stargate.core.metrics.api.HttpMetricsTagProvider;
 import io.stargate.core.metrics.api.Metrics;
@@ -27,6 +28,7 @@ public class CoreActivator extends BaseActivator {
   @Override
   protected List<ServiceAndProperties> createServices() {
     MetricsImpl metricsImpl = new MetricsImpl();
+    StartupTimeline.bindTo(metricsImpl.getMeterRegistry());
 
     List<ServiceAndProperties> services = new ArrayList<>();
     services.add(new ServiceAndProperties(metricsImpl, Metrics.class));
@@ -27,7 +27,10 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
@@ -42,6 +45,25 @@ import org.slf4j.LoggerFactory;
 public abstract class BaseActivator implements BundleActivator {
   private static final Logger logger = LoggerFactory.getLogger(BaseActivator.class);
 
+  /**
+   * Whether the services of an activator are started on a dedicated thread once its dependencies
+   * are available, rather than on the thread that registered the last of them. This lets the
+   * activators that only depend on already started services (f.e. all the APIs once persistence
+   * and auth are up) start concurrently. Set by the Starter.
+   */
+  private static final boolean PARALLEL_START = Boolean.getBoolean("stargate.parallel_start");
+
+  private static final AtomicInteger startThreadCount = new AtomicInteger();
+
+  private static final ExecutorService startExecutor =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread =
+                new Thread(runnable, "stargate-start-" + startThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+
   private final ServicePointer<HealthCheckRegistry> healthCheckRegistry =
       ServicePointer.create(HealthCheckRegistry.class);
 
@@ -96,10 +118,14 @@ public abstract class BaseActivator implements BundleActivator {
   public synchronized void start(BundleContext context) throws InvalidSyntaxException {
     logger.info("Starting {} ...", activatorName);
     this.context = context;
+    StartupTimeline.activatorStarted(
+        activatorName,
+        context.getBundle() == null ? "unknown" : context.getBundle().getSymbolicName());
 
     String filter = constructDependenciesFilter();
 
     if (dependencies.isEmpty() && lazyDependencies().isEmpty()) {
+      StartupTimeline.dependenciesAvailable(activatorName);
       startServiceInternal();
     } else {
       tracker = new Tracker(context, context.createFilter(filter));
@@ -183,11 +209,30 @@ public abstract class BaseActivator implements BundleActivator {
       }
       available.set(true);
       logger.info("Started {}", activatorName);
+      StartupTimeline.servicesStarted(activatorName);
     } catch (Exception e) {
+      StartupTimeline.servicesFailed(activatorName, e);
       throw new ServiceStartException("Unable to start " + activatorName, e);
     }
   }
 
+  private void startService() {
+    StartupTimeline.dependenciesAvailable(activatorName);
+    if (!PARALLEL_START) {
+      startServiceInternal();
+      return;
+    }
+    startExecutor.execute(
+        () -> {
+          try {
+            startServiceInternal();
+          } catch (ServiceStartException e) {
+            // OSGi does not see this failure, the Starter learns about it from the StartupTimeline
+            logger.error("Unable to start {}", activatorName, e);
+          }
+        });
+  }
+
   public class Tracker extends ServiceTracker<Object, Object> {
 
     public Tracker(BundleContext context, Filter filter) {
@@ -227,7 +272,7 @@ public abstract class BaseActivator implements BundleActivator {
       }
 
       if (dependencies.stream().map(v -> v.service).allMatch(Objects::nonNull)) {
-        startServiceInternal();
+        startService();
       }
     }
   }
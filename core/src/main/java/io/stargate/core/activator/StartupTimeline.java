@@ -0,0 +1,222 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.core.activator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the start-up of every {@link BaseActivator}: when OSGi starts it, when all its
+ * dependencies are available and when its services are started (or failed to start).
+ *
+ * <p>The timeline is logged once the start-up is complete and, once {@link #bindTo(MeterRegistry)
+ * bound} to the metrics, published as gauges tagged by activator.
+ *
+ * <p>The Starter has no access to the classes of the bundles, it calls {@link #await(long)}, {@link
+ * #hasFailures()} and {@link #format()} reflectively, hence these methods must only use JDK types.
+ */
+public final class StartupTimeline {
+  private static final Logger logger = LoggerFactory.getLogger(StartupTimeline.class);
+
+  /** Time spent by an activator waiting for its dependencies. */
+  public static final String DEPENDENCIES_METRIC = "startup.activator.dependencies";
+
+  /** Time spent by an activator creating and registering its services. */
+  public static final String SERVICES_METRIC = "startup.activator.services";
+
+  public static final String ACTIVATOR_TAG = "activator";
+
+  private static final long UNSET = Long.MIN_VALUE;
+
+  // All guarded by the class lock, which is also used to wait for the start-up to complete.
+  private static final Map<String, Entry> entries = new LinkedHashMap<>();
+  private static long originNanos = UNSET;
+  private static MeterRegistry meterRegistry;
+
+  private StartupTimeline() {}
+
+  static synchronized void activatorStarted(String activator, String bundle) {
+    long now = System.nanoTime();
+    if (originNanos == UNSET) {
+      originNanos = now;
+    }
+    entries.put(activator, new Entry(activator, bundle, now));
+  }
+
+  static synchronized void dependenciesAvailable(String activator) {
+    Entry entry = entries.get(activator);
+    if (entry != null && entry.dependenciesNanos == UNSET) {
+      entry.dependenciesNanos = System.nanoTime();
+    }
+  }
+
+  static synchronized void servicesStarted(String activator) {
+    complete(activator, null);
+  }
+
+  static synchronized void servicesFailed(String activator, Throwable failure) {
+    complete(activator, failure);
+  }
+
+  private static void complete(String activator, Throwable failure) {
+    Entry entry = entries.get(activator);
+    if (entry == null || entry.doneNanos != UNSET) {
+      return;
+    }
+    entry.doneNanos = System.nanoTime();
+    entry.failure = failure;
+    logger.info(
+        "{} {} in {} ms, after waiting {} ms for its dependencies",
+        activator,
+        failure == null ? "started" : "failed to start",
+        TimeUnit.NANOSECONDS.toMillis(entry.servicesNanos()),
+        TimeUnit.NANOSECONDS.toMillis(entry.waitNanos()));
+    if (meterRegistry != null) {
+      register(entry);
+    }
+    StartupTimeline.class.notifyAll();
+  }
+
+  /** Publishes the timeline of the activators started so far, and of the ones to come. */
+  public static synchronized void bindTo(MeterRegistry registry) {
+    meterRegistry = registry;
+    for (Entry entry : entries.values()) {
+      if (entry.doneNanos != UNSET) {
+        register(entry);
+      }
+    }
+  }
+
+  private static void register(Entry entry) {
+    // The entries are never removed, so the gauges can reference them.
+    Tags tags = Tags.of(ACTIVATOR_TAG, entry.activator);
+    TimeGauge.builder(DEPENDENCIES_METRIC, entry, TimeUnit.NANOSECONDS, Entry::waitNanos)
+        .tags(tags)
+        .register(meterRegistry);
+    TimeGauge.builder(SERVICES_METRIC, entry, TimeUnit.NANOSECONDS, Entry::servicesNanos)
+        .tags(tags)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Waits until no activator is starting its services, that is until every activator either
+   * completed its start-up or is still waiting for dependencies that nothing is going to provide.
+   *
+   * @param timeoutMillis how long to wait, zero to wait indefinitely.
+   * @return whether the start-up completed within the timeout.
+   */
+  public static synchronized boolean await(long timeoutMillis) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    while (isStarting()) {
+      if (timeoutMillis <= 0) {
+        StartupTimeline.class.wait();
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      TimeUnit.NANOSECONDS.timedWait(StartupTimeline.class, remaining);
+    }
+    return true;
+  }
+
+  private static boolean isStarting() {
+    for (Entry entry : entries.values()) {
+      if (entry.dependenciesNanos != UNSET && entry.doneNanos == UNSET) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Whether any activator failed to start its services. */
+  public static synchronized boolean hasFailures() {
+    for (Entry entry : entries.values()) {
+      if (entry.failure != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Formats the timeline, one line per activator in order of completion. */
+  public static synchronized String format() {
+    List<Entry> sorted = new ArrayList<>(entries.values());
+    sorted.sort((e1, e2) -> Long.compare(e1.sortKey(), e2.sortKey()));
+    StringBuilder builder = new StringBuilder("Start-up timeline (ms since the first activator):");
+    for (Entry entry : sorted) {
+      builder
+          .append(System.lineSeparator())
+          .append(String.format("  %-40s %-50s", entry.activator, "[" + entry.bundle + "]"))
+          .append(String.format(" start %6d", millis(entry.startNanos)));
+      if (entry.dependenciesNanos == UNSET) {
+        builder.append("  waiting for dependencies");
+        continue;
+      }
+      builder.append(String.format("  dependencies %6d", millis(entry.dependenciesNanos)));
+      if (entry.doneNanos == UNSET) {
+        builder.append("  starting");
+      } else {
+        String state = entry.failure == null ? "ready" : "failed";
+        long servicesMillis = TimeUnit.NANOSECONDS.toMillis(entry.servicesNanos());
+        builder
+            .append(String.format("  %s %6d", state, millis(entry.doneNanos)))
+            .append(String.format("  (%d ms)", servicesMillis));
+      }
+    }
+    return builder.toString();
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos - originNanos);
+  }
+
+  private static class Entry {
+    private final String activator;
+    private final String bundle;
+    private final long startNanos;
+    private long dependenciesNanos = UNSET;
+    private long doneNanos = UNSET;
+    private Throwable failure;
+
+    private Entry(String activator, String bundle, long startNanos) {
+      this.activator = activator;
+      this.bundle = bundle;
+      this.startNanos = startNanos;
+    }
+
+    private long waitNanos() {
+      return dependenciesNanos - startNanos;
+    }
+
+    private long servicesNanos() {
+      return doneNanos - dependenciesNanos;
+    }
+
+    private long sortKey() {
+      return doneNanos != UNSET ? doneNanos - originNanos : Long.MAX_VALUE;
+    }
+  }
+}
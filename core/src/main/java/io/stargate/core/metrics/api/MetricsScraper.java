@@ -16,9 +16,29 @@
 
 package io.stargate.core.metrics.api;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
 /** Simple interface to introduce abstraction on the Prometheus scraping needed in other modules. */
 public interface MetricsScraper {
 
+  /** Content type of the Prometheus text format written by the scraper. */
+  String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
   /** @return Prometheus like metrics result. */
   String scrape();
+
+  /**
+   * Writes the metrics directly to the given writer, without building the complete result in
+   * memory first.
+   *
+   * @param writer Writer to write to, it's not flushed or closed by this method
+   * @param namePrefixes If not empty, only the metric families with a name starting with one of the
+   *     prefixes are written
+   * @throws IOException If writing fails
+   */
+  default void scrape(Writer writer, Collection<String> namePrefixes) throws IOException {
+    writer.write(scrape());
+  }
 }
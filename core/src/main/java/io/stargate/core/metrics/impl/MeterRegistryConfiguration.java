@@ -19,10 +19,16 @@ package io.stargate.core.metrics.impl;
 
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.config.MeterFilter;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.stargate.core.metrics.StargateMetricConstants;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.DoubleStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,16 +40,33 @@ public final class MeterRegistryConfiguration {
   private static final String HTTP_PERCENTILES_PROPERTY =
       "stargate.metrics.http_server_requests_percentiles";
 
+  private static final String MAX_SERIES_PROPERTY = "stargate.metrics.max_series_per_metric";
+
+  private static final int DEFAULT_MAX_SERIES = 1000;
+
+  /** The tag value used for all the tags (except the module) of the overflow series. */
+  public static final String OVERFLOW_TAG_VALUE = "overflow";
+
   private MeterRegistryConfiguration() {}
 
   public static void configure(MeterRegistry registry) {
-    configureHttpPercentiles(registry.config());
+    configure(registry.config());
   }
 
   public static void configure(MeterRegistry.Config config) {
+    configureCardinalityLimit(config);
     configureHttpPercentiles(config);
   }
 
+  private static void configureCardinalityLimit(MeterRegistry.Config config) {
+    int maxSeries = Integer.getInteger(MAX_SERIES_PROPERTY, DEFAULT_MAX_SERIES);
+    if (maxSeries > 0) {
+      CardinalityLimitMeterFilter filter = new CardinalityLimitMeterFilter(maxSeries);
+      config.meterFilter(filter);
+      config.onMeterRemoved(filter::onMeterRemoved);
+    }
+  }
+
   private static void configureHttpPercentiles(MeterRegistry.Config config) {
     String percentiles = System.getProperty(HTTP_PERCENTILES_PROPERTY);
     if (null != percentiles) {
@@ -103,4 +126,69 @@ public final class MeterRegistryConfiguration {
       }
     }
   }
+
+  /**
+   * {@link MeterFilter} that limits the number of series (distinct tag sets) of each metric. Once
+   * the limit is reached, any new series of the metric is mapped to a single overflow series that
+   * has all tag values, except the module, set to {@link #OVERFLOW_TAG_VALUE}. Series of removed
+   * meters do not count towards the limit.
+   *
+   * <p>Note that this only applies to the Micrometer meters. The Dropwizard metrics that are
+   * exported to the same Prometheus registry have no tags, their series are defined by the metric
+   * names and are not limited.
+   */
+  private static class CardinalityLimitMeterFilter implements MeterFilter {
+
+    private final int maxSeries;
+    private final Map<String, Set<Meter.Id>> seriesByName = new ConcurrentHashMap<>();
+
+    public CardinalityLimitMeterFilter(int maxSeries) {
+      this.maxSeries = maxSeries;
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+      Set<Meter.Id> series =
+          seriesByName.computeIfAbsent(id.getName(), name -> ConcurrentHashMap.newKeySet());
+      if (series.contains(id)) {
+        return id;
+      }
+
+      // the limit can be exceeded by a few series under contention, that's fine
+      if (series.size() < maxSeries) {
+        series.add(id);
+        return id;
+      }
+
+      if (series.add(overflowId(id))) {
+        logger.warn(
+            "Metric {} reached the maximum of {} series, "
+                + "new series are reported with the {} tag values.",
+            id.getName(),
+            maxSeries,
+            OVERFLOW_TAG_VALUE);
+      }
+      return overflowId(id);
+    }
+
+    private void onMeterRemoved(Meter meter) {
+      Meter.Id id = meter.getId();
+      Set<Meter.Id> series = seriesByName.get(id.getName());
+      if (null != series) {
+        series.remove(id);
+      }
+    }
+
+    private Meter.Id overflowId(Meter.Id id) {
+      List<Tag> tags = new ArrayList<>();
+      for (Tag tag : id.getTagsAsIterable()) {
+        if (StargateMetricConstants.MODULE_KEY.equals(tag.getKey())) {
+          tags.add(tag);
+        } else {
+          tags.add(Tag.of(tag.getKey(), OVERFLOW_TAG_VALUE));
+        }
+      }
+      return id.replaceTags(tags);
+    }
+  }
 }
@@ -2,26 +2,57 @@ package io.stargate.core.metrics.impl;
 
 import com.codahale.metrics.MetricRegistry;
 import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.Collector.MetricFamilySamples;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.dropwizard.DropwizardExports;
+import io.prometheus.client.exporter.common.TextFormat;
 import io.stargate.core.metrics.StargateMetricConstants;
 import io.stargate.core.metrics.api.Metrics;
 import io.stargate.core.metrics.api.MetricsScraper;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
 public class MetricsImpl implements Metrics, MetricsScraper {
 
+  public static final String SCRAPE_DURATION_METRIC = "metrics.scrape.duration";
+
+  public static final String SCRAPE_SIZE_METRIC = "metrics.scrape.size";
+
   private final MetricRegistry registry;
 
   private final PrometheusMeterRegistry prometheusMeterRegistry;
 
+  private final Timer scrapeDuration;
+
+  private final DistributionSummary scrapeSize;
+
   public MetricsImpl() {
     registry = new MetricRegistry();
     prometheusMeterRegistry = initPrometheusMeterRegistry(registry);
+    scrapeDuration =
+        Timer.builder(SCRAPE_DURATION_METRIC)
+            .description("Time spent writing the metrics on scrape")
+            .register(prometheusMeterRegistry);
+    scrapeSize =
+        DistributionSummary.builder(SCRAPE_SIZE_METRIC)
+            .description("Number of characters written on scrape")
+            .baseUnit("chars")
+            .register(prometheusMeterRegistry);
   }
 
   private PrometheusMeterRegistry initPrometheusMeterRegistry(MetricRegistry metricRegistry) {
@@ -63,6 +94,100 @@ public class MetricsImpl implements Metrics, MetricsScraper {
 
   @Override
   public String scrape() {
-    return prometheusMeterRegistry.scrape();
+    StringWriter writer = new StringWriter();
+    try {
+      scrape(writer, Collections.emptyList());
+    } catch (IOException e) {
+      // never happens with a string writer
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  @Override
+  public void scrape(Writer writer, Collection<String> namePrefixes) throws IOException {
+    long start = System.nanoTime();
+    CountingWriter countingWriter = new CountingWriter(writer);
+    Enumeration<MetricFamilySamples> samples =
+        prometheusMeterRegistry.getPrometheusRegistry().metricFamilySamples();
+    if (!namePrefixes.isEmpty()) {
+      samples = new PrefixFilteringEnumeration(samples, namePrefixes);
+    }
+
+    TextFormat.write004(countingWriter, samples);
+
+    scrapeSize.record(countingWriter.count);
+    scrapeDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  /** Passes through only the metric families that have a name starting with one of the prefixes. */
+  private static class PrefixFilteringEnumeration implements Enumeration<MetricFamilySamples> {
+
+    private final Enumeration<MetricFamilySamples> delegate;
+    private final Collection<String> prefixes;
+    private MetricFamilySamples next;
+
+    PrefixFilteringEnumeration(
+        Enumeration<MetricFamilySamples> delegate, Collection<String> prefixes) {
+      this.delegate = delegate;
+      this.prefixes = prefixes;
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (next == null && delegate.hasMoreElements()) {
+        MetricFamilySamples candidate = delegate.nextElement();
+        for (String prefix : prefixes) {
+          if (candidate.name.startsWith(prefix)) {
+            next = candidate;
+            break;
+          }
+        }
+      }
+    }
+
+    @Override
+    public boolean hasMoreElements() {
+      return next != null;
+    }
+
+    @Override
+    public MetricFamilySamples nextElement() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      MetricFamilySamples result = next;
+      advance();
+      return result;
+    }
+  }
+
+  /** Counts the written characters. */
+  private static class CountingWriter extends FilterWriter {
+
+    private long count;
+
+    CountingWriter(Writer out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+      super.write(c);
+      count++;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      super.write(cbuf, off, len);
+      count += len;
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+      super.write(str, off, len);
+      count += len;
+    }
   }
 }
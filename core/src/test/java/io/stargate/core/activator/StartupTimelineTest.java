@@ -0,0 +1,57 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.core.activator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class StartupTimelineTest {
+
+  @Test
+  public void shouldRecordActivators() throws InterruptedException {
+    StartupTimeline.activatorStarted("timeline test 1", "bundle1");
+    StartupTimeline.activatorStarted("timeline test 2", "bundle2");
+    StartupTimeline.dependenciesAvailable("timeline test 1");
+
+    // activator 1 is starting
+    assertThat(StartupTimeline.await(10)).isFalse();
+
+    StartupTimeline.servicesStarted("timeline test 1");
+
+    // activator 2 is waiting for its dependencies, which does not prevent the start-up to complete
+    assertThat(StartupTimeline.await(10)).isTrue();
+    assertThat(StartupTimeline.format())
+        .containsPattern("timeline test 1 .* ready")
+        .containsPattern("timeline test 2 .* waiting for dependencies");
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    StartupTimeline.bindTo(registry);
+    assertThat(
+            registry
+                .find(StartupTimeline.SERVICES_METRIC)
+                .tag(StartupTimeline.ACTIVATOR_TAG, "timeline test 1")
+                .timeGauge())
+        .isNotNull();
+    assertThat(
+            registry
+                .find(StartupTimeline.SERVICES_METRIC)
+                .tag(StartupTimeline.ACTIVATOR_TAG, "timeline test 2")
+                .timeGauge())
+        .isNull();
+  }
+}
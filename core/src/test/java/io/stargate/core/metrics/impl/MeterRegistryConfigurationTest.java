@@ -44,6 +44,65 @@ class MeterRegistryConfigurationTest {
     @AfterEach
     public void cleanUpProperties() {
       System.clearProperty("stargate.metrics.http_server_requests_percentiles");
+      System.clearProperty("stargate.metrics.max_series_per_metric");
+    }
+
+    @Test
+    public void cardinalityLimited() {
+      System.setProperty("stargate.metrics.max_series_per_metric", "2");
+
+      MeterRegistryConfiguration.configure(meterRegistry);
+
+      meterRegistry.counter("limited", "module", "m", "path", "a").increment();
+      meterRegistry.counter("limited", "module", "m", "path", "b").increment();
+      meterRegistry.counter("limited", "module", "m", "path", "c").increment();
+      meterRegistry.counter("limited", "module", "m", "path", "d").increment();
+      meterRegistry.counter("limited", "module", "m", "path", "a").increment();
+
+      assertThat(meterRegistry.get("limited").tag("path", "a").counter().count()).isEqualTo(2d);
+      assertThat(meterRegistry.get("limited").tag("path", "b").counter().count()).isEqualTo(1d);
+      assertThat(
+              meterRegistry
+                  .get("limited")
+                  .tag("module", "m")
+                  .tag("path", MeterRegistryConfiguration.OVERFLOW_TAG_VALUE)
+                  .counter()
+                  .count())
+          .isEqualTo(2d);
+      assertThat(meterRegistry.find("limited").tag("path", "c").counter()).isNull();
+    }
+
+    @Test
+    public void cardinalityLimitIgnoresRemovedMeters() {
+      System.setProperty("stargate.metrics.max_series_per_metric", "2");
+
+      MeterRegistryConfiguration.configure(meterRegistry);
+
+      meterRegistry.counter("limited", "module", "m", "path", "a").increment();
+      meterRegistry.counter("limited", "module", "m", "path", "b").increment();
+      meterRegistry.remove(meterRegistry.get("limited").tag("path", "a").counter());
+      meterRegistry.counter("limited", "module", "m", "path", "c").increment();
+
+      assertThat(meterRegistry.get("limited").tag("path", "c").counter().count()).isEqualTo(1d);
+      assertThat(
+              meterRegistry
+                  .find("limited")
+                  .tag("path", MeterRegistryConfiguration.OVERFLOW_TAG_VALUE)
+                  .counter())
+          .isNull();
+    }
+
+    @Test
+    public void cardinalityNotLimited() {
+      System.setProperty("stargate.metrics.max_series_per_metric", "0");
+
+      MeterRegistryConfiguration.configure(meterRegistry);
+
+      for (int i = 0; i < 10; i++) {
+        meterRegistry.counter("unlimited", "path", String.valueOf(i)).increment();
+      }
+
+      assertThat(meterRegistry.find("unlimited").counters()).hasSize(10);
     }
 
     @Test
@@ -18,6 +18,9 @@ package io.stargate.core.metrics.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
 import org.junit.jupiter.api.Test;
 
 class MetricsImplTest {
@@ -38,4 +41,25 @@ class MetricsImplTest {
         .contains("micrometer_total 2.0")
         .contains("micrometer_tags_total{tag=\"that\",} 3.0");
   }
+
+  @Test
+  public void scrapeFiltered() throws IOException {
+    MetricsImpl metrics = new MetricsImpl();
+
+    metrics.getRegistry().counter("dropwizard").inc();
+    metrics.getMeterRegistry().counter("micrometer").increment(2d);
+
+    StringWriter writer = new StringWriter();
+    metrics.scrape(writer, Collections.singletonList("micro"));
+
+    assertThat(writer.toString())
+        .contains("micrometer_total 2.0")
+        .doesNotContain("dropwizard")
+        .doesNotContain(MetricsImpl.SCRAPE_SIZE_METRIC.replace('.', '_'));
+    assertThat(metrics.getMeterRegistry().get(MetricsImpl.SCRAPE_SIZE_METRIC).summary().count())
+        .isEqualTo(1L);
+    assertThat(
+            metrics.getMeterRegistry().get(MetricsImpl.SCRAPE_DURATION_METRIC).timer().count())
+        .isEqualTo(1L);
+  }
 }
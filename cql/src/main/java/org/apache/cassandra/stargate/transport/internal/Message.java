@@ -31,6 +31,7 @@ import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.MessageToMessageDecoder;
 import io.netty.handler.codec.MessageToMessageEncoder;
+import io.stargate.auth.SourceAPI;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.ImmutableParameters;
 import io.stargate.db.Parameters;
@@ -268,6 +269,7 @@ public abstract class Message {
           .skipMetadataInResult(options.skipMetadata())
           .customPayload(Optional.ofNullable(getCustomPayload()))
           .tracingRequested(isTracingRequested())
+          .sourceApi(SourceAPI.CQL.getName())
           .build();
     }
 
@@ -275,6 +277,7 @@ public abstract class Message {
       return ImmutableParameters.builder()
           .customPayload(Optional.ofNullable(getCustomPayload()))
           .tracingRequested(isTracingRequested())
+          .sourceApi(SourceAPI.CQL.getName())
           .build();
     }
   }
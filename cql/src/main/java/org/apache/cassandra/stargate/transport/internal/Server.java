@@ -17,6 +17,7 @@
  */
 package org.apache.cassandra.stargate.transport.internal;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.micrometer.core.instrument.Tags;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
@@ -27,6 +28,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
@@ -55,12 +57,15 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -72,7 +77,6 @@ import org.apache.cassandra.service.CassandraDaemon;
 import org.apache.cassandra.stargate.locator.InetAddressAndPort;
 import org.apache.cassandra.stargate.metrics.ConnectionMetrics;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
-import org.apache.cassandra.stargate.transport.internal.messages.EventMessage;
 import org.apache.cassandra.utils.FBUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -271,12 +275,30 @@ public class Server implements CassandraDaemon.Server {
   }
 
   public static class ConnectionTracker implements Connection.Tracker {
+    /**
+     * Events sent within this window (in milliseconds) are coalesced, duplicates are removed and
+     * the remaining events are broadcast together. Zero or less disables the coalescing.
+     */
+    private static final long EVENT_COALESCE_WINDOW_MILLIS =
+        Long.getLong("stargate.cql.event_coalesce_window_ms", 50);
+
     // TODO: should we be using the GlobalEventExecutor or defining our own?
     public final ChannelGroup allChannels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private final EnumMap<Event.Type, ChannelGroup> groups = new EnumMap<>(Event.Type.class);
     private final ProtocolVersionTracker protocolVersionTracker = new ProtocolVersionTracker();
 
+    // pending events keyed by the event and its header filter, guarded by this map
+    private final Map<EventKey, Event> pendingEvents = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    private final long coalesceWindowMillis;
+
     public ConnectionTracker() {
+      this(EVENT_COALESCE_WINDOW_MILLIS);
+    }
+
+    @VisibleForTesting
+    ConnectionTracker(long coalesceWindowMillis) {
+      this.coalesceWindowMillis = coalesceWindowMillis;
       for (Event.Type type : Event.Type.values())
         groups.put(type, new DefaultChannelGroup(type.toString(), GlobalEventExecutor.INSTANCE));
     }
@@ -295,19 +317,142 @@ public class Server implements CassandraDaemon.Server {
     }
 
     public void send(Event event) {
-      groups
-          .get(event.type)
-          .writeAndFlush(
-              new EventMessage(event),
-              channel -> {
-                if (channel == null || event.headerFilter == null) return true;
-
-                ProxyInfo proxyInfo = channel.attr(ProxyInfo.attributeKey).get();
-                Map<String, String> headers =
-                    proxyInfo != null ? proxyInfo.toHeaders() : Collections.emptyMap();
-
-                return event.headerFilter.test(headers);
-              });
+      if (coalesceWindowMillis <= 0) {
+        broadcast(Collections.singletonList(event));
+        return;
+      }
+
+      synchronized (pendingEvents) {
+        // a duplicate is moved to the end, so that the clients always end up with the latest state
+        EventKey key = new EventKey(event);
+        pendingEvents.remove(key);
+        pendingEvents.put(key, event);
+
+        if (!flushScheduled) {
+          flushScheduled = true;
+          GlobalEventExecutor.INSTANCE.schedule(
+              this::flushPendingEvents, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        }
+      }
+    }
+
+    @VisibleForTesting
+    void flushPendingEvents() {
+      List<Event> events;
+      synchronized (pendingEvents) {
+        events = new ArrayList<>(pendingEvents.values());
+        pendingEvents.clear();
+        flushScheduled = false;
+      }
+
+      try {
+        broadcast(events);
+      } catch (Throwable t) {
+        logger.warn("Failed to broadcast {} event(s) to the connected clients.", events.size(), t);
+      }
+    }
+
+    /**
+     * Sends the events to all registered channels. Each event is encoded only once per protocol
+     * version into a shared buffer, and all frames for channels of the same event loop are written
+     * and flushed in a single task.
+     */
+    private void broadcast(List<Event> events) {
+      Map<EventLoop, Map<Channel, List<Frame>>> framesByLoop = new HashMap<>();
+      try {
+        collectFrames(events, framesByLoop);
+      } catch (Throwable t) {
+        framesByLoop.values().forEach(ConnectionTracker::release);
+        throw t;
+      }
+
+      framesByLoop.forEach(
+          (eventLoop, framesByChannel) -> {
+            try {
+              eventLoop.execute(() -> write(framesByChannel));
+            } catch (RejectedExecutionException e) {
+              // the event loop is shutting down, and so are its channels
+              logger.debug("Dropping events for the channels of a terminated event loop.", e);
+              release(framesByChannel);
+            }
+          });
+    }
+
+    private void collectFrames(
+        List<Event> events, Map<EventLoop, Map<Channel, List<Frame>>> framesByLoop) {
+      List<ByteBuf> encodedBodies = new ArrayList<>();
+      try {
+        for (Event event : events) {
+          EnumMap<ProtocolVersion, ByteBuf> bodies = new EnumMap<>(ProtocolVersion.class);
+
+          for (Channel channel : groups.get(event.type)) {
+            if (!accepts(channel, event)) continue;
+
+            ProtocolVersion version = versionOf(channel);
+            ByteBuf body = bodies.get(version);
+            if (body == null) {
+              body = encode(event, version);
+              bodies.put(version, body);
+              encodedBodies.add(body);
+            }
+
+            EnumSet<Frame.Header.Flag> flags = EnumSet.noneOf(Frame.Header.Flag.class);
+            if (version.isBeta()) flags.add(Frame.Header.Flag.USE_BETA);
+            Frame frame =
+                Frame.create(Message.Type.EVENT, -1, version, flags, body.retainedDuplicate());
+
+            framesByLoop
+                .computeIfAbsent(channel.eventLoop(), l -> new LinkedHashMap<>())
+                .computeIfAbsent(channel, c -> new ArrayList<>())
+                .add(frame);
+          }
+        }
+      } finally {
+        // each frame holds its own retained duplicate
+        encodedBodies.forEach(ByteBuf::release);
+      }
+    }
+
+    private static void write(Map<Channel, List<Frame>> framesByChannel) {
+      framesByChannel.forEach(
+          (channel, frames) -> {
+            if (!channel.isActive()) {
+              frames.forEach(Frame::release);
+              return;
+            }
+            frames.forEach(channel::write);
+            channel.flush();
+          });
+    }
+
+    private static void release(Map<Channel, List<Frame>> framesByChannel) {
+      framesByChannel.values().forEach(frames -> frames.forEach(Frame::release));
+    }
+
+    private static boolean accepts(Channel channel, Event event) {
+      if (channel == null || event.headerFilter == null) return true;
+
+      ProxyInfo proxyInfo = channel.attr(ProxyInfo.attributeKey).get();
+      Map<String, String> headers =
+          proxyInfo != null ? proxyInfo.toHeaders() : Collections.emptyMap();
+
+      return event.headerFilter.test(headers);
+    }
+
+    private static ProtocolVersion versionOf(Channel channel) {
+      Connection connection = channel.attr(Connection.attributeKey).get();
+      return connection == null ? ProtocolVersion.CURRENT : connection.getVersion();
+    }
+
+    private static ByteBuf encode(Event event, ProtocolVersion version) {
+      ByteBuf body = CBUtil.allocator.buffer(event.serializedSize(version));
+      try {
+        event.serialize(body, version);
+      } catch (Throwable t) {
+        body.release();
+        throw t;
+      }
+      return body;
     }
 
     void closeAll() {
@@ -351,6 +496,31 @@ public class Server implements CassandraDaemon.Server {
     }
   }
 
+  /**
+   * Identifies duplicate events: equal events are only considered duplicates when they also share
+   * the same header filter instance.
+   */
+  private static final class EventKey {
+    private final Event event;
+
+    private EventKey(Event event) {
+      this.event = event;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof EventKey)) return false;
+      EventKey that = (EventKey) o;
+      return event.equals(that.event) && event.headerFilter == that.event.headerFilter;
+    }
+
+    @Override
+    public int hashCode() {
+      return event.hashCode();
+    }
+  }
+
   // global inflight payload across all channels across all endpoints
   private static final ResourceLimits.Concurrent globalRequestPayloadInFlight =
       new ResourceLimits.Concurrent(
@@ -0,0 +1,209 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.cassandra.stargate.transport.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.cassandra.stargate.transport.ProtocolVersion;
+import org.apache.cassandra.stargate.transport.internal.Event.SchemaChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionTrackerTest {
+
+  private final List<EmbeddedChannel> channels = new ArrayList<>();
+
+  private final List<Frame> received = new ArrayList<>();
+
+  @AfterEach
+  public void cleanup() {
+    received.forEach(Frame::release);
+    for (EmbeddedChannel channel : channels) {
+      if (channel instanceof RejectingChannel) {
+        ((RejectingChannel) channel).rejecting = false;
+      }
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  private EmbeddedChannel channel(Server.ConnectionTracker tracker, ProtocolVersion version) {
+    return register(tracker, new EmbeddedChannel(), version);
+  }
+
+  private <C extends EmbeddedChannel> C register(
+      Server.ConnectionTracker tracker, C channel, ProtocolVersion version) {
+    channel.attr(Connection.attributeKey).set(new Connection(channel, version, tracker, null));
+    tracker.register(Event.Type.SCHEMA_CHANGE, channel);
+    channels.add(channel);
+    return channel;
+  }
+
+  private List<Frame> receive(EmbeddedChannel channel) {
+    channel.runPendingTasks();
+    List<Frame> frames = new ArrayList<>();
+    Frame frame;
+    while ((frame = channel.readOutbound()) != null) {
+      frames.add(frame);
+      received.add(frame);
+    }
+    return frames;
+  }
+
+  private static List<Event> events(List<Frame> frames) {
+    List<Event> events = new ArrayList<>();
+    for (Frame frame : frames) {
+      assertThat(frame.header.type).isEqualTo(Message.Type.EVENT);
+      events.add(Event.deserialize(frame.body.duplicate(), frame.header.version));
+    }
+    return events;
+  }
+
+  private static SchemaChange keyspaceUpdated(String keyspace) {
+    return new SchemaChange(SchemaChange.Change.UPDATED, keyspace, null);
+  }
+
+  private static SchemaChange tableCreated(String keyspace, String table) {
+    return new SchemaChange(
+        SchemaChange.Change.CREATED, SchemaChange.Target.TABLE, keyspace, table, null);
+  }
+
+  @Test
+  public void coalescesRepeatedEvents() {
+    Server.ConnectionTracker tracker = new Server.ConnectionTracker(TimeUnit.HOURS.toMillis(1));
+    EmbeddedChannel channel = channel(tracker, ProtocolVersion.V4);
+
+    tracker.send(keyspaceUpdated("ks1"));
+    tracker.send(keyspaceUpdated("ks1"));
+    tracker.send(keyspaceUpdated("ks2"));
+    tracker.send(keyspaceUpdated("ks1"));
+    assertThat(receive(channel)).isEmpty();
+
+    tracker.flushPendingEvents();
+
+    // the latest occurrence of a duplicate defines its position
+    assertThat(events(receive(channel)))
+        .containsExactly(keyspaceUpdated("ks2"), keyspaceUpdated("ks1"));
+  }
+
+  @Test
+  public void keepsOrderOfDistinctEvents() {
+    Server.ConnectionTracker tracker = new Server.ConnectionTracker(TimeUnit.HOURS.toMillis(1));
+    EmbeddedChannel channel = channel(tracker, ProtocolVersion.V4);
+
+    tracker.send(new SchemaChange(SchemaChange.Change.CREATED, "ks1", null));
+    tracker.send(tableCreated("ks1", "tbl1"));
+    tracker.send(tableCreated("ks1", "tbl2"));
+    tracker.send(keyspaceUpdated("ks2"));
+    tracker.flushPendingEvents();
+
+    assertThat(events(receive(channel)))
+        .containsExactly(
+            new SchemaChange(SchemaChange.Change.CREATED, "ks1", null),
+            tableCreated("ks1", "tbl1"),
+            tableCreated("ks1", "tbl2"),
+            keyspaceUpdated("ks2"));
+  }
+
+  @Test
+  public void encodesOncePerProtocolVersion() {
+    Server.ConnectionTracker tracker = new Server.ConnectionTracker(0);
+    EmbeddedChannel v4a = channel(tracker, ProtocolVersion.V4);
+    EmbeddedChannel v4b = channel(tracker, ProtocolVersion.V4);
+    EmbeddedChannel v3 = channel(tracker, ProtocolVersion.V3);
+
+    tracker.send(keyspaceUpdated("ks1"));
+
+    Frame frameV4a = receive(v4a).get(0);
+    Frame frameV4b = receive(v4b).get(0);
+    Frame frameV3 = receive(v3).get(0);
+    assertThat(frameV4a.header.version).isEqualTo(ProtocolVersion.V4);
+    assertThat(frameV3.header.version).isEqualTo(ProtocolVersion.V3);
+    assertThat(events(received)).containsOnly(keyspaceUpdated("ks1"));
+
+    ByteBuf bodyV4 = frameV4a.body.unwrap();
+    ByteBuf bodyV3 = frameV3.body.unwrap();
+    assertThat(frameV4b.body.unwrap()).isSameAs(bodyV4);
+    assertThat(bodyV3).isNotSameAs(bodyV4);
+
+    received.forEach(Frame::release);
+    received.clear();
+    assertThat(bodyV4.refCnt()).isZero();
+    assertThat(bodyV3.refCnt()).isZero();
+  }
+
+  @Test
+  public void releasesFramesOfInactiveChannels() {
+    Server.ConnectionTracker tracker = new Server.ConnectionTracker(0);
+    EmbeddedChannel active = channel(tracker, ProtocolVersion.V4);
+    EmbeddedChannel inactive = channel(tracker, ProtocolVersion.V4);
+
+    tracker.send(keyspaceUpdated("ks1"));
+    // the channel goes inactive before its delivery task runs
+    inactive.unsafe().close(inactive.voidPromise());
+
+    assertThat(receive(inactive)).isEmpty();
+    Frame frame = receive(active).get(0);
+    ByteBuf body = frame.body.unwrap();
+
+    received.forEach(Frame::release);
+    received.clear();
+    assertThat(body.refCnt()).isZero();
+  }
+
+  @Test
+  public void releasesFramesOfRejectingEventLoops() {
+    Server.ConnectionTracker tracker = new Server.ConnectionTracker(0);
+    RejectingChannel rejecting = register(tracker, new RejectingChannel(), ProtocolVersion.V4);
+    EmbeddedChannel active = channel(tracker, ProtocolVersion.V4);
+    rejecting.rejecting = true;
+
+    tracker.send(keyspaceUpdated("ks1"));
+
+    // the other event loops still get the events
+    Frame frame = receive(active).get(0);
+    assertThat(events(received)).containsExactly(keyspaceUpdated("ks1"));
+    ByteBuf body = frame.body.unwrap();
+
+    received.forEach(Frame::release);
+    received.clear();
+    assertThat(body.refCnt()).isZero();
+  }
+
+  /** A channel whose event loop rejects all tasks, like an event loop that is shutting down. */
+  private static class RejectingChannel extends EmbeddedChannel {
+    private final EventLoop rejectingLoop = mock(EventLoop.class);
+    private volatile boolean rejecting;
+
+    private RejectingChannel() {
+      doThrow(new RejectedExecutionException("shutting down")).when(rejectingLoop).execute(any());
+    }
+
+    @Override
+    public EventLoop eventLoop() {
+      return rejecting ? rejectingLoop : super.eventLoop();
+    }
+  }
+}
@@ -19,6 +19,7 @@ import com.codahale.metrics.health.HealthCheck;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthorizationService;
+import io.stargate.auth.CachingAuthorizationService;
 import io.stargate.core.activator.BaseActivator;
 import io.stargate.core.metrics.api.HttpMetricsTagProvider;
 import io.stargate.core.metrics.api.Metrics;
@@ -103,7 +104,7 @@ public class GraphqlActivator extends BaseActivator {
             new DropwizardServer(
                 persistence.get(),
                 authentication.get(),
-                authorization.get(),
+                CachingAuthorizationService.wrap(authorization.get()),
                 metrics.get(),
                 httpTagProvider.get(),
                 dataStoreFactory.get(),
@@ -2,6 +2,7 @@ package io.stargate.graphql.schema;
 
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import io.stargate.auth.SourceAPI;
 import io.stargate.db.Parameters;
 import io.stargate.db.datastore.Row;
 import io.stargate.db.schema.Column;
@@ -21,6 +22,7 @@ public abstract class CassandraFetcher<ResultT> implements DataFetcher<ResultT>
           .pageSize(DEFAULT_PAGE_SIZE)
           .consistencyLevel(DEFAULT_CONSISTENCY)
           .serialConsistencyLevel(DEFAULT_SERIAL_CONSISTENCY)
+          .sourceApi(SourceAPI.GRAPHQL.getName())
           .build();
 
   @Override
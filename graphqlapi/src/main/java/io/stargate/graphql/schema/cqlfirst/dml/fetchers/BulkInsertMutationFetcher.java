@@ -24,12 +24,14 @@ import io.stargate.auth.TypedKeyValue;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.db.query.BoundDMLQuery;
 import io.stargate.db.query.BoundQuery;
+import io.stargate.db.query.builder.BuiltQuery;
 import io.stargate.db.query.builder.ValueModifier;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Table;
 import io.stargate.graphql.schema.cqlfirst.dml.NameMapping;
 import io.stargate.graphql.web.StargateGraphqlContext;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -48,40 +50,61 @@ public class BulkInsertMutationFetcher extends BulkMutationFetcher {
             && environment.getArgument("ifNotExists") != null
             && (Boolean) environment.getArgument("ifNotExists");
 
+    Integer ttl = getTTL(environment);
+
     List<Map<String, Object>> valuesToInsert = environment.getArgument("values");
     List<BoundQuery> boundQueries = new ArrayList<>(valuesToInsert.size());
+    List<TypedKeyValue> typedKeyValues = new ArrayList<>(valuesToInsert.size());
+    // Rows usually all set the same columns: build the insert once per set of columns and bind the
+    // values of each row to it.
+    Map<List<Column>, BuiltQuery<?>> insertsByColumns = new HashMap<>();
     for (Map<String, Object> value : valuesToInsert) {
-      BoundQuery query =
-          context
-              .getDataStore()
-              .queryBuilder()
-              .insertInto(table.keyspace(), table.name())
-              .value(buildInsertValues(value))
-              .ifNotExists(ifNotExists)
-              .ttl(getTTL(environment))
-              .build()
-              .bind();
+      List<Column> columns = new ArrayList<>(value.size());
+      List<Object> dbValues = new ArrayList<>(value.size());
+      for (Map.Entry<String, Object> entry : value.entrySet()) {
+        Column column = dbColumnGetter.getColumn(table, entry.getKey());
+        columns.add(column);
+        dbValues.add(toDBValue(column, entry.getValue()));
+      }
+      BuiltQuery<?> insert =
+          insertsByColumns.computeIfAbsent(columns, c -> buildInsert(context, c, ifNotExists, ttl));
+      BoundQuery query = insert.bind(dbValues);
+
+      typedKeyValues.addAll(TypedKeyValue.forDML((BoundDMLQuery) query));
+      boundQueries.add(query);
+    }
 
+    if (!boundQueries.isEmpty()) {
+      // A single check for all the rows, the key values of each of them are still verified.
       context
           .getAuthorizationService()
           .authorizeDataWrite(
               context.getSubject(),
               table.keyspace(),
               table.name(),
-              TypedKeyValue.forDML((BoundDMLQuery) query),
+              typedKeyValues,
               Scope.MODIFY,
               SourceAPI.GRAPHQL);
-      boundQueries.add(query);
     }
     return boundQueries;
   }
 
-  private List<ValueModifier> buildInsertValues(Map<String, Object> value) {
+  private BuiltQuery<?> buildInsert(
+      StargateGraphqlContext context, List<Column> columns, boolean ifNotExists, Integer ttl) {
+    return context
+        .getDataStore()
+        .queryBuilder()
+        .insertInto(table.keyspace(), table.name())
+        .value(buildInsertValues(columns))
+        .ifNotExists(ifNotExists)
+        .ttl(ttl)
+        .build();
+  }
 
-    List<ValueModifier> modifiers = new ArrayList<>();
-    for (Map.Entry<String, Object> entry : value.entrySet()) {
-      Column column = dbColumnGetter.getColumn(table, entry.getKey());
-      modifiers.add(ValueModifier.set(column.name(), toDBValue(column, entry.getValue())));
+  private List<ValueModifier> buildInsertValues(List<Column> columns) {
+    List<ValueModifier> modifiers = new ArrayList<>(columns.size());
+    for (Column column : columns) {
+      modifiers.add(ValueModifier.marker(column.name()));
     }
     return modifiers;
   }
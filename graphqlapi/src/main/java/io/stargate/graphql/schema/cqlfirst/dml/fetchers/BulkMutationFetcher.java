@@ -17,26 +17,43 @@ package io.stargate.graphql.schema.cqlfirst.dml.fetchers;
 
 import static io.stargate.graphql.schema.SchemaConstants.ASYNC_DIRECTIVE;
 import static io.stargate.graphql.schema.SchemaConstants.ATOMIC_DIRECTIVE;
-import static java.util.stream.Stream.concat;
 
 import graphql.GraphQLException;
 import graphql.language.OperationDefinition;
 import graphql.schema.DataFetchingEnvironment;
+import io.stargate.db.BatchType;
 import io.stargate.db.Parameters;
+import io.stargate.db.query.BoundDMLQuery;
+import io.stargate.db.query.BoundDMLQueryWithConditions;
+import io.stargate.db.query.BoundInsert;
 import io.stargate.db.query.BoundQuery;
+import io.stargate.db.query.PartitionKey;
+import io.stargate.db.query.PrimaryKey;
+import io.stargate.db.query.RowsImpacted;
 import io.stargate.db.schema.Table;
 import io.stargate.graphql.schema.cqlfirst.dml.NameMapping;
 import io.stargate.graphql.web.StargateGraphqlContext;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class BulkMutationFetcher
     extends DmlFetcher<CompletableFuture<List<Map<String, Object>>>> {
+
+  /** The maximum number of queries or batches of a bulk mutation executing concurrently. */
+  private static final int MAX_CONCURRENT_QUERIES =
+      Integer.getInteger("stargate.graphql.bulk_mutation_concurrency", 16);
+
+  /** The maximum number of rows of a partition grouped in a single batch. */
+  private static final int MAX_BATCH_SIZE = 64;
+
   protected BulkMutationFetcher(Table table, NameMapping nameMapping) {
     super(table, nameMapping);
   }
@@ -74,23 +91,182 @@ public abstract class BulkMutationFetcher
       throw new IllegalStateException("Number of values to insert should match number of queries");
     }
 
-    List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>(values.size());
     Parameters parameters = buildParameters(environment);
+    if (containsDirective(operation, ASYNC_DIRECTIVE)) {
+      for (int i = 0; i < queries.size(); i++) {
+        executeAsyncAccepted(queries.get(i), values.get(i), __ -> parameters, context);
+      }
+      return toListOfMutationResultsAccepted(values);
+    }
+    return new BulkExecution(groupByPartition(queries), queries, values, parameters, context)
+        .start();
+  }
+
+  /**
+   * Groups the queries that can be executed together in a single-partition unlogged batch, in the
+   * order of their first query.
+   *
+   * <p>Conditional queries are never grouped, nor are queries writing the same row, which must not
+   * share the timestamp of a batch.
+   */
+  private static List<List<Integer>> groupByPartition(List<BoundQuery> queries) {
+    List<List<Integer>> groups = new ArrayList<>(queries.size());
+    Map<PartitionKey, List<Integer>> openGroups = new HashMap<>();
+    Map<PartitionKey, Set<PrimaryKey>> openGroupKeys = new HashMap<>();
     for (int i = 0; i < queries.size(); i++) {
-      int finalI = i;
-      // Execute as a single statement
-      if (containsDirective(operation, ASYNC_DIRECTIVE)) {
-        results.add(
-            executeAsyncAccepted(queries.get(i), values.get(finalI), __ -> parameters, context));
+      PrimaryKey primaryKey = batchablePrimaryKey(queries.get(i));
+      if (primaryKey == null) {
+        groups.add(Collections.singletonList(i));
+        continue;
+      }
+      PartitionKey partitionKey = primaryKey.partitionKey();
+      List<Integer> group = openGroups.get(partitionKey);
+      Set<PrimaryKey> keys = openGroupKeys.get(partitionKey);
+      if (group == null || group.size() >= MAX_BATCH_SIZE || !keys.add(primaryKey)) {
+        group = new ArrayList<>();
+        keys = new HashSet<>();
+        keys.add(primaryKey);
+        groups.add(group);
+        openGroups.put(partitionKey, group);
+        openGroupKeys.put(partitionKey, keys);
+      }
+      group.add(i);
+    }
+    return groups;
+  }
+
+  private static PrimaryKey batchablePrimaryKey(BoundQuery query) {
+    if (!(query instanceof BoundDMLQuery)
+        || (query instanceof BoundInsert && ((BoundInsert) query).ifNotExists())
+        || (query instanceof BoundDMLQueryWithConditions
+            && ((BoundDMLQueryWithConditions) query).isConditional())) {
+      return null;
+    }
+    RowsImpacted rows = ((BoundDMLQuery) query).rowsUpdated();
+    if (!rows.isKeys() || rows.asKeys().primaryKeys().size() != 1) {
+      return null;
+    }
+    return rows.asKeys().primaryKeys().get(0);
+  }
+
+  /**
+   * Executes the groups of a bulk mutation, with at most {@link #MAX_CONCURRENT_QUERIES} of them in
+   * flight at any time.
+   *
+   * <p>All the groups are executed even if some of them fail, in which case the execution fails
+   * with the error of the first failed group, like if the groups were executed one after the other.
+   */
+  private class BulkExecution {
+    private final List<List<Integer>> groups;
+    private final List<BoundQuery> queries;
+    private final List<Map<String, Object>> values;
+    private final Parameters parameters;
+    private final StargateGraphqlContext context;
+
+    private final Map<String, Object>[] results;
+    private final Throwable[] errors;
+    private final CompletableFuture<List<Map<String, Object>>> future = new CompletableFuture<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger pending;
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    // Only accessed by the thread draining.
+    private int nextGroup;
+
+    @SuppressWarnings("unchecked")
+    private BulkExecution(
+        List<List<Integer>> groups,
+        List<BoundQuery> queries,
+        List<Map<String, Object>> values,
+        Parameters parameters,
+        StargateGraphqlContext context) {
+      this.groups = groups;
+      this.queries = queries;
+      this.values = values;
+      this.parameters = parameters;
+      this.context = context;
+      this.results = new Map[values.size()];
+      this.errors = new Throwable[groups.size()];
+      this.pending = new AtomicInteger(groups.size());
+    }
+
+    private CompletableFuture<List<Map<String, Object>>> start() {
+      if (groups.isEmpty()) {
+        return CompletableFuture.completedFuture(Collections.emptyList());
+      }
+      drain();
+      return future;
+    }
+
+    /**
+     * Starts groups until the window is full. Queries completing synchronously ask the draining
+     * thread to loop again, instead of recursing.
+     */
+    private void drain() {
+      if (drainRequests.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (nextGroup < groups.size() && inFlight.get() < MAX_CONCURRENT_QUERIES) {
+          inFlight.incrementAndGet();
+          int group = nextGroup++;
+          execute(groups.get(group)).whenComplete((__, error) -> onGroupComplete(group, error));
+        }
+      } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private CompletableFuture<Void> execute(List<Integer> group) {
+      try {
+        if (group.size() == 1) {
+          int i = group.get(0);
+          return context
+              .getDataStore()
+              .execute(queries.get(i), __ -> parameters)
+              .thenAccept(rs -> results[i] = toMutationResult(rs, values.get(i)));
+        }
+        List<BoundQuery> batch = new ArrayList<>(group.size());
+        List<Map<String, Object>> batchValues = new ArrayList<>(group.size());
+        for (int i : group) {
+          batch.add(queries.get(i));
+          batchValues.add(values.get(i));
+        }
+        return context
+            .getDataStore()
+            .batch(batch, BatchType.UNLOGGED, __ -> parameters)
+            .thenAccept(
+                rs -> {
+                  List<Map<String, Object>> batchResults =
+                      toBatchResults(rs.currentPageRows(), batchValues);
+                  for (int j = 0; j < group.size(); j++) {
+                    results[group.get(j)] = batchResults.get(j);
+                  }
+                });
+      } catch (Exception e) {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(e);
+        return failed;
+      }
+    }
+
+    private void onGroupComplete(int group, Throwable error) {
+      errors[group] = error;
+      inFlight.decrementAndGet();
+      if (pending.decrementAndGet() == 0) {
+        complete();
       } else {
-        results.add(
-            context
-                .getDataStore()
-                .execute(queries.get(i), __ -> parameters)
-                .thenApply(rs -> toMutationResult(rs, values.get(finalI))));
+        drain();
       }
     }
-    return convert(results);
+
+    private void complete() {
+      for (Throwable error : errors) {
+        if (error != null) {
+          future.completeExceptionally(error);
+          return;
+        }
+      }
+      future.complete(Arrays.asList(results));
+    }
   }
 
   private CompletableFuture<List<Map<String, Object>>> executeAsPartOfBatch(
@@ -129,14 +305,6 @@ public abstract class BulkMutationFetcher
     }
   }
 
-  public static <T> CompletableFuture<List<T>> convert(List<CompletableFuture<T>> futures) {
-    return futures.stream()
-        .map(f -> f.thenApply(Stream::of))
-        .reduce((a, b) -> a.thenCompose(xs -> b.thenApply(ys -> concat(xs, ys))))
-        .map(f -> f.thenApply(s -> s.collect(Collectors.toList())))
-        .orElse(CompletableFuture.completedFuture(Collections.emptyList()));
-  }
-
   protected abstract List<BoundQuery> buildQueries(
       DataFetchingEnvironment environment, StargateGraphqlContext context) throws Exception;
 }
@@ -21,6 +21,7 @@ import graphql.schema.SelectedField;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.TypedKeyValue;
 import io.stargate.core.util.ByteBufferUtils;
+import io.stargate.db.aggregation.TokenRangeAggregation;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.query.BoundQuery;
@@ -43,6 +44,13 @@ import java.util.stream.Collectors;
 
 public class QueryFetcher extends DmlFetcher<Map<String, Object>> {
 
+  /**
+   * Whether queries selecting only aggregates over a whole table are computed with a {@link
+   * TokenRangeAggregation}, rather than with a single query that can time out on large tables.
+   */
+  private static final boolean PARALLEL_AGGREGATION =
+      Boolean.getBoolean("stargate.graphql.parallel_aggregation");
+
   private final AggregationsFetcherSupport aggregationsFetcherSupport;
 
   public QueryFetcher(Table table, NameMapping nameMapping) {
@@ -53,6 +61,10 @@ public class QueryFetcher extends DmlFetcher<Map<String, Object>> {
   @Override
   protected Map<String, Object> get(
       DataFetchingEnvironment environment, StargateGraphqlContext context) throws Exception {
+    if (PARALLEL_AGGREGATION && isWholeTableAggregation(environment)) {
+      return aggregate(environment, context);
+    }
+
     BoundQuery query = buildQuery(environment, context.getDataStore());
 
     ResultSet resultSet =
@@ -88,6 +100,36 @@ public class QueryFetcher extends DmlFetcher<Map<String, Object>> {
     return result;
   }
 
+  private boolean isWholeTableAggregation(DataFetchingEnvironment environment) {
+    return buildClause(table, environment).isEmpty()
+        && buildQueryColumns(environment).isEmpty()
+        && !aggregationsFetcherSupport.buildAggregatedFunctions(environment).isEmpty();
+  }
+
+  private Map<String, Object> aggregate(
+      DataFetchingEnvironment environment, StargateGraphqlContext context) throws Exception {
+    TokenRangeAggregation aggregation =
+        TokenRangeAggregation.builder(context.getDataStore(), table)
+            .aggregates(aggregationsFetcherSupport.buildAggregates(environment))
+            .parameters(__ -> buildParameters(environment))
+            .build();
+
+    context
+        .getAuthorizationService()
+        .authorizeDataRead(context.getSubject(), table.keyspace(), table.name(), SourceAPI.GRAPHQL);
+
+    Map<String, Object> result = new HashMap<>();
+    result.put(
+        "values",
+        aggregation.execute().get().stream()
+            .map(
+                row ->
+                    aggregationsFetcherSupport.addAggregationResults(
+                        new HashMap<>(), environment, row))
+            .collect(Collectors.toList()));
+    return result;
+  }
+
   private BoundQuery buildQuery(DataFetchingEnvironment environment, DataStore dataStore) {
     Integer limit = null;
     if (environment.containsArgument("options")) {
@@ -23,6 +23,8 @@ import static io.stargate.graphql.schema.cqlfirst.dml.fetchers.aggregations.Supp
 
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.SelectedField;
+import io.stargate.db.aggregation.Aggregate;
+import io.stargate.db.aggregation.TokenRangeAggregation;
 import io.stargate.db.datastore.Row;
 import io.stargate.db.query.builder.QueryBuilderImpl;
 import io.stargate.db.schema.Table;
@@ -30,6 +32,7 @@ import io.stargate.graphql.schema.cqlfirst.dml.NameMapping;
 import io.stargate.graphql.schema.cqlfirst.dml.fetchers.DbColumnGetter;
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class AggregationsFetcherSupport {
@@ -88,6 +91,34 @@ public class AggregationsFetcherSupport {
     return functionCalls;
   }
 
+  /**
+   * Builds the aggregates to compute with a {@link TokenRangeAggregation}, named like the columns
+   * of the equivalent CQL query, so that {@link #addAggregationResults(Map,
+   * DataFetchingEnvironment, Map)} finds their results.
+   */
+  public List<Aggregate> buildAggregates(DataFetchingEnvironment environment) {
+    List<SelectedField> valuesFields = environment.getSelectionSet().getFields("values");
+    if (valuesFields.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<Aggregate> aggregates = new ArrayList<>();
+    for (SelectedField selectedField : extractAllFieldsAndDeduplicate(valuesFields)) {
+      Map<String, Object> arguments = selectedField.getArguments();
+      getSupportedFunction(arguments)
+          .ifPresent(
+              f -> {
+                String column = getAndValidateColumn(getAndValidateArgs(arguments, f), f);
+                String name =
+                    selectedField.getAlias() != null
+                        ? selectedField.getAlias()
+                        : generateAggregationColumnName(selectedField);
+                aggregates.add(Aggregate.of(Aggregate.Function.valueOf(f.name()), column).as(name));
+              });
+    }
+    return aggregates;
+  }
+
   public Map<String, Object> addAggregationResults(
       Map<String, Object> columns, DataFetchingEnvironment environment, Row row) {
     List<SelectedField> valuesFields = environment.getSelectionSet().getFields("values");
@@ -97,25 +128,56 @@ public class AggregationsFetcherSupport {
     for (SelectedField selectedField : extractAllFieldsAndDeduplicate(valuesFields)) {
       // if there is no SupportedGraphqlFunction for arguments, ignore
       SupportedGraphqlFunction.valueOfIgnoreCase(selectedField.getName())
-          .ifPresent(f -> putResultValue(columns, row, selectedField, f.getRowValueExtractor()));
+          .ifPresent(
+              f ->
+                  putResultValue(
+                      columns, selectedField, name -> f.getRowValueExtractor().apply(row, name)));
+    }
+    return columns;
+  }
+
+  /**
+   * Same as {@link #addAggregationResults(Map, DataFetchingEnvironment, Row)}, for the results of
+   * a {@link TokenRangeAggregation}.
+   */
+  public Map<String, Object> addAggregationResults(
+      Map<String, Object> columns,
+      DataFetchingEnvironment environment,
+      Map<String, Object> aggregated) {
+    List<SelectedField> valuesFields = environment.getSelectionSet().getFields("values");
+    if (valuesFields.isEmpty()) {
+      return columns;
+    }
+    for (SelectedField selectedField : extractAllFieldsAndDeduplicate(valuesFields)) {
+      SupportedGraphqlFunction.valueOfIgnoreCase(selectedField.getName())
+          .ifPresent(
+              f ->
+                  putResultValue(
+                      columns,
+                      selectedField,
+                      name -> {
+                        Object value = aggregated.get(name);
+                        return value instanceof Number
+                            ? f.getNumberConverter().apply((Number) value)
+                            : value;
+                      }));
     }
     return columns;
   }
 
   private void putResultValue(
       Map<String, Object> columns,
-      Row row,
       SelectedField selectedField,
-      BiFunction<Row, String, Object> rowValueExtractor) {
+      Function<String, Object> valueExtractor) {
     String alias = selectedField.getAlias();
     // put the returned value as alias
     if (alias != null) {
-      columns.put(selectedField.getName(), rowValueExtractor.apply(row, alias));
+      columns.put(selectedField.getName(), valueExtractor.apply(alias));
     }
     // generate aggregation column name and get the value
     else {
       String columnName = generateAggregationColumnName(selectedField);
-      columns.put(selectedField.getName(), rowValueExtractor.apply(row, columnName));
+      columns.put(selectedField.getName(), valueExtractor.apply(columnName));
     }
   }
 
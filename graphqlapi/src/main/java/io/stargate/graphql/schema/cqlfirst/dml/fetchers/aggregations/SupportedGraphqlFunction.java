@@ -16,25 +16,40 @@
 package io.stargate.graphql.schema.cqlfirst.dml.fetchers.aggregations;
 
 import io.stargate.db.datastore.Row;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public enum SupportedGraphqlFunction {
-  INT_FUNCTION("_int_function", Row::getInt),
-  DOUBLE_FUNCTION("_double_function", Row::getDouble), // corresponds to GraphQLFloat
-  BIGINT_FUNCTION("_bigint_function", Row::getLong),
-  DECIMAL_FUNCTION("_decimal_function", Row::getBigDecimal),
-  VARINT_FUNCTION("_varint_function", Row::getBigInteger),
-  FLOAT_FUNCTION("_float_function", Row::getFloat),
-  SMALLINT_FUNCTION("_smallint_function", Row::getShort),
-  TINYINT_FUNCTION("_tinyint_function", Row::getByte);
+  INT_FUNCTION("_int_function", Row::getInt, Number::intValue),
+  DOUBLE_FUNCTION(
+      "_double_function", Row::getDouble, Number::doubleValue), // corresponds to GraphQLFloat
+  BIGINT_FUNCTION("_bigint_function", Row::getLong, Number::longValue),
+  DECIMAL_FUNCTION(
+      "_decimal_function",
+      Row::getBigDecimal,
+      n -> n instanceof BigDecimal ? n : new BigDecimal(n.toString())),
+  VARINT_FUNCTION(
+      "_varint_function",
+      Row::getBigInteger,
+      n -> n instanceof BigInteger ? n : BigInteger.valueOf(n.longValue())),
+  FLOAT_FUNCTION("_float_function", Row::getFloat, Number::floatValue),
+  SMALLINT_FUNCTION("_smallint_function", Row::getShort, Number::shortValue),
+  TINYINT_FUNCTION("_tinyint_function", Row::getByte, Number::byteValue);
 
   private final String name;
   private final BiFunction<Row, String, Object> rowValueExtractor;
+  private final Function<Number, Object> numberConverter;
 
-  SupportedGraphqlFunction(String name, BiFunction<Row, String, Object> rowValueExtractor) {
+  SupportedGraphqlFunction(
+      String name,
+      BiFunction<Row, String, Object> rowValueExtractor,
+      Function<Number, Object> numberConverter) {
     this.name = name;
     this.rowValueExtractor = rowValueExtractor;
+    this.numberConverter = numberConverter;
   }
 
   public String getName() {
@@ -45,6 +60,11 @@ public enum SupportedGraphqlFunction {
     return rowValueExtractor;
   }
 
+  /** Converts an aggregated value to the type of the function. */
+  public Function<Number, Object> getNumberConverter() {
+    return numberConverter;
+  }
+
   public static Optional<SupportedGraphqlFunction> valueOfIgnoreCase(String functionName) {
     for (SupportedGraphqlFunction f : values()) {
       if (f.name.equalsIgnoreCase(functionName)) {
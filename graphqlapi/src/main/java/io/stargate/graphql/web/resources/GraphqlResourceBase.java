@@ -23,8 +23,11 @@ import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import graphql.ExceptionWhileDataFetching;
 import graphql.ExecutionInput;
+import graphql.ExecutionResult;
 import graphql.GraphQL;
+import graphql.GraphQLError;
 import graphql.GraphqlErrorException;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
@@ -47,6 +50,7 @@ import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
 import org.glassfish.jersey.media.multipart.FormDataBodyPart;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.slf4j.Logger;
@@ -341,7 +345,7 @@ public class GraphqlResourceBase {
       ExecutionInput input, GraphQL graphql, @Suspended AsyncResponse asyncResponse) {
     graphql
         .executeAsync(input)
-        .thenApply(result -> asyncResponse.resume(result.toSpecification()))
+        .thenApply(result -> asyncResponse.resume(toResponse(result)))
         .exceptionally(
             error -> {
               LOG.error("Unexpected error while processing GraphQL request", error);
@@ -351,6 +355,32 @@ public class GraphqlResourceBase {
             });
   }
 
+  /**
+   * Converts the result to a response. If a field could not be fetched because the persistence was
+   * overloaded, the status is 429 (like in the other APIs) so that clients back off, the body is
+   * still the regular GraphQL result.
+   */
+  private static Response toResponse(ExecutionResult result) {
+    Status status = isOverloaded(result) ? Status.TOO_MANY_REQUESTS : Status.OK;
+    return Response.status(status).entity(result.toSpecification()).build();
+  }
+
+  private static boolean isOverloaded(ExecutionResult result) {
+    for (GraphQLError error : result.getErrors()) {
+      if (error instanceof ExceptionWhileDataFetching) {
+        // fetchers usually wait on the persistence future, so the exception is wrapped
+        Throwable exception = ((ExceptionWhileDataFetching) error).getException();
+        while (null != exception) {
+          if (exception instanceof OverloadedException) {
+            return true;
+          }
+          exception = exception.getCause();
+        }
+      }
+    }
+    return false;
+  }
+
   protected boolean isAuthorized(HttpServletRequest httpRequest, String keyspaceName) {
     AuthenticationSubject subject =
         (AuthenticationSubject) httpRequest.getAttribute(AuthenticationFilter.SUBJECT_KEY);
@@ -23,6 +23,7 @@ import io.stargate.db.Parameters;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.query.BoundQuery;
+import io.stargate.db.query.TypedValue;
 import io.stargate.db.query.TypedValue.Codec;
 import io.stargate.db.query.builder.AbstractBound;
 import io.stargate.db.query.builder.QueryBuilder;
@@ -124,12 +125,22 @@ public abstract class GraphQlTestBase {
     return graphQl.execute(ExecutionInput.newExecutionInput(query).context(context).build());
   }
 
-  private String queryString(BoundQuery boundQuery) {
+  protected String queryString(BoundQuery boundQuery) {
     // Technically, bound#queryString() has all its value as markers (the values are in
     // bound#values). However, those tests were written with expectedCqlQuery being the query with
     // all the value "inlined". To avoid changing all the tests, we "cheat" a bit by reaching into
     // the underlying BuiltQuery.
-    return ((AbstractBound<?>) boundQuery).source().query().toString();
+    BoundQuery.Source<?> source = ((AbstractBound<?>) boundQuery).source();
+    String query = source.query().toString();
+    // Queries built with bind markers (f.e. bulk inserts): inline the values bound to them.
+    StringBuilder inlined = new StringBuilder();
+    int start = 0;
+    for (TypedValue value : source.values()) {
+      int marker = query.indexOf('?', start);
+      inlined.append(query, start, marker).append(value.type().toCQLString(value.javaValue()));
+      start = marker + 1;
+    }
+    return inlined.append(query.substring(start)).toString();
   }
 
   public String getCapturedQueryString() {
@@ -16,19 +16,28 @@
 package io.stargate.graphql.schema.cqlfirst.dml.fetchers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
 
 import graphql.ExecutionResult;
 import graphql.GraphQLError;
+import io.stargate.db.BatchType;
 import io.stargate.db.Parameters;
+import io.stargate.db.query.BoundQuery;
 import io.stargate.db.schema.Schema;
 import io.stargate.graphql.schema.SampleKeyspaces;
 import io.stargate.graphql.schema.cqlfirst.dml.DmlTestBase;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 
 public class BulkMutationFetcherTest extends DmlTestBase {
   @Override
@@ -128,4 +137,37 @@ public class BulkMutationFetcherTest extends DmlTestBase {
             "Exception while fetching data (/m1) : graphql.GraphQLException: options can only de defined once in an @atomic mutation selection",
             "Exception while fetching data (/m2) : graphql.GraphQLException: options can only de defined once in an @atomic mutation selection");
   }
+
+  @Test
+  @DisplayName("Bulk mutations should group the rows of a partition in an unlogged batch")
+  @SuppressWarnings("unchecked")
+  public void mutationBulkGroupsPartitionsTest() {
+    ArgumentCaptor<List<BoundQuery>> batchCaptor = ArgumentCaptor.forClass(List.class);
+    when(dataStore.batch(batchCaptor.capture(), eq(BatchType.UNLOGGED), any()))
+        .thenReturn(CompletableFuture.completedFuture(resultSet));
+
+    ExecutionResult result =
+        executeGraphQl(
+            "mutation { bulkInsertauthors(values: ["
+                + "{ author: \"G.O.\", title: \"1984\" },"
+                + "{ author: \"A.H.\", title: \"Brave New World\" },"
+                + "{ author: \"G.O.\", title: \"Animal Farm\" }"
+                + "] ) { applied, value { title } } }");
+
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(batchCaptor.getAllValues()).hasSize(1);
+    assertThat(batchCaptor.getValue())
+        .extracting(this::queryString)
+        .containsExactly(
+            "INSERT INTO library.authors (author, title) VALUES ('G.O.', '1984')",
+            "INSERT INTO library.authors (author, title) VALUES ('G.O.', 'Animal Farm')");
+    assertThat(getCapturedQueryString())
+        .isEqualTo(
+            "INSERT INTO library.authors (author, title) VALUES ('A.H.', 'Brave New World')");
+    // results are still in the order of the values
+    Map<String, List<Map<String, Object>>> data = result.getData();
+    assertThat(data.get("bulkInsertauthors"))
+        .extracting(r -> ((Map<?, ?>) r.get("value")).get("title"))
+        .containsExactly("1984", "Brave New World", "Animal Farm");
+  }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.graphql.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import graphql.ExecutionInput;
+import graphql.GraphQL;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class GraphqlResourceBaseTest {
+
+  private static GraphQL graphql(DataFetcher<?> fetcher) {
+    GraphQLSchema schema =
+        new SchemaGenerator()
+            .makeExecutableSchema(
+                new SchemaParser().parse("type Query { books: String }"),
+                RuntimeWiring.newRuntimeWiring()
+                    .type("Query", builder -> builder.dataFetcher("books", fetcher))
+                    .build());
+    return GraphQL.newGraphQL(schema).build();
+  }
+
+  private static Response execute(GraphQL graphql) {
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    GraphqlResourceBase.executeAsync(
+        ExecutionInput.newExecutionInput("{ books }").build(), graphql, asyncResponse);
+
+    ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+    verify(asyncResponse, timeout(1000)).resume(captor.capture());
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> entity(Response response) {
+    return (Map<String, Object>) response.getEntity();
+  }
+
+  @Test
+  public void success() {
+    Response response = execute(graphql(environment -> "1984"));
+
+    assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+    assertThat(entity(response)).containsKey("data").doesNotContainKey("errors");
+  }
+
+  @Test
+  public void overloaded() {
+    Response response =
+        execute(
+            graphql(
+                environment -> {
+                  throw new ExecutionException(new OverloadedException("too many requests"));
+                }));
+
+    assertThat(response.getStatus()).isEqualTo(Response.Status.TOO_MANY_REQUESTS.getStatusCode());
+    assertThat(entity(response)).containsKey("errors");
+  }
+
+  @Test
+  public void otherFetchingError() {
+    Response response =
+        execute(
+            graphql(
+                environment -> {
+                  throw new IllegalStateException("failed");
+                }));
+
+    assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+    assertThat(entity(response)).containsKey("errors");
+  }
+}
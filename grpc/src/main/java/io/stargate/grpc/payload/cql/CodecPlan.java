@@ -0,0 +1,175 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.payload.cql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.grpc.StatusException;
+import io.stargate.db.Result.PreparedMetadata;
+import io.stargate.db.Result.ResultMetadata;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Column.ColumnType;
+import io.stargate.grpc.codec.cql.ValueCodec;
+import io.stargate.grpc.codec.cql.ValueCodecs;
+import io.stargate.proto.QueryOuterClass.ColumnSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+
+/**
+ * The codecs of a list of columns (bind markers or result columns), resolved once so that values
+ * can be encoded and decoded with a flat indexed loop.
+ *
+ * <p>Columns without a type or with a type that has no codec are not rejected when the plan is
+ * built, but only once they are actually used, the same way as if they were resolved per value.
+ */
+class CodecPlan {
+
+  private static final long RESULT_PLANS_MAX_SIZE =
+      Long.getLong("stargate.grpc.result_codec_plans.max_size", 1000);
+
+  // Bind plans live as long as the prepared statement they were built for, which itself is held
+  // by the prepared cache of the service (weak keys use identity).
+  private static final Cache<PreparedMetadata, CodecPlan> BIND_PLANS =
+      Caffeine.newBuilder().weakKeys().build();
+
+  // Result plans are keyed by the result metadata ID (a digest of the result columns), so that
+  // they can be shared by all the pages of all the executions of the same statement.
+  private static final Cache<MD5Digest, CodecPlan> RESULT_PLANS =
+      Caffeine.newBuilder().maximumSize(RESULT_PLANS_MAX_SIZE).build();
+
+  private final List<Column> columns;
+  private final ColumnType[] types;
+  private final ValueCodec[] codecs;
+  private final Map<String, Integer> indexes;
+  private volatile List<ColumnSpec> columnSpecs;
+
+  private CodecPlan(List<Column> columns) {
+    int columnCount = columns.size();
+    this.columns = columns;
+    this.types = new ColumnType[columnCount];
+    this.codecs = new ValueCodec[columnCount];
+    this.indexes = new HashMap<>(columnCount * 2);
+    for (int i = 0; i < columnCount; ++i) {
+      Column column = columns.get(i);
+      ColumnType type = column.type();
+      types[i] = type;
+      if (type != null) {
+        codecs[i] = codecOrNull(type);
+      }
+      // named markers can be repeated, the first one wins
+      indexes.putIfAbsent(column.name(), i);
+    }
+  }
+
+  static CodecPlan of(List<Column> columns) {
+    return new CodecPlan(columns);
+  }
+
+  /** @return the plan of the bind markers of a prepared statement. */
+  static CodecPlan forBindMarkers(PreparedMetadata metadata) {
+    return BIND_PLANS.get(metadata, m -> of(m.columns));
+  }
+
+  /** @return the plan of the columns of a result set. */
+  static CodecPlan forResult(ResultMetadata metadata) {
+    if (metadata.resultMetadataId == null) {
+      // not all backends compute the ID, in that case the plan only spans a single page
+      return of(metadata.columns);
+    }
+    CodecPlan plan = RESULT_PLANS.get(metadata.resultMetadataId, __ -> of(metadata.columns));
+    if (!plan.matches(metadata.columns)) {
+      // the ID is only a hint, never trust it blindly
+      plan = of(metadata.columns);
+      RESULT_PLANS.put(metadata.resultMetadataId, plan);
+    }
+    return plan;
+  }
+
+  /**
+   * @return whether this plan can be used for the given columns, that is, they have the same names
+   *     and types as the columns the plan was built from.
+   */
+  boolean matches(List<Column> otherColumns) {
+    if (otherColumns == columns) { // NOPMD: identity is the fast path
+      return true;
+    }
+    if (otherColumns.size() != types.length) {
+      return false;
+    }
+    for (int i = 0; i < types.length; ++i) {
+      Column other = otherColumns.get(i);
+      if (!columns.get(i).name().equals(other.name()) || !Objects.equals(types[i], other.type())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int size() {
+    return types.length;
+  }
+
+  /** @return the index of the first column with the given name, or -1 if there is none. */
+  int indexOf(String name) {
+    Integer index = indexes.get(name);
+    return index == null ? -1 : index;
+  }
+
+  @NonNull
+  ColumnType type(int index) throws StatusException {
+    ColumnType type = types[index];
+    return type != null ? type : ValuesHandler.columnTypeNotNull(columns.get(index));
+  }
+
+  @NonNull
+  ValueCodec codec(int index) throws StatusException {
+    ValueCodec codec = codecs[index];
+    // fails with the usual error if the type is missing or not supported
+    return codec != null ? codec : ValueCodecs.get(type(index).rawType());
+  }
+
+  /** @return the result set metadata of the columns, computed on first use. */
+  List<ColumnSpec> columnSpecs() throws StatusException {
+    List<ColumnSpec> specs = columnSpecs;
+    if (specs == null) {
+      specs = new ArrayList<>(types.length);
+      for (int i = 0; i < types.length; ++i) {
+        specs.add(
+            ColumnSpec.newBuilder()
+                .setType(ValuesHandler.convertType(type(i)))
+                .setName(columns.get(i).name())
+                .build());
+      }
+      specs = Collections.unmodifiableList(specs);
+      columnSpecs = specs;
+    }
+    return specs;
+  }
+
+  private static ValueCodec codecOrNull(ColumnType type) {
+    try {
+      return ValueCodecs.get(type.rawType());
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.grpc.payload.cql;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.BytesValue;
+import com.google.protobuf.Int32Value;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.Result.Rows;
+import io.stargate.grpc.payload.PayloadHandler;
+import io.stargate.proto.QueryOuterClass.BatchParameters;
+import io.stargate.proto.QueryOuterClass.QueryParameters;
+import io.stargate.proto.QueryOuterClass.RawResultSet;
+import io.stargate.proto.QueryOuterClass.RawRow;
+import io.stargate.proto.QueryOuterClass.RawValue;
+import io.stargate.proto.QueryOuterClass.RawValues;
+import io.stargate.proto.QueryOuterClass.Value;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles values that are already encoded in the CQL native protocol format: they are passed
+ * through without being decoded, and without copying the underlying bytes.
+ */
+public class RawValuesHandler implements PayloadHandler {
+
+  private static final RawValue NULL_VALUE =
+      RawValue.newBuilder().setNull(Value.Null.getDefaultInstance()).build();
+
+  @Override
+  public BoundStatement bindValues(Prepared prepared, Any payload, ByteBuffer unsetValue)
+      throws InvalidProtocolBufferException, StatusException {
+    final RawValues values = payload.unpack(RawValues.class);
+    final int columnCount = prepared.metadata.columns.size();
+    final int valuesCount = values.getValuesCount();
+    if (columnCount != valuesCount) {
+      throw Status.FAILED_PRECONDITION
+          .withDescription(
+              String.format(
+                  "Invalid number of bind values. Expected %d, but received %d",
+                  columnCount, valuesCount))
+          .asException();
+    }
+    final List<ByteBuffer> boundValues = new ArrayList<>(columnCount);
+    List<String> boundValueNames = null;
+    if (values.getValueNamesCount() != 0) {
+      final int namesCount = values.getValueNamesCount();
+      if (namesCount != columnCount) {
+        throw Status.FAILED_PRECONDITION
+            .withDescription(
+                String.format(
+                    "Invalid number of bind names. Expected %d, but received %d",
+                    columnCount, namesCount))
+            .asException();
+      }
+      final CodecPlan plan = CodecPlan.forBindMarkers(prepared.metadata);
+      boundValueNames = new ArrayList<>(namesCount);
+      for (int i = 0; i < namesCount; ++i) {
+        String name = values.getValueNames(i);
+        if (plan.indexOf(name) < 0) {
+          throw Status.INVALID_ARGUMENT
+              .withDescription(String.format("Unable to find bind marker with name '%s'", name))
+              .asException();
+        }
+        boundValues.add(toByteBuffer(values.getValues(i), unsetValue));
+        boundValueNames.add(name);
+      }
+    } else {
+      for (int i = 0; i < columnCount; ++i) {
+        boundValues.add(toByteBuffer(values.getValues(i), unsetValue));
+      }
+    }
+
+    return new BoundStatement(prepared.statementId, boundValues, boundValueNames);
+  }
+
+  @Override
+  public Any processResult(Rows rows, QueryParameters parameters) throws StatusException {
+    return processResult(rows, parameters.getSkipMetadata());
+  }
+
+  @Override
+  public Any processResult(Rows rows, BatchParameters parameters) throws StatusException {
+    return processResult(rows, parameters.getSkipMetadata());
+  }
+
+  private Any processResult(Rows rows, boolean skipMetadata) throws StatusException {
+    final int columnCount = rows.resultMetadata.columns.size();
+
+    RawResultSet.Builder resultSetBuilder = RawResultSet.newBuilder();
+
+    if (!skipMetadata) {
+      resultSetBuilder.addAllColumns(CodecPlan.forResult(rows.resultMetadata).columnSpecs());
+    }
+
+    for (List<ByteBuffer> row : rows.rows) {
+      RawRow.Builder rowBuilder = RawRow.newBuilder();
+      for (int i = 0; i < columnCount; ++i) {
+        ByteBuffer value = row.get(i);
+        rowBuilder.addValues(
+            value == null
+                ? NULL_VALUE
+                // The row buffers are not modified once the result is built, no need to copy them
+                : RawValue.newBuilder().setBytes(UnsafeByteOperations.unsafeWrap(value)).build());
+      }
+      resultSetBuilder.addRows(rowBuilder);
+    }
+
+    if (rows.resultMetadata.pagingState != null) {
+      resultSetBuilder.setPagingState(
+          BytesValue.newBuilder()
+              .setValue(UnsafeByteOperations.unsafeWrap(rows.resultMetadata.pagingState))
+              .build());
+      resultSetBuilder.setPageSize(Int32Value.newBuilder().setValue(rows.rows.size()).build());
+    }
+    return Any.pack(resultSetBuilder.build());
+  }
+
+  private static ByteBuffer toByteBuffer(RawValue value, ByteBuffer unsetValue) {
+    switch (value.getInnerCase()) {
+      case BYTES:
+        // read-only view over the request bytes, no copy
+        return value.getBytes().asReadOnlyByteBuffer();
+      case UNSET:
+        return unsetValue;
+      default:
+        return null;
+    }
+  }
+}
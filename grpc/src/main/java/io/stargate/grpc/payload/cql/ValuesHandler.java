@@ -33,10 +33,8 @@ import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.ColumnType;
 import io.stargate.db.schema.UserDefinedType;
 import io.stargate.grpc.codec.cql.ValueCodec;
-import io.stargate.grpc.codec.cql.ValueCodecs;
 import io.stargate.grpc.payload.PayloadHandler;
 import io.stargate.proto.QueryOuterClass.BatchParameters;
-import io.stargate.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.proto.QueryOuterClass.QueryParameters;
 import io.stargate.proto.QueryOuterClass.ResultSet;
 import io.stargate.proto.QueryOuterClass.Row;
@@ -54,8 +52,7 @@ public class ValuesHandler implements PayloadHandler {
   public BoundStatement bindValues(Prepared prepared, Any payload, ByteBuffer unsetValue)
       throws InvalidProtocolBufferException, StatusException {
     final Values values = payload.unpack(Values.class);
-    final List<Column> columns = prepared.metadata.columns;
-    final int columnCount = columns.size();
+    final int columnCount = prepared.metadata.columns.size();
     final int valuesCount = values.getValuesCount();
     if (columnCount != valuesCount) {
       throw Status.FAILED_PRECONDITION
@@ -65,6 +62,7 @@ public class ValuesHandler implements PayloadHandler {
                   columnCount, valuesCount))
           .asException();
     }
+    final CodecPlan plan = CodecPlan.forBindMarkers(prepared.metadata);
     final List<ByteBuffer> boundValues = new ArrayList<>(columnCount);
     List<String> boundValueNames = null;
     if (values.getValueNamesCount() != 0) {
@@ -80,18 +78,14 @@ public class ValuesHandler implements PayloadHandler {
       boundValueNames = new ArrayList<>(namesCount);
       for (int i = 0; i < namesCount; ++i) {
         String name = values.getValueNames(i);
-        Column column =
-            columns.stream()
-                .filter(c -> c.name().equals(name))
-                .findFirst()
-                .orElseThrow(
-                    () ->
-                        Status.INVALID_ARGUMENT
-                            .withDescription(
-                                String.format("Unable to find bind marker with name '%s'", name))
-                            .asException());
-        ColumnType columnType = columnTypeNotNull(column);
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
+        int index = plan.indexOf(name);
+        if (index < 0) {
+          throw Status.INVALID_ARGUMENT
+              .withDescription(String.format("Unable to find bind marker with name '%s'", name))
+              .asException();
+        }
+        ColumnType columnType = plan.type(index);
+        ValueCodec codec = plan.codec(index);
         Value value = values.getValues(i);
         try {
           boundValues.add(encodeValue(codec, value, columnType, unsetValue));
@@ -106,10 +100,9 @@ public class ValuesHandler implements PayloadHandler {
       }
     } else {
       for (int i = 0; i < columnCount; ++i) {
-        Column column = columns.get(i);
         Value value = values.getValues(i);
-        ColumnType columnType = columnTypeNotNull(column);
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
+        ColumnType columnType = plan.type(i);
+        ValueCodec codec = plan.codec(i);
         try {
           boundValues.add(encodeValue(codec, value, columnType, unsetValue));
         } catch (Exception e) {
@@ -136,29 +129,30 @@ public class ValuesHandler implements PayloadHandler {
   }
 
   private Any processResult(Rows rows, boolean skipMetadata) throws StatusException {
-    final List<Column> columns = rows.resultMetadata.columns;
-    final int columnCount = columns.size();
+    final CodecPlan plan = CodecPlan.forResult(rows.resultMetadata);
+    final int columnCount = plan.size();
 
     ResultSet.Builder resultSetBuilder = ResultSet.newBuilder();
 
     if (!skipMetadata) {
-      for (Column column : columns) {
-        resultSetBuilder.addColumns(
-            ColumnSpec.newBuilder()
-                .setType(convertType(columnTypeNotNull(column)))
-                .setName(column.name())
-                .build());
-      }
+      resultSetBuilder.addAllColumns(plan.columnSpecs());
     }
 
-    for (List<ByteBuffer> row : rows.rows) {
-      Row.Builder rowBuilder = Row.newBuilder();
+    if (!rows.rows.isEmpty()) {
+      final ColumnType[] columnTypes = new ColumnType[columnCount];
+      final ValueCodec[] codecs = new ValueCodec[columnCount];
       for (int i = 0; i < columnCount; ++i) {
-        ColumnType columnType = columnTypeNotNull(columns.get(i));
-        ValueCodec codec = ValueCodecs.get(columnType.rawType());
-        rowBuilder.addValues(decodeValue(codec, row.get(i), columnType));
+        columnTypes[i] = plan.type(i);
+        codecs[i] = plan.codec(i);
+      }
+
+      for (List<ByteBuffer> row : rows.rows) {
+        Row.Builder rowBuilder = Row.newBuilder();
+        for (int i = 0; i < columnCount; ++i) {
+          rowBuilder.addValues(decodeValue(codecs[i], row.get(i), columnTypes[i]));
+        }
+        resultSetBuilder.addRows(rowBuilder);
       }
-      resultSetBuilder.addRows(rowBuilder);
     }
 
     if (rows.resultMetadata.pagingState != null) {
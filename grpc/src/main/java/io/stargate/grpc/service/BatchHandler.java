@@ -19,6 +19,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.google.protobuf.Any;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import io.stargate.auth.SourceAPI;
 import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.BatchType;
 import io.stargate.db.ClientInfo;
@@ -135,7 +136,8 @@ class BatchHandler extends MessageHandler<Batch, io.stargate.db.Batch> {
   }
 
   private Parameters makeParameters(BatchParameters parameters, Optional<ClientInfo> clientInfo) {
-    ImmutableParameters.Builder builder = ImmutableParameters.builder();
+    ImmutableParameters.Builder builder =
+        ImmutableParameters.builder().sourceApi(SourceAPI.GRPC.getName());
 
     if (parameters.hasConsistency()) {
       builder.consistencyLevel(
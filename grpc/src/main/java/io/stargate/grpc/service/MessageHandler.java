@@ -23,9 +23,9 @@ import io.grpc.StatusException;
 import io.grpc.StatusRuntimeException;
 import io.grpc.protobuf.ProtoUtils;
 import io.grpc.stub.StreamObserver;
+import io.stargate.auth.SourceAPI;
 import io.stargate.db.BoundStatement;
 import io.stargate.db.ImmutableParameters;
-import io.stargate.db.Parameters;
 import io.stargate.db.Persistence;
 import io.stargate.db.Persistence.Connection;
 import io.stargate.db.Result;
@@ -186,11 +186,12 @@ abstract class MessageHandler<MessageT extends GeneratedMessageV3, PreparedT> {
 
   private CompletionStage<Prepared> prepareOnServer(PrepareInfo prepareInfo) {
     String keyspace = prepareInfo.keyspace();
-    Parameters parameters =
-        (keyspace == null)
-            ? Parameters.defaults()
-            : ImmutableParameters.builder().defaultKeyspace(keyspace).build();
-    return connection.prepare(prepareInfo.cql(), parameters);
+    ImmutableParameters.Builder parameters =
+        ImmutableParameters.builder().sourceApi(SourceAPI.GRPC.getName());
+    if (keyspace != null) {
+      parameters.defaultKeyspace(keyspace);
+    }
+    return connection.prepare(prepareInfo.cql(), parameters.build());
   }
 
   /**
@@ -19,6 +19,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.google.protobuf.StringValue;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import io.stargate.auth.SourceAPI;
 import io.stargate.db.AuthenticatedUser;
 import io.stargate.db.ClientInfo;
 import io.stargate.db.ImmutableParameters;
@@ -151,7 +152,8 @@ class QueryHandler extends MessageHandler<Query, Prepared> {
   }
 
   private Parameters makeParameters(QueryParameters parameters, Optional<ClientInfo> clientInfo) {
-    ImmutableParameters.Builder builder = ImmutableParameters.builder();
+    ImmutableParameters.Builder builder =
+        ImmutableParameters.builder().sourceApi(SourceAPI.GRPC.getName());
 
     if (parameters.hasConsistency()) {
       builder.consistencyLevel(
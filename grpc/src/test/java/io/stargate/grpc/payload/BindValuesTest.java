@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.grpc.StatusException;
 import io.stargate.db.BoundStatement;
@@ -29,6 +30,8 @@ import io.stargate.db.schema.Column.Type;
 import io.stargate.grpc.Utils;
 import io.stargate.grpc.codec.cql.ValueCodecs;
 import io.stargate.proto.QueryOuterClass.Payload;
+import io.stargate.proto.QueryOuterClass.RawValue;
+import io.stargate.proto.QueryOuterClass.RawValues;
 import io.stargate.proto.QueryOuterClass.Value;
 import io.stargate.proto.QueryOuterClass.Value.Null;
 import io.stargate.proto.QueryOuterClass.Value.Unset;
@@ -80,7 +83,31 @@ public class BindValuesTest {
                     .addValueNames("v2")
                     .addValues(Value.newBuilder().setString("abc").build())
                     .build()),
-            CqlPayloadValidator.INSTANCE));
+            CqlPayloadValidator.INSTANCE),
+        arguments(
+            Payload.Type.CQL_RAW,
+            Utils.makePrepared(
+                Column.create("v1", Type.Int),
+                Column.create("v2", Type.Text),
+                Column.create("v3", Type.Text)),
+            makeCqlPayload(
+                RawValues.newBuilder()
+                    .addValues(RawValue.newBuilder().setBytes(ByteString.copyFrom(new byte[] {1})))
+                    .addValues(RawValue.newBuilder().setNull(Null.newBuilder().build()))
+                    .addValues(RawValue.newBuilder().setUnset(Unset.newBuilder().build()))
+                    .build()),
+            RawPayloadValidator.INSTANCE),
+        arguments(
+            Payload.Type.CQL_RAW,
+            Utils.makePrepared(Column.create("v1", Type.Int), Column.create("v2", Type.Text)),
+            makeCqlPayload(
+                RawValues.newBuilder()
+                    .addValueNames("v2")
+                    .addValues(RawValue.newBuilder().setBytes(ByteString.copyFromUtf8("abc")))
+                    .addValueNames("v1")
+                    .addValues(RawValue.newBuilder().setBytes(ByteString.copyFrom(new byte[4])))
+                    .build()),
+            RawPayloadValidator.INSTANCE));
   }
 
   public static Stream<Arguments> emptyPayload() {
@@ -191,6 +218,16 @@ public class BindValuesTest {
                     .addValues(Value.newBuilder().setNull(Null.newBuilder().build()).build())
                     .build()),
             StatusException.class,
+            "Unable to find bind marker with name 'doesNotExist'"),
+        arguments(
+            Payload.Type.CQL_RAW,
+            Utils.makePrepared(Column.create("v1", Type.Int)),
+            makeCqlPayload(
+                RawValues.newBuilder()
+                    .addValueNames("doesNotExist")
+                    .addValues(RawValue.newBuilder().setNull(Null.newBuilder().build()))
+                    .build()),
+            StatusException.class,
             "Unable to find bind marker with name 'doesNotExist'"));
   }
 
@@ -221,6 +258,10 @@ public class BindValuesTest {
     return Any.pack(values);
   }
 
+  private static Any makeCqlPayload(RawValues values) {
+    return Any.pack(values);
+  }
+
   private interface PayloadValuesValidator {
     void validate(BoundStatement statement, Prepared prepared, Any payload)
         throws InvalidProtocolBufferException;
@@ -274,4 +315,35 @@ public class BindValuesTest {
       }
     }
   }
+
+  private static class RawPayloadValidator implements PayloadValuesValidator {
+    public static final PayloadValuesValidator INSTANCE = new RawPayloadValidator();
+
+    @Override
+    public void validate(BoundStatement statement, Prepared prepared, Any payload)
+        throws InvalidProtocolBufferException {
+      RawValues values = payload.unpack(RawValues.class);
+      assertThat(values.getValuesCount()).isEqualTo(statement.values().size());
+      if (values.getValueNamesCount() > 0) {
+        assertThat(statement.boundNames()).hasValue(new ArrayList<>(values.getValueNamesList()));
+      } else {
+        assertThat(statement.boundNames()).isEmpty();
+      }
+
+      for (int i = 0; i < values.getValuesCount(); ++i) {
+        RawValue value = values.getValues(i);
+        ByteBuffer bytes = statement.values().get(i);
+        switch (value.getInnerCase()) {
+          case BYTES:
+            assertThat(ByteString.copyFrom(bytes)).isEqualTo(value.getBytes());
+            break;
+          case UNSET:
+            assertThat(bytes).isSameAs(Utils.UNSET);
+            break;
+          default:
+            assertThat(bytes).isNull();
+        }
+      }
+    }
+  }
 }
@@ -20,6 +20,7 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import com.datastax.oss.driver.api.core.ProtocolVersion;
 import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
 import io.stargate.db.Result.Rows;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.ColumnType;
@@ -28,6 +29,8 @@ import io.stargate.grpc.Values;
 import io.stargate.proto.QueryOuterClass.ColumnSpec;
 import io.stargate.proto.QueryOuterClass.Payload;
 import io.stargate.proto.QueryOuterClass.QueryParameters;
+import io.stargate.proto.QueryOuterClass.RawResultSet;
+import io.stargate.proto.QueryOuterClass.RawRow;
 import io.stargate.proto.QueryOuterClass.ResultSet;
 import io.stargate.proto.QueryOuterClass.Row;
 import io.stargate.proto.QueryOuterClass.TypeSpec;
@@ -35,9 +38,11 @@ import io.stargate.proto.QueryOuterClass.Value;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -53,6 +58,29 @@ public class ProcessResultTest {
     assertThat(actual).isEqualTo(expected);
   }
 
+  @Test
+  public void processRawResult() throws Exception {
+    Column c1 = Column.create("c1", Column.Type.Int);
+    Column c2 = Column.create("c2", Column.Type.Varchar);
+    ByteBuffer value = c1.type().codec().encode(1, ProtocolVersion.DEFAULT);
+    Rows rows =
+        new Rows(
+            Collections.singletonList(Arrays.asList(value, null)),
+            Utils.makeResultMetadata(c1, c2));
+
+    PayloadHandler handler = PayloadHandlers.get(Payload.Type.CQL_RAW);
+    Any actual = handler.processResult(rows, QueryParameters.getDefaultInstance());
+
+    RawResultSet resultSet = actual.unpack(RawResultSet.class);
+    assertThat(resultSet.getColumnsList())
+        .extracting(ColumnSpec::getName)
+        .containsExactly("c1", "c2");
+    assertThat(resultSet.getRowsCount()).isEqualTo(1);
+    RawRow row = resultSet.getRows(0);
+    assertThat(row.getValues(0).getBytes()).isEqualTo(ByteString.copyFrom(value.duplicate()));
+    assertThat(row.getValues(1).hasNull()).isTrue();
+  }
+
   public static Stream<Arguments> results() {
     return Stream.of(
         ResultSetBuilder.builder()
@@ -96,7 +124,17 @@ public class ProcessResultTest {
                 Values.of(2),
                 Values.of("b"),
                 Values.of(UUID.fromString("f09f1429-05d1-4dd3-98fc-a5324ebcb113")))
-            .build(true));
+            .build(true),
+        // same result metadata ID as above, but different columns
+        ResultSetBuilder.builder()
+            .addActualColumn(Column.create("c1", Column.Type.Varchar))
+            .addExpectedColumn(
+                ColumnSpec.newBuilder()
+                    .setName("c1")
+                    .setType(TypeSpec.newBuilder().setBasic(TypeSpec.Basic.VARCHAR)))
+            .addActualRow("a")
+            .addExpectedRow(Values.of("a"))
+            .build(false));
   }
 
   private static class ResultSetBuilder {
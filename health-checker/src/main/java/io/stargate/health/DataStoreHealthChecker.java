@@ -16,8 +16,10 @@
 package io.stargate.health;
 
 import com.codahale.metrics.health.HealthCheck;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.DataStoreFactory;
+import io.stargate.db.datastore.DataStoreOptions;
 import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.datastore.Row;
 import java.util.UUID;
@@ -37,7 +39,9 @@ public class DataStoreHealthChecker extends HealthCheck {
   @Override
   protected Result check() {
     try {
-      DataStore dataStore = dataStoreFactory.createInternal();
+      DataStore dataStore =
+          dataStoreFactory.createInternal(
+              DataStoreOptions.defaultsWithPriority(RequestPriority.SYSTEM));
 
       Future<ResultSet> rs =
           dataStore
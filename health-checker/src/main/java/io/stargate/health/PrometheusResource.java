@@ -16,16 +16,26 @@
 package io.stargate.health;
 
 import io.stargate.core.metrics.api.MetricsScraper;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import javax.inject.Inject;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * Simple Prometheus resource that exposes any {@link MetricsScraper} to the <code>
  * /metrics</code> endpoint.
+ *
+ * <p>The metrics are streamed to the response. The optional <code>prefix</code> query parameter
+ * (can be repeated) limits the result to the metric families with a matching name.
  */
 @Path("/metrics")
 public class PrometheusResource {
@@ -34,7 +44,14 @@ public class PrometheusResource {
 
   @GET
   @Produces(MediaType.TEXT_PLAIN)
-  public Response prometheusEndpoint() {
-    return Response.ok(scraper.scrape()).build();
+  public Response prometheusEndpoint(@QueryParam("prefix") List<String> prefixes) {
+    StreamingOutput output =
+        outputStream -> {
+          Writer writer =
+              new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+          scraper.scrape(writer, prefixes);
+          writer.flush();
+        };
+    return Response.ok(output, MetricsScraper.CONTENT_TYPE).build();
   }
 }
@@ -16,8 +16,10 @@
 package io.stargate.health;
 
 import com.codahale.metrics.health.HealthCheck;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.DataStoreFactory;
+import io.stargate.db.datastore.DataStoreOptions;
 import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.datastore.Row;
 import io.stargate.db.query.Predicate;
@@ -79,7 +81,9 @@ public class StorageHealthChecker extends HealthCheck {
       return Result.healthy("Storage check disabled");
     }
     try {
-      DataStore dataStore = dataStoreFactory.createInternal();
+      DataStore dataStore =
+          dataStoreFactory.createInternal(
+              DataStoreOptions.defaultsWithPriority(RequestPriority.SYSTEM));
 
       Instant writeTimestamp = Instant.now();
       // insert record
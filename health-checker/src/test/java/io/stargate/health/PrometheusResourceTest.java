@@ -16,10 +16,18 @@
 package io.stargate.health;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 
 import io.stargate.core.metrics.api.MetricsScraper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,14 +46,24 @@ class PrometheusResourceTest {
   class PrometheusEndpoint {
 
     @Test
-    public void happyPath() {
+    public void happyPath() throws IOException {
       String metrics = "my_metric=1";
-      when(scraper.scrape()).thenReturn(metrics);
+      doAnswer(
+              invocation -> {
+                Writer writer = invocation.getArgument(0);
+                writer.write(metrics);
+                return null;
+              })
+          .when(scraper)
+          .scrape(any(), eq(Collections.singletonList("my_")));
 
-      Response response = prometheusResource.prometheusEndpoint();
+      Response response = prometheusResource.prometheusEndpoint(Collections.singletonList("my_"));
 
       assertThat(response.getStatus()).isEqualTo(200);
-      assertThat(response.getEntity()).isEqualTo(metrics);
+      assertThat(response.getMediaType().toString()).startsWith("text/plain");
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ((StreamingOutput) response.getEntity()).write(out);
+      assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(metrics);
     }
   }
 }
@@ -0,0 +1,232 @@
+package io.stargate.db;
+
+import io.stargate.db.Result.Prepared;
+import io.stargate.db.limiter.AdaptiveConcurrencyLimiter;
+import io.stargate.db.schema.Schema;
+import io.stargate.db.schema.TableName;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.apache.cassandra.stargate.exceptions.AuthenticationException;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
+import org.apache.cassandra.stargate.exceptions.RequestTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link Persistence} wrapper that delegates all methods to its wrapped persistence, but bounds
+ * the number of concurrently executing queries with an {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>Queries that are executed while the limit is reached are not queued: they fail right away with
+ * an {@link OverloadedException}, which the APIs report to their clients as an overload (HTTP 429,
+ * CQL {@code OVERLOADED}, gRPC {@code RESOURCE_EXHAUSTED}). Queries with the {@link
+ * RequestPriority#SYSTEM} priority (authentication, health checks) bypass the limiter, so that they
+ * keep working while the node sheds load.
+ */
+public class ConcurrencyLimitingPersistence implements Persistence {
+  private static final Logger logger =
+      LoggerFactory.getLogger(ConcurrencyLimitingPersistence.class);
+
+  private final Persistence persistence;
+  private final AdaptiveConcurrencyLimiter limiter;
+
+  public ConcurrencyLimitingPersistence(
+      Persistence persistence, AdaptiveConcurrencyLimiter limiter) {
+    this.persistence = persistence;
+    this.limiter = limiter;
+    logger.info("Enabling concurrency limiting: {}", limiter.description());
+  }
+
+  @Override
+  public String name() {
+    return persistence.name();
+  }
+
+  @Override
+  public Schema schema() {
+    return persistence.schema();
+  }
+
+  @Override
+  public void registerEventListener(EventListener listener) {
+    persistence.registerEventListener(listener);
+  }
+
+  @Override
+  public Authenticator getAuthenticator() {
+    return persistence.getAuthenticator();
+  }
+
+  @Override
+  public void setRpcReady(boolean status) {
+    persistence.setRpcReady(status);
+  }
+
+  @Override
+  public Connection newConnection(ClientInfo clientInfo) {
+    return new ConcurrencyLimitedConnection(persistence.newConnection(clientInfo));
+  }
+
+  @Override
+  public Connection newConnection() {
+    return new ConcurrencyLimitedConnection(persistence.newConnection());
+  }
+
+  @Override
+  public ByteBuffer unsetValue() {
+    return persistence.unsetValue();
+  }
+
+  @Override
+  public boolean isInSchemaAgreement() {
+    return persistence.isInSchemaAgreement();
+  }
+
+  @Override
+  public boolean isInSchemaAgreementWithStorage() {
+    return persistence.isInSchemaAgreementWithStorage();
+  }
+
+  @Override
+  public boolean isSchemaAgreementAchievable() {
+    return persistence.isSchemaAgreementAchievable();
+  }
+
+  @Override
+  public boolean supportsSecondaryIndex() {
+    return persistence.supportsSecondaryIndex();
+  }
+
+  @Override
+  public boolean supportsSAI() {
+    return persistence.supportsSAI();
+  }
+
+  @Override
+  public void waitForSchemaAgreement() {
+    persistence.waitForSchemaAgreement();
+  }
+
+  @Override
+  public Map<String, List<String>> cqlSupportedOptions() {
+    return persistence.cqlSupportedOptions();
+  }
+
+  @Override
+  public void executeAuthResponse(Runnable handler) {
+    persistence.executeAuthResponse(handler);
+  }
+
+  private class ConcurrencyLimitedConnection implements Connection {
+    private final Connection connection;
+
+    private ConcurrencyLimitedConnection(Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public Persistence persistence() {
+      return ConcurrencyLimitingPersistence.this;
+    }
+
+    @Override
+    public void login(AuthenticatedUser user) throws AuthenticationException {
+      connection.login(user);
+    }
+
+    @Override
+    public Optional<AuthenticatedUser> loggedUser() {
+      return connection.loggedUser();
+    }
+
+    @Override
+    public Optional<ClientInfo> clientInfo() {
+      return connection.clientInfo();
+    }
+
+    @Override
+    public Optional<String> usedKeyspace() {
+      return connection.usedKeyspace();
+    }
+
+    @Override
+    public CompletableFuture<Prepared> prepare(String query, Parameters parameters) {
+      return connection.prepare(query, parameters);
+    }
+
+    @Override
+    public CompletableFuture<Result> execute(
+        Statement statement, Parameters parameters, long queryStartNanoTime) {
+      return limit(
+          parameters, () -> connection.execute(statement, parameters, queryStartNanoTime));
+    }
+
+    @Override
+    public CompletableFuture<Result> batch(
+        Batch batch, Parameters parameters, long queryStartNanoTime) {
+      return limit(parameters, () -> connection.batch(batch, parameters, queryStartNanoTime));
+    }
+
+    private CompletableFuture<Result> limit(
+        Parameters parameters, Supplier<CompletableFuture<Result>> query) {
+      if (parameters.priority() == RequestPriority.SYSTEM) {
+        return query.get();
+      }
+
+      AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+      if (permit == null) {
+        CompletableFuture<Result> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(
+            new OverloadedException(
+                String.format(
+                    "Too many concurrent requests (limit is %d), retry later",
+                    limiter.getLimit())));
+        return rejected;
+      }
+
+      CompletableFuture<Result> future;
+      try {
+        future = query.get();
+      } catch (RuntimeException e) {
+        permit.onIgnore();
+        throw e;
+      }
+      return future.whenComplete(
+          (result, error) -> {
+            if (error == null) {
+              permit.onSuccess();
+            } else if (isDropped(error)) {
+              permit.onDropped();
+            } else {
+              permit.onIgnore();
+            }
+          });
+    }
+
+    @Override
+    public void setCustomProperties(Map<String, String> customProperties) {
+      connection.setCustomProperties(customProperties);
+    }
+
+    @Override
+    public ByteBuffer makePagingState(PagingPosition position, Parameters parameters) {
+      return connection.makePagingState(position, parameters);
+    }
+
+    @Override
+    public RowDecorator makeRowDecorator(TableName table) {
+      return connection.makeRowDecorator(table);
+    }
+  }
+
+  private static boolean isDropped(Throwable error) {
+    if (error instanceof CompletionException && error.getCause() != null) {
+      error = error.getCause();
+    }
+    return error instanceof OverloadedException || error instanceof RequestTimeoutException;
+  }
+}
@@ -3,6 +3,7 @@ package io.stargate.db;
 import io.stargate.core.activator.BaseActivator;
 import io.stargate.db.datastore.DataStoreFactory;
 import io.stargate.db.datastore.PersistenceDataStoreFactory;
+import io.stargate.db.limiter.AdaptiveConcurrencyLimiter;
 import io.stargate.db.limiter.RateLimitingManager;
 import io.stargate.db.metrics.api.ClientInfoMetricsTagProvider;
 import java.util.ArrayList;
@@ -20,6 +21,11 @@ import java.util.List;
  * RateLimitingManager} is present on the classpath (meaning, setting the {@link
  * #RATE_LIMITING_ID_PROPERTY} acts as a confirmation that this rate limiting needs to indeed be
  * activated).
+ *
+ * <p>Independently, setting the {@link #ADAPTIVE_CONCURRENCY_PROPERTY} system property to {@code
+ * true} wraps the persistence in a {@link ConcurrencyLimitingPersistence} that sheds load once the
+ * latency of the persistence shows it is saturated. The limiter is placed after the rate limiting,
+ * so that it only sees the queries that were allowed by the latter.
  */
 public class DbActivator extends BaseActivator {
 
@@ -27,12 +33,27 @@ public class DbActivator extends BaseActivator {
 
   public static final String RATE_LIMITING_ID_PROPERTY = "stargate.limiter.id";
 
+  public static final String ADAPTIVE_CONCURRENCY_PROPERTY =
+      "stargate.limiter.adaptive_concurrency";
+
   private static final String DB_PERSISTENCE_IDENTIFIER =
       System.getProperty("stargate.persistence_id", "CassandraPersistence");
 
   private static final String RATE_LIMITING_IDENTIFIER =
       System.getProperty(RATE_LIMITING_ID_PROPERTY, "<none>");
 
+  private static final boolean ADAPTIVE_CONCURRENCY_ENABLED =
+      Boolean.getBoolean(ADAPTIVE_CONCURRENCY_PROPERTY);
+
+  private static final int ADAPTIVE_CONCURRENCY_INITIAL_LIMIT =
+      Integer.getInteger("stargate.limiter.adaptive_concurrency.initial_limit", 50);
+
+  private static final int ADAPTIVE_CONCURRENCY_MIN_LIMIT =
+      Integer.getInteger("stargate.limiter.adaptive_concurrency.min_limit", 10);
+
+  private static final int ADAPTIVE_CONCURRENCY_MAX_LIMIT =
+      Integer.getInteger("stargate.limiter.adaptive_concurrency.max_limit", 1000);
+
   private static final String CLIENT_INFO_TAG_PROVIDER_ID =
       System.getProperty("stargate.metrics.client_info_tag_provider.id");
 
@@ -63,6 +84,15 @@ public class DbActivator extends BaseActivator {
       }
       persistence = new RateLimitingPersistence(persistence, rateLimiter);
     }
+    if (ADAPTIVE_CONCURRENCY_ENABLED) {
+      persistence =
+          new ConcurrencyLimitingPersistence(
+              persistence,
+              new AdaptiveConcurrencyLimiter(
+                  ADAPTIVE_CONCURRENCY_INITIAL_LIMIT,
+                  ADAPTIVE_CONCURRENCY_MIN_LIMIT,
+                  ADAPTIVE_CONCURRENCY_MAX_LIMIT));
+    }
 
     List<ServiceAndProperties> services = new ArrayList<>();
     services.add(
@@ -124,6 +124,22 @@ public abstract class Parameters {
     return false;
   }
 
+  /**
+   * The priority class of the request, used to order the execution of the queued requests.
+   * Defaults to {@link RequestPriority#INTERACTIVE}.
+   */
+  @Value.Default
+  public RequestPriority priority() {
+    return RequestPriority.INTERACTIVE;
+  }
+
+  /**
+   * The optional name of the API the request originates from (f.e. "cql" or "rest"), only used to
+   * tag the persistence metrics. It is not part of the equality of parameters.
+   */
+  @Value.Auxiliary
+  public abstract Optional<String> sourceApi();
+
   /**
    * Copy these parameters but with the {@link #consistencyLevel()} replaced by the provided one.
    */
@@ -141,6 +157,11 @@ public abstract class Parameters {
     return toBuilder().skipMetadataInResult(true).build();
   }
 
+  /** Copy these parameters but with the {@link #priority()} replaced by the provided one. */
+  public Parameters withPriority(RequestPriority newPriority) {
+    return toBuilder().priority(newPriority).build();
+  }
+
   /** Creates a new parameters builder filled with the values of this builder. */
   public ImmutableParameters.Builder toBuilder() {
     return ImmutableParameters.builder().from(this);
@@ -181,6 +202,9 @@ public abstract class Parameters {
     if (nowInSeconds().isPresent()) {
       m.put("now", Integer.toString(nowInSeconds().getAsInt()));
     }
+    if (priority() != RequestPriority.INTERACTIVE) {
+      m.put("priority", priority().toString());
+    }
     return m.toString();
   }
 }
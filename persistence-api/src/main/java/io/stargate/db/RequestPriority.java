@@ -0,0 +1,49 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db;
+
+/**
+ * Priority class of a request, used by the {@link Persistence} implementations to order the
+ * execution of the requests when they are queued.
+ *
+ * <p>Each class is given a share of the request execution slots proportional to its weight, so
+ * that a class with many pending requests (f.e. a bulk export) cannot delay the requests of the
+ * other classes (f.e. the authentication) indefinitely.
+ */
+public enum RequestPriority {
+  /** Requests of the system itself, like authentication token lookups. */
+  SYSTEM(8),
+
+  /** Requests of the interactive clients, the default. */
+  INTERACTIVE(4),
+
+  /** Scans and other long running requests executed in many pages. */
+  BULK(1),
+
+  /** Background corrections that nobody waits for. */
+  BACKGROUND(1);
+
+  private final int weight;
+
+  RequestPriority(int weight) {
+    this.weight = weight;
+  }
+
+  /** @return The share of the execution slots given to this class, relative to the others. */
+  public int weight() {
+    return weight;
+  }
+}
@@ -0,0 +1,73 @@
+package io.stargate.db.aggregation;
+
+import static java.lang.String.format;
+
+import java.util.Locale;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/** An aggregate function over a column of a table, computed by a {@link TokenRangeAggregation}. */
+public final class Aggregate {
+
+  public enum Function {
+    COUNT,
+    SUM,
+    MIN,
+    MAX,
+    AVG;
+
+    public String cqlName() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private final Function function;
+  private final @Nullable String columnName;
+  private final String name;
+
+  private Aggregate(Function function, @Nullable String columnName, String name) {
+    this.function = function;
+    this.columnName = columnName;
+    this.name = name;
+  }
+
+  /** The number of rows, that is {@code count(*)}. */
+  public static Aggregate count() {
+    return new Aggregate(Function.COUNT, null, "count");
+  }
+
+  /**
+   * The given function applied to a column, named like Cassandra names the result of the function
+   * when it is not aliased, f.e. {@code system.sum(c)}.
+   */
+  public static Aggregate of(Function function, String columnName) {
+    Objects.requireNonNull(columnName);
+    return new Aggregate(
+        function, columnName, format("system.%s(%s)", function.cqlName(), columnName));
+  }
+
+  /** Returns a copy of this aggregate whose result is named {@code alias}. */
+  public Aggregate as(String alias) {
+    return new Aggregate(function, columnName, alias);
+  }
+
+  public Function function() {
+    return function;
+  }
+
+  /** The aggregated column, or {@code null} for {@code count(*)}. */
+  public @Nullable String columnName() {
+    return columnName;
+  }
+
+  /** The name of the result of this aggregate. */
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public String toString() {
+    return format(
+        "%s(%s) AS %s", function.cqlName(), columnName == null ? "*" : columnName, name);
+  }
+}
@@ -0,0 +1,630 @@
+package io.stargate.db.aggregation;
+
+import static java.lang.String.format;
+
+import io.stargate.db.Parameters;
+import io.stargate.db.datastore.DataStore;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.query.builder.BuiltQuery;
+import io.stargate.db.query.builder.QueryBuilderImpl.FunctionCall;
+import io.stargate.db.query.builder.TokenRangeQueries;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Table;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Computes aggregates over a whole table by splitting the token ring into sub-ranges, aggregating
+ * each of them with its own query, and combining the partial results.
+ *
+ * <p>An unrestricted aggregate ({@code SELECT count(*) FROM t}) is a single scan of the table by
+ * its coordinator, which times out on large tables. Instead, this executes
+ *
+ * <pre>
+ * SELECT [g1, ...,] f1(c1), ... FROM t WHERE TOKEN(pk) > ? AND TOKEN(pk) <= ? [GROUP BY g1, ...]
+ * </pre>
+ *
+ * for each sub-range, with a bounded number of them in flight, and combines the partial states:
+ * counts and sums are added, minimums and maximums compared, and averages are computed from the sum
+ * and the count of each range.
+ *
+ * <p>Results can be grouped by a prefix of the partition key. A group can span several ranges (if
+ * the prefix is not the whole partition key), the partial states of the group are then combined
+ * like the ones of the whole table. The order of the groups is unspecified.
+ *
+ * <p>The ranges assume the Murmur3Partitioner. Note that, like in CQL, the sum of an {@code int}
+ * column overflows. Averages of integer columns do not: the range queries sum the values as {@code
+ * varint}.
+ */
+public class TokenRangeAggregation {
+
+  /** Notified each time the aggregation of a range completes. */
+  @FunctionalInterface
+  public interface ProgressListener {
+    void onProgress(int completedRanges, int totalRanges);
+  }
+
+  public static final int DEFAULT_SPLITS =
+      Integer.getInteger("stargate.aggregation.token_range_splits", 64);
+
+  public static final int DEFAULT_CONCURRENCY =
+      Integer.getInteger("stargate.aggregation.concurrency", 8);
+
+  public static final int MAX_SPLITS = 4096;
+
+  /** The maximum concurrency a caller can request, to bound the range queries of a request. */
+  public static final int MAX_CONCURRENCY =
+      Integer.getInteger("stargate.aggregation.max_concurrency", 64);
+
+  private static final int PAGE_SIZE = 1000;
+
+  private final DataStore dataStore;
+  private final Table table;
+  private final List<Aggregate> aggregates;
+  private final List<String> groupBy;
+  private final int splits;
+  private final int concurrency;
+  private final long timeoutNanos;
+  private final UnaryOperator<Parameters> parametersModifier;
+  private final ProgressListener progressListener;
+
+  private TokenRangeAggregation(Builder builder) {
+    this.dataStore = builder.dataStore;
+    this.table = builder.table;
+    this.aggregates = new ArrayList<>(builder.aggregates);
+    this.groupBy = new ArrayList<>(builder.groupBy);
+    this.splits = builder.splits;
+    this.concurrency = builder.concurrency;
+    this.timeoutNanos = builder.timeoutNanos;
+    this.parametersModifier = builder.parametersModifier;
+    this.progressListener = builder.progressListener;
+  }
+
+  public static Builder builder(DataStore dataStore, Table table) {
+    return new Builder(dataStore, table);
+  }
+
+  /**
+   * Executes the aggregation.
+   *
+   * @return one row per group (a single row if there is no GROUP BY), with the values of the GROUP
+   *     BY columns and of the aggregates, by {@link Aggregate#name()}. The future fails with a
+   *     {@link TimeoutException} if the timeout elapses before all the ranges are aggregated.
+   */
+  public CompletableFuture<List<Map<String, Object>>> execute() {
+    try {
+      return new Execution().start();
+    } catch (Exception e) {
+      CompletableFuture<List<Map<String, Object>>> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+  }
+
+  /**
+   * Returns the {@code splits + 1} bounds of the ranges splitting the Murmur3 token ring in equal
+   * parts, range {@code i} being {@code (bounds[i], bounds[i + 1]]}.
+   */
+  static long[] splitTokenRing(int splits) {
+    BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+    BigInteger size = BigInteger.valueOf(Long.MAX_VALUE).subtract(min);
+    long[] bounds = new long[splits + 1];
+    for (int i = 0; i <= splits; i++) {
+      bounds[i] =
+          min.add(size.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(splits)))
+              .longValue();
+    }
+    return bounds;
+  }
+
+  private class Execution {
+    private final long startNanos = System.nanoTime();
+    private final long[] bounds = splitTokenRing(splits);
+    private final BuiltQuery<?> query;
+    // The name of the partial result(s) of each aggregate in the range queries.
+    private final String[][] partialNames = new String[aggregates.size()][];
+
+    // Guarded by this.
+    private final Map<List<Object>, Accumulator[]> groups = new LinkedHashMap<>();
+
+    private final CompletableFuture<List<Map<String, Object>>> result = new CompletableFuture<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    // Only accessed by the thread draining.
+    private int nextRange;
+
+    private Execution() {
+      List<FunctionCall> calls = new ArrayList<>();
+      for (int i = 0; i < aggregates.size(); i++) {
+        Aggregate aggregate = aggregates.get(i);
+        String column = aggregate.columnName();
+        String alias = "a" + i;
+        switch (aggregate.function()) {
+          case COUNT:
+            // count(*) is not supported by the query builder, but partition keys are never null.
+            String counted =
+                column == null ? table.partitionKeyColumns().get(0).name() : column;
+            calls.add(FunctionCall.count(counted, alias));
+            partialNames[i] = new String[] {alias};
+            break;
+          case SUM:
+            calls.add(FunctionCall.sum(column, alias));
+            partialNames[i] = new String[] {alias};
+            break;
+          case MIN:
+            calls.add(FunctionCall.min(column, alias));
+            partialNames[i] = new String[] {alias};
+            break;
+          case MAX:
+            calls.add(FunctionCall.max(column, alias));
+            partialNames[i] = new String[] {alias};
+            break;
+          case AVG:
+            FunctionCall sum = FunctionCall.sum(column, alias);
+            if (isInteger(table.existingColumn(column).type().rawType())) {
+              // The sum of a range would overflow the column type, like in CQL.
+              sum.setArgumentCast("varint");
+            }
+            calls.add(sum);
+            calls.add(FunctionCall.count(column, alias + "_count"));
+            partialNames[i] = new String[] {alias, alias + "_count"};
+            break;
+        }
+      }
+      query =
+          TokenRangeQueries.aggregate(
+              dataStore.schema(), dataStore.valueCodec(), dataStore, table, groupBy, calls);
+      if (groupBy.isEmpty()) {
+        // Without GROUP BY, there is always a result, even for an empty table.
+        groups.put(Collections.emptyList(), newAccumulators());
+      }
+    }
+
+    private CompletableFuture<List<Map<String, Object>>> start() {
+      drain();
+      return result;
+    }
+
+    /**
+     * Starts ranges until the concurrency limit is reached. Ranges completing synchronously ask the
+     * draining thread to loop again, instead of recursing.
+     */
+    private void drain() {
+      if (drainRequests.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (nextRange < splits && inFlight.get() < concurrency && !result.isDone()) {
+          inFlight.incrementAndGet();
+          executeRange(nextRange++, null).whenComplete((__, error) -> onRangeComplete(error));
+        }
+      } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private CompletableFuture<Void> executeRange(int range, ByteBuffer pagingState) {
+      CompletableFuture<Void> future;
+      try {
+        checkTimeout();
+        future =
+            dataStore
+                .execute(
+                    query.bind(bounds[range], bounds[range + 1]),
+                    p ->
+                        parametersModifier
+                            .apply(p)
+                            .toBuilder()
+                            .pageSize(PAGE_SIZE)
+                            .pagingState(Optional.ofNullable(pagingState))
+                            .build())
+                .thenCompose(
+                    rs -> {
+                      merge(rs.currentPageRows());
+                      ByteBuffer next = rs.getPagingState();
+                      return next == null
+                          ? CompletableFuture.<Void>completedFuture(null)
+                          : executeRange(range, next);
+                    });
+      } catch (Exception e) {
+        future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+      }
+      return future;
+    }
+
+    private void checkTimeout() throws TimeoutException {
+      if (timeoutNanos > 0 && System.nanoTime() - startNanos > timeoutNanos) {
+        throw new TimeoutException(
+            format(
+                "Aggregation of %s did not complete within %d ms (%d of %d token ranges done)",
+                table.cqlQualifiedName(),
+                TimeUnit.NANOSECONDS.toMillis(timeoutNanos),
+                completed.get(),
+                splits));
+      }
+    }
+
+    private void onRangeComplete(Throwable error) {
+      if (error != null) {
+        result.completeExceptionally(error);
+        return;
+      }
+      int done = completed.incrementAndGet();
+      progressListener.onProgress(done, splits);
+      inFlight.decrementAndGet();
+      if (done == splits) {
+        result.complete(results());
+      } else {
+        drain();
+      }
+    }
+
+    private synchronized void merge(List<Row> rows) {
+      for (Row row : rows) {
+        List<Object> key;
+        if (groupBy.isEmpty()) {
+          key = Collections.emptyList();
+        } else {
+          Object[] values = new Object[groupBy.size()];
+          for (int i = 0; i < values.length; i++) {
+            values[i] = row.getObject(groupBy.get(i));
+          }
+          key = Arrays.asList(values);
+        }
+        Accumulator[] accumulators = groups.computeIfAbsent(key, __ -> newAccumulators());
+        for (int i = 0; i < accumulators.length; i++) {
+          accumulators[i].add(row, partialNames[i]);
+        }
+      }
+    }
+
+    private Accumulator[] newAccumulators() {
+      Accumulator[] accumulators = new Accumulator[aggregates.size()];
+      for (int i = 0; i < accumulators.length; i++) {
+        Aggregate aggregate = aggregates.get(i);
+        Column.Type type =
+            aggregate.columnName() == null
+                ? null
+                : table.existingColumn(aggregate.columnName()).type().rawType();
+        switch (aggregate.function()) {
+          case COUNT:
+            accumulators[i] = new Count();
+            break;
+          case SUM:
+            accumulators[i] = new Sum(type);
+            break;
+          case MIN:
+            accumulators[i] = new MinMax(true);
+            break;
+          case MAX:
+            accumulators[i] = new MinMax(false);
+            break;
+          case AVG:
+            accumulators[i] = new Avg(type);
+            break;
+        }
+      }
+      return accumulators;
+    }
+
+    private synchronized List<Map<String, Object>> results() {
+      List<Map<String, Object>> rows = new ArrayList<>(groups.size());
+      for (Map.Entry<List<Object>, Accumulator[]> group : groups.entrySet()) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < groupBy.size(); i++) {
+          row.put(groupBy.get(i), group.getKey().get(i));
+        }
+        Accumulator[] accumulators = group.getValue();
+        for (int i = 0; i < accumulators.length; i++) {
+          row.put(aggregates.get(i).name(), accumulators[i].result());
+        }
+        rows.add(row);
+      }
+      return rows;
+    }
+  }
+
+  /** The combined state of an aggregate, over the ranges aggregated so far. */
+  private abstract static class Accumulator {
+    /** Adds the partial state of a range, stored in {@code row} under the given names. */
+    abstract void add(Row row, String[] names);
+
+    abstract Object result();
+  }
+
+  private static class Count extends Accumulator {
+    private long count;
+
+    @Override
+    void add(Row row, String[] names) {
+      Number value = (Number) row.getObject(names[0]);
+      if (value != null) {
+        count += value.longValue();
+      }
+    }
+
+    @Override
+    Object result() {
+      return count;
+    }
+  }
+
+  private static class Sum extends Accumulator {
+    protected final Column.Type type;
+    // Exact for integer and decimal types, a double for floating point types.
+    protected Number sum;
+
+    private Sum(Column.Type type) {
+      this.type = type;
+      this.sum = add(null, 0);
+    }
+
+    @Override
+    void add(Row row, String[] names) {
+      Number value = (Number) row.getObject(names[0]);
+      if (value != null) {
+        sum = add(sum, value);
+      }
+    }
+
+    private Number add(Number sum, Number value) {
+      switch (type) {
+        case Float:
+        case Double:
+          return (sum == null ? 0 : sum.doubleValue()) + value.doubleValue();
+        case Decimal:
+          BigDecimal decimal =
+              value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+          return sum == null ? decimal : ((BigDecimal) sum).add(decimal);
+        default:
+          BigInteger integer =
+              value instanceof BigInteger
+                  ? (BigInteger) value
+                  : BigInteger.valueOf(value.longValue());
+          return sum == null ? integer : ((BigInteger) sum).add(integer);
+      }
+    }
+
+    @Override
+    Object result() {
+      return toColumnType(type, sum);
+    }
+  }
+
+  private static class Avg extends Sum {
+    private long count;
+
+    private Avg(Column.Type type) {
+      super(type);
+    }
+
+    @Override
+    void add(Row row, String[] names) {
+      super.add(row, names);
+      Number value = (Number) row.getObject(names[1]);
+      if (value != null) {
+        count += value.longValue();
+      }
+    }
+
+    @Override
+    Object result() {
+      if (count == 0) {
+        return toColumnType(type, sum);
+      }
+      switch (type) {
+        case Float:
+        case Double:
+          return toColumnType(type, sum.doubleValue() / count);
+        case Decimal:
+          return ((BigDecimal) sum).divide(BigDecimal.valueOf(count), MathContext.DECIMAL128);
+        default:
+          return toColumnType(type, ((BigInteger) sum).divide(BigInteger.valueOf(count)));
+      }
+    }
+  }
+
+  private static class MinMax extends Accumulator {
+    private final boolean min;
+    private Comparable<Object> value;
+
+    private MinMax(boolean min) {
+      this.min = min;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void add(Row row, String[] names) {
+      Comparable<Object> other = (Comparable<Object>) row.getObject(names[0]);
+      if (other == null) {
+        return;
+      }
+      if (value == null || (min ? other.compareTo(value) < 0 : other.compareTo(value) > 0)) {
+        value = other;
+      }
+    }
+
+    @Override
+    Object result() {
+      return value;
+    }
+  }
+
+  private static boolean isInteger(Column.Type type) {
+    switch (type) {
+      case Int:
+      case Bigint:
+      case Counter:
+      case Smallint:
+      case Tinyint:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /** Converts an exact (or double) result to the Java type of the column, like CQL does. */
+  private static Object toColumnType(Column.Type type, Number value) {
+    switch (type) {
+      case Int:
+        return value.intValue();
+      case Bigint:
+      case Counter:
+        return value.longValue();
+      case Smallint:
+        return value.shortValue();
+      case Tinyint:
+        return value.byteValue();
+      case Float:
+        return value.floatValue();
+      case Double:
+        return value.doubleValue();
+      default:
+        // Varint and Decimal are already of the right type.
+        return value;
+    }
+  }
+
+  public static class Builder {
+    private final DataStore dataStore;
+    private final Table table;
+    private final List<Aggregate> aggregates = new ArrayList<>();
+    private final List<String> groupBy = new ArrayList<>();
+    private int splits = DEFAULT_SPLITS;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private long timeoutNanos;
+    private UnaryOperator<Parameters> parametersModifier = p -> p;
+    private ProgressListener progressListener = (completed, total) -> {};
+
+    private Builder(DataStore dataStore, Table table) {
+      this.dataStore = dataStore;
+      this.table = table;
+    }
+
+    public Builder aggregate(Aggregate aggregate) {
+      aggregates.add(aggregate);
+      return this;
+    }
+
+    public Builder aggregates(Collection<Aggregate> aggregates) {
+      this.aggregates.addAll(aggregates);
+      return this;
+    }
+
+    /** Groups the results by the given columns, which must be a prefix of the partition key. */
+    public Builder groupBy(List<String> columnNames) {
+      this.groupBy.addAll(columnNames);
+      return this;
+    }
+
+    /** The number of token ranges to split the ring into. */
+    public Builder splits(int splits) {
+      this.splits = splits;
+      return this;
+    }
+
+    /** The maximum number of ranges aggregated concurrently. */
+    public Builder concurrency(int concurrency) {
+      this.concurrency = concurrency;
+      return this;
+    }
+
+    /**
+     * The time after which the aggregation fails, checked before each query. Zero, the default,
+     * means no timeout other than the one of each query.
+     */
+    public Builder timeout(long timeout, TimeUnit unit) {
+      this.timeoutNanos = unit.toNanos(timeout);
+      return this;
+    }
+
+    /** Modifies the parameters of the range queries, f.e. to set their consistency level. */
+    public Builder parameters(UnaryOperator<Parameters> parametersModifier) {
+      this.parametersModifier = parametersModifier;
+      return this;
+    }
+
+    public Builder progressListener(ProgressListener progressListener) {
+      this.progressListener = progressListener;
+      return this;
+    }
+
+    /** @throws IllegalArgumentException if the aggregation is invalid for the table. */
+    public TokenRangeAggregation build() {
+      if (aggregates.isEmpty()) {
+        throw new IllegalArgumentException("At least one aggregate is required");
+      }
+      if (splits < 1 || splits > MAX_SPLITS) {
+        throw new IllegalArgumentException(
+            format("The number of splits must be in [1, %d], got %d", MAX_SPLITS, splits));
+      }
+      if (concurrency < 1 || concurrency > MAX_CONCURRENCY) {
+        throw new IllegalArgumentException(
+            format("The concurrency must be in [1, %d], got %d", MAX_CONCURRENCY, concurrency));
+      }
+      List<Column> partitionKey = table.partitionKeyColumns();
+      for (int i = 0; i < groupBy.size(); i++) {
+        if (i >= partitionKey.size() || !partitionKey.get(i).name().equals(groupBy.get(i))) {
+          throw new IllegalArgumentException(
+              format(
+                  "Aggregations can only be grouped by a prefix of the partition key of %s, got %s",
+                  table.cqlQualifiedName(), groupBy));
+        }
+      }
+      for (Aggregate aggregate : aggregates) {
+        validate(aggregate);
+      }
+      return new TokenRangeAggregation(this);
+    }
+
+    private void validate(Aggregate aggregate) {
+      if (aggregate.columnName() == null) {
+        return;
+      }
+      Column column = table.column(aggregate.columnName());
+      if (column == null) {
+        throw new IllegalArgumentException(
+            format(
+                "Unknown column %s in %s for %s",
+                aggregate.columnName(), table.cqlQualifiedName(), aggregate));
+      }
+      if (aggregate.function() == Aggregate.Function.SUM
+          || aggregate.function() == Aggregate.Function.AVG) {
+        switch (column.type().rawType()) {
+          case Int:
+          case Bigint:
+          case Counter:
+          case Smallint:
+          case Tinyint:
+          case Varint:
+          case Decimal:
+          case Float:
+          case Double:
+            break;
+          default:
+            throw new IllegalArgumentException(
+                format(
+                    "%s requires a numeric column, but %s is of type %s",
+                    aggregate.function().cqlName(),
+                    column.name(),
+                    column.type().cqlDefinition()));
+        }
+      }
+    }
+  }
+}
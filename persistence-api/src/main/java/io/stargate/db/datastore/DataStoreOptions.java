@@ -1,6 +1,7 @@
 package io.stargate.db.datastore;
 
 import io.stargate.db.Parameters;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.query.BoundQuery;
 import java.util.Collections;
 import java.util.Map;
@@ -24,6 +25,11 @@ public abstract class DataStoreOptions {
     return builder().alwaysPrepareQueries(true).build();
   }
 
+  /** Default options, but with the queries executed with the given {@link RequestPriority}. */
+  public static DataStoreOptions defaultsWithPriority(RequestPriority priority) {
+    return builder().defaultParameters(Parameters.defaults().withPriority(priority)).build();
+  }
+
   public static ImmutableDataStoreOptions.Builder builder() {
     return ImmutableDataStoreOptions.builder();
   }
@@ -21,6 +21,13 @@ import io.stargate.db.schema.Column;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * A row of a {@link ResultSet}.
+ *
+ * <p>The value at index {@code i} is the value of the column at index {@code i} in {@link
+ * #columns()}. Rows of a page usually share the same list of columns, but the layout can differ
+ * between rows: callers that resolve indexes once must do so again when the list changes.
+ */
 public interface Row extends GettableByIndex, GettableByName {
 
   List<Column> columns();
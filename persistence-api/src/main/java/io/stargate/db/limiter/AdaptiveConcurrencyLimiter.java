@@ -0,0 +1,229 @@
+package io.stargate.db.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limiter whose limit adapts to the observed request latency.
+ *
+ * <p>Contrarily to the {@link AsyncRateLimiter}, this limiter does not need to be configured with
+ * the capacity of the underlying persistence. Instead, it bounds the number of requests that are
+ * concurrently in flight and continuously re-evaluates that bound based on the round-trip times of
+ * completed requests, following the TCP Vegas congestion avoidance algorithm:
+ *
+ * <ul>
+ *   <li>completed requests are grouped in windows of {@code limit} samples, which is roughly one
+ *       round-trip worth of requests when running at the limit;
+ *   <li>the minimum window round-trip time is taken as the latency of the persistence when it is
+ *       not queuing any work;
+ *   <li>at the end of each window, the number of queued requests is estimated as {@code limit * (1
+ *       - minRtt / rtt)};
+ *   <li>when the estimated queue is small, the limit grows, and when it is large, the limit
+ *       shrinks. Dropped requests (timeouts, overloads) shrink the limit multiplicatively.
+ * </ul>
+ *
+ * The minimum round-trip time is periodically re-probed, by halving the limit for a window so that
+ * queues drain, so that the limiter follows changes of the baseline latency (for instance, after a
+ * topology change).
+ *
+ * <p>Requests that cannot acquire a permit are expected to be rejected right away: failing fast
+ * when the persistence is saturated is cheaper for everyone than queuing work that is likely to
+ * time out anyway.
+ *
+ * <p>This class is thread-safe. Acquiring a permit is lock-free, updating the limit on completion
+ * synchronizes on the limiter.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  /** Number of windows after which the min RTT is re-probed. */
+  private static final int PROBE_INTERVAL_WINDOWS = 100;
+
+  /** Multiplicative decrease applied to the limit when a window contains dropped requests. */
+  private static final double DROP_DECREASE_FACTOR = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final LongSupplier nanoClock;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+
+  // The limit is read without locking by tryAcquire(), updated while holding the monitor.
+  private volatile double limit;
+
+  // Guarded by this.
+  private long minRttNanos;
+  private int windowsSinceProbe;
+  private int windowSamples;
+  private long windowRttSumNanos;
+  private int windowMaxInFlight;
+  private boolean windowDropped;
+
+  /**
+   * Constructs a limiter.
+   *
+   * @param initialLimit the concurrency limit to start with.
+   * @param minLimit the limit will never shrink below this value.
+   * @param maxLimit the limit will never grow above this value.
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    this(initialLimit, minLimit, maxLimit, System::nanoTime);
+  }
+
+  /**
+   * Constructs a limiter with a custom clock, used for testing.
+   *
+   * @param initialLimit the concurrency limit to start with.
+   * @param minLimit the limit will never shrink below this value.
+   * @param maxLimit the limit will never grow above this value.
+   * @param nanoClock the clock used to measure round-trip times, in nanoseconds.
+   */
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, LongSupplier nanoClock) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException(
+          String.format("Invalid concurrency limits: min=%d, max=%d", minLimit, maxLimit));
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.nanoClock = nanoClock;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /**
+   * Tries to acquire a permit for a single request.
+   *
+   * @return the permit, which must be released exactly once when the request completes, or {@code
+   *     null} if the limit is reached and the request should be rejected.
+   */
+  public Permit tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        rejected.incrementAndGet();
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(current + 1, nanoClock.getAsLong());
+      }
+    }
+  }
+
+  /** The current concurrency limit. */
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  /** The number of requests currently holding a permit. */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /** The total number of requests rejected because the limit was reached. */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  public String description() {
+    return String.format("adaptive concurrency limit in [%d, %d]", minLimit, maxLimit);
+  }
+
+  private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+    windowSamples++;
+    windowRttSumNanos += Math.max(0, rttNanos);
+    windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+    windowDropped |= dropped;
+
+    double current = limit;
+    if (windowSamples < current) {
+      return;
+    }
+    long rtt = windowRttSumNanos / windowSamples;
+    boolean anyDropped = windowDropped;
+    int maxInFlight = windowMaxInFlight;
+    windowSamples = 0;
+    windowRttSumNanos = 0;
+    windowMaxInFlight = 0;
+    windowDropped = false;
+
+    if (++windowsSinceProbe >= PROBE_INTERVAL_WINDOWS) {
+      // Halve the limit for a window so that queues drain and the min RTT can be re-learnt.
+      windowsSinceProbe = 0;
+      minRttNanos = 0;
+      limit = Math.max(minLimit, current / 2);
+      return;
+    }
+    if (rtt <= 0) {
+      return;
+    }
+    if (minRttNanos == 0 || rtt < minRttNanos) {
+      minRttNanos = rtt;
+      return;
+    }
+
+    double log = Math.max(1, Math.log10(current));
+    double newLimit;
+    if (anyDropped) {
+      newLimit = current * DROP_DECREASE_FACTOR;
+    } else if (maxInFlight * 2 < current) {
+      // The limit is not what bounds the throughput, latency does not tell us anything about it.
+      return;
+    } else {
+      double queueSize = Math.ceil(current * (1 - (double) minRttNanos / rtt));
+      if (queueSize <= log) {
+        newLimit = current + 6 * log;
+      } else if (queueSize < 3 * log) {
+        newLimit = current + log;
+      } else if (queueSize > 6 * log) {
+        newLimit = current - log;
+      } else {
+        return;
+      }
+    }
+    limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+  }
+
+  /** A permit for a single in-flight request. */
+  public class Permit {
+    private final int inFlightAtStart;
+    private final long startNanos;
+    private boolean released;
+
+    private Permit(int inFlightAtStart, long startNanos) {
+      this.inFlightAtStart = inFlightAtStart;
+      this.startNanos = startNanos;
+    }
+
+    /** Releases the permit of a request that completed, using its latency to adapt the limit. */
+    public void onSuccess() {
+      release(true, false);
+    }
+
+    /** Releases the permit of a request that timed out or was rejected by the persistence. */
+    public void onDropped() {
+      release(true, true);
+    }
+
+    /**
+     * Releases the permit of a request whose latency should not be considered, for instance because
+     * it failed validation.
+     */
+    public void onIgnore() {
+      release(false, false);
+    }
+
+    private void release(boolean sample, boolean dropped) {
+      synchronized (this) {
+        if (released) {
+          return;
+        }
+        released = true;
+      }
+      inFlight.decrementAndGet();
+      if (sample) {
+        onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart, dropped);
+      }
+    }
+  }
+}
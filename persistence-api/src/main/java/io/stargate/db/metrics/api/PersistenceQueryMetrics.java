@@ -0,0 +1,313 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.stargate.db.metrics.api;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.stargate.core.metrics.api.Metrics;
+import io.stargate.db.Batch;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.Statement;
+import io.stargate.db.schema.Column;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+
+/**
+ * Latency metrics of the requests executed by a persistence, split by execution phase.
+ *
+ * <p>Each request is measured in three phases:
+ *
+ * <ul>
+ *   <li>queue: from the submission of the request to the start of its execution on the persistence
+ *       executor;
+ *   <li>storage: from the start of the execution to the response of the coordinator, which includes
+ *       the round trip to the replicas;
+ *   <li>conversion: from the coordinator response to the {@link Result} handed back to the caller.
+ * </ul>
+ *
+ * Samples are recorded in timers tagged by the source API ({@link Parameters#sourceApi()}), the
+ * keyspace and the request type, and published with percentile histograms. The number of distinct
+ * keyspaces and APIs is bounded, values above the bound are reported as {@value #OTHER}, so that
+ * the number of meters cannot grow with the schema.
+ *
+ * <p>Recording a sample only reads the clock three times and looks up cached meters, so the metrics
+ * are enabled by default.
+ */
+public class PersistenceQueryMetrics {
+
+  /** Disabled metrics, nothing is recorded. */
+  public static final PersistenceQueryMetrics DISABLED =
+      new PersistenceQueryMetrics(null, Tags.empty(), 0);
+
+  public static final String QUEUE_METRIC = "persistence.query.queue";
+  public static final String STORAGE_METRIC = "persistence.query.storage";
+  public static final String CONVERSION_METRIC = "persistence.query.conversion";
+
+  public static final String API_TAG = "api";
+  public static final String KEYSPACE_TAG = "keyspace";
+  public static final String TYPE_TAG = "type";
+
+  public static final String UNKNOWN = "unknown";
+  public static final String OTHER = "other";
+
+  private static final boolean ENABLED =
+      Boolean.parseBoolean(
+          System.getProperty("stargate.metrics.persistence_query_latency", "true"));
+
+  private static final int MAX_KEYSPACES =
+      Integer.getInteger("stargate.metrics.persistence_query_max_keyspaces", 20);
+
+  private static final int MAX_APIS = 8;
+
+  private static final int MAX_PREPARED_STATEMENTS = 10_000;
+
+  private static final Sample NOOP_SAMPLE = new Sample(null);
+
+  /** The type of a measured request. */
+  public enum Type {
+    PREPARE("prepare"),
+    EXECUTE("execute"),
+    BATCH("batch");
+
+    private final String tagValue;
+
+    Type(String tagValue) {
+      this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+      return tagValue;
+    }
+  }
+
+  private final MeterRegistry meterRegistry;
+
+  private final Tags tags;
+
+  private final int maxKeyspaces;
+
+  // api -> keyspace -> meters by type ordinal
+  private final Map<String, Map<String, PhaseMeters[]>> meters = new ConcurrentHashMap<>();
+
+  private final Set<String> keyspaces = ConcurrentHashMap.newKeySet();
+
+  // the least recently used statements are evicted, like the prepared statements of the persistence
+  private final Cache<MD5Digest, String> preparedKeyspaces =
+      Caffeine.newBuilder().maximumSize(MAX_PREPARED_STATEMENTS).build();
+
+  /**
+   * @param meterRegistry Micrometer registry to report to, if {@code null} metrics are disabled
+   * @param tags Common tags to add to all meters (f.e. the module tag)
+   * @param maxKeyspaces Maximum number of distinct keyspace tag values
+   */
+  public PersistenceQueryMetrics(MeterRegistry meterRegistry, Tags tags, int maxKeyspaces) {
+    this.meterRegistry = meterRegistry;
+    this.tags = tags;
+    this.maxKeyspaces = maxKeyspaces;
+  }
+
+  /**
+   * Creates the metrics of a persistence module, unless disabled with the {@code
+   * stargate.metrics.persistence_query_latency} system property.
+   *
+   * @param metrics Stargate metrics
+   * @param module Name of the persistence module, used for the module tag
+   */
+  public static PersistenceQueryMetrics create(Metrics metrics, String module) {
+    if (!ENABLED) {
+      return DISABLED;
+    }
+    return new PersistenceQueryMetrics(
+        metrics.getMeterRegistry(), metrics.tagsForModule(module), MAX_KEYSPACES);
+  }
+
+  /** @return If metrics are recorded. */
+  public boolean isEnabled() {
+    return null != meterRegistry;
+  }
+
+  /** Starts measuring the preparation of a query, call when the request is submitted. */
+  public Sample startPrepare(Parameters parameters) {
+    if (!isEnabled()) {
+      return NOOP_SAMPLE;
+    }
+    return start(Type.PREPARE, parameters, null);
+  }
+
+  /** Starts measuring the execution of a statement, call when the request is submitted. */
+  public Sample startExecute(Statement statement, Parameters parameters) {
+    if (!isEnabled()) {
+      return NOOP_SAMPLE;
+    }
+    return start(Type.EXECUTE, parameters, statement);
+  }
+
+  /** Starts measuring the execution of a batch, call when the request is submitted. */
+  public Sample startBatch(Batch batch, Parameters parameters) {
+    if (!isEnabled()) {
+      return NOOP_SAMPLE;
+    }
+    List<Statement> statements = batch.statements();
+    return start(Type.BATCH, parameters, statements.isEmpty() ? null : statements.get(0));
+  }
+
+  /**
+   * Remembers the keyspace of a prepared statement, so that its executions can be tagged with it.
+   */
+  public void onPrepared(Result.Prepared prepared) {
+    if (!isEnabled()) {
+      return;
+    }
+    String keyspace = null == prepared.metadata ? null : keyspace(prepared.metadata.columns);
+    if (null == keyspace && null != prepared.resultMetadata) {
+      keyspace = keyspace(prepared.resultMetadata.columns);
+    }
+    if (null != keyspace) {
+      preparedKeyspaces.put(prepared.statementId, keyspace);
+    }
+  }
+
+  private static String keyspace(List<Column> columns) {
+    for (Column column : columns) {
+      if (null != column.keyspace()) {
+        return column.keyspace();
+      }
+    }
+    return null;
+  }
+
+  private Sample start(Type type, Parameters parameters, @Nullable Statement statement) {
+    String keyspace = null;
+    if (statement instanceof BoundStatement) {
+      keyspace = preparedKeyspaces.getIfPresent(((BoundStatement) statement).preparedId());
+    }
+    if (null == keyspace) {
+      keyspace = parameters.defaultKeyspace().orElse(UNKNOWN);
+    }
+    String api = parameters.sourceApi().orElse(UNKNOWN);
+    return new Sample(meters(api, keyspace)[type.ordinal()]);
+  }
+
+  private PhaseMeters[] meters(String api, String keyspace) {
+    Map<String, PhaseMeters[]> byKeyspace = meters.get(api);
+    if (null == byKeyspace) {
+      String apiTag = meters.size() < MAX_APIS ? api : OTHER;
+      byKeyspace = meters.computeIfAbsent(apiTag, k -> new ConcurrentHashMap<>());
+      api = apiTag;
+    }
+
+    PhaseMeters[] byType = byKeyspace.get(keyspace);
+    if (null == byType) {
+      // the bound is approximate under concurrency, which is fine for our purpose
+      String keyspaceTag =
+          keyspaces.contains(keyspace) || keyspaces.size() < maxKeyspaces ? keyspace : OTHER;
+      keyspaces.add(keyspaceTag);
+      // the tags are only built for new meters, keyspaces over the bound hit the existing OTHER
+      String apiTag = api;
+      byType =
+          byKeyspace.computeIfAbsent(
+              keyspaceTag, k -> newMeters(tags.and(API_TAG, apiTag).and(KEYSPACE_TAG, k)));
+    }
+    return byType;
+  }
+
+  private PhaseMeters[] newMeters(Tags keyspaceTags) {
+    PhaseMeters[] result = new PhaseMeters[Type.values().length];
+    for (Type type : Type.values()) {
+      result[type.ordinal()] = new PhaseMeters(keyspaceTags.and(TYPE_TAG, type.getTagValue()));
+    }
+    return result;
+  }
+
+  private class PhaseMeters {
+
+    private final Timer queue;
+    private final Timer storage;
+    private final Timer conversion;
+
+    private PhaseMeters(Tags typeTags) {
+      queue = timer(QUEUE_METRIC, typeTags);
+      storage = timer(STORAGE_METRIC, typeTags);
+      conversion = timer(CONVERSION_METRIC, typeTags);
+    }
+
+    private Timer timer(String name, Tags typeTags) {
+      return Timer.builder(name)
+          .tags(typeTags)
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * The measurement of a single request.
+   *
+   * <p>Not thread-safe, the persistence is expected to call {@link #started()}, {@link
+   * #responded()} and {@link #finish()} from the thread executing the request.
+   */
+  public static class Sample {
+
+    private static final long UNSET = Long.MIN_VALUE;
+
+    private final PhaseMeters meters;
+    private final long submittedNanos;
+    private long startedNanos = UNSET;
+    private long respondedNanos = UNSET;
+
+    private Sample(PhaseMeters meters) {
+      this.meters = meters;
+      this.submittedNanos = null == meters ? 0 : System.nanoTime();
+    }
+
+    /** Marks the start of the execution, once the request is dequeued. */
+    public void started() {
+      if (null != meters) {
+        startedNanos = System.nanoTime();
+      }
+    }
+
+    /** Marks the response of the coordinator, before the conversion of the result. */
+    public void responded() {
+      if (null != meters) {
+        respondedNanos = System.nanoTime();
+      }
+    }
+
+    /** Records the phases, phases that were not marked are considered empty. */
+    public void finish() {
+      if (null == meters) {
+        return;
+      }
+      long now = System.nanoTime();
+      long started = startedNanos == UNSET ? submittedNanos : startedNanos;
+      long responded = respondedNanos == UNSET ? now : respondedNanos;
+      meters.queue.record(started - submittedNanos, TimeUnit.NANOSECONDS);
+      meters.storage.record(responded - started, TimeUnit.NANOSECONDS);
+      meters.conversion.record(now - responded, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -26,9 +26,12 @@ import io.stargate.db.schema.Column.ColumnType;
 import io.stargate.db.schema.Column.Type;
 import io.stargate.db.schema.ColumnUtils;
 import io.stargate.db.schema.Table;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.immutables.value.Value.Style.ImplementationVisibility;
 
 @org.immutables.value.Value.Immutable(prehash = true)
@@ -163,9 +166,15 @@ public abstract class BuiltCondition {
       throw new UnsupportedOperationException();
     }
 
+    /**
+     * The token of the given partition key columns, f.e. to select a range of tokens with "TOKEN(a,
+     * b) > ? AND TOKEN(a, b) <= ?".
+     *
+     * <p>The type of the token is assumed to be the one of the Murmur3Partitioner, that is bigint.
+     */
     public static LHS token(String... columnNames) {
-      // Not yet needed, but we should add it someday
-      throw new UnsupportedOperationException();
+      checkArgument(columnNames.length > 0, "The token requires at least one column");
+      return new Token(Arrays.asList(columnNames));
     }
 
     abstract Column appendToBuilder(
@@ -233,6 +242,56 @@ public abstract class BuiltCondition {
       }
     }
 
+    static final class Token extends LHS {
+      private final List<String> columnNames;
+
+      private Token(List<String> columnNames) {
+        this.columnNames = columnNames;
+      }
+
+      @Override
+      String columnName() {
+        // Makes the condition be processed like one on (part of) the partition key
+        return columnNames.get(0);
+      }
+
+      @Override
+      Column appendToBuilder(
+          Table table, QueryStringBuilder builder, Consumer<BindMarker> onMarker) {
+        String columns =
+            columnNames.stream()
+                .map(c -> table.existingColumn(c).cqlName())
+                .collect(Collectors.joining(", "));
+        String token = format("TOKEN(%s)", columns);
+        builder.append(token);
+        return Column.create(token, Type.Bigint);
+      }
+
+      @Override
+      public boolean equals(Object o) {
+        if (this == o) {
+          return true;
+        }
+        if (!(o instanceof Token)) {
+          return false;
+        }
+        Token that = (Token) o;
+        return columnNames.equals(that.columnNames);
+      }
+
+      @Override
+      public int hashCode() {
+        return Objects.hash(columnNames);
+      }
+
+      @Override
+      public String toString() {
+        return format(
+            "TOKEN(%s)",
+            columnNames.stream().map(ColumnUtils::maybeQuote).collect(Collectors.joining(", ")));
+      }
+    }
+
     static final class MapElement extends LHS {
       private final String columnName;
       private final Value<?> keyValue;
@@ -144,6 +144,9 @@ public class QueryBuilderImpl {
   private @Nullable Value<Integer> perPartitionLimit;
   private List<ColumnOrder> orders = new ArrayList<>();
 
+  /** The GROUP BY column names of a SELECT. */
+  private final List<String> groupBy = new ArrayList<>();
+
   private Replication replication;
   private boolean ifNotExists;
   private boolean ifExists;
@@ -754,6 +757,15 @@ public class QueryBuilderImpl {
     orderBy(column, Column.Order.ASC);
   }
 
+  /**
+   * Adds a GROUP BY clause to a SELECT.
+   *
+   * <p>This is not (yet) part of the DSL, see {@link TokenRangeQueries} for its usage.
+   */
+  void groupBy(List<String> columnNames) {
+    this.groupBy.addAll(columnNames);
+  }
+
   public void allowFiltering() {
     this.allowFiltering = true;
   }
@@ -1536,6 +1548,10 @@ public class QueryBuilderImpl {
             })
         .end();
 
+    builder
+        .lazyStart("GROUP BY")
+        .addAll(groupBy, columnName -> builder.append(table.existingColumn(columnName)));
+
     builder
         .lazyStart("ORDER BY")
         .addAll(
@@ -1574,10 +1590,17 @@ public class QueryBuilderImpl {
   private static void addFunctionCallWithAliasIfPresent(
       QueryStringBuilder builder, FunctionCall functionCall) {
 
-    builder
-        .append(functionCall.getFunctionName() + "(")
-        .append(cqlName(functionCall.getColumnName()))
-        .append(")");
+    builder.append(functionCall.getFunctionName() + "(");
+    if (functionCall.getArgumentCast() != null) {
+      builder
+          .append("CAST(")
+          .append(cqlName(functionCall.getColumnName()))
+          .append("AS")
+          .append(functionCall.getArgumentCast() + ")");
+    } else {
+      builder.append(cqlName(functionCall.getColumnName()));
+    }
+    builder.append(")");
     if (functionCall.getAlias() != null) {
       builder.append("AS").append(cqlName(functionCall.getAlias()));
     }
@@ -1587,6 +1610,7 @@ public class QueryBuilderImpl {
     final String columnName;
     @Nullable String alias;
     final String functionName;
+    @Nullable String argumentCast;
 
     private FunctionCall(String columnName, String alias, String functionName) {
       this.columnName = columnName;
@@ -1650,6 +1674,14 @@ public class QueryBuilderImpl {
       this.alias = alias;
     }
 
+    /**
+     * Casts the column to the given CQL type before applying the function, f.e. {@code
+     * SUM(CAST(c AS varint))} to sum integers without overflowing.
+     */
+    public void setArgumentCast(String cqlType) {
+      this.argumentCast = cqlType;
+    }
+
     public String getColumnName() {
       return columnName;
     }
@@ -1662,5 +1694,10 @@ public class QueryBuilderImpl {
     public String getAlias() {
       return alias;
     }
+
+    @Nullable
+    public String getArgumentCast() {
+      return argumentCast;
+    }
   }
 }
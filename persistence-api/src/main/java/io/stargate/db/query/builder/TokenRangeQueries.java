@@ -0,0 +1,66 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.query.builder;
+
+import io.stargate.db.query.AsyncQueryExecutor;
+import io.stargate.db.query.Predicate;
+import io.stargate.db.query.TypedValue.Codec;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.Schema;
+import io.stargate.db.schema.Table;
+import java.util.Collection;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/** Builds the queries that read a table one range of tokens at a time. */
+public final class TokenRangeQueries {
+
+  private TokenRangeQueries() {}
+
+  /**
+   * Builds an aggregation over a range of tokens:
+   *
+   * <pre>
+   * SELECT g1, ..., f1(c1), ... FROM t WHERE TOKEN(pk) > ? AND TOKEN(pk) <= ? GROUP BY g1, ...
+   * </pre>
+   *
+   * The query must be bound with the (exclusive) start and (inclusive) end tokens of the range.
+   *
+   * @param groupBy the GROUP BY columns, which are also selected, may be empty.
+   * @param functions the aggregate function calls.
+   */
+  public static BuiltQuery<?> aggregate(
+      Schema schema,
+      Codec valueCodec,
+      @Nullable AsyncQueryExecutor executor,
+      Table table,
+      List<String> groupBy,
+      Collection<QueryBuilderImpl.FunctionCall> functions) {
+    String[] partitionKey =
+        table.partitionKeyColumns().stream().map(Column::name).toArray(String[]::new);
+    BuiltCondition.LHS token = BuiltCondition.LHS.token(partitionKey);
+
+    QueryBuilderImpl builder = new QueryBuilderImpl(schema, valueCodec, executor);
+    builder.select();
+    groupBy.forEach(builder::column);
+    builder.function(functions);
+    builder.from(table);
+    builder.where(BuiltCondition.ofMarker(token, Predicate.GT));
+    builder.where(BuiltCondition.ofMarker(token, Predicate.LTE));
+    builder.groupBy(groupBy);
+    return builder.build();
+  }
+}
@@ -0,0 +1,69 @@
+package io.stargate.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.stargate.db.limiter.AdaptiveConcurrencyLimiter;
+import java.util.concurrent.CompletableFuture;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitingPersistenceTest {
+
+  private final Statement statement = new SimpleStatement("SELECT * FROM ks.tbl");
+
+  private Persistence.Connection connection;
+  private CompletableFuture<Result> pending;
+  private AdaptiveConcurrencyLimiter limiter;
+  private Persistence.Connection limited;
+
+  @BeforeEach
+  void setup() {
+    pending = new CompletableFuture<>();
+    connection = mock(Persistence.Connection.class);
+    when(connection.execute(any(), any(), anyLong())).thenReturn(pending);
+    Persistence persistence = mock(Persistence.class);
+    when(persistence.newConnection()).thenReturn(connection);
+
+    limiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+    limited = new ConcurrencyLimitingPersistence(persistence, limiter).newConnection();
+  }
+
+  @Test
+  void rejectsAboveLimit() {
+    CompletableFuture<Result> first = limited.execute(statement, Parameters.defaults(), 0);
+    CompletableFuture<Result> second = limited.execute(statement, Parameters.defaults(), 0);
+
+    assertThat(first).isNotDone();
+    assertThat(second).isCompletedExceptionally();
+    assertThat(second.handle((r, e) -> e).join()).isInstanceOf(OverloadedException.class);
+    assertThat(limiter.getRejected()).isEqualTo(1);
+  }
+
+  @Test
+  void releasesOnCompletion() {
+    limited.execute(statement, Parameters.defaults(), 0);
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+
+    pending.completeExceptionally(new RuntimeException("failed"));
+
+    assertThat(limiter.getInFlight()).isZero();
+    assertThat(limited.execute(statement, Parameters.defaults(), 0)).isNotDone();
+  }
+
+  @Test
+  void systemRequestsBypassLimiter() {
+    Parameters system = Parameters.defaults().withPriority(RequestPriority.SYSTEM);
+    limited.execute(statement, Parameters.defaults(), 0);
+
+    CompletableFuture<Result> bypassed = limited.execute(statement, system, 0);
+
+    assertThat(bypassed).isNotDone();
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+    assertThat(limiter.getRejected()).isZero();
+  }
+}
@@ -0,0 +1,278 @@
+package io.stargate.db.aggregation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.stargate.db.Parameters;
+import io.stargate.db.datastore.DataStore;
+import io.stargate.db.datastore.ResultSet;
+import io.stargate.db.datastore.Row;
+import io.stargate.db.query.BoundQuery;
+import io.stargate.db.query.TypedValue;
+import io.stargate.db.schema.Column.Kind;
+import io.stargate.db.schema.Column.Type;
+import io.stargate.db.schema.Schema;
+import io.stargate.db.schema.Table;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+
+public class TokenRangeAggregationTest {
+
+  private static final Schema schema =
+      Schema.build()
+          .keyspace("ks")
+          .table("t")
+          .column("a", Type.Text, Kind.PartitionKey)
+          .column("b", Type.Int, Kind.PartitionKey)
+          .column("c", Type.Int, Kind.Clustering)
+          .column("v", Type.Int, Kind.Regular)
+          .column("d", Type.Double, Kind.Regular)
+          .column("s", Type.Text, Kind.Regular)
+          .build();
+
+  private final Table table = schema.keyspace("ks").table("t");
+
+  private DataStore dataStore;
+  private List<BoundQuery> executed;
+
+  @BeforeEach
+  public void setup() {
+    dataStore = mock(DataStore.class);
+    when(dataStore.schema()).thenReturn(schema);
+    when(dataStore.valueCodec()).thenReturn(TypedValue.Codec.testCodec());
+    executed = new ArrayList<>();
+  }
+
+  private void answerWith(Answer<CompletableFuture<ResultSet>> answer) {
+    when(dataStore.execute(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              executed.add(invocation.getArgument(0));
+              return answer.answer(invocation);
+            });
+  }
+
+  private static CompletableFuture<ResultSet> page(ByteBuffer pagingState, Row... rows) {
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.currentPageRows()).thenReturn(Arrays.asList(rows));
+    when(resultSet.getPagingState()).thenReturn(pagingState);
+    return CompletableFuture.completedFuture(resultSet);
+  }
+
+  private static Row row(Object... namesAndValues) {
+    Row row = mock(Row.class);
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      when(row.getObject((String) namesAndValues[i])).thenReturn(namesAndValues[i + 1]);
+    }
+    return row;
+  }
+
+  @Test
+  public void combinesPartialStates() throws Exception {
+    List<Row> rows = new ArrayList<>();
+    for (int range = 0; range < 4; range++) {
+      Row row = mock(Row.class);
+      when(row.getObject("a0")).thenReturn(2L);
+      when(row.getObject("a1")).thenReturn(range + 1);
+      when(row.getObject("a2")).thenReturn(range + 1);
+      when(row.getObject("a2_count")).thenReturn(2L);
+      when(row.getObject("a3")).thenReturn(range);
+      when(row.getObject("a4")).thenReturn(range * 10);
+      when(row.getObject("a5")).thenReturn(1.0);
+      when(row.getObject("a5_count")).thenReturn(2L);
+      rows.add(row);
+    }
+    List<CompletableFuture<ResultSet>> pages = new ArrayList<>();
+    for (Row row : rows) {
+      pages.add(page(null, row));
+    }
+    answerWith(invocation -> pages.get(executed.size() - 1));
+    List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+
+    List<Map<String, Object>> results =
+        TokenRangeAggregation.builder(dataStore, table)
+            .aggregate(Aggregate.count())
+            .aggregate(Aggregate.of(Aggregate.Function.SUM, "v"))
+            .aggregate(Aggregate.of(Aggregate.Function.AVG, "v").as("avg"))
+            .aggregate(Aggregate.of(Aggregate.Function.MIN, "v"))
+            .aggregate(Aggregate.of(Aggregate.Function.MAX, "v"))
+            .aggregate(Aggregate.of(Aggregate.Function.AVG, "d"))
+            .splits(4)
+            .concurrency(2)
+            .progressListener((completed, total) -> progress.add(completed))
+            .build()
+            .execute()
+            .get();
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("count", 8L);
+    expected.put("system.sum(v)", 10);
+    expected.put("avg", 1);
+    expected.put("system.min(v)", 0);
+    expected.put("system.max(v)", 30);
+    expected.put("system.avg(d)", 0.5);
+    assertThat(results).containsExactly(expected);
+    assertThat(executed).hasSize(4);
+    assertThat(executed.get(0).queryString())
+        .isEqualTo(
+            "SELECT COUNT(a) AS a0, SUM(v) AS a1, SUM(CAST(v AS varint)) AS a2, "
+                + "COUNT(v) AS a2_count, "
+                + "MIN(v) AS a3, MAX(v) AS a4, SUM(d) AS a5, COUNT(d) AS a5_count FROM ks.t "
+                + "WHERE TOKEN(a, b) > ? AND TOKEN(a, b) <= ?");
+    assertThat(progress).containsExactly(1, 2, 3, 4);
+  }
+
+  @Test
+  public void averagesIntegersWithoutOverflow() throws Exception {
+    // each range sums more than Integer.MAX_VALUE, which the varint cast of the query handles
+    BigInteger rangeSum = BigInteger.valueOf(Integer.MAX_VALUE).multiply(BigInteger.valueOf(3));
+    CompletableFuture<ResultSet> page = page(null, row("a0", rangeSum, "a0_count", 4L));
+    answerWith(invocation -> page);
+
+    List<Map<String, Object>> results =
+        TokenRangeAggregation.builder(dataStore, table)
+            .aggregate(Aggregate.of(Aggregate.Function.AVG, "v").as("avg"))
+            .splits(2)
+            .build()
+            .execute()
+            .get();
+
+    assertThat(results).containsExactly(Collections.singletonMap("avg", 1610612735));
+    assertThat(executed.get(0).queryString())
+        .startsWith("SELECT SUM(CAST(v AS varint)) AS a0, COUNT(v) AS a0_count FROM ks.t");
+  }
+
+  @Test
+  public void coversTheWholeRing() {
+    long[] bounds = TokenRangeAggregation.splitTokenRing(7);
+
+    assertThat(bounds).hasSize(8);
+    assertThat(bounds[0]).isEqualTo(Long.MIN_VALUE);
+    assertThat(bounds[7]).isEqualTo(Long.MAX_VALUE);
+    for (int i = 0; i < 7; i++) {
+      assertThat(bounds[i]).isLessThan(bounds[i + 1]);
+    }
+  }
+
+  @Test
+  public void groupsByPartitionKeyPrefixAcrossPages() throws Exception {
+    ByteBuffer pagingState = ByteBuffer.wrap(new byte[] {1});
+    CompletableFuture<ResultSet> first =
+        page(pagingState, row("a", "x", "a0", 1L), row("a", "y", "a0", 3L));
+    CompletableFuture<ResultSet> second = page(null, row("a", "y", "a0", 2L));
+    answerWith(
+        invocation -> {
+          UnaryOperator<Parameters> modifier = invocation.getArgument(1);
+          Parameters parameters = modifier.apply(Parameters.defaults());
+          return parameters.pagingState().isPresent() ? second : first;
+        });
+
+    List<Map<String, Object>> results =
+        TokenRangeAggregation.builder(dataStore, table)
+            .aggregate(Aggregate.count())
+            .groupBy(Collections.singletonList("a"))
+            .splits(2)
+            .build()
+            .execute()
+            .get();
+
+    Map<String, Object> x = new HashMap<>();
+    x.put("a", "x");
+    x.put("count", 2L);
+    Map<String, Object> y = new HashMap<>();
+    y.put("a", "y");
+    y.put("count", 10L);
+    assertThat(results).containsExactlyInAnyOrder(x, y);
+    // 2 ranges of 2 pages each
+    assertThat(executed).hasSize(4);
+    assertThat(executed.get(0).queryString()).endsWith("GROUP BY a");
+  }
+
+  @Test
+  public void emptyTable() throws Exception {
+    CompletableFuture<ResultSet> empty = page(null);
+    answerWith(invocation -> empty);
+
+    List<Map<String, Object>> results =
+        TokenRangeAggregation.builder(dataStore, table)
+            .aggregate(Aggregate.count())
+            .aggregate(Aggregate.of(Aggregate.Function.MAX, "v"))
+            .splits(3)
+            .build()
+            .execute()
+            .get();
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("count", 0L);
+    expected.put("system.max(v)", null);
+    assertThat(results).containsExactly(expected);
+  }
+
+  @Test
+  public void failsOnFirstError() {
+    CompletableFuture<ResultSet> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new IllegalStateException("boom"));
+    answerWith(invocation -> failed);
+
+    CompletableFuture<List<Map<String, Object>>> result =
+        TokenRangeAggregation.builder(dataStore, table)
+            .aggregate(Aggregate.count())
+            .splits(8)
+            .concurrency(1)
+            .build()
+            .execute();
+
+    ExecutionException e = assertThrows(ExecutionException.class, result::get);
+    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+    assertThat(executed).hasSize(1);
+  }
+
+  @Test
+  public void validatesAggregation() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> TokenRangeAggregation.builder(dataStore, table).build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            TokenRangeAggregation.builder(dataStore, table)
+                .aggregate(Aggregate.of(Aggregate.Function.SUM, "s"))
+                .build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            TokenRangeAggregation.builder(dataStore, table)
+                .aggregate(Aggregate.count())
+                .groupBy(Collections.singletonList("b"))
+                .build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            TokenRangeAggregation.builder(dataStore, table)
+                .aggregate(Aggregate.count())
+                .splits(0)
+                .build());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            TokenRangeAggregation.builder(dataStore, table)
+                .aggregate(Aggregate.count())
+                .concurrency(TokenRangeAggregation.MAX_CONCURRENCY + 1)
+                .build());
+  }
+}
@@ -0,0 +1,200 @@
+package io.stargate.db.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+  private long now;
+
+  private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+    return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, () -> now);
+  }
+
+  @Test
+  public void rejectsOnceLimitIsReached() {
+    AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+    AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+    AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+    assertThat(first).isNotNull();
+    assertThat(second).isNotNull();
+    assertThat(limiter.tryAcquire()).isNull();
+    assertThat(limiter.getInFlight()).isEqualTo(2);
+    assertThat(limiter.getRejected()).isEqualTo(1);
+
+    first.onIgnore();
+    // releasing twice must not free another slot
+    first.onSuccess();
+
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+    assertThat(limiter.tryAcquire()).isNotNull();
+    assertThat(limiter.tryAcquire()).isNull();
+  }
+
+  @Test
+  public void invalidLimits() {
+    assertThrows(IllegalArgumentException.class, () -> limiter(10, 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> limiter(10, 20, 10));
+  }
+
+  @Test
+  public void initialLimitIsBounded() {
+    assertThat(limiter(1000, 1, 100).getLimit()).isEqualTo(100);
+    assertThat(limiter(1, 10, 100).getLimit()).isEqualTo(10);
+  }
+
+  @Test
+  public void shrinksOnDrops() {
+    AdaptiveConcurrencyLimiter limiter = limiter(100, 10, 1000);
+
+    // learn the min RTT
+    new Backend(limiter, 1000, 1000).round();
+    int before = limiter.getLimit();
+    for (int i = 0; i < 5; i++) {
+      List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter, 1000);
+      now += TimeUnit.MILLISECONDS.toNanos(1);
+      permits.forEach(AdaptiveConcurrencyLimiter.Permit::onDropped);
+    }
+
+    assertThat(limiter.getLimit()).isLessThan(before).isGreaterThanOrEqualTo(10);
+  }
+
+  @Test
+  public void growsWhileLatencyIsStable() {
+    AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 1000);
+    Backend backend = new Backend(limiter, 1000, 1000);
+
+    for (int i = 0; i < 20; i++) {
+      backend.round();
+    }
+
+    assertThat(limiter.getLimit()).isGreaterThan(100);
+  }
+
+  @Test
+  public void doesNotGrowWhenNotUsed() {
+    AdaptiveConcurrencyLimiter limiter = limiter(100, 1, 1000);
+    // only 10 concurrent requests, the limit is not what bounds the throughput
+    Backend backend = new Backend(limiter, 1000, 10);
+
+    for (int i = 0; i < 200; i++) {
+      backend.round();
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(100);
+  }
+
+  /**
+   * Simulates a persistence that can serve {@code capacity} requests concurrently, requests above
+   * that are queued and see their latency grow accordingly, while clients keep offering far more
+   * requests than the capacity. Without a limit, every request would wait for 10x the base latency
+   * and time out; with the limiter, the limit converges slightly above the capacity and the excess
+   * is rejected right away instead.
+   */
+  @Test
+  public void convergesToBackendCapacity() {
+    AdaptiveConcurrencyLimiter limiter = limiter(20, 1, 1000);
+    Backend backend = new Backend(limiter, 50, 500);
+
+    for (int i = 0; i < 100; i++) {
+      backend.round();
+    }
+    backend.reset();
+    for (int i = 0; i < 200; i++) {
+      backend.round();
+    }
+
+    assertThat(limiter.getLimit()).isBetween(50, 75);
+    assertThat(backend.timedOut).isZero();
+    // served at least 90% of the capacity, in spite of the probing rounds
+    assertThat(backend.served).isGreaterThan(200 * 50 * 9 / 10);
+    assertThat(backend.rejected).isGreaterThan(0);
+  }
+
+  @Test
+  public void recoversFromOverload() {
+    AdaptiveConcurrencyLimiter limiter = limiter(100, 1, 1000);
+    Backend backend = new Backend(limiter, 50, 500);
+
+    for (int i = 0; i < 100; i++) {
+      backend.round();
+    }
+    // the backend slows down, f.e. because of a compaction
+    backend.capacity = 20;
+    for (int i = 0; i < 300; i++) {
+      backend.round();
+    }
+    backend.reset();
+    for (int i = 0; i < 50; i++) {
+      backend.round();
+    }
+
+    assertThat(limiter.getLimit()).isBetween(20, 40);
+    assertThat(backend.timedOut).isZero();
+  }
+
+  private static List<AdaptiveConcurrencyLimiter.Permit> acquireAll(
+      AdaptiveConcurrencyLimiter limiter, int offered) {
+    List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < offered; i++) {
+      AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+      if (permit != null) {
+        permits.add(permit);
+      }
+    }
+    return permits;
+  }
+
+  /**
+   * A deterministic closed-loop simulation: each round, clients offer a fixed number of requests,
+   * the admitted ones are served concurrently and all complete together, with a latency that grows
+   * linearly once the admitted requests exceed the capacity of the backend.
+   */
+  private class Backend {
+    private final long baseLatencyNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private final long timeoutNanos = 5 * baseLatencyNanos;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final int offered;
+    private int capacity;
+
+    private long served;
+    private long timedOut;
+    private long rejected;
+
+    private Backend(AdaptiveConcurrencyLimiter limiter, int capacity, int offered) {
+      this.limiter = limiter;
+      this.capacity = capacity;
+      this.offered = offered;
+    }
+
+    private void round() {
+      List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter, offered);
+      rejected += offered - permits.size();
+
+      long latency = (long) (baseLatencyNanos * Math.max(1.0, permits.size() / (double) capacity));
+      now += latency;
+      for (AdaptiveConcurrencyLimiter.Permit permit : permits) {
+        if (latency > timeoutNanos) {
+          timedOut++;
+          permit.onDropped();
+        } else {
+          served++;
+          permit.onSuccess();
+        }
+      }
+    }
+
+    private void reset() {
+      served = 0;
+      timedOut = 0;
+      rejected = 0;
+    }
+  }
+}
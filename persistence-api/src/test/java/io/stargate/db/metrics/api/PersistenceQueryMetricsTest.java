@@ -0,0 +1,141 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.stargate.db.metrics.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.db.Batch;
+import io.stargate.db.BatchType;
+import io.stargate.db.BoundStatement;
+import io.stargate.db.Parameters;
+import io.stargate.db.Result;
+import io.stargate.db.SimpleStatement;
+import io.stargate.db.schema.Column;
+import io.stargate.db.schema.ImmutableColumn;
+import java.util.Collections;
+import java.util.EnumSet;
+import org.apache.cassandra.stargate.utils.MD5Digest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersistenceQueryMetricsTest {
+
+  private MeterRegistry meterRegistry;
+
+  private PersistenceQueryMetrics metrics;
+
+  @BeforeEach
+  public void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new PersistenceQueryMetrics(meterRegistry, Tags.of("module", "test"), 2);
+  }
+
+  @Test
+  public void recordsPhases() {
+    Parameters parameters = Parameters.builder().sourceApi("rest").defaultKeyspace("ks").build();
+
+    PersistenceQueryMetrics.Sample sample =
+        metrics.startExecute(new SimpleStatement("SELECT * FROM tbl"), parameters);
+    sample.started();
+    sample.responded();
+    sample.finish();
+
+    Tags tags = Tags.of("module", "test", "api", "rest", "keyspace", "ks", "type", "execute");
+    for (String name :
+        new String[] {
+          PersistenceQueryMetrics.QUEUE_METRIC,
+          PersistenceQueryMetrics.STORAGE_METRIC,
+          PersistenceQueryMetrics.CONVERSION_METRIC
+        }) {
+      Timer timer = meterRegistry.get(name).tags(tags).timer();
+      assertThat(timer.count()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void preparedStatementKeyspace() {
+    MD5Digest id = MD5Digest.compute("SELECT * FROM ks2.tbl");
+    Column column =
+        ImmutableColumn.builder()
+            .keyspace("ks2")
+            .table("tbl")
+            .name("id")
+            .type(Column.Type.Int)
+            .kind(Column.Kind.PartitionKey)
+            .build();
+    metrics.onPrepared(
+        new Result.Prepared(
+            id,
+            null,
+            null,
+            new Result.PreparedMetadata(
+                EnumSet.noneOf(Result.Flag.class),
+                Collections.singletonList(column),
+                new short[0])));
+
+    metrics
+        .startExecute(
+            new BoundStatement(id, Collections.emptyList(), null),
+            Parameters.builder().sourceApi("cql").build())
+        .finish();
+
+    Timer timer =
+        meterRegistry
+            .get(PersistenceQueryMetrics.STORAGE_METRIC)
+            .tags("api", "cql", "keyspace", "ks2")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void boundedKeyspaces() {
+    for (String keyspace : new String[] {"ks1", "ks2", "ks3", "ks4", "ks1"}) {
+      metrics
+          .startBatch(
+              new Batch(BatchType.LOGGED, Collections.emptyList()),
+              Parameters.builder().defaultKeyspace(keyspace).build())
+          .finish();
+    }
+
+    assertThat(
+            meterRegistry
+                .get(PersistenceQueryMetrics.QUEUE_METRIC)
+                .tag("keyspace", "ks1")
+                .timer()
+                .count())
+        .isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get(PersistenceQueryMetrics.QUEUE_METRIC)
+                .tags("api", PersistenceQueryMetrics.UNKNOWN, "keyspace", "other")
+                .timer()
+                .count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void disabled() {
+    PersistenceQueryMetrics.DISABLED.startPrepare(Parameters.defaults()).finish();
+
+    assertThat(PersistenceQueryMetrics.DISABLED.isEnabled()).isFalse();
+    assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+}
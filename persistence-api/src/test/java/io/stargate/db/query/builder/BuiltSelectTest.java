@@ -414,4 +414,43 @@ class BuiltSelectTest extends BuiltQueryTest {
         "SELECT * FROM ks.t1 PER PARTITION LIMIT ? LIMIT 456",
         markerFor("[per-partition-limit]", Type.Int));
   }
+
+  @Test
+  public void testTokenRangeAggregation() {
+    BuiltQuery<?> query =
+        TokenRangeQueries.aggregate(
+            schema,
+            codec(),
+            null,
+            schema.keyspace(KS_NAME).table("t1"),
+            asList("k1"),
+            asList(
+                QueryBuilderImpl.FunctionCall.count("v1", "a0"),
+                QueryBuilderImpl.FunctionCall.max("v2", "a1")));
+
+    String expected =
+        "SELECT k1, COUNT(v1) AS a0, MAX(v2) AS a1 FROM ks.t1 "
+            + "WHERE TOKEN(k1) > ? AND TOKEN(k1) <= ? GROUP BY k1";
+    assertBuiltQuery(
+        query, expected, markerFor("TOKEN(k1)", Type.Bigint), markerFor("TOKEN(k1)", Type.Bigint));
+
+    BoundSelect select = checkedCast(query.bind(Long.MIN_VALUE, 42L));
+
+    assertBoundQuery(select, expected, Long.MIN_VALUE, 42L);
+  }
+
+  @Test
+  public void testTokenRangeAggregationWithoutGroupBy() {
+    assertBuiltQuery(
+        TokenRangeQueries.aggregate(
+            schema,
+            codec(),
+            null,
+            schema.keyspace(KS_NAME).table("t1"),
+            emptyList(),
+            asList(QueryBuilderImpl.FunctionCall.sum("v2", "a0"))),
+        "SELECT SUM(v2) AS a0 FROM ks.t1 WHERE TOKEN(k1) > ? AND TOKEN(k1) <= ?",
+        markerFor("TOKEN(k1)", Type.Bigint),
+        markerFor("TOKEN(k1)", Type.Bigint));
+  }
 }
@@ -27,6 +27,7 @@ import io.stargate.db.cassandra.impl.CassandraPersistence;
 import io.stargate.db.cassandra.impl.DelegatingAuthorizer;
 import io.stargate.db.datastore.common.StargateConfigSnitch;
 import io.stargate.db.datastore.common.StargateSeedProvider;
+import io.stargate.db.metrics.api.PersistenceQueryMetrics;
 import java.io.File;
 import java.io.IOError;
 import java.io.IOException;
@@ -162,6 +163,8 @@ public class CassandraPersistenceActivator extends BaseActivator {
     // TODO copy metrics if this gets invoked more than once?
     CassandraMetricsRegistry.actualRegistry =
         metrics.get().getRegistry("persistence-cassandra-3.11");
+    cassandraDB.setQueryMetrics(
+        PersistenceQueryMetrics.create(metrics.get(), "persistence-cassandra-3.11"));
 
     try {
       cassandraDB.setAuthorizationService(authorizationService.get());
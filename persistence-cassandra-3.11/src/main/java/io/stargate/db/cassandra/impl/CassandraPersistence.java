@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Uninterruptibles;
+import io.stargate.auth.AuthorizationDecisionCache;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.db.Authenticator;
 import io.stargate.db.Batch;
@@ -31,6 +32,7 @@ import io.stargate.db.EventListener;
 import io.stargate.db.PagingPosition;
 import io.stargate.db.Parameters;
 import io.stargate.db.Persistence;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.Result;
 import io.stargate.db.RowDecorator;
 import io.stargate.db.SimpleStatement;
@@ -38,7 +40,9 @@ import io.stargate.db.Statement;
 import io.stargate.db.cassandra.impl.interceptors.DefaultQueryInterceptor;
 import io.stargate.db.cassandra.impl.interceptors.QueryInterceptor;
 import io.stargate.db.datastore.common.AbstractCassandraPersistence;
+import io.stargate.db.datastore.common.util.PriorityExecutor;
 import io.stargate.db.datastore.common.util.SchemaAgreementAchievableCheck;
+import io.stargate.db.metrics.api.PersistenceQueryMetrics;
 import io.stargate.db.schema.TableName;
 import java.io.IOException;
 import java.net.InetAddress;
@@ -73,6 +77,7 @@ import org.apache.cassandra.gms.EndpointState;
 import org.apache.cassandra.gms.Gossiper;
 import org.apache.cassandra.gms.IEndpointStateChangeSubscriber;
 import org.apache.cassandra.gms.VersionedValue;
+import org.apache.cassandra.metrics.CassandraMetricsRegistry;
 import org.apache.cassandra.schema.IndexMetadata;
 import org.apache.cassandra.schema.KeyspaceMetadata;
 import org.apache.cassandra.service.CassandraDaemon;
@@ -82,6 +87,7 @@ import org.apache.cassandra.service.MigrationListener;
 import org.apache.cassandra.service.MigrationManager;
 import org.apache.cassandra.service.QueryState;
 import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
 import org.apache.cassandra.stargate.exceptions.PersistenceException;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.transport.Message;
@@ -116,6 +122,10 @@ public class CassandraPersistence
   private static final boolean USE_TRANSITIONAL_AUTH =
       Boolean.getBoolean("stargate.cql_use_transitional_auth");
 
+  // Max number of the requests waiting for execution, per request priority class
+  private static final int MAX_QUEUED_REQUESTS =
+      Integer.getInteger("stargate.max_queued_requests_per_priority", 16384);
+
   /*
    * Initial schema migration can take greater than 2 * MigrationManager.MIGRATION_DELAY_IN_MS if a
    * live token owner doesn't become live within MigrationManager.MIGRATION_DELAY_IN_MS. Because it's
@@ -138,6 +148,7 @@ public class CassandraPersistence
   private final SchemaCheck schemaCheck = new SchemaCheck();
 
   private LocalAwareExecutorService executor;
+  private PriorityExecutor priorityExecutor;
 
   private CassandraDaemon daemon;
   private Authenticator authenticator;
@@ -147,6 +158,8 @@ public class CassandraPersistence
   private MigrationListener migrationListener;
   private AtomicReference<AuthorizationService> authorizationService;
 
+  private volatile PersistenceQueryMetrics queryMetrics = PersistenceQueryMetrics.DISABLED;
+
   public CassandraPersistence() {
     super("Apache Cassandra");
   }
@@ -206,6 +219,12 @@ public class CassandraPersistence
             Integer.MAX_VALUE,
             "transport",
             "Native-Transport-Requests");
+    priorityExecutor =
+        new PriorityExecutor(
+            executor,
+            DatabaseDescriptor::getNativeTransportMaxThreads,
+            MAX_QUEUED_REQUESTS,
+            CassandraMetricsRegistry.actualRegistry);
 
     // Use special gossip state "X10" to differentiate stargate nodes
     Gossiper.instance.addLocalApplicationState(
@@ -222,6 +241,9 @@ public class CassandraPersistence
     interceptor.initialize();
     stargateHandler().register(interceptor);
     stargateHandler().setAuthorizationService(this.authorizationService);
+    if (AuthorizationDecisionCache.shared().isEnabled()) {
+      stargateHandler().setAuthorizationDecisionCache(AuthorizationDecisionCache.shared());
+    }
   }
 
   @Override
@@ -264,32 +286,44 @@ public class CassandraPersistence
   }
 
   private <T extends Result> CompletableFuture<T> runOnExecutor(
-      Supplier<T> supplier, boolean captureWarnings) {
-    assert executor != null : "This persistence has not been initialized";
+      Supplier<T> supplier,
+      boolean captureWarnings,
+      RequestPriority priority,
+      PersistenceQueryMetrics.Sample sample) {
+    assert priorityExecutor != null : "This persistence has not been initialized";
     CompletableFuture<T> future = new CompletableFuture<>();
-    executor.submit(
-        () -> {
-          if (captureWarnings) {
-            ClientWarn.instance.captureWarnings();
-          }
-          try {
-            @SuppressWarnings("unchecked")
-            T resultWithWarnings =
-                (T) supplier.get().setWarnings(ClientWarn.instance.getWarnings());
-            future.complete(resultWithWarnings);
-          } catch (Throwable t) {
-            JVMStabilityInspector.inspectThrowable(t);
-            PersistenceException pe =
-                (t instanceof PersistenceException)
-                    ? (PersistenceException) t
-                    : Conversion.convertInternalException(t);
-            pe.setWarnings(ClientWarn.instance.getWarnings());
-            future.completeExceptionally(pe);
-          } finally {
-            // Note that it's a no-op if we haven't called captureWarnings
-            ClientWarn.instance.resetWarnings();
-          }
-        });
+    try {
+      priorityExecutor.execute(
+          priority,
+          () -> {
+            sample.started();
+            if (captureWarnings) {
+              ClientWarn.instance.captureWarnings();
+            }
+            try {
+              @SuppressWarnings("unchecked")
+              T resultWithWarnings =
+                  (T) supplier.get().setWarnings(ClientWarn.instance.getWarnings());
+              sample.finish();
+              future.complete(resultWithWarnings);
+            } catch (Throwable t) {
+              JVMStabilityInspector.inspectThrowable(t);
+              PersistenceException pe =
+                  (t instanceof PersistenceException)
+                      ? (PersistenceException) t
+                      : Conversion.convertInternalException(t);
+              pe.setWarnings(ClientWarn.instance.getWarnings());
+              sample.finish();
+              future.completeExceptionally(pe);
+            } finally {
+              // Note that it's a no-op if we haven't called captureWarnings
+              ClientWarn.instance.resetWarnings();
+            }
+          },
+          e -> future.completeExceptionally(Conversion.convertInternalException(e)));
+    } catch (OverloadedException e) {
+      future.completeExceptionally(e);
+    }
 
     return future;
   }
@@ -371,7 +405,7 @@ public class CassandraPersistence
 
   @Override
   public void executeAuthResponse(Runnable handler) {
-    executor.execute(handler);
+    priorityExecutor.execute(RequestPriority.SYSTEM, handler);
   }
 
   /**
@@ -400,6 +434,10 @@ public class CassandraPersistence
     }
   }
 
+  public void setQueryMetrics(PersistenceQueryMetrics queryMetrics) {
+    this.queryMetrics = queryMetrics;
+  }
+
   public void setAuthorizationService(AtomicReference<AuthorizationService> authorizationService) {
     this.authorizationService = authorizationService;
   }
@@ -449,7 +487,10 @@ public class CassandraPersistence
     }
 
     private <T extends Result> CompletableFuture<T> executeRequestOnExecutor(
-        Parameters parameters, long queryStartNanoTime, Supplier<Request> requestSupplier) {
+        Parameters parameters,
+        long queryStartNanoTime,
+        PersistenceQueryMetrics.Sample sample,
+        Supplier<Request> requestSupplier) {
       return runOnExecutor(
           () -> {
             QueryState queryState =
@@ -464,6 +505,7 @@ public class CassandraPersistence
             }
             request.setCustomPayload(parameters.customPayload().orElse(null));
             Message.Response response = request.execute(queryState, queryStartNanoTime);
+            sample.responded();
             // There is only 2 types of response that can come out: either a ResultMessage (which
             // itself can of different kind), or an ErrorMessage.
             if (response instanceof ErrorMessage) {
@@ -479,9 +521,14 @@ public class CassandraPersistence
                     Conversion.toResult(
                         (ResultMessage) response,
                         Conversion.toInternal(parameters.protocolVersion()));
+            if (result instanceof Result.Prepared) {
+              queryMetrics.onPrepared((Result.Prepared) result);
+            }
             return result;
           },
-          parameters.protocolVersion().isGreaterOrEqualTo(ProtocolVersion.V4));
+          parameters.protocolVersion().isGreaterOrEqualTo(ProtocolVersion.V4),
+          parameters.priority(),
+          sample);
     }
 
     private ClientState cloneWithKeyspace(ClientState original, String keyspace) {
@@ -505,6 +552,7 @@ public class CassandraPersistence
       return executeRequestOnExecutor(
           parameters,
           queryStartNanoTime,
+          queryMetrics.startExecute(statement, parameters),
           () -> {
             QueryOptions options =
                 Conversion.toInternal(
@@ -527,6 +575,7 @@ public class CassandraPersistence
           // The queryStartNanoTime is not used by prepared message, so it doesn't really matter
           // that it's only computed now.
           System.nanoTime(),
+          queryMetrics.startPrepare(parameters),
           () -> new PrepareMessage(query));
     }
 
@@ -536,6 +585,7 @@ public class CassandraPersistence
       return executeRequestOnExecutor(
           parameters,
           queryStartNanoTime,
+          queryMetrics.startBatch(batch, parameters),
           () -> {
             QueryOptions options = Conversion.toInternal(Collections.emptyList(), null, parameters);
             BatchStatement.Type internalBatchType = Conversion.toInternal(batch.type());
@@ -12,6 +12,7 @@ import io.stargate.db.cassandra.impl.CassandraPersistence;
 import io.stargate.db.cassandra.impl.DelegatingAuthorizer;
 import io.stargate.db.cassandra.impl.StargateConfigSnitch;
 import io.stargate.db.cassandra.impl.StargateSeedProvider;
+import io.stargate.db.metrics.api.PersistenceQueryMetrics;
 import java.io.File;
 import java.io.IOError;
 import java.io.IOException;
@@ -145,6 +146,8 @@ public class CassandraPersistenceActivator extends BaseActivator {
     // TODO copy metrics if this gets invoked more than once?
     CassandraMetricsRegistry.actualRegistry =
         metrics.get().getRegistry("persistence-cassandra-4.0");
+    cassandraDB.setQueryMetrics(
+        PersistenceQueryMetrics.create(metrics.get(), "persistence-cassandra-4.0"));
 
     try {
       cassandraDB.setAuthorizationService(authorizationService.get());
@@ -7,6 +7,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Uninterruptibles;
+import io.stargate.auth.AuthorizationDecisionCache;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.db.Authenticator;
 import io.stargate.db.Batch;
@@ -16,6 +17,7 @@ import io.stargate.db.EventListener;
 import io.stargate.db.PagingPosition;
 import io.stargate.db.Parameters;
 import io.stargate.db.Persistence;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.Result;
 import io.stargate.db.RowDecorator;
 import io.stargate.db.SimpleStatement;
@@ -23,7 +25,9 @@ import io.stargate.db.Statement;
 import io.stargate.db.cassandra.impl.interceptors.DefaultQueryInterceptor;
 import io.stargate.db.cassandra.impl.interceptors.QueryInterceptor;
 import io.stargate.db.datastore.common.AbstractCassandraPersistence;
+import io.stargate.db.datastore.common.util.PriorityExecutor;
 import io.stargate.db.datastore.common.util.SchemaAgreementAchievableCheck;
+import io.stargate.db.metrics.api.PersistenceQueryMetrics;
 import io.stargate.db.schema.TableName;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -55,6 +59,7 @@ import org.apache.cassandra.gms.Gossiper;
 import org.apache.cassandra.gms.IEndpointStateChangeSubscriber;
 import org.apache.cassandra.gms.VersionedValue;
 import org.apache.cassandra.locator.InetAddressAndPort;
+import org.apache.cassandra.metrics.CassandraMetricsRegistry;
 import org.apache.cassandra.schema.ColumnMetadata;
 import org.apache.cassandra.schema.IndexMetadata;
 import org.apache.cassandra.schema.KeyspaceMetadata;
@@ -67,6 +72,7 @@ import org.apache.cassandra.service.ClientState;
 import org.apache.cassandra.service.ClientWarn;
 import org.apache.cassandra.service.QueryState;
 import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
 import org.apache.cassandra.stargate.exceptions.PersistenceException;
 import org.apache.cassandra.stargate.transport.ProtocolVersion;
 import org.apache.cassandra.transport.Message;
@@ -100,6 +106,10 @@ public class CassandraPersistence
   private static final boolean USE_TRANSITIONAL_AUTH =
       Boolean.getBoolean("stargate.cql_use_transitional_auth");
 
+  // Max number of the requests waiting for execution, per request priority class
+  private static final int MAX_QUEUED_REQUESTS =
+      Integer.getInteger("stargate.max_queued_requests_per_priority", 16384);
+
   /*
    * Initial schema migration can take greater than 2 * MigrationManager.MIGRATION_DELAY_IN_MS if a
    * live token owner doesn't become live within MigrationManager.MIGRATION_DELAY_IN_MS.
@@ -120,6 +130,7 @@ public class CassandraPersistence
   private final SchemaCheck schemaCheck = new SchemaCheck();
 
   private LocalAwareExecutorService executor;
+  private PriorityExecutor priorityExecutor;
 
   private CassandraDaemon daemon;
   private Authenticator authenticator;
@@ -129,6 +140,8 @@ public class CassandraPersistence
   private SchemaChangeListener schemaChangeListener;
   private AtomicReference<AuthorizationService> authorizationService;
 
+  private volatile PersistenceQueryMetrics queryMetrics = PersistenceQueryMetrics.DISABLED;
+
   public CassandraPersistence() {
     super("Apache Cassandra");
   }
@@ -188,6 +201,12 @@ public class CassandraPersistence
             DatabaseDescriptor::setNativeTransportMaxThreads,
             "transport",
             "Native-Transport-Requests");
+    priorityExecutor =
+        new PriorityExecutor(
+            executor,
+            DatabaseDescriptor::getNativeTransportMaxThreads,
+            MAX_QUEUED_REQUESTS,
+            CassandraMetricsRegistry.actualRegistry);
 
     // Use special gossip state "X10" to differentiate stargate nodes
     Gossiper.instance.addLocalApplicationState(
@@ -205,6 +224,9 @@ public class CassandraPersistence
     interceptor.initialize();
     stargateHandler().register(interceptor);
     stargateHandler().setAuthorizationService(this.authorizationService);
+    if (AuthorizationDecisionCache.shared().isEnabled()) {
+      stargateHandler().setAuthorizationDecisionCache(AuthorizationDecisionCache.shared());
+    }
   }
 
   @Override
@@ -247,30 +269,42 @@ public class CassandraPersistence
   }
 
   private <T extends Result> CompletableFuture<T> runOnExecutor(
-      Supplier<T> supplier, boolean captureWarnings) {
-    assert executor != null : "This persistence has not been initialized";
+      Supplier<T> supplier,
+      boolean captureWarnings,
+      RequestPriority priority,
+      PersistenceQueryMetrics.Sample sample) {
+    assert priorityExecutor != null : "This persistence has not been initialized";
     CompletableFuture<T> future = new CompletableFuture<>();
-    executor.submit(
-        () -> {
-          if (captureWarnings) ClientWarn.instance.captureWarnings();
-          try {
-            @SuppressWarnings("unchecked")
-            T resultWithWarnings =
-                (T) supplier.get().setWarnings(ClientWarn.instance.getWarnings());
-            future.complete(resultWithWarnings);
-          } catch (Throwable t) {
-            JVMStabilityInspector.inspectThrowable(t);
-            PersistenceException pe =
-                (t instanceof PersistenceException)
-                    ? (PersistenceException) t
-                    : Conversion.convertInternalException(t);
-            pe.setWarnings(ClientWarn.instance.getWarnings());
-            future.completeExceptionally(pe);
-          } finally {
-            // Note that it's a no-op if we haven't called captureWarnings
-            ClientWarn.instance.resetWarnings();
-          }
-        });
+    try {
+      priorityExecutor.execute(
+          priority,
+          () -> {
+            sample.started();
+            if (captureWarnings) ClientWarn.instance.captureWarnings();
+            try {
+              @SuppressWarnings("unchecked")
+              T resultWithWarnings =
+                  (T) supplier.get().setWarnings(ClientWarn.instance.getWarnings());
+              sample.finish();
+              future.complete(resultWithWarnings);
+            } catch (Throwable t) {
+              JVMStabilityInspector.inspectThrowable(t);
+              PersistenceException pe =
+                  (t instanceof PersistenceException)
+                      ? (PersistenceException) t
+                      : Conversion.convertInternalException(t);
+              pe.setWarnings(ClientWarn.instance.getWarnings());
+              sample.finish();
+              future.completeExceptionally(pe);
+            } finally {
+              // Note that it's a no-op if we haven't called captureWarnings
+              ClientWarn.instance.resetWarnings();
+            }
+          },
+          e -> future.completeExceptionally(Conversion.convertInternalException(e)));
+    } catch (OverloadedException e) {
+      future.completeExceptionally(e);
+    }
 
     return future;
   }
@@ -353,7 +387,7 @@ public class CassandraPersistence
 
   @Override
   public void executeAuthResponse(Runnable handler) {
-    executor.execute(handler);
+    priorityExecutor.execute(RequestPriority.SYSTEM, handler);
   }
 
   /**
@@ -381,6 +415,10 @@ public class CassandraPersistence
     }
   }
 
+  public void setQueryMetrics(PersistenceQueryMetrics queryMetrics) {
+    this.queryMetrics = queryMetrics;
+  }
+
   public void setAuthorizationService(AtomicReference<AuthorizationService> authorizationService) {
     this.authorizationService = authorizationService;
   }
@@ -430,7 +468,10 @@ public class CassandraPersistence
     }
 
     private <T extends Result> CompletableFuture<T> executeRequestOnExecutor(
-        Parameters parameters, long queryStartNanoTime, Supplier<Request> requestSupplier) {
+        Parameters parameters,
+        long queryStartNanoTime,
+        PersistenceQueryMetrics.Sample sample,
+        Supplier<Request> requestSupplier) {
       return runOnExecutor(
           () -> {
             QueryState queryState = new QueryState(clientState);
@@ -442,6 +483,7 @@ public class CassandraPersistence
 
             Message.Response response =
                 ReflectionUtils.execute(request, queryState, queryStartNanoTime);
+            sample.responded();
 
             // There is only 2 types of response that can come out: either a ResultMessage (which
             // itself can of different kind), or an ErrorMessage.
@@ -459,9 +501,14 @@ public class CassandraPersistence
                     Conversion.toResult(
                         (ResultMessage) response,
                         Conversion.toInternal(parameters.protocolVersion()));
+            if (result instanceof Result.Prepared) {
+              queryMetrics.onPrepared((Result.Prepared) result);
+            }
             return result;
           },
-          parameters.protocolVersion().isGreaterOrEqualTo(ProtocolVersion.V4));
+          parameters.protocolVersion().isGreaterOrEqualTo(ProtocolVersion.V4),
+          parameters.priority(),
+          sample);
     }
 
     @Override
@@ -470,6 +517,7 @@ public class CassandraPersistence
       return executeRequestOnExecutor(
           parameters,
           queryStartNanoTime,
+          queryMetrics.startExecute(statement, parameters),
           () -> {
             QueryOptions options =
                 Conversion.toInternal(
@@ -493,6 +541,7 @@ public class CassandraPersistence
           // The queryStartNanoTime is not used by prepared message, so it doesn't really matter
           // that it's only computed now.
           System.nanoTime(),
+          queryMetrics.startPrepare(parameters),
           () -> new PrepareMessage(query, parameters.defaultKeyspace().orElse(null)));
     }
 
@@ -502,6 +551,7 @@ public class CassandraPersistence
       return executeRequestOnExecutor(
           parameters,
           queryStartNanoTime,
+          queryMetrics.startBatch(batch, parameters),
           () -> {
             QueryOptions options = Conversion.toInternal(Collections.emptyList(), null, parameters);
             BatchStatement.Type internalBatchType = Conversion.toInternal(batch.type());
@@ -0,0 +1,223 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common.util;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.stargate.db.RequestPriority;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor that queues the tasks per {@link RequestPriority} and hands them to the delegate
+ * executor in a weighted-fair order.
+ *
+ * <p>At most {@code maxConcurrency} tasks are executed by the delegate at the same time, the rest
+ * waits in the bounded queue of its priority class. When a slot frees up, the next task is taken
+ * from the non-empty queues using a smooth weighted round-robin, so each class gets a share of the
+ * slots proportional to its {@link RequestPriority#weight()}. Submitting to a full queue fails with
+ * an {@link OverloadedException}. If the delegate rejects a dequeued task, the rejection is
+ * reported to the failure handler of that task, and the dispatch continues with the next one.
+ *
+ * <p>The time the tasks spent queued is recorded per class into the {@code
+ * RequestPriority.<class>.QueueTime} timers, and the queue sizes are exposed as the {@code
+ * RequestPriority.<class>.Pending} gauges.
+ */
+public class PriorityExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(PriorityExecutor.class);
+
+  private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+  private final Executor delegate;
+  private final IntSupplier maxConcurrency;
+  private final int maxQueueSize;
+
+  // all guarded by this
+  private final Map<RequestPriority, ArrayDeque<QueuedTask>> queues =
+      new EnumMap<>(RequestPriority.class);
+  private final int[] currentWeights = new int[PRIORITIES.length];
+  private int running;
+
+  private final Map<RequestPriority, Timer> queueTimes = new EnumMap<>(RequestPriority.class);
+
+  /**
+   * @param delegate Executor to execute the tasks with
+   * @param maxConcurrency Max number of the tasks executed at the same time, read on every dispatch
+   * @param maxQueueSize Max number of the queued tasks per priority class
+   * @param metricRegistry Registry to register the meters to
+   */
+  public PriorityExecutor(
+      Executor delegate,
+      IntSupplier maxConcurrency,
+      int maxQueueSize,
+      MetricRegistry metricRegistry) {
+    this.delegate = delegate;
+    this.maxConcurrency = maxConcurrency;
+    this.maxQueueSize = maxQueueSize;
+
+    for (RequestPriority priority : PRIORITIES) {
+      ArrayDeque<QueuedTask> queue = new ArrayDeque<>();
+      queues.put(priority, queue);
+
+      String prefix =
+          MetricRegistry.name(RequestPriority.class.getSimpleName(), metricName(priority));
+      queueTimes.put(priority, metricRegistry.timer(MetricRegistry.name(prefix, "QueueTime")));
+
+      String pendingName = MetricRegistry.name(prefix, "Pending");
+      metricRegistry.remove(pendingName);
+      metricRegistry.register(pendingName, (Gauge<Integer>) () -> pending(priority));
+    }
+  }
+
+  /**
+   * Executes the task once a slot is available, logging if the delegate rejects it.
+   *
+   * @param priority Priority class of the task
+   * @param task Task to execute
+   * @throws OverloadedException If the queue of the priority class is full
+   */
+  public void execute(RequestPriority priority, Runnable task) {
+    execute(
+        priority, task, e -> logger.warn("Could not execute a {} task", metricName(priority), e));
+  }
+
+  /**
+   * Executes the task once a slot is available.
+   *
+   * @param priority Priority class of the task
+   * @param task Task to execute
+   * @param onRejected Called instead of the task if the delegate rejects it, possibly from the
+   *     thread of another task
+   * @throws OverloadedException If the queue of the priority class is full
+   */
+  public void execute(
+      RequestPriority priority, Runnable task, Consumer<RuntimeException> onRejected) {
+    synchronized (this) {
+      ArrayDeque<QueuedTask> queue = queues.get(priority);
+      if (queue.size() >= maxQueueSize) {
+        throw new OverloadedException(
+            String.format(
+                "Too many pending %s requests (%d)", metricName(priority), queue.size()));
+      }
+      queue.add(new QueuedTask(priority, task, onRejected));
+    }
+
+    dispatch();
+  }
+
+  /** @return Number of the queued tasks of the given priority class. */
+  public synchronized int pending(RequestPriority priority) {
+    return queues.get(priority).size();
+  }
+
+  private void dispatch() {
+    while (true) {
+      QueuedTask next;
+      synchronized (this) {
+        if (running >= maxConcurrency.getAsInt()) {
+          return;
+        }
+        next = poll();
+        if (null == next) {
+          return;
+        }
+        running++;
+      }
+
+      queueTimes
+          .get(next.priority)
+          .update(System.nanoTime() - next.enqueuedNanos, TimeUnit.NANOSECONDS);
+      try {
+        delegate.execute(() -> run(next.task));
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          running--;
+        }
+        // the task was dequeued by whichever thread dispatches, fail the task and not that thread
+        next.onRejected.accept(e);
+      }
+    }
+  }
+
+  private void run(Runnable task) {
+    try {
+      task.run();
+    } finally {
+      synchronized (this) {
+        running--;
+      }
+      dispatch();
+    }
+  }
+
+  // smooth weighted round-robin over the non-empty queues, must be called under the lock
+  private QueuedTask poll() {
+    int totalWeight = 0;
+    int selected = -1;
+    for (int i = 0; i < PRIORITIES.length; i++) {
+      RequestPriority priority = PRIORITIES[i];
+      if (queues.get(priority).isEmpty()) {
+        // idle classes do not accumulate credit
+        currentWeights[i] = 0;
+        continue;
+      }
+
+      int weight = priority.weight();
+      currentWeights[i] += weight;
+      totalWeight += weight;
+      if (selected < 0 || currentWeights[i] > currentWeights[selected]) {
+        selected = i;
+      }
+    }
+
+    if (selected < 0) {
+      return null;
+    }
+
+    currentWeights[selected] -= totalWeight;
+    return queues.get(PRIORITIES[selected]).poll();
+  }
+
+  private static String metricName(RequestPriority priority) {
+    return priority.name().toLowerCase();
+  }
+
+  private static final class QueuedTask {
+
+    private final RequestPriority priority;
+    private final Runnable task;
+    private final Consumer<RuntimeException> onRejected;
+    private final long enqueuedNanos;
+
+    private QueuedTask(
+        RequestPriority priority, Runnable task, Consumer<RuntimeException> onRejected) {
+      this.priority = priority;
+      this.task = task;
+      this.onRejected = onRejected;
+      this.enqueuedNanos = System.nanoTime();
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.db.datastore.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.codahale.metrics.MetricRegistry;
+import io.stargate.db.RequestPriority;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PriorityExecutorTest {
+
+  private final Queue<Runnable> submitted = new ArrayDeque<>();
+  private final List<String> executed = new ArrayList<>();
+  private MetricRegistry metricRegistry;
+  private int maxConcurrency;
+
+  @BeforeEach
+  public void setup() {
+    metricRegistry = new MetricRegistry();
+    maxConcurrency = 1;
+  }
+
+  private PriorityExecutor executor(int maxQueueSize) {
+    return new PriorityExecutor(submitted::add, () -> maxConcurrency, maxQueueSize, metricRegistry);
+  }
+
+  private void submit(PriorityExecutor executor, RequestPriority priority, String name) {
+    executor.execute(priority, () -> executed.add(name));
+  }
+
+  private void runAll() {
+    Runnable next;
+    while ((next = submitted.poll()) != null) {
+      next.run();
+    }
+  }
+
+  @Test
+  public void weightedOrder() {
+    PriorityExecutor executor = executor(10);
+
+    submit(executor, RequestPriority.BULK, "b1");
+    submit(executor, RequestPriority.BULK, "b2");
+    submit(executor, RequestPriority.BULK, "b3");
+    submit(executor, RequestPriority.SYSTEM, "s1");
+    submit(executor, RequestPriority.SYSTEM, "s2");
+    submit(executor, RequestPriority.SYSTEM, "s3");
+
+    // only b1 was handed to the delegate, the rest is queued
+    assertThat(submitted).hasSize(1);
+    assertThat(executor.pending(RequestPriority.BULK)).isEqualTo(2);
+    assertThat(executor.pending(RequestPriority.SYSTEM)).isEqualTo(3);
+
+    runAll();
+
+    assertThat(executed).containsExactly("b1", "s1", "s2", "s3", "b2", "b3");
+    assertThat(metricRegistry.timer("RequestPriority.system.QueueTime").getCount()).isEqualTo(3);
+    assertThat(metricRegistry.timer("RequestPriority.bulk.QueueTime").getCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void sharesSlots() {
+    PriorityExecutor executor = executor(10);
+    maxConcurrency = 0;
+
+    for (int i = 0; i < 4; i++) {
+      submit(executor, RequestPriority.INTERACTIVE, "i");
+      submit(executor, RequestPriority.BULK, "b");
+    }
+
+    maxConcurrency = 1;
+    submit(executor, RequestPriority.BACKGROUND, "x");
+    runAll();
+
+    // interactive requests get 4 slots for each bulk slot, but bulk is not starved
+    assertThat(executed).containsExactly("i", "i", "b", "i", "x", "i", "b", "b", "b");
+  }
+
+  @Test
+  public void concurrency() {
+    PriorityExecutor executor = executor(10);
+    maxConcurrency = 2;
+
+    submit(executor, RequestPriority.INTERACTIVE, "i1");
+    submit(executor, RequestPriority.INTERACTIVE, "i2");
+    submit(executor, RequestPriority.INTERACTIVE, "i3");
+
+    assertThat(submitted).hasSize(2);
+    assertThat(executor.pending(RequestPriority.INTERACTIVE)).isEqualTo(1);
+
+    runAll();
+
+    assertThat(executed).containsExactly("i1", "i2", "i3");
+  }
+
+  @Test
+  public void failsRejectedTasks() {
+    List<String> rejected = new ArrayList<>();
+    RuntimeException rejection = new RejectedExecutionException("shutting down");
+    PriorityExecutor executor =
+        new PriorityExecutor(
+            task -> {
+              if (executed.isEmpty()) {
+                submitted.add(task);
+              } else {
+                throw rejection;
+              }
+            },
+            () -> maxConcurrency,
+            10,
+            metricRegistry);
+
+    submit(executor, RequestPriority.INTERACTIVE, "i1");
+    executor.execute(
+        RequestPriority.INTERACTIVE,
+        () -> executed.add("i2"),
+        e -> {
+          assertThat(e).isSameAs(rejection);
+          rejected.add("i2");
+        });
+    executor.execute(RequestPriority.BULK, () -> executed.add("b1"), e -> rejected.add("b1"));
+
+    // the tasks are rejected when i1 completes, which does not fail i1
+    runAll();
+
+    assertThat(executed).containsExactly("i1");
+    assertThat(rejected).containsExactly("i2", "b1");
+    assertThat(executor.pending(RequestPriority.INTERACTIVE)).isZero();
+    assertThat(executor.pending(RequestPriority.BULK)).isZero();
+
+    // the slots of the rejected tasks were released, so the next task is not queued
+    submit(executor, RequestPriority.BULK, "b2");
+    assertThat(executor.pending(RequestPriority.BULK)).isZero();
+  }
+
+  @Test
+  public void overloaded() {
+    PriorityExecutor executor = executor(1);
+    maxConcurrency = 0;
+
+    submit(executor, RequestPriority.BULK, "b1");
+
+    assertThatThrownBy(() -> submit(executor, RequestPriority.BULK, "b2"))
+        .isInstanceOf(OverloadedException.class);
+
+    // other classes are not affected
+    submit(executor, RequestPriority.SYSTEM, "s1");
+    assertThat(metricRegistry.getGauges().get("RequestPriority.bulk.Pending").getValue())
+        .isEqualTo(1);
+  }
+}
@@ -12,6 +12,7 @@ import io.stargate.db.datastore.common.StargateConfigSnitch;
 import io.stargate.db.datastore.common.StargateSeedProvider;
 import io.stargate.db.dse.impl.DelegatingAuthorizer;
 import io.stargate.db.dse.impl.DsePersistence;
+import io.stargate.db.metrics.api.PersistenceQueryMetrics;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOError;
@@ -171,6 +172,7 @@ public class DsePersistenceActivator extends BaseActivator {
     dseDB = new DsePersistence();
     // TODO copy metrics if this gets invoked more than once?
     CassandraMetricsRegistry.actualRegistry = metrics.get().getRegistry("persistence-dse-68");
+    dseDB.setQueryMetrics(PersistenceQueryMetrics.create(metrics.get(), "persistence-dse-68"));
     @SuppressWarnings("JdkObsolete")
     Hashtable<String, String> props = new Hashtable<>();
     props.put("Identifier", "DsePersistence");
@@ -10,6 +10,7 @@ import com.google.common.util.concurrent.Uninterruptibles;
 import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.reactivex.disposables.Disposable;
+import io.stargate.auth.AuthorizationDecisionCache;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.db.Authenticator;
 import io.stargate.db.Batch;
@@ -28,6 +29,7 @@ import io.stargate.db.dse.ClientStateWithBoundPort;
 import io.stargate.db.dse.impl.interceptors.DefaultQueryInterceptor;
 import io.stargate.db.dse.impl.interceptors.ProxyProtocolQueryInterceptor;
 import io.stargate.db.dse.impl.interceptors.QueryInterceptor;
+import io.stargate.db.metrics.api.PersistenceQueryMetrics;
 import io.stargate.db.schema.TableName;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -132,6 +134,8 @@ public class DsePersistence
   private SchemaChangeListener schemaChangeListener;
   private AtomicReference<AuthorizationService> authorizationService;
 
+  private volatile PersistenceQueryMetrics queryMetrics = PersistenceQueryMetrics.DISABLED;
+
   public DsePersistence() {
     super("DataStax Enterprise");
   }
@@ -221,6 +225,9 @@ public class DsePersistence
     interceptor.initialize();
     stargateHandler().register(interceptor);
     stargateHandler().setAuthorizationService(this.authorizationService);
+    if (AuthorizationDecisionCache.shared().isEnabled()) {
+      stargateHandler().setAuthorizationDecisionCache(AuthorizationDecisionCache.shared());
+    }
 
     authenticator = new AuthenticatorWrapper(DatabaseDescriptor.getAuthenticator());
   }
@@ -420,6 +427,10 @@ public class DsePersistence
     return new ClientStateWithBoundPort(clientInfo.remoteAddress(), clientInfo.boundPort());
   }
 
+  public void setQueryMetrics(PersistenceQueryMetrics queryMetrics) {
+    this.queryMetrics = queryMetrics;
+  }
+
   public void setAuthorizationService(AtomicReference<AuthorizationService> authorizationService) {
     this.authorizationService = authorizationService;
   }
@@ -501,7 +512,10 @@ public class DsePersistence
     }
 
     private <T extends Result> CompletableFuture<T> executeRequest(
-        Parameters parameters, long queryStartNanoTime, Supplier<Request> requestSupplier) {
+        Parameters parameters,
+        long queryStartNanoTime,
+        PersistenceQueryMetrics.Sample sample,
+        Supplier<Request> requestSupplier) {
 
       try {
         // When running inside DSE, query tasks clear ExecutorLocals before
@@ -524,6 +538,9 @@ public class DsePersistence
         request.setCustomPayload(parameters.customPayload().orElse(null));
         request.attach(fakeServerConnection);
 
+        // requests are not queued by Stargate with TPC, the queue phase is always empty
+        sample.started();
+
         CompletableFuture<T> future = new CompletableFuture<>();
         @SuppressWarnings("unused")
         Disposable unused =
@@ -531,6 +548,7 @@ public class DsePersistence
                 .execute(queryState, queryStartNanoTime)
                 .map(
                     response -> {
+                      sample.responded();
                       try {
                         // There is only 2 types of response that can come out: either a
                         // ResultMessage (which itself can of different kind), or an ErrorMessage.
@@ -546,6 +564,9 @@ public class DsePersistence
                                     (ResultMessage) response,
                                     Conversion.toInternal(parameters.protocolVersion()),
                                     ClientWarn.instance.getAndClearWarnings());
+                        if (result instanceof Result.Prepared) {
+                          queryMetrics.onPrepared((Result.Prepared) result);
+                        }
                         return result;
                       } finally {
                         // this is to clean the thread local in TPC thread
@@ -553,11 +574,15 @@ public class DsePersistence
                       }
                     })
                 .subscribe(
-                    future::complete,
+                    result -> {
+                      sample.finish();
+                      future.complete(result);
+                    },
                     ex -> {
                       if (!(ex instanceof PersistenceException)) {
                         ex = convertExceptionWithWarnings(ex);
                       }
+                      sample.finish();
                       future.completeExceptionally(ex);
                     });
         return future;
@@ -587,6 +612,7 @@ public class DsePersistence
       return executeRequest(
           parameters,
           queryStartNanoTime,
+          queryMetrics.startExecute(statement, parameters),
           () -> {
             QueryOptions options =
                 Conversion.toInternal(
@@ -611,6 +637,7 @@ public class DsePersistence
           // The queryStartNanoTime is not used by prepared message, so it doesn't really matter
           // that it's only computed now.
           System.nanoTime(),
+          queryMetrics.startPrepare(parameters),
           () -> new PrepareMessage(query, parameters.defaultKeyspace().orElse(null)));
     }
 
@@ -621,6 +648,7 @@ public class DsePersistence
       return executeRequest(
           parameters,
           queryStartNanoTime,
+          queryMetrics.startBatch(batch, parameters),
           () -> {
             QueryOptions options = Conversion.toInternal(Collections.emptyList(), null, parameters);
             BatchStatement.Type internalBatchType = Conversion.toInternal(batch.type());
@@ -19,8 +19,12 @@ package io.stargate.db.dse.impl;
 
 import com.datastax.oss.driver.shaded.guava.common.annotations.VisibleForTesting;
 import io.reactivex.Single;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.stargate.auth.AuthenticationSubject;
+import io.stargate.auth.AuthorizationDecisionCache;
 import io.stargate.auth.AuthorizationService;
+import io.stargate.auth.DataAccess;
 import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.entity.ResourceKind;
@@ -29,6 +33,8 @@ import io.stargate.db.AuthenticatedUser.Serializer;
 import io.stargate.db.dse.impl.interceptors.QueryInterceptor;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -95,6 +101,11 @@ public class StargateQueryHandler implements QueryHandler {
   private static final Logger logger = LoggerFactory.getLogger(StargateQueryHandler.class);
   private final List<QueryInterceptor> interceptors = new CopyOnWriteArrayList<>();
   private AtomicReference<AuthorizationService> authorizationService;
+  private volatile AuthorizationDecisionCache decisionCache;
+  // accesses of prepared data statements, resolved once per statement instance (weak keys compare
+  // by identity and do not keep evicted prepared statements alive)
+  private final Cache<CQLStatement, List<DataAccess>> preparedDataAccesses =
+      Caffeine.newBuilder().weakKeys().build();
 
   public void register(QueryInterceptor interceptor) {
     this.interceptors.add(interceptor);
@@ -119,7 +130,7 @@ public class StargateQueryHandler implements QueryHandler {
 
     if (!queryState.isSystem()) QueryProcessor.metrics.regularStatementsExecuted.inc();
 
-    return processStatement(statement, state, options, customPayload, queryStartNanoTime);
+    return processStatement(statement, state, options, customPayload, queryStartNanoTime, false);
   }
 
   @Override
@@ -140,6 +151,18 @@ public class StargateQueryHandler implements QueryHandler {
       QueryOptions options,
       Map<String, ByteBuffer> customPayload,
       long queryStartNanoTime) {
+    // executions of prepared statements, unprepared ones go through process()
+    return processStatement(
+        statement, queryState, options, customPayload, queryStartNanoTime, true);
+  }
+
+  private Single<ResultMessage> processStatement(
+      CQLStatement statement,
+      QueryState queryState,
+      QueryOptions options,
+      Map<String, ByteBuffer> customPayload,
+      long queryStartNanoTime,
+      boolean prepared) {
 
     for (QueryInterceptor interceptor : interceptors) {
       Single<ResultMessage> result =
@@ -151,11 +174,15 @@ public class StargateQueryHandler implements QueryHandler {
     }
 
     if (customPayload != null && customPayload.containsKey("stargate.auth.subject.token")) {
-      authorizeByToken(customPayload, statement);
+      List<DataAccess> accesses =
+          prepared ? preparedDataAccesses(statement) : resolveDataAccesses(statement);
+      authorizeByToken(customPayload, statement, accesses);
     }
 
-    return QueryProcessor.instance.processStatement(
-        statement, queryState, options, customPayload, queryStartNanoTime);
+    return QueryProcessor.instance
+        .processStatement(statement, queryState, options, customPayload, queryStartNanoTime)
+        // a failed statement may still have applied some of its changes
+        .doOnEvent((r, e) -> invalidateDecisions(statement));
   }
 
   @Override
@@ -175,6 +202,11 @@ public class StargateQueryHandler implements QueryHandler {
 
   @VisibleForTesting
   protected void authorizeByToken(Map<String, ByteBuffer> customPayload, CQLStatement statement) {
+    authorizeByToken(customPayload, statement, resolveDataAccesses(statement));
+  }
+
+  private void authorizeByToken(
+      Map<String, ByteBuffer> customPayload, CQLStatement statement, List<DataAccess> accesses) {
     AuthenticationSubject authenticationSubject = loadAuthenticationSubject(customPayload);
 
     if (!getAuthorizationService().isPresent()) {
@@ -183,58 +215,10 @@ public class StargateQueryHandler implements QueryHandler {
     }
 
     AuthorizationService authorization = getAuthorizationService().get();
-    if (statement instanceof SelectStatement) {
-      SelectStatement castStatement = (SelectStatement) statement;
-      logger.debug(
-          "preparing to authorize statement of type {} on {}.{}",
-          castStatement.getClass().toString(),
-          castStatement.keyspace(),
-          castStatement.table());
-
-      try {
-        authorization.authorizeDataRead(
-            authenticationSubject, castStatement.keyspace(), castStatement.table(), SourceAPI.CQL);
-      } catch (io.stargate.auth.UnauthorizedException e) {
-        throw new UnauthorizedException(
-            String.format(
-                "No SELECT permission on <table %s.%s>",
-                castStatement.keyspace(), castStatement.table()));
+    if (accesses != null) {
+      for (DataAccess access : accesses) {
+        authorizeDataAccess(access, authenticationSubject, authorization);
       }
-
-      logger.debug(
-          "authorized statement of type {} on {}.{}",
-          castStatement.getClass().toString(),
-          castStatement.keyspace(),
-          castStatement.table());
-    } else if (statement instanceof ModificationStatement) {
-      authorizeModificationStatement(statement, authenticationSubject, authorization);
-    } else if (statement instanceof TruncateStatement) {
-      TruncateStatement castStatement = (TruncateStatement) statement;
-      logger.debug(
-          "preparing to authorize statement of type {} on {}.{}",
-          castStatement.getClass().toString(),
-          castStatement.keyspace(),
-          castStatement.table());
-
-      try {
-        authorization.authorizeDataWrite(
-            authenticationSubject,
-            castStatement.keyspace(),
-            castStatement.table(),
-            Scope.TRUNCATE,
-            SourceAPI.CQL);
-      } catch (io.stargate.auth.UnauthorizedException e) {
-        throw new UnauthorizedException(
-            String.format(
-                "No TRUNCATE permission on <table %s.%s>",
-                castStatement.keyspace(), castStatement.table()));
-      }
-
-      logger.debug(
-          "authorized statement of type {} on {}.{}",
-          castStatement.getClass().toString(),
-          castStatement.keyspace(),
-          castStatement.table());
     } else if (statement instanceof AlterSchemaStatement) {
       authorizeAlterSchemaStatement(statement, authenticationSubject, authorization);
     } else if (statement instanceof AuthorizationStatement) {
@@ -244,12 +228,6 @@ public class StargateQueryHandler implements QueryHandler {
     } else if (statement instanceof UseStatement) {
       // NOOP on UseStatement since it doesn't require authorization
       logger.debug("Skipping auth on UseStatement since it's not required");
-    } else if (statement instanceof BatchStatement) {
-      BatchStatement castStatement = (BatchStatement) statement;
-      List<ModificationStatement> statements = castStatement.getStatements();
-      for (ModificationStatement stmt : statements) {
-        authorizeModificationStatement(stmt, authenticationSubject, authorization);
-      }
     } else {
       logger.warn("Tried to authorize unsupported statement");
       throw new UnsupportedOperationException(
@@ -264,43 +242,117 @@ public class StargateQueryHandler implements QueryHandler {
     return AuthenticationSubject.of(user);
   }
 
-  private void authorizeModificationStatement(
-      CQLStatement statement,
-      AuthenticationSubject authenticationSubject,
-      AuthorizationService authorization) {
-    ModificationStatement castStatement = (ModificationStatement) statement;
-    Scope scope;
-    if (statement instanceof DeleteStatement) {
-      scope = Scope.DELETE;
-    } else {
-      scope = Scope.MODIFY;
+  private List<DataAccess> preparedDataAccesses(CQLStatement statement) {
+    List<DataAccess> accesses = preparedDataAccesses.getIfPresent(statement);
+    if (accesses == null) {
+      accesses = resolveDataAccesses(statement);
+      if (accesses != null) {
+        preparedDataAccesses.put(statement, accesses);
+      }
+    }
+    return accesses;
+  }
+
+  private List<DataAccess> resolveDataAccesses(CQLStatement statement) {
+    if (statement instanceof BatchStatement) {
+      return batchDataAccesses((BatchStatement) statement);
+    } else if (statement instanceof SelectStatement
+        || statement instanceof ModificationStatement
+        || statement instanceof TruncateStatement) {
+      return Collections.singletonList(dataAccessOf(statement));
+    }
+    return null;
+  }
+
+  private static List<DataAccess> batchDataAccesses(BatchStatement batchStatement) {
+    List<ModificationStatement> statements = batchStatement.getStatements();
+    List<DataAccess> result = new ArrayList<>(statements.size());
+    for (ModificationStatement stmt : statements) {
+      DataAccess access = dataAccessOf(stmt);
+      // authorize each distinct (keyspace, table, scope) only once per batch
+      if (!result.contains(access)) {
+        result.add(access);
+      }
     }
+    return result;
+  }
 
+  private static DataAccess dataAccessOf(CQLStatement statement) {
+    if (statement instanceof SelectStatement) {
+      SelectStatement castStatement = (SelectStatement) statement;
+      return DataAccess.of(castStatement.keyspace(), castStatement.table(), Scope.SELECT);
+    } else if (statement instanceof TruncateStatement) {
+      TruncateStatement castStatement = (TruncateStatement) statement;
+      return DataAccess.of(castStatement.keyspace(), castStatement.table(), Scope.TRUNCATE);
+    }
+
+    ModificationStatement castStatement = (ModificationStatement) statement;
+    Scope scope = statement instanceof DeleteStatement ? Scope.DELETE : Scope.MODIFY;
+    return DataAccess.of(castStatement.keyspace(), castStatement.table(), scope);
+  }
+
+  private void authorizeDataAccess(
+      DataAccess access,
+      AuthenticationSubject authenticationSubject,
+      AuthorizationService authorization) {
     logger.debug(
-        "preparing to authorize statement of type {} on {}.{}",
-        castStatement.getClass().toString(),
-        castStatement.keyspace(),
-        castStatement.table());
+        "preparing to authorize {} on {}.{}", access.scope(), access.keyspace(), access.table());
 
     try {
-      authorization.authorizeDataWrite(
-          authenticationSubject,
-          castStatement.keyspace(),
-          castStatement.table(),
-          scope,
-          SourceAPI.CQL);
+      AuthorizationDecisionCache cache = decisionCache;
+      if (cache != null) {
+        cache.authorize(
+            authenticationSubject,
+            access.keyspace(),
+            access.table(),
+            access.scope(),
+            SourceAPI.CQL,
+            () -> authorizeDataAccess(authorization, authenticationSubject, access));
+      } else {
+        authorizeDataAccess(authorization, authenticationSubject, access);
+      }
     } catch (io.stargate.auth.UnauthorizedException e) {
-      throw new UnauthorizedException(
-          String.format(
-              "Missing correct permission on <table %s.%s>",
-              castStatement.keyspace(), castStatement.table()));
+      throw new UnauthorizedException(unauthorizedMessage(access));
     }
 
-    logger.debug(
-        "authorized statement of type {} on {}.{}",
-        castStatement.getClass().toString(),
-        castStatement.keyspace(),
-        castStatement.table());
+    logger.debug("authorized {} on {}.{}", access.scope(), access.keyspace(), access.table());
+  }
+
+  private static void authorizeDataAccess(
+      AuthorizationService authorization,
+      AuthenticationSubject authenticationSubject,
+      DataAccess access)
+      throws io.stargate.auth.UnauthorizedException {
+    if (access.scope() == Scope.SELECT) {
+      authorization.authorizeDataRead(
+          authenticationSubject, access.keyspace(), access.table(), SourceAPI.CQL);
+    } else {
+      authorization.authorizeDataWrite(
+          authenticationSubject, access.keyspace(), access.table(), access.scope(), SourceAPI.CQL);
+    }
+  }
+
+  private static String unauthorizedMessage(DataAccess access) {
+    switch (access.scope()) {
+      case SELECT:
+        return String.format(
+            "No SELECT permission on <table %s.%s>", access.keyspace(), access.table());
+      case TRUNCATE:
+        return String.format(
+            "No TRUNCATE permission on <table %s.%s>", access.keyspace(), access.table());
+      default:
+        return String.format(
+            "Missing correct permission on <table %s.%s>", access.keyspace(), access.table());
+    }
+  }
+
+  private void invalidateDecisions(CQLStatement statement) {
+    AuthorizationDecisionCache cache = decisionCache;
+    if (cache != null
+        && (statement instanceof AuthorizationStatement
+            || statement instanceof AuthenticationStatement)) {
+      cache.invalidateAll();
+    }
   }
 
   private void authorizeAuthenticationStatement(
@@ -601,6 +653,14 @@ public class StargateQueryHandler implements QueryHandler {
     }
   }
 
+  /**
+   * Sets the cache of positive data authorization decisions, {@code null} (the default) disables
+   * caching. The cache is cleared whenever a role or a permission is changed through this handler.
+   */
+  public void setAuthorizationDecisionCache(AuthorizationDecisionCache decisionCache) {
+    this.decisionCache = decisionCache;
+  }
+
   public void setAuthorizationService(AtomicReference<AuthorizationService> authorizationService) {
     this.authorizationService = authorizationService;
   }
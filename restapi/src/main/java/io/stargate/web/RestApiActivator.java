@@ -17,6 +17,7 @@ package io.stargate.web;
 
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthorizationService;
+import io.stargate.auth.CachingAuthorizationService;
 import io.stargate.core.activator.BaseActivator;
 import io.stargate.core.metrics.api.HttpMetricsTagProvider;
 import io.stargate.core.metrics.api.Metrics;
@@ -56,7 +57,7 @@ public class RestApiActivator extends BaseActivator {
     web.setAuthenticationService(authenticationService.get());
     web.setMetrics(metrics.get());
     web.setHttpMetricsTagProvider(httpTagProvider.get());
-    web.setAuthorizationService(authorizationService.get());
+    web.setAuthorizationService(CachingAuthorizationService.wrap(authorizationService.get()));
     web.setDataStoreFactory(dataStoreFactory.get());
     try {
       this.web.start();
@@ -3,14 +3,19 @@ package io.stargate.web.docsapi.dao;
 import com.datastax.oss.driver.api.core.servererrors.AlreadyExistsException;
 import com.google.common.base.Splitter;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
 import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.UnauthorizedException;
+import io.stargate.db.BatchType;
+import io.stargate.db.Parameters;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.ResultSet;
+import io.stargate.db.datastore.Row;
 import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.Predicate;
 import io.stargate.db.query.TypedValue;
@@ -34,6 +39,7 @@ import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
 import org.slf4j.Logger;
@@ -63,6 +69,12 @@ public class DocumentDB {
   public static final String EMPTY_OBJECT_MARKER = "EMPTYOBJ-bccbeee1-6173-4120-8492-7d7bafaefb1f";
   public static final String EMPTY_ARRAY_MARKER = "EMPTYARRAY-9df4802a-c135-42d6-8be3-d23d9520a4e7";
 
+  /**
+   * Optional static column holding the complete document as a compressed blob, added by the
+   * document blob upgrade of a collection.
+   */
+  public static final String DOCUMENT_BLOB_COLUMN = "doc_blob";
+
   private static final String[] VALUE_COLUMN_NAMES =
       new String[] {"leaf", "text_value", "dbl_value", "bool_value"};
   private static final Splitter PATH_SPLITTER = Splitter.on(".");
@@ -280,6 +292,49 @@ public class DocumentDB {
     }
   }
 
+  /**
+   * Adds the static {@value #DOCUMENT_BLOB_COLUMN} column to `tableName`, so that each complete
+   * write of a document also stores it as a single compressed blob next to its rows. Complete
+   * documents are then read from the blob, while the rows stay the primary storage and keep serving
+   * the searches and the partial updates, which remove the blob.
+   *
+   * <p>This is a read-side copy, not a replacement of the row per leaf layout: every complete write
+   * stores the document twice, and reads of documents without a blob pay an extra single-row query
+   * before reading the rows. Existing documents are not migrated, their blob is written with their
+   * next complete write.
+   */
+  public boolean upgradeTableDocumentBlob(String keyspaceName, String tableName) {
+    if (hasDocumentBlob(keyspaceName, tableName)) {
+      logger.info("Collection {}.{} already stores document blobs.", keyspaceName, tableName);
+      return false;
+    }
+
+    try {
+      dataStore
+          .queryBuilder()
+          .alter()
+          .table(keyspaceName, tableName)
+          .addColumn(Column.create(DOCUMENT_BLOB_COLUMN, Kind.Static, Type.Blob))
+          .build()
+          .execute()
+          .get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException("Unable to add the document blob column to " + tableName, e);
+    }
+    dataStore.waitForSchemaAgreement();
+    return true;
+  }
+
+  /**
+   * @return If the table stores the complete documents as blobs, see {@link
+   *     #upgradeTableDocumentBlob(String, String)}.
+   */
+  public boolean hasDocumentBlob(String keyspaceName, String tableName) {
+    Keyspace keyspace = dataStore.schema().keyspace(keyspaceName);
+    Table table = null == keyspace ? null : keyspace.table(tableName);
+    return null != table && null != table.column(DOCUMENT_BLOB_COLUMN);
+  }
+
   /**
    * Checks that a table in a particular keyspace has the schema of a Documents collection. This is
    * done by checking that the table has all of the columns required.
@@ -293,6 +348,7 @@ public class DocumentDB {
     List<String> columnNames =
         dataStore.schema().keyspace(keyspaceName).table(tableName).columns().stream()
             .map(Column::name)
+            .filter(name -> !DOCUMENT_BLOB_COLUMN.equals(name))
             .collect(Collectors.toList());
     if (columnNames.size() != allColumnNames.size()) return false;
     columnNames.removeAll(allColumnNames);
@@ -365,18 +421,21 @@ public class DocumentDB {
     dataStore.queryBuilder().drop().table(keyspaceName, tableName).build().execute().get();
   }
 
-  public void executeBatch(Collection<BoundQuery> queries, ExecutionContext context) {
-    executeBatchAsync(queries, context).join();
-  }
-
   public CompletableFuture<ResultSet> executeBatchAsync(
       Collection<BoundQuery> queries, ExecutionContext context) {
+    return executeBatchAsync(queries, RequestPriority.INTERACTIVE, context);
+  }
+
+  private CompletableFuture<ResultSet> executeBatchAsync(
+      Collection<BoundQuery> queries, RequestPriority priority, ExecutionContext context) {
     queries.forEach(context::traceDeferredDml);
 
+    UnaryOperator<Parameters> parameters =
+        p -> p.withConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM).withPriority(priority);
     if (useLoggedBatches) {
-      return dataStore.batch(queries, ConsistencyLevel.LOCAL_QUORUM);
+      return dataStore.batch(queries, BatchType.LOGGED, parameters);
     } else {
-      return dataStore.unloggedBatch(queries, ConsistencyLevel.LOCAL_QUORUM);
+      return dataStore.batch(queries, BatchType.UNLOGGED, parameters);
     }
   }
 
@@ -425,6 +484,55 @@ public class DocumentDB {
     return executor.queryDocs(keyDepth, query, pageSize, pagingState, context);
   }
 
+  /**
+   * Reads only the write times of all rows of a document, a cheap way to detect that the document
+   * was changed.
+   */
+  public Flowable<Row> selectWriteTimes(String keyspace, String collection, String key) {
+    BoundQuery query =
+        dataStore
+            .queryBuilder()
+            .select()
+            .writeTimeColumn("leaf")
+            .from(keyspace, collection)
+            .where("key", Predicate.EQ, key)
+            .build()
+            .bind();
+    return executor
+        .execute(query, SEARCH_PAGE_SIZE, null)
+        .concatMapIterable(ResultSet::currentPageRows);
+  }
+
+  /**
+   * Reads the blob of a complete document, see {@link #upgradeTableDocumentBlob(String, String)}.
+   * Empty if the document does not exist or its blob was removed by a partial update.
+   */
+  public Maybe<ByteBuffer> selectDocumentBlob(
+      String keyspace, String collection, String key, ExecutionContext context) {
+    BoundQuery query =
+        dataStore
+            .queryBuilder()
+            .select()
+            .column(DOCUMENT_BLOB_COLUMN)
+            .from(keyspace, collection)
+            .where("key", Predicate.EQ, key)
+            .limit(1)
+            .build()
+            .bind();
+    return executor
+        .execute(query, 1, null)
+        .firstElement()
+        .flatMap(
+            rs -> {
+              List<Row> rows = rs.currentPageRows();
+              context.traceCqlResult(query, rows.size());
+              if (rows.isEmpty() || rows.get(0).isNull(DOCUMENT_BLOB_COLUMN)) {
+                return Maybe.empty();
+              }
+              return Maybe.just(rows.get(0).getByteBuffer(DOCUMENT_BLOB_COLUMN));
+            });
+  }
+
   public BoundQuery getInsertStatement(
       String keyspaceName, String tableName, long microsTimestamp, Object[] columnValues) {
 
@@ -444,6 +552,42 @@ public class DocumentDB {
     return query;
   }
 
+  /**
+   * Writes the blob of a complete document, or removes it if @param documentBlob is {@code null}.
+   */
+  public BoundQuery getDocumentBlobStatement(
+      String keyspaceName,
+      String tableName,
+      String key,
+      long microsTimestamp,
+      ByteBuffer documentBlob) {
+    BoundQuery query;
+    if (null != documentBlob) {
+      query =
+          dataStore
+              .queryBuilder()
+              .insertInto(keyspaceName, tableName)
+              .value("key", key)
+              .value(DOCUMENT_BLOB_COLUMN, documentBlob)
+              .timestamp(microsTimestamp)
+              .build()
+              .bind();
+    } else {
+      query =
+          dataStore
+              .queryBuilder()
+              .delete()
+              .column(DOCUMENT_BLOB_COLUMN)
+              .from(keyspaceName, tableName)
+              .timestamp(microsTimestamp)
+              .where("key", Predicate.EQ, key)
+              .build()
+              .bind();
+    }
+    logger.debug(query.toString());
+    return query;
+  }
+
   /** Deletes from @param tableName all rows that are prefixed by @param pathPrefixToDelete */
   public BoundQuery getPrefixDeleteStatement(
       String keyspaceName,
@@ -572,47 +716,96 @@ public class DocumentDB {
    * Performs a delete of all the rows that are prefixed by the @param path, and then does an insert
    * using the @param vars provided, all in one batch.
    */
-  public void deleteThenInsertBatch(
+  public CompletableFuture<ResultSet> deleteThenInsertBatch(
+      String keyspace,
+      String table,
+      String key,
+      List<Object[]> vars,
+      List<String> pathToDelete,
+      long microsSinceEpoch,
+      ExecutionContext context)
+      throws UnauthorizedException {
+    return deleteThenInsertBatch(
+        keyspace, table, key, vars, pathToDelete, null, microsSinceEpoch, context);
+  }
+
+  /**
+   * Performs a delete of all the rows that are prefixed by the @param path, and then does an insert
+   * using the @param vars provided, all in one batch. If the table stores document blobs, the blob
+   * of the document is replaced with @param documentBlob, or removed if {@code null}.
+   */
+  public CompletableFuture<ResultSet> deleteThenInsertBatch(
       String keyspace,
       String table,
       String key,
       List<Object[]> vars,
       List<String> pathToDelete,
+      ByteBuffer documentBlob,
       long microsSinceEpoch,
       ExecutionContext context)
       throws UnauthorizedException {
 
-    List<BoundQuery> queries = new ArrayList<>(1 + vars.size());
+    List<BoundQuery> queries = new ArrayList<>(2 + vars.size());
     queries.add(getPrefixDeleteStatement(keyspace, table, key, microsSinceEpoch - 1, pathToDelete));
 
     for (Object[] values : vars) {
       queries.add(getInsertStatement(keyspace, table, microsSinceEpoch, values));
     }
 
+    if (hasDocumentBlob(keyspace, table)) {
+      queries.add(getDocumentBlobStatement(keyspace, table, key, microsSinceEpoch, documentBlob));
+    }
+
     getAuthorizationService()
         .authorizeDataWrite(authenticationSubject, keyspace, table, Scope.DELETE, SourceAPI.REST);
 
     getAuthorizationService()
         .authorizeDataWrite(authenticationSubject, keyspace, table, Scope.MODIFY, SourceAPI.REST);
 
-    executeBatch(queries, context);
+    return executeBatchAsync(queries, context);
   }
 
   /**
    * Performs a delete of all the rows that are prefixed by the @param path, and then does an insert
    * using the @param vars provided, all in one batch.
    */
-  public void deleteManyThenInsertBatch(
+  public CompletableFuture<ResultSet> deleteManyThenInsertBatch(
+      String keyspace,
+      String table,
+      List<String> keys,
+      List<Object[]> vars,
+      List<String> pathToDelete,
+      long microsSinceEpoch,
+      ExecutionContext context)
+      throws UnauthorizedException {
+    return deleteManyThenInsertBatch(
+        keyspace,
+        table,
+        keys,
+        vars,
+        pathToDelete,
+        Collections.emptyMap(),
+        microsSinceEpoch,
+        context);
+  }
+
+  /**
+   * Performs a delete of all the rows that are prefixed by the @param path, and then does an insert
+   * using the @param vars provided, all in one batch. If the table stores document blobs, the blob
+   * of each document is replaced with the one in @param documentBlobs, or removed if missing.
+   */
+  public CompletableFuture<ResultSet> deleteManyThenInsertBatch(
       String keyspace,
       String table,
       List<String> keys,
       List<Object[]> vars,
       List<String> pathToDelete,
+      Map<String, ByteBuffer> documentBlobs,
       long microsSinceEpoch,
       ExecutionContext context)
       throws UnauthorizedException {
 
-    List<BoundQuery> queries = new ArrayList<>(keys.size() + vars.size());
+    List<BoundQuery> queries = new ArrayList<>(2 * keys.size() + vars.size());
     keys.forEach(
         key ->
             queries.add(
@@ -623,20 +816,28 @@ public class DocumentDB {
       queries.add(getInsertStatement(keyspace, table, microsSinceEpoch, values));
     }
 
+    if (hasDocumentBlob(keyspace, table)) {
+      for (String key : keys) {
+        queries.add(
+            getDocumentBlobStatement(
+                keyspace, table, key, microsSinceEpoch, documentBlobs.get(key)));
+      }
+    }
+
     getAuthorizationService()
         .authorizeDataWrite(authenticationSubject, keyspace, table, Scope.DELETE, SourceAPI.REST);
 
     getAuthorizationService()
         .authorizeDataWrite(authenticationSubject, keyspace, table, Scope.MODIFY, SourceAPI.REST);
 
-    executeBatch(queries, context);
+    return executeBatchAsync(queries, context);
   }
 
   /**
    * Performs a delete of all the rows that match exactly the @param path, deletes all array paths,
    * and then does an insert using the @param vars provided, all in one batch.
    */
-  public void deletePatchedPathsThenInsertBatch(
+  public CompletableFuture<ResultSet> deletePatchedPathsThenInsertBatch(
       String keyspace,
       String table,
       String key,
@@ -666,6 +867,11 @@ public class DocumentDB {
     queries.add(
         getPathKeysDeleteStatement(keyspace, table, key, deleteTs, pathToDelete, patchedKeys));
 
+    // the document blob is outdated by any patch
+    if (hasDocumentBlob(keyspace, table)) {
+      queries.add(getDocumentBlobStatement(keyspace, table, key, insertTs, null));
+    }
+
     Object[] deleteVarsWithPathKeys = new Object[pathToDelete.size() + patchedKeys.size() + 2];
     deleteVarsWithPathKeys[0] = microsSinceEpoch - 1;
     deleteVarsWithPathKeys[1] = key;
@@ -682,21 +888,27 @@ public class DocumentDB {
     getAuthorizationService()
         .authorizeDataWrite(authenticationSubject, keyspace, table, Scope.MODIFY, SourceAPI.REST);
 
-    executeBatch(queries, context);
+    return executeBatchAsync(queries, context);
   }
 
-  public void delete(
+  public CompletableFuture<ResultSet> delete(
       String keyspace, String table, String key, List<String> pathToDelete, long microsSinceEpoch)
       throws UnauthorizedException {
 
     getAuthorizationService()
         .authorizeDataWrite(
             getAuthenticationSubject(), keyspace, table, Scope.DELETE, SourceAPI.REST);
-    dataStore
-        .execute(
-            getPrefixDeleteStatement(keyspace, table, key, microsSinceEpoch, pathToDelete),
-            ConsistencyLevel.LOCAL_QUORUM)
-        .join();
+    BoundQuery delete =
+        getPrefixDeleteStatement(keyspace, table, key, microsSinceEpoch, pathToDelete);
+
+    // deleting a part of the document outdates its blob, deleting the whole partition removes it
+    if (!pathToDelete.isEmpty() && hasDocumentBlob(keyspace, table)) {
+      List<BoundQuery> queries =
+          Arrays.asList(
+              delete, getDocumentBlobStatement(keyspace, table, key, microsSinceEpoch, null));
+      return executeBatchAsync(queries, ExecutionContext.NOOP_CONTEXT);
+    }
+    return dataStore.execute(delete, ConsistencyLevel.LOCAL_QUORUM);
   }
 
   public boolean authorizeDeleteDeadLeaves(String keyspaceName, String tableName) {
@@ -755,8 +967,9 @@ public class DocumentDB {
       }
     }
 
-    // Fire this off in a future
-    return executeBatchAsync(queries, context.nested("ASYNC DOCUMENT CORRECTION"));
+    // Fire this off in a future, nobody waits for the corrections
+    return executeBatchAsync(
+        queries, RequestPriority.BACKGROUND, context.nested("ASYNC DOCUMENT CORRECTION"));
   }
 
   public Map<String, Object> newBindMap(List<String> path) {
@@ -34,6 +34,10 @@ public enum ErrorCode {
       "The table name contains invalid characters. Valid characters are alphanumeric and underscores."),
 
   /** Document API. */
+  DOCS_API_EXPORT_TOKEN_RANGE_INVALID(
+      Response.Status.BAD_REQUEST,
+      "The parameter `token-start` must be lower than the parameter `token-end`."),
+
   DOCS_API_GENERAL_ARRAY_LENGTH_EXCEEDED(
       Response.Status.BAD_REQUEST,
       String.format(
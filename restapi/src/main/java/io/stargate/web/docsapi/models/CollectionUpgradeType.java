@@ -1,5 +1,14 @@
 package io.stargate.web.docsapi.models;
 
 public enum CollectionUpgradeType {
-  SAI_INDEX_UPGRADE
+  SAI_INDEX_UPGRADE,
+
+  /**
+   * Keeps a compressed copy of each completely written document next to its rows, so that complete
+   * documents are read with a single cell instead of one row per leaf. The rows stay the primary
+   * storage, so writes and storage get more expensive, and reads of documents without a copy pay
+   * an extra single-row query. Never advertised in the collection info, as it only pays off for
+   * read-mostly collections of large documents.
+   */
+  DOCUMENT_BLOB_UPGRADE
 }
@@ -29,7 +29,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -290,9 +289,7 @@ public class CollectionsResource {
             return ErrorCode.DATASTORE_TABLE_DOES_NOT_EXIST.toResponse(msg);
           }
 
-          DocCollection info = collectionService.getCollectionInfo(table, db);
-          if (!info.getUpgradeAvailable()
-              || !Objects.equals(info.getUpgradeType(), body.getUpgradeType())) {
+          if (!collectionService.isUpgradeAvailable(table, db, body.getUpgradeType())) {
             return ErrorCode.DOCS_API_GENERAL_UPGRADE_INVALID.toResponse();
           }
 
@@ -308,7 +305,7 @@ public class CollectionsResource {
 
           if (success) {
             table = authenticatedDB.getTable(namespace, collection);
-            info = collectionService.getCollectionInfo(table, db);
+            DocCollection info = collectionService.getCollectionInfo(table, db);
 
             Object response = raw ? info : new ResponseWrapper<>(info);
             return Response.status(Response.Status.OK).entity(response).build();
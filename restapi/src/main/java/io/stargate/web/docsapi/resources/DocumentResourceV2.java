@@ -5,10 +5,13 @@ import static io.stargate.web.docsapi.resources.RequestToHeadersMapper.getAllHea
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.Supplier;
 import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.examples.WriteDocResponse;
 import io.stargate.web.docsapi.models.DocumentResponseWrapper;
 import io.stargate.web.docsapi.models.MultiDocsResponse;
+import io.stargate.web.docsapi.resources.async.AsyncObserver;
 import io.stargate.web.docsapi.resources.error.ErrorHandler;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
 import io.stargate.web.docsapi.service.DocsSchemaChecker;
@@ -29,7 +32,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.Callable;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.constraints.NotBlank;
@@ -44,6 +46,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -109,7 +113,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id}")
   @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED})
   @Produces(MediaType.APPLICATION_JSON)
-  public Response postDoc(
+  public void postDoc(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -130,12 +134,14 @@ public class DocumentResourceV2 {
               required = false)
           @QueryParam("profile")
           Boolean profile,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     // This route does nearly the same thing as PUT, except that it assigns an ID for the requester
     // And returns it as a Location header/in JSON body
     logger.debug("Post: Collection = {}", collection);
     String newId = UUID.randomUUID().toString();
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           boolean isJson =
               headers
@@ -145,27 +151,31 @@ public class DocumentResourceV2 {
 
           ExecutionContext context = ExecutionContext.create(profile);
 
-          documentService.putAtPath(
-              authToken,
-              namespace,
-              collection,
-              newId,
-              payload,
-              new ArrayList<>(),
-              false,
-              dbFactory,
-              isJson,
-              getAllHeaders(request),
-              context);
-
-          return Response.created(
-                  URI.create(
-                      String.format(
-                          "/v2/namespaces/%s/collections/%s/%s", namespace, collection, newId)))
-              .entity(
-                  mapper.writeValueAsString(
-                      new DocumentResponseWrapper<>(newId, null, null, context.toProfile())))
-              .build();
+          return documentService
+              .putAtPath(
+                  authToken,
+                  namespace,
+                  collection,
+                  newId,
+                  payload,
+                  new ArrayList<>(),
+                  false,
+                  dbFactory,
+                  isJson,
+                  getAllHeaders(request),
+                  context)
+              .toSingle(
+                  () ->
+                      Response.created(
+                              URI.create(
+                                  String.format(
+                                      "/v2/namespaces/%s/collections/%s/%s",
+                                      namespace, collection, newId)))
+                          .entity(
+                              mapper.writeValueAsString(
+                                  new DocumentResponseWrapper<>(
+                                      newId, null, null, context.toProfile())))
+                          .build());
         });
   }
 
@@ -187,7 +197,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id}/batch")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response writeManyDocs(
+  public void writeManyDocs(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -211,15 +221,17 @@ public class DocumentResourceV2 {
           @QueryParam("id-path")
           String idPath,
       @QueryParam("profile") Boolean profile,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     // This route does nearly the same thing as PUT, except that it assigns an ID for the requester
     // And returns it as a Location header/in JSON body
     logger.debug("Batch Write: Collection = {}", collection);
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           ExecutionContext context = ExecutionContext.create(profile);
-          List<String> idsCreated =
-              documentService.writeManyDocs(
+          return documentService
+              .writeManyDocs(
                   authToken,
                   namespace,
                   collection,
@@ -227,12 +239,14 @@ public class DocumentResourceV2 {
                   Optional.ofNullable(idPath),
                   dbFactory,
                   context,
-                  getAllHeaders(request));
-
-          return Response.accepted()
-              .entity(
-                  mapper.writeValueAsString(new MultiDocsResponse(idsCreated, context.toProfile())))
-              .build();
+                  getAllHeaders(request))
+              .map(
+                  idsCreated ->
+                      Response.accepted()
+                          .entity(
+                              mapper.writeValueAsString(
+                                  new MultiDocsResponse(idsCreated, context.toProfile())))
+                          .build());
         });
   }
 
@@ -251,7 +265,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id}/{document-id}")
   @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED})
   @Produces(MediaType.APPLICATION_JSON)
-  public Response putDoc(
+  public void putDoc(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -276,9 +290,11 @@ public class DocumentResourceV2 {
               defaultValue = "false")
           @QueryParam("profile")
           Boolean profile,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     logger.debug("Put: Collection = {}, id = {}", collection, id);
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           boolean isJson =
               headers
@@ -288,23 +304,27 @@ public class DocumentResourceV2 {
 
           ExecutionContext context = ExecutionContext.create(profile);
 
-          documentService.putAtPath(
-              authToken,
-              namespace,
-              collection,
-              id,
-              payload,
-              new ArrayList<>(),
-              false,
-              dbFactory,
-              isJson,
-              getAllHeaders(request),
-              context);
-          return Response.ok()
-              .entity(
-                  mapper.writeValueAsString(
-                      new DocumentResponseWrapper<>(id, null, null, context.toProfile())))
-              .build();
+          return documentService
+              .putAtPath(
+                  authToken,
+                  namespace,
+                  collection,
+                  id,
+                  payload,
+                  new ArrayList<>(),
+                  false,
+                  dbFactory,
+                  isJson,
+                  getAllHeaders(request),
+                  context)
+              .toSingle(
+                  () ->
+                      Response.ok()
+                          .entity(
+                              mapper.writeValueAsString(
+                                  new DocumentResponseWrapper<>(
+                                      id, null, null, context.toProfile())))
+                          .build());
         });
   }
 
@@ -325,7 +345,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id}/{document-id}/{document-path: .*}")
   @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED})
   @Produces(MediaType.APPLICATION_JSON)
-  public Response putDocPath(
+  public void putDocPath(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -353,9 +373,11 @@ public class DocumentResourceV2 {
               defaultValue = "false")
           @QueryParam("profile")
           Boolean profile,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     logger.debug("Put: Collection = {}, id = {}, path = {}", collection, id, path);
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           boolean isJson =
               headers
@@ -365,23 +387,27 @@ public class DocumentResourceV2 {
 
           ExecutionContext context = ExecutionContext.create(profile);
 
-          documentService.putAtPath(
-              authToken,
-              namespace,
-              collection,
-              id,
-              payload,
-              path,
-              false,
-              dbFactory,
-              isJson,
-              getAllHeaders(request),
-              context);
-          return Response.ok()
-              .entity(
-                  mapper.writeValueAsString(
-                      new DocumentResponseWrapper<>(id, null, null, context.toProfile())))
-              .build();
+          return documentService
+              .putAtPath(
+                  authToken,
+                  namespace,
+                  collection,
+                  id,
+                  payload,
+                  path,
+                  false,
+                  dbFactory,
+                  isJson,
+                  getAllHeaders(request),
+                  context)
+              .toSingle(
+                  () ->
+                      Response.ok()
+                          .entity(
+                              mapper.writeValueAsString(
+                                  new DocumentResponseWrapper<>(
+                                      id, null, null, context.toProfile())))
+                          .build());
         });
   }
 
@@ -402,7 +428,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id}/{document-id}")
   @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED})
   @Produces(MediaType.APPLICATION_JSON)
-  public Response patchDoc(
+  public void patchDoc(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -427,9 +453,11 @@ public class DocumentResourceV2 {
               defaultValue = "false")
           @QueryParam("profile")
           Boolean profile,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     logger.debug("Patch: Collection = {}, id = {}", collection, id);
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           boolean isJson =
               headers
@@ -439,23 +467,27 @@ public class DocumentResourceV2 {
 
           ExecutionContext context = ExecutionContext.create(profile);
 
-          documentService.putAtPath(
-              authToken,
-              namespace,
-              collection,
-              id,
-              payload,
-              new ArrayList<>(),
-              true,
-              dbFactory,
-              isJson,
-              getAllHeaders(request),
-              context);
-          return Response.ok()
-              .entity(
-                  mapper.writeValueAsString(
-                      new DocumentResponseWrapper<>(id, null, null, context.toProfile())))
-              .build();
+          return documentService
+              .putAtPath(
+                  authToken,
+                  namespace,
+                  collection,
+                  id,
+                  payload,
+                  new ArrayList<>(),
+                  true,
+                  dbFactory,
+                  isJson,
+                  getAllHeaders(request),
+                  context)
+              .toSingle(
+                  () ->
+                      Response.ok()
+                          .entity(
+                              mapper.writeValueAsString(
+                                  new DocumentResponseWrapper<>(
+                                      id, null, null, context.toProfile())))
+                          .build());
         });
   }
 
@@ -477,7 +509,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id}/{document-id}/{document-path: .*}")
   @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_FORM_URLENCODED})
   @Produces(MediaType.APPLICATION_JSON)
-  public Response patchDocPath(
+  public void patchDocPath(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -505,9 +537,11 @@ public class DocumentResourceV2 {
               defaultValue = "false")
           @QueryParam("profile")
           Boolean profile,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     logger.debug("Patch: Collection = {}, id = {}, path = {}", collection, id, path);
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           boolean isJson =
               headers
@@ -517,23 +551,27 @@ public class DocumentResourceV2 {
 
           ExecutionContext context = ExecutionContext.create(profile);
 
-          documentService.putAtPath(
-              authToken,
-              namespace,
-              collection,
-              id,
-              payload,
-              path,
-              true,
-              dbFactory,
-              isJson,
-              getAllHeaders(request),
-              context);
-          return Response.ok()
-              .entity(
-                  mapper.writeValueAsString(
-                      new DocumentResponseWrapper<>(id, null, null, context.toProfile())))
-              .build();
+          return documentService
+              .putAtPath(
+                  authToken,
+                  namespace,
+                  collection,
+                  id,
+                  payload,
+                  path,
+                  true,
+                  dbFactory,
+                  isJson,
+                  getAllHeaders(request),
+                  context)
+              .toSingle(
+                  () ->
+                      Response.ok()
+                          .entity(
+                              mapper.writeValueAsString(
+                                  new DocumentResponseWrapper<>(
+                                      id, null, null, context.toProfile())))
+                          .build());
         });
   }
 
@@ -550,7 +588,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id: [a-zA-Z_0-9]+}/{document-id}")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response deleteDoc(
+  public void deleteDoc(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -566,14 +604,17 @@ public class DocumentResourceV2 {
           String collection,
       @ApiParam(value = "the name of the document", required = true) @PathParam("document-id")
           String id,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     logger.debug("Delete: Collection = {}, id = {}, path = {}", collection, id, new ArrayList<>());
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           Map<String, String> allHeaders = getAllHeaders(request);
           DocumentDB db = dbFactory.getDocDataStoreForToken(authToken, allHeaders);
-          documentService.deleteAtPath(db, namespace, collection, id, new ArrayList<>());
-          return Response.noContent().build();
+          return documentService
+              .deleteAtPath(db, namespace, collection, id, new ArrayList<>())
+              .toSingle(() -> Response.noContent().build());
         });
   }
 
@@ -590,7 +631,7 @@ public class DocumentResourceV2 {
   @Path("collections/{collection-id: [a-zA-Z_0-9]+}/{document-id}/{document-path: .*}")
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  public Response deleteDocPath(
+  public void deleteDocPath(
       @Context HttpHeaders headers,
       @Context UriInfo ui,
       @ApiParam(
@@ -609,22 +650,29 @@ public class DocumentResourceV2 {
       @ApiParam(value = "the path in the JSON that you want to retrieve", required = true)
           @PathParam("document-path")
           List<PathSegment> path,
-      @Context HttpServletRequest request) {
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
     logger.debug("Delete: Collection = {}, id = {}, path = {}", collection, id, path);
-    return handle(
+    handle(
+        asyncResponse,
         () -> {
           Map<String, String> allHeaders = getAllHeaders(request);
           DocumentDB db = dbFactory.getDocDataStoreForToken(authToken, allHeaders);
-          documentService.deleteAtPath(db, namespace, collection, id, path);
-          return Response.noContent().build();
+          return documentService
+              .deleteAtPath(db, namespace, collection, id, path)
+              .toSingle(() -> Response.noContent().build());
         });
   }
 
-  static Response handle(Callable<Response> action) {
-    try {
-      return action.call();
-    } catch (Throwable t) {
-      return ErrorHandler.EXCEPTION_TO_RESPONSE.apply(t);
-    }
+  /**
+   * Subscribes to the single created by the action and resumes the async response with its result.
+   * Any failure, thrown by the action or signalled by the single, is mapped by the {@link
+   * ErrorHandler}.
+   */
+  static void handle(AsyncResponse asyncResponse, Supplier<Single<Response>> action) {
+    Single.defer(action)
+        .safeSubscribe(
+            AsyncObserver.forResponseWithHandler(
+                asyncResponse, ErrorHandler.EXCEPTION_TO_RESPONSE));
   }
 }
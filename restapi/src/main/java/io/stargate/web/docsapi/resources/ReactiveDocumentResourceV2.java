@@ -3,13 +3,18 @@ package io.stargate.web.docsapi.resources;
 import static io.stargate.web.docsapi.resources.RequestToHeadersMapper.getAllHeaders;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.functions.Function;
 import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.dao.Paginator;
+import io.stargate.web.docsapi.exception.ErrorCode;
+import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
 import io.stargate.web.docsapi.models.DocumentResponseWrapper;
 import io.stargate.web.docsapi.resources.async.AsyncObserver;
 import io.stargate.web.docsapi.resources.error.ErrorHandler;
+import io.stargate.web.docsapi.service.DocsApiMetrics;
 import io.stargate.web.docsapi.service.DocsSchemaChecker;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.ReactiveDocumentService;
@@ -21,9 +26,11 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.constraints.Max;
@@ -42,6 +49,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.glassfish.jersey.server.ManagedAsync;
 
@@ -60,9 +68,17 @@ public class ReactiveDocumentResourceV2 {
           + " allowed hints: $selectivity (a number between 0.0 and 1.0, less is better);"
           + " Use \\ to escape periods, commas, and asterisks.";
 
+  /** Newline-delimited JSON, one document per line. */
+  public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  // number of documents requested ahead of the ones being written by an export
+  private static final int EXPORT_PREFETCH = 64;
+
   @Inject private Db dbFactory;
   @Inject private ReactiveDocumentService reactiveDocumentService;
   @Inject private DocsSchemaChecker schemaChecker;
+  @Inject private DocsApiMetrics docsApiMetrics;
+  @Inject private ObjectMapper objectMapper;
 
   @GET
   @ManagedAsync
@@ -222,7 +238,9 @@ public class ReactiveDocumentResourceV2 {
             })
         .flatMap(
             db -> {
-              ExecutionContext context = ExecutionContext.create(profile);
+              ExecutionContext context =
+                  ExecutionContext.create(
+                      profile, docsApiMetrics.forCollection(namespace, collection));
               List<String> pathStrings =
                   path.stream().map(PathSegment::getPath).collect(Collectors.toList());
 
@@ -330,7 +348,9 @@ public class ReactiveDocumentResourceV2 {
             })
         .flatMap(
             db -> {
-              ExecutionContext context = ExecutionContext.create(profile);
+              ExecutionContext context =
+                  ExecutionContext.create(
+                      profile, docsApiMetrics.forCollection(namespace, collection));
               return reactiveDocumentService.findDocuments(
                   db, namespace, collection, where, fields, paginator, context);
             })
@@ -340,6 +360,100 @@ public class ReactiveDocumentResourceV2 {
                 asyncResponse, ErrorHandler.EXCEPTION_TO_RESPONSE));
   }
 
+  @GET
+  @ManagedAsync
+  @ApiOperation(
+      value = "Export documents in a collection",
+      notes =
+          "Streams the documents in a collection as newline-delimited JSON, one document per line,"
+              + " with optional search parameters. Disjoint ranges of tokens can be exported in"
+              + " parallel.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad Request", response = Error.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
+        @ApiResponse(code = 403, message = "Forbidden", response = Error.class),
+        @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
+      })
+  @Path("export/{collection-id: [a-zA-Z_0-9]+}")
+  @Produces(APPLICATION_NDJSON)
+  public void exportDocs(
+      @Context HttpHeaders headers,
+      @ApiParam(
+              value =
+                  "The token returned from the authorization endpoint. Use this token in each request.",
+              required = true)
+          @HeaderParam("X-Cassandra-Token")
+          String authToken,
+      @ApiParam(value = "the namespace that the collection is in", required = true)
+          @PathParam("namespace-id")
+          String namespace,
+      @ApiParam(value = "the name of the collection", required = true) @PathParam("collection-id")
+          String collection,
+      @ApiParam(value = WHERE_DESCRIPTION) @QueryParam("where") String where,
+      @ApiParam(
+              value = "the field names that you want to restrict the results to",
+              required = false)
+          @QueryParam("fields")
+          String fields,
+      @ApiParam(
+              value = "the start of the token range to export (exclusive), default is the minimum",
+              required = false)
+          @QueryParam("token-start")
+          Long tokenStartParam,
+      @ApiParam(
+              value = "the end of the token range to export (inclusive), default is the maximum",
+              required = false)
+          @QueryParam("token-end")
+          Long tokenEndParam,
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    long tokenStart = Optional.ofNullable(tokenStartParam).orElse(Long.MIN_VALUE);
+    long tokenEnd = Optional.ofNullable(tokenEndParam).orElse(Long.MAX_VALUE);
+    // init sequence
+    Single.fromCallable(
+            () -> {
+              if (tokenStart >= tokenEnd) {
+                throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_EXPORT_TOKEN_RANGE_INVALID);
+              }
+              DocumentDB db = dbFactory.getDocDataStoreForToken(authToken, getAllHeaders(request));
+              schemaChecker.checkValidity(namespace, collection, db);
+              return db;
+            })
+        .flatMap(
+            db -> {
+              DocsApiMetrics.CollectionMetrics metrics =
+                  docsApiMetrics.forCollection(namespace, collection);
+              ExecutionContext context = ExecutionContext.create(false, metrics);
+              return reactiveDocumentService.exportDocuments(
+                  db, namespace, collection, where, fields, tokenStart, tokenEnd, context);
+            })
+        .map(documents -> Response.ok(ndJsonOutput(documents), APPLICATION_NDJSON).build())
+        .safeSubscribe(
+            AsyncObserver.forResponseWithHandler(
+                asyncResponse,
+                // errors are reported before the export starts, as regular JSON
+                ErrorHandler.EXCEPTION_TO_RESPONSE.andThen(
+                    response ->
+                        Response.fromResponse(response).type(MediaType.APPLICATION_JSON).build())));
+  }
+
+  // writes each document on its own line, blocking the writing thread until the next documents are
+  // read, so that only the prefetched documents are kept in memory
+  private StreamingOutput ndJsonOutput(Flowable<DocumentResponseWrapper<JsonNode>> documents) {
+    return output -> {
+      try (Stream<DocumentResponseWrapper<JsonNode>> stream =
+          documents.blockingStream(EXPORT_PREFETCH)) {
+        Iterator<DocumentResponseWrapper<JsonNode>> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+          output.write(objectMapper.writeValueAsBytes(iterator.next()));
+          output.write('\n');
+        }
+      }
+    };
+  }
+
   private Function<DocumentResponseWrapper<? extends JsonNode>, Response> rawDocumentHandler(
       Boolean raw) {
     return results -> {
@@ -21,7 +21,10 @@ import com.datastax.oss.driver.api.core.NoNodeAvailableException;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
 import io.stargate.web.models.Error;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import javax.ws.rs.core.Response;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +51,13 @@ public final class ErrorHandler
                   "Role unauthorized for operation: " + throwable.getMessage(),
                   Response.Status.UNAUTHORIZED.getStatusCode()))
           .build();
+    } else if (isOverloaded(throwable)) {
+      return Response.status(Response.Status.TOO_MANY_REQUESTS)
+          .entity(
+              new Error(
+                  "Too many requests, retry later",
+                  Response.Status.TOO_MANY_REQUESTS.getStatusCode()))
+          .build();
     } else if (throwable instanceof NoNodeAvailableException) {
       return Response.status(Response.Status.SERVICE_UNAVAILABLE)
           .entity(
@@ -65,4 +75,13 @@ public final class ErrorHandler
           .build();
     }
   }
+
+  private static boolean isOverloaded(Throwable throwable) {
+    // persistence failures may reach us wrapped by the future they were completed with
+    if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+        && null != throwable.getCause()) {
+      throwable = throwable.getCause();
+    }
+    return throwable instanceof OverloadedException;
+  }
 }
@@ -10,10 +10,15 @@ import io.stargate.web.docsapi.models.CollectionUpgradeType;
 import io.stargate.web.docsapi.models.DocCollection;
 import io.stargate.web.resources.Db;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
+import javax.inject.Inject;
 
 public class CollectionService {
+
+  @Inject DocumentCache documentCache;
+
   public DocCollection getCollectionInfo(Table table, Db db) {
     if (db.getDataStore().supportsSAI()) {
       List<Index> indexes = table.indexes();
@@ -47,6 +52,22 @@ public class CollectionService {
   public void deleteCollection(String keyspaceName, String tableName, DocumentDB docDB)
       throws InterruptedException, ExecutionException {
     docDB.deleteTable(keyspaceName, tableName);
+    if (null != documentCache) {
+      documentCache.invalidateCollection(keyspaceName, tableName);
+    }
+  }
+
+  /**
+   * Checks if the given upgrade can be applied to the collection. Besides the upgrade advertised in
+   * the {@link #getCollectionInfo(Table, Db) collection info}, the document blob upgrade can be
+   * requested for any collection that does not store the document blobs yet.
+   */
+  public boolean isUpgradeAvailable(Table table, Db db, CollectionUpgradeType upgradeType) {
+    if (upgradeType == CollectionUpgradeType.DOCUMENT_BLOB_UPGRADE) {
+      return null == table.column(DocumentDB.DOCUMENT_BLOB_COLUMN);
+    }
+    DocCollection info = getCollectionInfo(table, db);
+    return info.getUpgradeAvailable() && Objects.equals(info.getUpgradeType(), upgradeType);
   }
 
   public boolean upgradeCollection(
@@ -54,6 +75,9 @@ public class CollectionService {
     if (upgradeType == CollectionUpgradeType.SAI_INDEX_UPGRADE) {
       return docDB.upgradeTableIndexes(keyspaceName, tableName);
     }
+    if (upgradeType == CollectionUpgradeType.DOCUMENT_BLOB_UPGRADE) {
+      return docDB.upgradeTableDocumentBlob(keyspaceName, tableName);
+    }
     String msg = String.format("Invalid upgrade type: %s.", upgradeType);
     throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_UPGRADE_INVALID, msg);
   }
@@ -0,0 +1,316 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.CompletableSubject;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.json.DeadLeaf;
+import io.stargate.web.rx.RxUtils;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Node-local queue of the dead leaves corrections found by the document reads.
+ *
+ * <p>Corrections are keyed by the document, so concurrent reads of the same document that find
+ * dead leaves are collapsed into a single pending correction, with the dead leaves of all the reads
+ * merged per path. A correction is executed as one batch (a single partition) after a short
+ * coalescing delay, and only a bounded number of correction batches is executed at the same time.
+ * When the queue is full, new corrections are dropped, as the next read of the document will find
+ * the same dead leaves again.
+ */
+public class DeadLeafCompactionQueue {
+
+  private static final Logger logger = LoggerFactory.getLogger(DeadLeafCompactionQueue.class);
+
+  public static final String QUEUE_DEPTH_METRIC = "docsapi.dead_leaves.queue.depth";
+  public static final String CORRECTIONS_METRIC = "docsapi.dead_leaves.corrections";
+  public static final String COLLAPSED_METRIC = "docsapi.dead_leaves.collapsed";
+  public static final String DROPPED_METRIC = "docsapi.dead_leaves.dropped";
+
+  private static final int MAX_PENDING =
+      Integer.getInteger("stargate.document_dead_leaves_queue_size", 1000);
+  private static final int MAX_IN_FLIGHT =
+      Integer.getInteger("stargate.document_dead_leaves_max_in_flight", 4);
+  private static final long DELAY_MILLIS =
+      Long.getLong("stargate.document_dead_leaves_delay_ms", 100);
+
+  private final int maxPending;
+  private final int maxInFlight;
+  private final long delayMillis;
+
+  // pending corrections in the submission order, guarded by this
+  private final Map<DocumentKey, Correction> pending = new LinkedHashMap<>();
+  private int inFlight;
+  private boolean drainScheduled;
+
+  private final AtomicLong corrections = new AtomicLong();
+  private final AtomicLong collapsed = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  public DeadLeafCompactionQueue() {
+    this(MAX_PENDING, MAX_IN_FLIGHT, DELAY_MILLIS);
+  }
+
+  public DeadLeafCompactionQueue(int maxPending, int maxInFlight, long delayMillis) {
+    this.maxPending = maxPending;
+    this.maxInFlight = maxInFlight;
+    this.delayMillis = delayMillis;
+  }
+
+  /**
+   * Registers the queue meters.
+   *
+   * @param meterRegistry Micrometer registry to report to
+   * @param tags Common tags to add to all meters (f.e. the module tag)
+   * @return this queue
+   */
+  public DeadLeafCompactionQueue withMetrics(MeterRegistry meterRegistry, Tags tags) {
+    Gauge.builder(QUEUE_DEPTH_METRIC, this, DeadLeafCompactionQueue::depth)
+        .tags(tags)
+        .register(meterRegistry);
+    FunctionCounter.builder(CORRECTIONS_METRIC, corrections, AtomicLong::get)
+        .tags(tags)
+        .register(meterRegistry);
+    FunctionCounter.builder(COLLAPSED_METRIC, collapsed, AtomicLong::get)
+        .tags(tags)
+        .register(meterRegistry);
+    FunctionCounter.builder(DROPPED_METRIC, dropped, AtomicLong::get)
+        .tags(tags)
+        .register(meterRegistry);
+    return this;
+  }
+
+  /**
+   * Submits the dead leaves found in a document for deletion.
+   *
+   * <p>If a correction for the same document is already pending, the dead leaves are merged into
+   * it. The merged correction uses the lowest of the timestamps, so that no data written after any
+   * of the reads can be deleted.
+   *
+   * @param db {@link DocumentDB} authorized to delete the dead leaves
+   * @param keyspace Namespace
+   * @param collection Collection name
+   * @param documentId Document ID
+   * @param microsTimestamp Timestamp of the read that found the dead leaves
+   * @param deadLeaves Dead leaves by path
+   * @param context Execution context
+   * @return Completable that completes once the correction is executed (or dropped), never fails
+   */
+  public Completable submit(
+      DocumentDB db,
+      String keyspace,
+      String collection,
+      String documentId,
+      long microsTimestamp,
+      Map<String, Set<DeadLeaf>> deadLeaves,
+      ExecutionContext context) {
+    return Completable.defer(
+        () -> {
+          DocumentKey key = new DocumentKey(keyspace, collection, documentId);
+          Correction correction;
+          synchronized (this) {
+            correction = pending.get(key);
+            if (null != correction) {
+              correction.merge(db, microsTimestamp, deadLeaves);
+              collapsed.incrementAndGet();
+              return correction.done;
+            }
+
+            if (pending.size() >= maxPending) {
+              dropped.incrementAndGet();
+              logger.debug("Dead leaves queue full, dropping correction of {}.", key);
+              return Completable.complete();
+            }
+
+            correction = new Correction(key, db, microsTimestamp, deadLeaves, context);
+            pending.put(key, correction);
+          }
+
+          scheduleDrain();
+          return correction.done;
+        });
+  }
+
+  /** @return Number of the pending corrections. */
+  public synchronized int depth() {
+    return pending.size();
+  }
+
+  /** @return Number of the executed correction batches. */
+  public long corrections() {
+    return corrections.get();
+  }
+
+  /** @return Number of the corrections merged into an already pending one. */
+  public long collapsed() {
+    return collapsed.get();
+  }
+
+  /** @return Number of the corrections dropped because the queue was full. */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  private void scheduleDrain() {
+    synchronized (this) {
+      if (drainScheduled || pending.isEmpty() || inFlight >= maxInFlight) {
+        return;
+      }
+      drainScheduled = true;
+    }
+
+    Schedulers.io().scheduleDirect(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void drain() {
+    Map<DocumentKey, Correction> batch = new LinkedHashMap<>();
+    synchronized (this) {
+      drainScheduled = false;
+      Iterator<Map.Entry<DocumentKey, Correction>> it = pending.entrySet().iterator();
+      while (it.hasNext() && inFlight < maxInFlight) {
+        Map.Entry<DocumentKey, Correction> entry = it.next();
+        it.remove();
+        batch.put(entry.getKey(), entry.getValue());
+        inFlight++;
+      }
+    }
+
+    batch.values().forEach(this::execute);
+  }
+
+  private void execute(Correction correction) {
+    DocumentKey key = correction.key;
+    int size = correction.deadLeaves.size();
+    RxUtils.singleFromFuture(
+            () ->
+                correction.db.deleteDeadLeaves(
+                    key.keyspace,
+                    key.collection,
+                    key.documentId,
+                    correction.microsTimestamp,
+                    correction.deadLeaves,
+                    correction.context))
+        .ignoreElement()
+        .doOnComplete(
+            () -> {
+              corrections.incrementAndGet();
+              logger.info("Deleted dead leaves at {} paths of {}.", size, key);
+            })
+        .onErrorComplete(
+            t -> {
+              logger.error("Unable to delete dead leaves of " + key + ": " + t, t);
+              return true;
+            })
+        .doFinally(
+            () -> {
+              synchronized (this) {
+                inFlight--;
+              }
+              correction.done.onComplete();
+              scheduleDrain();
+            })
+        .subscribe();
+  }
+
+  private static final class Correction {
+
+    private final DocumentKey key;
+    private final ExecutionContext context;
+    private final Map<String, Set<DeadLeaf>> deadLeaves = new HashMap<>();
+    private final CompletableSubject done = CompletableSubject.create();
+    private DocumentDB db;
+    private long microsTimestamp;
+
+    private Correction(
+        DocumentKey key,
+        DocumentDB db,
+        long microsTimestamp,
+        Map<String, Set<DeadLeaf>> deadLeaves,
+        ExecutionContext context) {
+      this.key = key;
+      this.db = db;
+      this.microsTimestamp = microsTimestamp;
+      this.context = context;
+      addAll(deadLeaves);
+    }
+
+    // called only while the correction is pending, under the queue lock
+    private void merge(DocumentDB db, long microsTimestamp, Map<String, Set<DeadLeaf>> leaves) {
+      this.db = db;
+      this.microsTimestamp = Math.min(this.microsTimestamp, microsTimestamp);
+      addAll(leaves);
+    }
+
+    private void addAll(Map<String, Set<DeadLeaf>> leaves) {
+      leaves.forEach(
+          (path, leavesAtPath) ->
+              deadLeaves.computeIfAbsent(path, p -> new HashSet<>()).addAll(leavesAtPath));
+    }
+  }
+
+  private static final class DocumentKey {
+
+    private final String keyspace;
+    private final String collection;
+    private final String documentId;
+
+    private DocumentKey(String keyspace, String collection, String documentId) {
+      this.keyspace = keyspace;
+      this.collection = collection;
+      this.documentId = documentId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DocumentKey that = (DocumentKey) o;
+      return keyspace.equals(that.keyspace)
+          && collection.equals(that.collection)
+          && documentId.equals(that.documentId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(keyspace, collection, documentId);
+    }
+
+    @Override
+    public String toString() {
+      return keyspace + '.' + collection + '/' + documentId;
+    }
+  }
+}
@@ -1,16 +1,24 @@
 package io.stargate.web.docsapi.service;
 
 import io.dropwizard.setup.Environment;
+import io.stargate.core.metrics.api.Metrics;
+import io.stargate.web.RestApiActivator;
 import io.stargate.web.docsapi.service.query.DocumentSearchService;
 import io.stargate.web.docsapi.service.query.ExpressionParser;
 import io.stargate.web.docsapi.service.query.condition.ConditionParser;
 import org.glassfish.jersey.internal.inject.AbstractBinder;
 
 public class DocsApiComponentsBinder extends AbstractBinder {
+  private static final boolean RESOLVER_METRICS_ENABLED =
+      !Boolean.getBoolean("stargate.document_resolver_metrics.disabled");
+
   private final Environment environment;
 
-  public DocsApiComponentsBinder(Environment environment) {
+  private final Metrics metrics;
+
+  public DocsApiComponentsBinder(Environment environment, Metrics metrics) {
     this.environment = environment;
+    this.metrics = metrics;
   }
 
   protected void configure() {
@@ -18,7 +26,29 @@ public class DocsApiComponentsBinder extends AbstractBinder {
     bind(conf).to(DocsApiConfiguration.class);
     bind(TimeSource.SYSTEM).to(TimeSource.class);
 
+    DocsApiMetrics docsApiMetrics =
+        RESOLVER_METRICS_ENABLED && null != metrics
+            ? new DocsApiMetrics(
+                metrics.getMeterRegistry(), metrics.tagsForModule(RestApiActivator.MODULE_NAME))
+            : DocsApiMetrics.DISABLED;
+    bind(docsApiMetrics).to(DocsApiMetrics.class);
+
+    DeadLeafCompactionQueue deadLeafQueue = new DeadLeafCompactionQueue();
+    if (null != metrics) {
+      deadLeafQueue.withMetrics(
+          metrics.getMeterRegistry(), metrics.tagsForModule(RestApiActivator.MODULE_NAME));
+    }
+    bind(deadLeafQueue).to(DeadLeafCompactionQueue.class);
+
+    DocumentCache documentCache = new DocumentCache(environment.getObjectMapper());
+    if (null != metrics) {
+      documentCache.withMetrics(
+          metrics.getMeterRegistry(), metrics.tagsForModule(RestApiActivator.MODULE_NAME));
+    }
+    bind(documentCache).to(DocumentCache.class);
+
     bindAsContract(JsonConverter.class);
+    bindAsContract(DocumentBlobCodec.class);
     bindAsContract(DocsSchemaChecker.class);
     bindAsContract(DocumentService.class);
     bindAsContract(CollectionService.class);
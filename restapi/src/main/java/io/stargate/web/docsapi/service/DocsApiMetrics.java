@@ -0,0 +1,252 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheWriter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Always-on metrics of the Documents API search resolvers.
+ *
+ * <p>Each resolver stage records the number of executed queries, the number of scanned rows, the
+ * number of returned documents and the latency into distribution summaries tagged by the collection
+ * and the resolver type. All meters of a collection are created once and cached, so that recording
+ * a stage only allocates a single {@link StageRecorder}.
+ *
+ * <p>The meters of at most {@code stargate.document_resolver_metrics.max_collections} collections
+ * are kept, the meters of an evicted collection are removed from the registry (and re-created from
+ * zero if it is used again). Percentile histograms multiply the
+ * number of exported series, so they are only published if {@code
+ * stargate.document_resolver_metrics.histograms} is set.
+ */
+public class DocsApiMetrics {
+
+  /** Disabled metrics, nothing is recorded. */
+  public static final DocsApiMetrics DISABLED = new DocsApiMetrics(null, Tags.empty());
+
+  public static final String QUERIES_METRIC = "docsapi.resolver.queries";
+  public static final String ROWS_SCANNED_METRIC = "docsapi.resolver.rows.scanned";
+  public static final String DOCUMENTS_RETURNED_METRIC = "docsapi.resolver.documents.returned";
+  public static final String LATENCY_METRIC = "docsapi.resolver.latency";
+
+  private static final int MAX_COLLECTIONS =
+      Integer.getInteger("stargate.document_resolver_metrics.max_collections", 100);
+  private static final boolean PERCENTILE_HISTOGRAMS =
+      Boolean.getBoolean("stargate.document_resolver_metrics.histograms");
+
+  public static final String NAMESPACE_TAG = "namespace";
+  public static final String COLLECTION_TAG = "collection";
+  public static final String RESOLVER_TAG = "resolver";
+
+  /** Resolver stages that are measured. */
+  public enum Stage {
+    PERSISTENCE("persistence"),
+    IN_MEMORY("in_memory"),
+    SUB_DOCUMENTS("sub_documents"),
+    PERSISTENCE_CANDIDATES_FILTER("persistence_candidates_filter"),
+    IN_MEMORY_CANDIDATES_FILTER("in_memory_candidates_filter");
+
+    private final String tagValue;
+
+    Stage(String tagValue) {
+      this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+      return tagValue;
+    }
+  }
+
+  private final MeterRegistry meterRegistry;
+
+  private final Tags tags;
+
+  private final boolean percentileHistograms;
+
+  private final Cache<String, CollectionMetrics> collections;
+
+  /**
+   * @param meterRegistry Micrometer registry to report to, if {@code null} metrics are disabled
+   * @param tags Common tags to add to all meters (f.e. the module tag)
+   */
+  public DocsApiMetrics(MeterRegistry meterRegistry, Tags tags) {
+    this(meterRegistry, tags, MAX_COLLECTIONS, PERCENTILE_HISTOGRAMS);
+  }
+
+  /**
+   * @param meterRegistry Micrometer registry to report to, if {@code null} metrics are disabled
+   * @param tags Common tags to add to all meters (f.e. the module tag)
+   * @param maxCollections Maximum number of collections to keep the meters of
+   * @param percentileHistograms If the meters publish percentile histograms
+   */
+  public DocsApiMetrics(
+      MeterRegistry meterRegistry, Tags tags, int maxCollections, boolean percentileHistograms) {
+    this.meterRegistry = meterRegistry;
+    this.tags = tags;
+    this.percentileHistograms = percentileHistograms;
+    this.collections =
+        Caffeine.newBuilder()
+            .maximumSize(maxCollections)
+            .executor(Runnable::run)
+            // the writer runs atomically with the eviction, so that a collection that is used
+            // again can not register its meters before the evicted ones are removed
+            .writer(
+                new CacheWriter<String, CollectionMetrics>() {
+                  @Override
+                  public void write(String key, CollectionMetrics value) {
+                    // nop
+                  }
+
+                  @Override
+                  public void delete(String key, CollectionMetrics value, RemovalCause cause) {
+                    if (null != value) {
+                      value.remove();
+                    }
+                  }
+                })
+            .build();
+  }
+
+  /** @return If metrics are recorded. */
+  public boolean isEnabled() {
+    return null != meterRegistry;
+  }
+
+  /**
+   * Returns the metrics for the given collection, or {@code null} if metrics are disabled.
+   *
+   * @param namespace Namespace
+   * @param collection Collection
+   * @return {@link CollectionMetrics} or {@code null}
+   */
+  public CollectionMetrics forCollection(String namespace, String collection) {
+    if (!isEnabled()) {
+      return null;
+    }
+
+    String key = namespace + '.' + collection;
+    return collections.get(key, k -> new CollectionMetrics(namespace, collection));
+  }
+
+  /** Meters of all the stages for a single collection. */
+  public class CollectionMetrics {
+
+    private final Map<Stage, StageMeters> stages = new EnumMap<>(Stage.class);
+
+    private CollectionMetrics(String namespace, String collection) {
+      Tags collectionTags = tags.and(NAMESPACE_TAG, namespace).and(COLLECTION_TAG, collection);
+      for (Stage stage : Stage.values()) {
+        stages.put(stage, new StageMeters(collectionTags.and(RESOLVER_TAG, stage.getTagValue())));
+      }
+    }
+
+    /**
+     * Starts recording of a single stage execution.
+     *
+     * @param stage Stage
+     * @return Recorder, call {@link StageRecorder#finish()} once the stage is done.
+     */
+    public StageRecorder start(Stage stage) {
+      return new StageRecorder(stages.get(stage));
+    }
+
+    private void remove() {
+      stages.values().forEach(StageMeters::remove);
+    }
+  }
+
+  private class StageMeters {
+
+    private final DistributionSummary queries;
+    private final DistributionSummary rowsScanned;
+    private final DistributionSummary documentsReturned;
+    private final Timer latency;
+
+    private StageMeters(Tags stageTags) {
+      queries =
+          DistributionSummary.builder(QUERIES_METRIC)
+              .tags(stageTags)
+              .publishPercentileHistogram(percentileHistograms)
+              .register(meterRegistry);
+      rowsScanned =
+          DistributionSummary.builder(ROWS_SCANNED_METRIC)
+              .tags(stageTags)
+              .publishPercentileHistogram(percentileHistograms)
+              .register(meterRegistry);
+      documentsReturned =
+          DistributionSummary.builder(DOCUMENTS_RETURNED_METRIC)
+              .tags(stageTags)
+              .publishPercentileHistogram(percentileHistograms)
+              .register(meterRegistry);
+      latency =
+          Timer.builder(LATENCY_METRIC)
+              .tags(stageTags)
+              .publishPercentileHistogram(percentileHistograms)
+              .register(meterRegistry);
+    }
+
+    private void remove() {
+      meterRegistry.remove(queries);
+      meterRegistry.remove(rowsScanned);
+      meterRegistry.remove(documentsReturned);
+      meterRegistry.remove(latency);
+    }
+  }
+
+  /** Collects the counts of a single stage execution, thread-safe. */
+  public static class StageRecorder {
+
+    private final StageMeters meters;
+    private final long startNanos;
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong documents = new AtomicLong();
+
+    private StageRecorder(StageMeters meters) {
+      this.meters = meters;
+      this.startNanos = System.nanoTime();
+    }
+
+    /** Records a single executed query (page) that returned {@code numRows} rows. */
+    public void query(int numRows) {
+      queries.incrementAndGet();
+      rows.addAndGet(numRows);
+    }
+
+    /** Records a single returned document (the argument is ignored). */
+    public void document(Object ignored) {
+      documents.incrementAndGet();
+    }
+
+    /** Reports the collected values to the meters. */
+    public void finish() {
+      meters.queries.record(queries.get());
+      meters.rowsScanned.record(rows.get());
+      meters.documentsReturned.record(documents.get());
+      meters.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+}
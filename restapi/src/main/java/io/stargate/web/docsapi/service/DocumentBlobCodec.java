@@ -0,0 +1,178 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.util.DocsApiUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.inject.Inject;
+
+/**
+ * Encodes complete documents into the compressed blobs stored in the {@link
+ * DocumentDB#DOCUMENT_BLOB_COLUMN} column, and decodes them back.
+ *
+ * <p>A blob is the deflated JSON of the document, prefixed with a format version byte. Before
+ * encoding, the document is normalized to the exact JSON that the {@link JsonConverter} produces
+ * from the document rows: field names are unescaped, the fields of objects are sorted the way the
+ * path columns are clustered, numbers are represented as the doubles they are stored as, and the
+ * empty container markers are resolved. This way reading a document from its blob or from its rows
+ * returns the same result.
+ */
+public class DocumentBlobCodec {
+
+  private static final byte VERSION = 1;
+
+  private final ObjectMapper mapper;
+
+  @Inject
+  public DocumentBlobCodec(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  /**
+   * @param document Complete document, as parsed from the payload of a write
+   * @return The blob to store
+   */
+  public ByteBuffer encode(JsonNode document) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bytes.write(VERSION);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+      mapper.writeValue(out, normalize(document));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to encode the document blob.", e);
+    } finally {
+      deflater.end();
+    }
+    return ByteBuffer.wrap(bytes.toByteArray());
+  }
+
+  /**
+   * @param blob Blob read from the database
+   * @return The document
+   */
+  public JsonNode decode(ByteBuffer blob) {
+    ByteBuffer buffer = blob.duplicate();
+    byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IllegalStateException("Unsupported document blob version: " + version);
+    }
+
+    try (InputStream in = new InflaterInputStream(new ByteBufferInputStream(buffer))) {
+      return mapper.readTree(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to decode the document blob.", e);
+    }
+  }
+
+  // see JsonConverter#writeLeafIfNewer for the representation of the leaves
+  private JsonNode normalize(JsonNode node) {
+    if (node.isObject()) {
+      // path columns are text, clustered in the order of their UTF-8 bytes
+      Map<String, JsonNode> fields = new TreeMap<>(DocumentBlobCodec::compareCodePoints);
+      Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
+      while (iterator.hasNext()) {
+        Map.Entry<String, JsonNode> field = iterator.next();
+        String name = DocsApiUtils.convertEscapedCharacters(field.getKey());
+        fields.put(name, normalize(field.getValue()));
+      }
+      ObjectNode result = mapper.createObjectNode();
+      result.setAll(fields);
+      return result;
+    } else if (node.isArray()) {
+      ArrayNode result = mapper.createArrayNode();
+      for (JsonNode element : node) {
+        result.add(normalize(element));
+      }
+      return result;
+    } else if (node.isNumber()) {
+      double dv = node.doubleValue();
+      long lv = (long) dv;
+      return (double) lv == dv ? LongNode.valueOf(lv) : DoubleNode.valueOf(dv);
+    } else if (node.isTextual()) {
+      String value = node.textValue();
+      if (value.equals(DocumentDB.EMPTY_OBJECT_MARKER)) {
+        return mapper.createObjectNode();
+      } else if (value.equals(DocumentDB.EMPTY_ARRAY_MARKER)) {
+        return mapper.createArrayNode();
+      }
+      return TextNode.valueOf(value);
+    } else if (node.isBoolean()) {
+      return BooleanNode.valueOf(node.booleanValue());
+    } else {
+      return NullNode.getInstance();
+    }
+  }
+
+  private static int compareCodePoints(String first, String second) {
+    int i = 0;
+    int j = 0;
+    while (i < first.length() && j < second.length()) {
+      int firstCodePoint = first.codePointAt(i);
+      int secondCodePoint = second.codePointAt(j);
+      if (firstCodePoint != secondCodePoint) {
+        return Integer.compare(firstCodePoint, secondCodePoint);
+      }
+      i += Character.charCount(firstCodePoint);
+      j += Character.charCount(secondCodePoint);
+    }
+    return Integer.compare(first.length() - i, second.length() - j);
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, read);
+      return read;
+    }
+  }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.base.Splitter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.reactivex.rxjava3.core.Maybe;
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.query.QueryConstants;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional node-local cache of the complete (reassembled) documents.
+ *
+ * <p>The cache is bounded by the serialized size of the cached documents. Every entry remembers the
+ * version of the document it was built from, which is the number of the document rows and the
+ * highest write time of the leaves. Writes done through this node invalidate the entries
+ * immediately. To bound the staleness caused by writes done through other nodes, an entry that was
+ * not verified in the last probe interval is checked by reading only the write times of the
+ * document rows, and evicted if the version changed.
+ *
+ * <p>The cache is disabled by default, set the {@code stargate.document_cache_max_bytes} system
+ * property to enable it. The {@code stargate.document_cache_collections} property limits the
+ * caching to a comma-separated list of {@code namespace.collection} names.
+ */
+public class DocumentCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(DocumentCache.class);
+
+  public static final String HITS_METRIC = "docsapi.document_cache.hits";
+  public static final String MISSES_METRIC = "docsapi.document_cache.misses";
+  public static final String PROBES_METRIC = "docsapi.document_cache.probes";
+  public static final String STALE_METRIC = "docsapi.document_cache.stale";
+  public static final String BYTES_METRIC = "docsapi.document_cache.bytes";
+
+  private static final long MAX_BYTES = Long.getLong("stargate.document_cache_max_bytes", 0);
+  private static final long PROBE_INTERVAL_MILLIS =
+      Long.getLong("stargate.document_cache_probe_interval_ms", 500);
+  private static final String COLLECTIONS =
+      System.getProperty("stargate.document_cache_collections", "");
+
+  private static final String WRITETIME_COLUMN_NAME =
+      "writetime(" + QueryConstants.LEAF_COLUMN_NAME + ")";
+
+  private final ObjectMapper objectMapper;
+  private final long probeIntervalNanos;
+  private final Set<String> collections;
+  private final Cache<DocumentKey, Entry> cache;
+
+  // incremented on every invalidation, see #generation()
+  private final AtomicLong generation = new AtomicLong();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong probes = new AtomicLong();
+  private final AtomicLong stale = new AtomicLong();
+
+  public DocumentCache(ObjectMapper objectMapper) {
+    this(
+        objectMapper,
+        MAX_BYTES,
+        PROBE_INTERVAL_MILLIS,
+        Splitter.on(',').trimResults().omitEmptyStrings().splitToList(COLLECTIONS));
+  }
+
+  /**
+   * @param objectMapper Mapper used to compute the serialized size of the documents
+   * @param maxBytes Max serialized size of all cached documents, cache is disabled if not positive
+   * @param probeIntervalMillis Time an entry is served without checking its version
+   * @param collections Cached {@code namespace.collection} names, empty to cache all collections
+   */
+  public DocumentCache(
+      ObjectMapper objectMapper,
+      long maxBytes,
+      long probeIntervalMillis,
+      Collection<String> collections) {
+    this.objectMapper = objectMapper;
+    this.probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalMillis);
+    this.collections = new HashSet<>(collections);
+    this.cache =
+        maxBytes > 0
+            ? Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((DocumentKey key, Entry entry) -> entry.weight)
+                // maintenance is cheap, keep the weighted size accurate
+                .executor(Runnable::run)
+                .build()
+            : null;
+  }
+
+  /**
+   * Registers the cache meters.
+   *
+   * @param meterRegistry Micrometer registry to report to
+   * @param tags Common tags to add to all meters (f.e. the module tag)
+   * @return this cache
+   */
+  public DocumentCache withMetrics(MeterRegistry meterRegistry, Tags tags) {
+    if (null == cache) {
+      return this;
+    }
+
+    FunctionCounter.builder(HITS_METRIC, hits, AtomicLong::get).tags(tags).register(meterRegistry);
+    FunctionCounter.builder(MISSES_METRIC, misses, AtomicLong::get)
+        .tags(tags)
+        .register(meterRegistry);
+    FunctionCounter.builder(PROBES_METRIC, probes, AtomicLong::get)
+        .tags(tags)
+        .register(meterRegistry);
+    FunctionCounter.builder(STALE_METRIC, stale, AtomicLong::get)
+        .tags(tags)
+        .register(meterRegistry);
+    Gauge.builder(BYTES_METRIC, this, DocumentCache::bytes).tags(tags).register(meterRegistry);
+    return this;
+  }
+
+  /** @return If documents of the given collection are cached. */
+  public boolean isEnabled(String namespace, String collection) {
+    return null != cache
+        && (collections.isEmpty() || collections.contains(namespace + '.' + collection));
+  }
+
+  /**
+   * Returns the current invalidation generation. Read it before reading a document from the
+   * database and pass it to {@link #put(String, String, String, long, JsonNode, List)}, so that a
+   * document read concurrently with a write is not cached.
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Gets the cached complete document, verifying its version first if the entry was not verified
+   * during the probe interval.
+   *
+   * @param db {@link DocumentDB} to execute the probe with
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param documentId Document ID
+   * @return Maybe with the complete document, empty if not cached, stale or the probe failed
+   */
+  public Maybe<JsonNode> get(
+      DocumentDB db, String namespace, String collection, String documentId) {
+    return Maybe.defer(
+        () -> {
+          if (!isEnabled(namespace, collection)) {
+            return Maybe.empty();
+          }
+
+          DocumentKey key = new DocumentKey(namespace, collection, documentId);
+          Entry entry = cache.getIfPresent(key);
+          if (null == entry) {
+            misses.incrementAndGet();
+            return Maybe.empty();
+          }
+
+          long now = System.nanoTime();
+          if (now - entry.verifiedAtNanos < probeIntervalNanos) {
+            hits.incrementAndGet();
+            return Maybe.just(entry.document);
+          }
+
+          probes.incrementAndGet();
+          return db.selectWriteTimes(namespace, collection, documentId)
+              .toList()
+              .map(Version::of)
+              .flatMapMaybe(
+                  version -> {
+                    if (version.equals(entry.version)) {
+                      entry.verifiedAtNanos = now;
+                      hits.incrementAndGet();
+                      return Maybe.just(entry.document);
+                    }
+
+                    stale.incrementAndGet();
+                    misses.incrementAndGet();
+                    cache.asMap().remove(key, entry);
+                    return Maybe.<JsonNode>empty();
+                  })
+              .onErrorResumeNext(
+                  t -> {
+                    logger.debug("Document cache probe failed, reading the document.", t);
+                    misses.incrementAndGet();
+                    return Maybe.empty();
+                  });
+        });
+  }
+
+  /**
+   * Caches a complete document, unless the cache was invalidated since the given generation.
+   *
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param documentId Document ID
+   * @param generation Generation read before the document was read from the database
+   * @param document Complete document, must not be modified afterwards
+   * @param rows All rows of the document the document was built from
+   */
+  public void put(
+      String namespace,
+      String collection,
+      String documentId,
+      long generation,
+      JsonNode document,
+      List<Row> rows) {
+    if (!isEnabled(namespace, collection) || generation != this.generation.get()) {
+      return;
+    }
+
+    int weight;
+    try {
+      weight = objectMapper.writeValueAsBytes(document).length;
+    } catch (JsonProcessingException e) {
+      logger.debug("Unable to compute the size of the document, not caching it.", e);
+      return;
+    }
+
+    Entry entry = new Entry(document, Version.of(rows), weight);
+    cache.put(new DocumentKey(namespace, collection, documentId), entry);
+
+    // re-check, a write could have happened in the meantime
+    if (generation != this.generation.get()) {
+      invalidate(namespace, collection, documentId);
+    }
+  }
+
+  /** Invalidates the cached document, called after every write of the document. */
+  public void invalidate(String namespace, String collection, String documentId) {
+    if (null == cache) {
+      return;
+    }
+
+    generation.incrementAndGet();
+    cache.invalidate(new DocumentKey(namespace, collection, documentId));
+  }
+
+  /** Invalidates all cached documents of a collection, called when the collection is deleted. */
+  public void invalidateCollection(String namespace, String collection) {
+    if (null == cache) {
+      return;
+    }
+
+    generation.incrementAndGet();
+    cache
+        .asMap()
+        .keySet()
+        .removeIf(key -> key.namespace.equals(namespace) && key.collection.equals(collection));
+  }
+
+  /** @return Serialized size of all cached documents. */
+  public long bytes() {
+    if (null == cache) {
+      return 0L;
+    }
+    return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  /** @return Number of the documents served from the cache. */
+  public long hits() {
+    return hits.get();
+  }
+
+  /** @return Number of the executed version probes. */
+  public long probes() {
+    return probes.get();
+  }
+
+  private static final class Entry {
+
+    private final JsonNode document;
+    private final Version version;
+    private final int weight;
+    private volatile long verifiedAtNanos;
+
+    private Entry(JsonNode document, Version version, int weight) {
+      this.document = document;
+      this.version = version;
+      this.weight = weight;
+      this.verifiedAtNanos = System.nanoTime();
+    }
+  }
+
+  /** Number of the document rows and the highest write time of their leaves. */
+  private static final class Version {
+
+    private final int rows;
+    private final long maxWriteTime;
+
+    private Version(int rows, long maxWriteTime) {
+      this.rows = rows;
+      this.maxWriteTime = maxWriteTime;
+    }
+
+    private static Version of(List<Row> rows) {
+      long maxWriteTime = Long.MIN_VALUE;
+      for (Row row : rows) {
+        maxWriteTime = Math.max(maxWriteTime, row.getLong(WRITETIME_COLUMN_NAME));
+      }
+      return new Version(rows.size(), maxWriteTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Version version = (Version) o;
+      return rows == version.rows && maxWriteTime == version.maxWriteTime;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(rows, maxWriteTime);
+    }
+  }
+
+  private static final class DocumentKey {
+
+    private final String namespace;
+    private final String collection;
+    private final String documentId;
+
+    private DocumentKey(String namespace, String collection, String documentId) {
+      this.namespace = namespace;
+      this.collection = collection;
+      this.documentId = documentId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DocumentKey that = (DocumentKey) o;
+      return namespace.equals(that.namespace)
+          && collection.equals(that.collection)
+          && documentId.equals(that.documentId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(namespace, collection, documentId);
+    }
+  }
+}
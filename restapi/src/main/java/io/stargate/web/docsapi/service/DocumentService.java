@@ -7,37 +7,32 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.google.common.base.Splitter;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.stargate.auth.UnauthorizedException;
+import io.stargate.db.datastore.ResultSet;
 import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.exception.ErrorCode;
 import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
-import io.stargate.web.docsapi.exception.RuntimeExceptionPassHandlingStrategy;
 import io.stargate.web.docsapi.service.util.DocsApiUtils;
 import io.stargate.web.resources.Db;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 import javax.inject.Inject;
 import javax.ws.rs.core.PathSegment;
 import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.jsfr.json.JsonSurfer;
-import org.jsfr.json.JsonSurferGson;
-import org.jsfr.json.compiler.JsonPathCompiler;
-import org.jsfr.json.path.JsonPath;
-import org.jsfr.json.path.PathOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +46,8 @@ public class DocumentService {
   private final ObjectMapper mapper;
   private final DocsSchemaChecker schemaChecker;
   private final JsonSchemaHandler jsonSchemaHandler;
+  private final DocumentCache documentCache;
+  private final DocumentBlobCodec documentBlobCodec;
 
   @Inject
   public DocumentService(
@@ -58,35 +55,27 @@ public class DocumentService {
       ObjectMapper mapper,
       DocsApiConfiguration docsApiConfiguration,
       DocsSchemaChecker schemaChecker,
-      JsonSchemaHandler jsonSchemaHandler) {
+      JsonSchemaHandler jsonSchemaHandler,
+      DocumentCache documentCache,
+      DocumentBlobCodec documentBlobCodec) {
     this.timeSource = timeSource;
     this.mapper = mapper;
     this.docsApiConfiguration = docsApiConfiguration;
     this.schemaChecker = schemaChecker;
     this.jsonSchemaHandler = jsonSchemaHandler;
-  }
-
-  private boolean isEmptyObject(Object v) {
-    return v instanceof JsonElement
-        && ((JsonElement) v).isJsonObject()
-        && ((JsonObject) v).size() == 0;
-  }
-
-  private boolean isEmptyArray(Object v) {
-    return v instanceof JsonElement
-        && ((JsonElement) v).isJsonArray()
-        && ((JsonArray) v).size() == 0;
+    this.documentCache = documentCache;
+    this.documentBlobCodec = documentBlobCodec;
   }
 
   /**
    * Transforms a JSON payload into a set of bind variables to send to Cassandra.
    *
-   * @param surfer
    * @param db
    * @param path The path within the document that is being written to. If empty, writes to the root
    *     of the document.
    * @param key The name of the document that will be written
    * @param payload a JSON object, or a URL-encoded form with the relevant data in it
+   * @param json The already parsed payload if {@code isJson} is true, otherwise ignored
    * @param patching If this payload meant to be part of a PATCH request (this causes a small amount
    *     of extra validation if true)
    * @param isJson if the request had a content type of application/json, else it will be
@@ -95,150 +84,169 @@ public class DocumentService {
    *     ImmutablePair.
    */
   private ImmutablePair<List<Object[]>, List<String>> shredPayload(
-      JsonSurfer surfer,
       DocumentDB db,
       List<String> path,
       String key,
       String payload,
+      JsonNode json,
       boolean patching,
       boolean isJson) {
-    String trimmed = payload.trim();
     if (isJson) {
-      return shredJson(surfer, db, path, key, trimmed, patching);
+      return shredJson(db, path, key, json, patching);
     } else {
-      return shredForm(db, path, key, trimmed, patching);
+      return shredForm(db, path, key, payload.trim(), patching);
     }
   }
 
-  private ImmutablePair<List<Object[]>, List<String>> shredJson(
-      JsonSurfer surfer,
-      DocumentDB db,
-      List<String> path,
-      String key,
-      String jsonPayload,
-      boolean patching) {
-    List<Object[]> bindVariableList = new ArrayList<>();
-    List<String> firstLevelKeys = new ArrayList<>();
+  /**
+   * Parses the JSON payload of a write, so that the same tree can be used for both the JSON schema
+   * validation and the shredding.
+   */
+  private JsonNode readJsonPayload(String payload) {
+    JsonNode json;
     try {
-      surfer
-          .configBuilder()
-          .bind(
-              "$..*",
-              (v, parsingContext) -> {
-                String fieldName = parsingContext.getCurrentFieldName();
-                if (fieldName != null && DocsApiUtils.containsIllegalSequences(fieldName)) {
-                  String msg =
-                      String.format(
-                          "Array paths contained in square brackets, periods, single quotes, and backslash are not allowed in field names, invalid field %s",
-                          fieldName);
-                  throw new ErrorCodeRuntimeException(
-                      ErrorCode.DOCS_API_GENERAL_INVALID_FIELD_NAME, msg);
-                }
-
-                if (v instanceof JsonPrimitive
-                    || v instanceof JsonNull
-                    || isEmptyObject(v)
-                    || isEmptyArray(v)) {
-                  JsonPath p =
-                      JsonPathCompiler.compile(
-                          DocsApiUtils.convertJsonToBracketedPath(parsingContext.getJsonPath()));
-                  int i = path.size();
-                  Map<String, Object> bindMap = db.newBindMap(path);
-
-                  bindMap.put("key", key);
-
-                  Iterator<PathOperator> it = p.iterator();
-                  String leaf = null;
-                  while (it.hasNext()) {
-                    if (i >= docsApiConfiguration.getMaxDepth()) {
-                      throw new ErrorCodeRuntimeException(
-                          ErrorCode.DOCS_API_GENERAL_DEPTH_EXCEEDED);
-                    }
-
-                    PathOperator op = it.next();
-                    String pv = op.toString();
-
-                    if (pv.equals("$")) continue;
-
-                    // pv always starts with a square brace because of the above conversion
-                    String innerPath =
-                        DocsApiUtils.convertEscapedCharacters(pv.substring(1, pv.length() - 1));
-                    boolean isArrayElement = op.getType() == PathOperator.Type.ARRAY;
-                    if (isArrayElement) {
-                      if (i == path.size() && patching) {
-                        throw new ErrorCodeRuntimeException(
-                            ErrorCode.DOCS_API_PATCH_ARRAY_NOT_ACCEPTED);
-                      }
-
-                      int idx = Integer.parseInt(innerPath);
-                      if (idx > docsApiConfiguration.getMaxArrayLength() - 1) {
-                        throw new ErrorCodeRuntimeException(
-                            ErrorCode.DOCS_API_GENERAL_ARRAY_LENGTH_EXCEEDED);
-                      }
-
-                      // left-pad the array element to 6 characters
-                      pv = "[" + DocsApiUtils.leftPadTo6(innerPath) + "]";
-                    } else if (i == path.size()) {
-                      firstLevelKeys.add(innerPath);
-                      pv = innerPath;
-                    } else {
-                      pv = innerPath;
-                    }
-
-                    bindMap.put("p" + i++, pv);
-                    leaf = pv;
-                  }
-
-                  bindMap.put("leaf", leaf);
-
-                  if (v instanceof JsonPrimitive) {
-                    JsonPrimitive value = (JsonPrimitive) v;
-
-                    if (value.isNumber()) {
-                      bindMap.put("dbl_value", value.getAsDouble());
-                      bindMap.put("bool_value", null);
-                      bindMap.put("text_value", null);
-                    } else if (value.isBoolean()) {
-                      bindMap.put("dbl_value", null);
-                      bindMap.put(
-                          "bool_value",
-                          convertToBackendBooleanValue(
-                              value.getAsBoolean(), db.treatBooleansAsNumeric()));
-                      bindMap.put("text_value", null);
-                    } else {
-                      bindMap.put("dbl_value", null);
-                      bindMap.put("bool_value", null);
-                      bindMap.put("text_value", value.getAsString());
-                    }
-                  } else if (isEmptyObject(v)) {
-                    bindMap.put("dbl_value", null);
-                    bindMap.put("bool_value", null);
-                    bindMap.put("text_value", DocumentDB.EMPTY_OBJECT_MARKER);
-                  } else if (isEmptyArray(v)) {
-                    bindMap.put("dbl_value", null);
-                    bindMap.put("bool_value", null);
-                    bindMap.put("text_value", DocumentDB.EMPTY_ARRAY_MARKER);
-                  } else {
-                    bindMap.put("dbl_value", null);
-                    bindMap.put("bool_value", null);
-                    bindMap.put("text_value", null);
-                  }
-
-                  logger.debug("{}", bindMap.values());
-                  bindVariableList.add(bindMap.values().toArray());
-                }
-              })
-          .withErrorStrategy(new RuntimeExceptionPassHandlingStrategy())
-          .buildAndSurf(jsonPayload);
-      return ImmutablePair.of(bindVariableList, firstLevelKeys);
-    } catch (RuntimeException e) {
-      if (e instanceof ErrorCodeRuntimeException) {
-        throw e;
-      }
-      logger.error("Error occurred during JSON read", e);
+      json = mapper.readTree(payload.trim());
+    } catch (JsonProcessingException e) {
       throw new ErrorCodeRuntimeException(
           ErrorCode.DOCS_API_INVALID_JSON_VALUE, "Malformed JSON object found during read.", e);
     }
+    if (json == null || json.isMissingNode()) {
+      throw new ErrorCodeRuntimeException(
+          ErrorCode.DOCS_API_INVALID_JSON_VALUE, "Malformed JSON object found during read.");
+    }
+    return json;
+  }
+
+  private ImmutablePair<List<Object[]>, List<String>> shredJson(
+      DocumentDB db, List<String> path, String key, JsonNode json, boolean patching) {
+    JsonShredder shredder = new JsonShredder(db, path, key, patching);
+    shredder.shredChildren(json);
+    return ImmutablePair.of(shredder.bindVariableList, shredder.firstLevelKeys);
+  }
+
+  /**
+   * Walks a parsed JSON tree and creates a row for each leaf, being a primitive, a null, an empty
+   * object or an empty array. The root node itself is never stored, only its descendants.
+   */
+  private class JsonShredder {
+
+    private final DocumentDB db;
+    private final List<String> path;
+    private final String key;
+    private final boolean patching;
+    private final List<String> segments = new ArrayList<>();
+    private final List<Object[]> bindVariableList = new ArrayList<>();
+    private final List<String> firstLevelKeys = new ArrayList<>();
+    private String firstLevelKey;
+
+    private JsonShredder(DocumentDB db, List<String> path, String key, boolean patching) {
+      this.db = db;
+      this.path = path;
+      this.key = key;
+      this.patching = patching;
+    }
+
+    private void shredChildren(JsonNode node) {
+      if (node.isObject()) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+          Map.Entry<String, JsonNode> field = fields.next();
+          String fieldName = field.getKey();
+          if (DocsApiUtils.containsIllegalSequences(fieldName)) {
+            String msg =
+                String.format(
+                    "Array paths contained in square brackets, periods, single quotes, and backslash are not allowed in field names, invalid field %s",
+                    fieldName);
+            throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_INVALID_FIELD_NAME, msg);
+          }
+
+          checkDepth();
+          String innerPath = DocsApiUtils.convertEscapedCharacters(fieldName);
+          if (segments.isEmpty()) {
+            firstLevelKey = innerPath;
+          }
+          shredChild(innerPath, field.getValue());
+        }
+      } else if (node.isArray()) {
+        for (int idx = 0; idx < node.size(); idx++) {
+          checkDepth();
+          if (segments.isEmpty()) {
+            if (patching) {
+              throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_PATCH_ARRAY_NOT_ACCEPTED);
+            }
+            firstLevelKey = null;
+          }
+          if (idx > docsApiConfiguration.getMaxArrayLength() - 1) {
+            throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_ARRAY_LENGTH_EXCEEDED);
+          }
+
+          // left-pad the array element to 6 characters
+          String pv = "[" + DocsApiUtils.leftPadTo6(String.valueOf(idx)) + "]";
+          shredChild(pv, node.get(idx));
+        }
+      }
+    }
+
+    private void checkDepth() {
+      if (path.size() + segments.size() >= docsApiConfiguration.getMaxDepth()) {
+        throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_GENERAL_DEPTH_EXCEEDED);
+      }
+    }
+
+    private void shredChild(String segment, JsonNode child) {
+      segments.add(segment);
+      if (child.isContainerNode() && child.size() > 0) {
+        shredChildren(child);
+      } else {
+        bindLeaf(segment, child);
+      }
+      segments.remove(segments.size() - 1);
+    }
+
+    private void bindLeaf(String leaf, JsonNode value) {
+      Map<String, Object> bindMap = db.newBindMap(path);
+      bindMap.put("key", key);
+      int i = path.size();
+      for (String segment : segments) {
+        bindMap.put("p" + i++, segment);
+      }
+      bindMap.put("leaf", leaf);
+
+      if (firstLevelKey != null) {
+        firstLevelKeys.add(firstLevelKey);
+      }
+
+      if (value.isNumber()) {
+        bindMap.put("dbl_value", value.doubleValue());
+        bindMap.put("bool_value", null);
+        bindMap.put("text_value", null);
+      } else if (value.isBoolean()) {
+        bindMap.put("dbl_value", null);
+        bindMap.put(
+            "bool_value",
+            convertToBackendBooleanValue(value.booleanValue(), db.treatBooleansAsNumeric()));
+        bindMap.put("text_value", null);
+      } else if (value.isTextual()) {
+        bindMap.put("dbl_value", null);
+        bindMap.put("bool_value", null);
+        bindMap.put("text_value", value.textValue());
+      } else if (value.isObject()) {
+        bindMap.put("dbl_value", null);
+        bindMap.put("bool_value", null);
+        bindMap.put("text_value", DocumentDB.EMPTY_OBJECT_MARKER);
+      } else if (value.isArray()) {
+        bindMap.put("dbl_value", null);
+        bindMap.put("bool_value", null);
+        bindMap.put("text_value", DocumentDB.EMPTY_ARRAY_MARKER);
+      } else {
+        bindMap.put("dbl_value", null);
+        bindMap.put("bool_value", null);
+        bindMap.put("text_value", null);
+      }
+
+      logger.debug("{}", bindMap.values());
+      bindVariableList.add(bindMap.values().toArray());
+    }
   }
 
   private Object convertToBackendBooleanValue(boolean value, boolean numericBooleans) {
@@ -368,7 +376,14 @@ public class DocumentService {
     return db;
   }
 
-  public List<String> writeManyDocs(
+  /**
+   * Writes all documents of the JSON array payload in a single batch.
+   *
+   * <p>The payload is read on the subscribing thread, while the shredding of the documents is done
+   * on the bounded computation scheduler. The returned single completes with the IDs of the written
+   * documents once the batch is executed.
+   */
+  public Single<List<String>> writeManyDocs(
       String authToken,
       String keyspace,
       String collection,
@@ -376,18 +391,64 @@ public class DocumentService {
       Optional<String> idPath,
       Db dbFactory,
       ExecutionContext context,
-      Map<String, String> headers)
-      throws IOException, UnauthorizedException {
-
-    DocumentDB db = dbFactory.getDocDataStoreForToken(authToken, headers);
-    JsonSurfer surfer = JsonSurferGson.INSTANCE;
+      Map<String, String> headers) {
+    return Single.fromCallable(
+            () -> {
+              DocumentDB db = dbFactory.getDocDataStoreForToken(authToken, headers);
+              db =
+                  maybeCreateTableAndIndexes(
+                      dbFactory, db, keyspace, collection, headers, authToken);
+              return ImmutablePair.of(db, readManyDocs(payload, idPath));
+            })
+        .observeOn(Schedulers.io())
+        .flatMap(
+            dbAndDocs -> {
+              DocumentDB db = dbAndDocs.left;
+              Map<String, JsonNode> docs = dbAndDocs.right;
+
+              boolean writeBlobs = db.hasDocumentBlob(keyspace, collection);
+              List<Object[]> bindVariableList = new ArrayList<>();
+              Map<String, ByteBuffer> documentBlobs = new HashMap<>();
+              for (Map.Entry<String, JsonNode> doc : docs.entrySet()) {
+                List<Object[]> docBindVariables =
+                    shredJson(db, Collections.emptyList(), doc.getKey(), doc.getValue(), false)
+                        .left;
+                bindVariableList.addAll(docBindVariables);
+                if (writeBlobs && !docBindVariables.isEmpty()) {
+                  documentBlobs.put(doc.getKey(), documentBlobCodec.encode(doc.getValue()));
+                }
+              }
+              List<String> ids = new ArrayList<>(docs.keySet());
+
+              long now = timeSource.currentTimeMicros();
+              return Completable.defer(
+                      () ->
+                          Completable.fromCompletionStage(
+                              db.deleteManyThenInsertBatch(
+                                  keyspace,
+                                  collection,
+                                  ids,
+                                  bindVariableList,
+                                  Collections.emptyList(),
+                                  documentBlobs,
+                                  now,
+                                  context.nested("ASYNC INSERT"))))
+                  .onErrorResumeNext(
+                      e ->
+                          Completable.error(
+                              new ErrorCodeRuntimeException(ErrorCode.DOCS_API_WRITE_BATCH_FAILED)))
+                  .doFinally(
+                      () -> ids.forEach(id -> documentCache.invalidate(keyspace, collection, id)))
+                  .toSingleDefault(ids);
+            });
+  }
 
-    db = maybeCreateTableAndIndexes(dbFactory, db, keyspace, collection, headers, authToken);
-    List<String> idsWritten = new ArrayList<>();
+  private Map<String, JsonNode> readManyDocs(InputStream payload, Optional<String> idPath)
+      throws IOException {
+    Map<String, JsonNode> docs = new LinkedHashMap<>();
     try (JsonParser jsonParser = mapper.getFactory().createParser(payload)) {
       Optional<String> docsPath = convertToJsonPtr(idPath);
 
-      Map<String, String> docs = new LinkedHashMap<>();
       if (jsonParser.nextToken() != JsonToken.START_ARRAY) {
         throw new IllegalArgumentException("Payload must be an array.");
       }
@@ -415,48 +476,20 @@ public class DocumentService {
         } else {
           docId = UUID.randomUUID().toString();
         }
-        docs.put(docId, json.toString());
+        docs.put(docId, json);
       }
-
-      List<Object[]> bindVariableList = new ArrayList<>();
-      DocumentDB finalDb = db;
-      List<String> ids =
-          docs.entrySet().stream()
-              .map(
-                  data -> {
-                    bindVariableList.addAll(
-                        shredJson(
-                                surfer,
-                                finalDb,
-                                Collections.emptyList(),
-                                data.getKey(),
-                                data.getValue(),
-                                false)
-                            .left);
-                    return data.getKey();
-                  })
-              .collect(Collectors.toList());
-
-      long now = timeSource.currentTimeMicros();
-      try {
-        db.deleteManyThenInsertBatch(
-            keyspace,
-            collection,
-            ids,
-            bindVariableList,
-            Collections.emptyList(),
-            now,
-            context.nested("ASYNC INSERT"));
-      } catch (Exception e) {
-        throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_WRITE_BATCH_FAILED);
-      }
-
-      idsWritten.addAll(ids);
     }
-    return idsWritten;
+    return docs;
   }
 
-  public void putAtPath(
+  /**
+   * Writes the payload at the given path of a document.
+   *
+   * <p>The table lookup (and creation) is done on the subscribing thread, the parsing, validation
+   * and shredding of the payload on the bounded computation scheduler. The returned completable
+   * completes once the write batch is executed.
+   */
+  public Completable putAtPath(
       String authToken,
       String keyspace,
       String collection,
@@ -467,16 +500,39 @@ public class DocumentService {
       Db dbFactory,
       boolean isJson,
       Map<String, String> headers,
+      ExecutionContext context) {
+    return Single.fromCallable(
+            () -> {
+              DocumentDB db = dbFactory.getDocDataStoreForToken(authToken, headers);
+              return maybeCreateTableAndIndexes(
+                  dbFactory, db, keyspace, collection, headers, authToken);
+            })
+        .observeOn(Schedulers.io())
+        .flatMapCompletable(
+            db ->
+                Completable.fromCompletionStage(
+                    shredAndWrite(
+                        db, keyspace, collection, id, payload, path, patching, isJson, context)))
+        .doFinally(() -> documentCache.invalidate(keyspace, collection, id));
+  }
+
+  private CompletableFuture<ResultSet> shredAndWrite(
+      DocumentDB db,
+      String keyspace,
+      String collection,
+      String id,
+      String payload,
+      List<PathSegment> path,
+      boolean patching,
+      boolean isJson,
       ExecutionContext context)
       throws UnauthorizedException, ProcessingException {
-    DocumentDB db = dbFactory.getDocDataStoreForToken(authToken, headers);
-    JsonSurfer surfer = JsonSurferGson.INSTANCE;
-
-    db = maybeCreateTableAndIndexes(dbFactory, db, keyspace, collection, headers, authToken);
+    // parse once, the same tree is used for the schema validation and the shredding
+    JsonNode json = isJson ? readJsonPayload(payload) : null;
 
     JsonNode schema = jsonSchemaHandler.getCachedJsonSchema(db, keyspace, collection);
     if (schema != null && path.isEmpty() && isJson) {
-      jsonSchemaHandler.validate(schema, payload);
+      jsonSchemaHandler.validate(schema, json);
     } else if (schema != null) {
       throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_JSON_SCHEMA_INVALID_PARTIAL_UPDATE);
     }
@@ -491,7 +547,7 @@ public class DocumentService {
     }
 
     ImmutablePair<List<Object[]>, List<String>> shreddingResults =
-        shredPayload(surfer, db, convertedPath, id, payload, patching, isJson);
+        shredPayload(db, convertedPath, id, payload, json, patching, isJson);
 
     List<Object[]> bindVariableList = shreddingResults.left;
     List<String> firstLevelKeys = shreddingResults.right;
@@ -508,7 +564,7 @@ public class DocumentService {
 
     long now = timeSource.currentTimeMicros();
     if (patching) {
-      db.deletePatchedPathsThenInsertBatch(
+      return db.deletePatchedPathsThenInsertBatch(
           keyspace,
           collection,
           id,
@@ -518,28 +574,39 @@ public class DocumentService {
           now,
           context.nested("ASYNC PATCH"));
     } else {
-      db.deleteThenInsertBatch(
+      // a complete JSON document is also stored as a blob, if the collection was upgraded for it
+      ByteBuffer documentBlob = null;
+      if (convertedPath.isEmpty() && isJson && db.hasDocumentBlob(keyspace, collection)) {
+        documentBlob = documentBlobCodec.encode(json);
+      }
+
+      return db.deleteThenInsertBatch(
           keyspace,
           collection,
           id,
           bindVariableList,
           convertedPath,
+          documentBlob,
           now,
           context.nested("ASYNC INSERT"));
     }
   }
 
-  public void deleteAtPath(
-      DocumentDB db, String keyspace, String collection, String id, List<PathSegment> path)
-      throws UnauthorizedException {
-    List<String> convertedPath = new ArrayList<>(path.size());
-    for (PathSegment pathSegment : path) {
-      String pathStr = pathSegment.getPath();
-      convertedPath.add(DocsApiUtils.convertArrayPath(pathStr));
-    }
-
-    long now = timeSource.currentTimeMicros();
-
-    db.delete(keyspace, collection, id, convertedPath, now);
+  public Completable deleteAtPath(
+      DocumentDB db, String keyspace, String collection, String id, List<PathSegment> path) {
+    return Completable.defer(
+            () -> {
+              List<String> convertedPath = new ArrayList<>(path.size());
+              for (PathSegment pathSegment : path) {
+                String pathStr = pathSegment.getPath();
+                convertedPath.add(DocsApiUtils.convertArrayPath(pathStr));
+              }
+
+              long now = timeSource.currentTimeMicros();
+
+              return Completable.fromCompletionStage(
+                  db.delete(keyspace, collection, id, convertedPath, now));
+            })
+        .doFinally(() -> documentCache.invalidate(keyspace, collection, id));
   }
 }
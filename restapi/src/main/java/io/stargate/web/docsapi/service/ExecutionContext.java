@@ -15,6 +15,7 @@
  */
 package io.stargate.web.docsapi.service;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.query.BoundDMLQuery;
 import io.stargate.db.query.BoundQuery;
@@ -29,15 +30,38 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public abstract class ExecutionContext {
 
-  public static final ExecutionContext NOOP_CONTEXT = new NoOpContext();
+  public static final ExecutionContext NOOP_CONTEXT = new NoOpContext(null);
+
+  protected final DocsApiMetrics.CollectionMetrics metrics;
+
+  protected ExecutionContext(DocsApiMetrics.CollectionMetrics metrics) {
+    this.metrics = metrics;
+  }
 
   public static ExecutionContext create(Boolean enabled) {
+    return create(enabled, null);
+  }
+
+  /**
+   * Creates the root context.
+   *
+   * @param enabled If the profiling is enabled
+   * @param metrics Always-on stage metrics of the target collection, or {@code null} if stages
+   *     should not be measured
+   * @return ExecutionContext
+   */
+  public static ExecutionContext create(
+      Boolean enabled, DocsApiMetrics.CollectionMetrics metrics) {
     if (Boolean.TRUE.equals(enabled)) {
-      return new ProfilingContext("root");
+      return new ProfilingContext("root", metrics);
+    } else if (null != metrics) {
+      return new NoOpContext(metrics);
     } else {
       return NOOP_CONTEXT;
     }
@@ -45,6 +69,39 @@ public abstract class ExecutionContext {
 
   public abstract ExecutionContext nested(String description);
 
+  /**
+   * Same as {@link #nested(String)}, but the description is resolved only if profiling is enabled.
+   */
+  public ExecutionContext nested(Supplier<String> description) {
+    return nested(description.get());
+  }
+
+  /**
+   * Measures a resolver stage. The source function receives the context to use for the stage
+   * queries, and the number of queries, scanned rows and emitted items, as well as the latency of
+   * the stage, are recorded once the returned flowable terminates or is cancelled.
+   *
+   * @param stage Stage type
+   * @param source Function that creates the stage flowable given the context to use
+   * @param <T> Type of items
+   * @return Flowable
+   */
+  public <T> Flowable<T> measure(
+      DocsApiMetrics.Stage stage, Function<ExecutionContext, Flowable<T>> source) {
+    if (null == metrics) {
+      return source.apply(this);
+    }
+
+    return Flowable.defer(
+        () -> {
+          DocsApiMetrics.StageRecorder recorder = metrics.start(stage);
+          return source
+              .apply(new MeasuringContext(this, recorder))
+              .doOnNext(recorder::document)
+              .doFinally(recorder::finish);
+        });
+  }
+
   /** Records information about a query when its {@link ResultSet} is retrieved. */
   public abstract void traceCqlResult(BoundQuery query, int numRows);
 
@@ -57,6 +114,11 @@ public abstract class ExecutionContext {
   public abstract ExecutionProfile toProfile();
 
   private static class NoOpContext extends ExecutionContext {
+
+    private NoOpContext(DocsApiMetrics.CollectionMetrics metrics) {
+      super(metrics);
+    }
+
     @Override
     public void traceCqlResult(BoundQuery query, int numRows) {
       // nop
@@ -72,6 +134,11 @@ public abstract class ExecutionContext {
       return this;
     }
 
+    @Override
+    public ExecutionContext nested(Supplier<String> description) {
+      return this;
+    }
+
     @Override
     public ExecutionProfile toProfile() {
       return null;
@@ -83,13 +150,14 @@ public abstract class ExecutionContext {
     private final Map<String, QueryInfo> executionInfoMap = new ConcurrentHashMap<>();
     private final String description;
 
-    private ProfilingContext(String description) {
+    private ProfilingContext(String description, DocsApiMetrics.CollectionMetrics metrics) {
+      super(metrics);
       this.description = description;
     }
 
     @Override
     public final ExecutionContext nested(String description) {
-      ProfilingContext step = new ProfilingContext(description);
+      ProfilingContext step = new ProfilingContext(description, metrics);
       steps.add(step);
       return step;
     }
@@ -131,4 +199,45 @@ public abstract class ExecutionContext {
           .build();
     }
   }
+
+  /**
+   * Delegates to the stage context, while recording the queries to the stage recorder. Nested
+   * contexts record to the same recorder.
+   */
+  private static class MeasuringContext extends ExecutionContext {
+    private final ExecutionContext delegate;
+    private final DocsApiMetrics.StageRecorder recorder;
+
+    private MeasuringContext(ExecutionContext delegate, DocsApiMetrics.StageRecorder recorder) {
+      super(delegate.metrics);
+      this.delegate = delegate;
+      this.recorder = recorder;
+    }
+
+    @Override
+    public ExecutionContext nested(String description) {
+      return new MeasuringContext(delegate.nested(description), recorder);
+    }
+
+    @Override
+    public ExecutionContext nested(Supplier<String> description) {
+      return new MeasuringContext(delegate.nested(description), recorder);
+    }
+
+    @Override
+    public void traceCqlResult(BoundQuery query, int numRows) {
+      recorder.query(numRows);
+      delegate.traceCqlResult(query, numRows);
+    }
+
+    @Override
+    public void traceDeferredDml(BoundQuery query) {
+      delegate.traceDeferredDml(query);
+    }
+
+    @Override
+    public ExecutionProfile toProfile() {
+      return delegate.toProfile();
+    }
+  }
 }
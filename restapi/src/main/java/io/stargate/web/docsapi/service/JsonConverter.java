@@ -15,7 +15,7 @@ import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.service.json.DeadLeafCollector;
 import io.stargate.web.docsapi.service.json.ImmutableDeadLeaf;
 import io.stargate.web.docsapi.service.json.ImmutableDeadLeafCollector;
-import io.stargate.web.docsapi.service.util.DocsApiUtils;
+import io.stargate.web.docsapi.service.query.QueryConstants;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -23,6 +23,8 @@ import java.util.Map;
 import javax.inject.Inject;
 
 public class JsonConverter {
+  private static final String WRITETIME_COLUMN_NAME = "writetime(leaf)";
+
   private ObjectMapper mapper;
   private DocsApiConfiguration docsApiConfiguration;
 
@@ -61,11 +63,17 @@ public class JsonConverter {
     if (rows.isEmpty()) {
       return doc;
     }
-    Column writeTimeCol = Column.reference("writetime(leaf)");
 
+    ColumnIndexes columns = null;
     for (Row row : rows) {
-      Long rowWriteTime = row.getLong(writeTimeCol.name());
-      String rowLeaf = row.getString("leaf");
+      // rows of the same result page share the column list, resolve indexes only when it changes
+      List<Column> rowColumns = row.columns();
+      if (null == columns || columns.columns != rowColumns) {
+        columns = new ColumnIndexes(rowColumns, maxDepth);
+      }
+
+      long rowWriteTime = row.getLong(columns.writeTime);
+      String rowLeaf = row.getString(columns.leaf);
       if (rowLeaf.equals(DocumentDB.ROOT_DOC_MARKER)) {
         continue;
       }
@@ -75,22 +83,26 @@ public class JsonConverter {
       JsonNode ref = doc;
 
       String parentPath = "$";
+      String previousP = null;
+      String nextP = getString(row, columns.path[0]);
 
       for (int i = 0; i < maxDepth; i++) {
-        String p = row.getString("p" + i);
-        String nextP = i < maxDepth - 1 ? row.getString("p" + (i + 1)) : "";
+        String rawP = nextP;
+        String p = rawP;
+        nextP = i < maxDepth - 1 ? getString(row, columns.path[i + 1]) : "";
         boolean endOfPath = nextP.equals("");
         boolean isArray = p.startsWith("[");
         boolean nextIsArray = nextP.startsWith("[");
 
+        int index = -1;
         if (isArray) {
           // This removes leading zeros if applicable
-          p = "[" + Integer.parseInt(p.substring(1, p.length() - 1)) + "]";
+          index = Integer.parseInt(p.substring(1, p.length() - 1));
+          p = "[" + index + "]";
         }
 
-        boolean shouldWrite =
-            !pathWriteTimes.containsKey(parentPath)
-                || pathWriteTimes.get(parentPath) <= rowWriteTime;
+        Long pathWriteTime = pathWriteTimes.get(parentPath);
+        boolean shouldWrite = pathWriteTime == null || pathWriteTime <= rowWriteTime;
 
         if (!shouldWrite) {
           markFullPathAsDead(parentPath, p, collector);
@@ -105,11 +117,11 @@ public class JsonConverter {
             pathWriteTimes.put(parentPath, rowWriteTime);
           } else if (i != 0 && shouldBeArray) {
             markObjectAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToArray(row, parentRef, i);
+            ref = changeCurrentNodeToArray(previousP, parentRef);
             pathWriteTimes.put(parentPath, rowWriteTime);
           } else if (i != 0 && !isArray && !ref.isObject()) {
             markArrayAtPathAsDead(ref, parentPath, collector);
-            ref = changeCurrentNodeToObject(row, parentRef, i, writeAllPathsAsObjects);
+            ref = changeCurrentNodeToObject(previousP, parentRef, writeAllPathsAsObjects);
             pathWriteTimes.put(parentPath, rowWriteTime);
           }
           leaf = p;
@@ -119,8 +131,6 @@ public class JsonConverter {
         JsonNode childRef;
 
         if (isArray && !writeAllPathsAsObjects) {
-          int index = Integer.parseInt(p.substring(1, p.length() - 1));
-
           ArrayNode arrayRef = (ArrayNode) ref;
 
           int currentSize = arrayRef.size();
@@ -149,7 +159,7 @@ public class JsonConverter {
 
             if (!ref.isObject()) {
               markArrayAtPathAsDead(ref, parentPath, collector);
-              ref = changeCurrentNodeToObject(row, parentRef, i, writeAllPathsAsObjects);
+              ref = changeCurrentNodeToObject(previousP, parentRef, writeAllPathsAsObjects);
               pathWriteTimes.put(parentPath, rowWriteTime);
             }
 
@@ -159,20 +169,21 @@ public class JsonConverter {
         parentRef = ref;
         ref = childRef;
         parentPath += "." + p;
+        previousP = rawP;
       }
 
       if (leaf == null) {
         continue;
       }
 
-      writeLeafIfNewer(ref, row, leaf, parentPath, pathWriteTimes, rowWriteTime, numericBooleans);
+      writeLeafIfNewer(
+          ref, row, columns, leaf, parentPath, pathWriteTimes, rowWriteTime, numericBooleans);
     }
 
     return doc;
   }
 
-  private JsonNode changeCurrentNodeToArray(Row row, JsonNode parentRef, int pathIndex) {
-    String pbefore = row.getString("p" + (pathIndex - 1));
+  private JsonNode changeCurrentNodeToArray(String pbefore, JsonNode parentRef) {
     JsonNode ref = mapper.createArrayNode();
     if (pbefore.startsWith("[")) {
       int index = Integer.parseInt(pbefore.substring(1, pbefore.length() - 1));
@@ -185,8 +196,7 @@ public class JsonConverter {
   }
 
   private JsonNode changeCurrentNodeToObject(
-      Row row, JsonNode parentRef, int pathIndex, boolean writeAllPathsAsObjects) {
-    String pbefore = row.getString("p" + (pathIndex - 1));
+      String pbefore, JsonNode parentRef, boolean writeAllPathsAsObjects) {
     JsonNode ref = mapper.createObjectNode();
     if (pbefore.startsWith("[") && !writeAllPathsAsObjects) {
       int index = Integer.parseInt(pbefore.substring(1, pbefore.length() - 1));
@@ -226,15 +236,16 @@ public class JsonConverter {
   private void writeLeafIfNewer(
       JsonNode ref,
       Row row,
+      ColumnIndexes columns,
       String leaf,
       String parentPath,
       Map<String, Long> pathWriteTimes,
-      Long rowWriteTime,
+      long rowWriteTime,
       boolean numericBooleans) {
     JsonNode n = NullNode.getInstance();
 
-    if (!row.isNull("text_value")) {
-      String value = row.getString("text_value");
+    if (!isNull(row, columns.textValue)) {
+      String value = row.getString(columns.textValue);
       if (value.equals(DocumentDB.EMPTY_OBJECT_MARKER)) {
         n = mapper.createObjectNode();
       } else if (value.equals(DocumentDB.EMPTY_ARRAY_MARKER)) {
@@ -242,14 +253,15 @@ public class JsonConverter {
       } else {
         n = new TextNode(value);
       }
-    } else if (!row.isNull("bool_value")) {
-      Boolean booleanFromRow = DocsApiUtils.getBooleanFromRow(row, numericBooleans);
+    } else if (!isNull(row, columns.boolValue)) {
+      boolean booleanFromRow =
+          numericBooleans ? row.getByte(columns.boolValue) != 0 : row.getBoolean(columns.boolValue);
       n = BooleanNode.valueOf(booleanFromRow);
-    } else if (!row.isNull("dbl_value")) {
+    } else if (!isNull(row, columns.dblValue)) {
       // If not a fraction represent as a long to the user
       // This lets us handle queries of doubles and longs without
       // splitting them into separate columns
-      double dv = row.getDouble("dbl_value");
+      double dv = row.getDouble(columns.dblValue);
       long lv = (long) dv;
       if ((double) lv == dv) n = new LongNode(lv);
       else n = new DoubleNode(dv);
@@ -257,10 +269,9 @@ public class JsonConverter {
     if (ref == null)
       throw new RuntimeException("Missing path @" + leaf + " v=" + n + " row=" + row.toString());
 
-    boolean shouldWrite =
-        !pathWriteTimes.containsKey(parentPath + "." + leaf)
-            || pathWriteTimes.get(parentPath + "." + leaf) <= rowWriteTime;
-    if (shouldWrite) {
+    String leafPath = parentPath + "." + leaf;
+    Long leafWriteTime = pathWriteTimes.get(leafPath);
+    if (leafWriteTime == null || leafWriteTime <= rowWriteTime) {
       if (ref.isObject()) {
         ((ObjectNode) ref).set(leaf, n);
       } else if (ref.isArray()) {
@@ -281,7 +292,64 @@ public class JsonConverter {
       } else {
         throw new IllegalStateException("Invalid document state: " + ref);
       }
-      pathWriteTimes.put(parentPath + "." + leaf, rowWriteTime);
+      pathWriteTimes.put(leafPath, rowWriteTime);
+    }
+  }
+
+  private static boolean isNull(Row row, int index) {
+    return index < 0 || row.isNull(index);
+  }
+
+  private static String getString(Row row, int index) {
+    return index < 0 ? null : row.getString(index);
+  }
+
+  /**
+   * Indexes of the document table columns in a row, resolved once for a column list, so that the
+   * values are not looked up by name for every path column of every row.
+   *
+   * <p>The indexes are only valid for rows returning the same {@link Row#columns()} list. A path or
+   * value column that is not in the list has the index {@code -1} and is considered null.
+   */
+  private static final class ColumnIndexes {
+
+    private final List<Column> columns;
+    private final int[] path;
+    private final int leaf;
+    private final int textValue;
+    private final int boolValue;
+    private final int dblValue;
+    private final int writeTime;
+
+    private ColumnIndexes(List<Column> columns, int maxDepth) {
+      this.columns = columns;
+      this.path = new int[maxDepth];
+      for (int i = 0; i < maxDepth; i++) {
+        path[i] = optionalIndexOf(columns, QueryConstants.P_COLUMN_NAME.apply(i));
+      }
+      this.leaf = indexOf(columns, QueryConstants.LEAF_COLUMN_NAME);
+      this.textValue = optionalIndexOf(columns, QueryConstants.STRING_VALUE_COLUMN_NAME);
+      this.boolValue = optionalIndexOf(columns, QueryConstants.BOOLEAN_VALUE_COLUMN_NAME);
+      this.dblValue = optionalIndexOf(columns, QueryConstants.DOUBLE_VALUE_COLUMN_NAME);
+      this.writeTime = indexOf(columns, WRITETIME_COLUMN_NAME);
+    }
+
+    private static int optionalIndexOf(List<Column> columns, String name) {
+      for (int i = 0; i < columns.size(); i++) {
+        if (columns.get(i).name().equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private static int indexOf(List<Column> columns, String name) {
+      int index = optionalIndexOf(columns, name);
+      if (index >= 0) {
+        return index;
+      }
+      throw new IllegalArgumentException(
+          String.format("Column '%s' is not defined in the Row's metadata.", name));
     }
   }
 }
@@ -4,8 +4,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
 import io.stargate.db.schema.Schema;
 import io.stargate.web.docsapi.dao.DocumentDB;
@@ -24,6 +27,10 @@ public class JsonSchemaHandler {
   private final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
   private final ConcurrentHashMap<ImmutableKeyspaceAndTable, JsonNode> schemasPerCollection =
       new ConcurrentHashMap<>();
+  // compiled schemas, keyed by the identity of the schema nodes, so an entry goes away together
+  // with its node when the collection schema is replaced
+  private final Cache<JsonNode, JsonSchema> compiledSchemas =
+      Caffeine.newBuilder().weakKeys().build();
   private Schema lastCheckedSchema;
 
   @Inject
@@ -37,6 +44,7 @@ public class JsonSchemaHandler {
   private void clearCacheOnSchemaChange(DocumentDB db) {
     if (!db.schema().equals(lastCheckedSchema)) {
       schemasPerCollection.clear();
+      compiledSchemas.invalidateAll();
       this.lastCheckedSchema = db.schema();
     }
   }
@@ -57,7 +65,10 @@ public class JsonSchemaHandler {
       writeSchemaToCollection(db, namespace, collection, wrappedSchema.toString());
       ImmutableKeyspaceAndTable info =
           ImmutableKeyspaceAndTable.builder().keyspace(namespace).table(collection).build();
-      schemasPerCollection.remove(info);
+      JsonNode previous = schemasPerCollection.remove(info);
+      if (previous != null) {
+        compiledSchemas.invalidate(previous);
+      }
       return resp;
     } else {
       throw new ErrorCodeRuntimeException(ErrorCode.DOCS_API_JSON_SCHEMA_INVALID);
@@ -121,7 +132,7 @@ public class JsonSchemaHandler {
   }
 
   public void validate(JsonNode schema, JsonNode jsonValue) throws ProcessingException {
-    ProcessingReport result = schemaFactory.getValidator().validate(schema, jsonValue);
+    ProcessingReport result = getCompiledSchema(schema).validate(jsonValue);
     if (!result.isSuccess()) {
       List<String> messages = new ArrayList<>();
       result.forEach(msg -> messages.add(msg.getMessage()));
@@ -129,4 +140,14 @@ public class JsonSchemaHandler {
           ErrorCode.DOCS_API_INVALID_JSON_VALUE, "Invalid JSON: " + messages.toString());
     }
   }
+
+  private JsonSchema getCompiledSchema(JsonNode schema) throws ProcessingException {
+    JsonSchema compiled = compiledSchemas.getIfPresent(schema);
+    if (compiled == null) {
+      // compiling twice under contention is harmless
+      compiled = schemaFactory.getJsonSchema(schema);
+      compiledSchemas.put(schema, compiled);
+    }
+    return compiled;
+  }
 }
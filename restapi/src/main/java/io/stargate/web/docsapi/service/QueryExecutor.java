@@ -29,6 +29,7 @@ import io.stargate.db.ComparableKey;
 import io.stargate.db.ImmutableParameters;
 import io.stargate.db.PagingPosition;
 import io.stargate.db.PagingPosition.ResumeMode;
+import io.stargate.db.RequestPriority;
 import io.stargate.db.RowDecorator;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.ResultSet;
@@ -49,6 +50,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.apache.cassandra.stargate.utils.FastByteOperations;
 import org.immutables.value.Value;
 
 /** Executes pre-built document queries, groups document rows and manages document pagination. */
@@ -121,13 +123,13 @@ public class QueryExecutor {
     QueryData queryData = ImmutableQueryData.builder().queries(queries).build();
 
     List<Column> idColumns = queryData.docIdColumns(keyDepth);
-    Comparator<DocProperty> comparator = rowComparator(queryData);
+    Comparator<DocProperty> comparator = Comparator.comparing(DocProperty::sortKey);
 
     List<ByteBuffer> pagingStates = CombinedPagingState.deserialize(queries.size(), pagingState);
 
     PagingStateTracker tracker = new PagingStateTracker(pagingStates);
 
-    return execute(queries, comparator, pageSize, pagingStates, context)
+    return execute(queryData, comparator, pageSize, pagingStates, context)
         .map(p -> toSeed(p, comparator, idColumns))
         .concatWith(Single.just(TERM))
         .scan(tracker::combine)
@@ -135,38 +137,13 @@ public class QueryExecutor {
         .map(Accumulator::toDoc);
   }
 
-  /**
-   * Builds a comparator that follows the natural order of rows in document tables, but limited to
-   * the selected clustering columns (i.e., "path" columns).
-   */
-  private Comparator<DocProperty> rowComparator(QueryData queries) {
-    List<Comparator<DocProperty>> comparators = new ArrayList<>();
-
-    comparators.add(Comparator.comparing(DocProperty::comparableKey));
-
-    for (Column column : queries.docPathColumns()) {
-      comparators.add(Comparator.comparing(p -> p.keyValue(column)));
-    }
-
-    return (p1, p2) -> {
-      // Avoid recursion because the number of "path" columns can be quite large.
-      int result = 0;
-      for (Comparator<DocProperty> comparator : comparators) {
-        result = comparator.compare(p1, p2);
-        if (result != 0) {
-          return result;
-        }
-      }
-      return result;
-    };
-  }
-
   private Flowable<DocProperty> execute(
-      List<BoundQuery> queries,
+      QueryData queryData,
       Comparator<DocProperty> comparator,
       int pageSize,
       List<ByteBuffer> pagingState,
       ExecutionContext context) {
+    List<BoundQuery> queries = queryData.queries();
     List<Flowable<DocProperty>> flows = new ArrayList<>(queries.size());
     int idx = 0;
     for (BoundQuery query : queries) {
@@ -179,7 +156,7 @@ public class QueryExecutor {
       flows.add(
           execute(query, pageSize, queryPagingState)
               .flatMap(
-                  rs -> Flowable.fromIterable(properties(finalIdx, query, rs, context)),
+                  rs -> Flowable.fromIterable(properties(finalIdx, query, queryData, rs, context)),
                   1)); // max concurrency 1
     }
 
@@ -192,13 +169,14 @@ public class QueryExecutor {
       return Flowable.empty();
     }
 
-    return fetchPage(query, pageSize, pagingState)
+    return fetchPage(query, pageSize, pagingState, RequestPriority.INTERACTIVE)
         .compose( // Expand BREADTH_FIRST to reduce the number of "proactive" page requests
             FlowableTransformers.expand(
                 rs -> fetchNext(rs, pageSize, query), ExpandStrategy.BREADTH_FIRST, 1));
   }
 
-  private Flowable<ResultSet> fetchPage(BoundQuery query, int pageSize, ByteBuffer pagingState) {
+  private Flowable<ResultSet> fetchPage(
+      BoundQuery query, int pageSize, ByteBuffer pagingState, RequestPriority priority) {
     Supplier<CompletableFuture<ResultSet>> supplier =
         () ->
             dataStore.execute(
@@ -206,6 +184,7 @@ public class QueryExecutor {
                 p -> {
                   ImmutableParameters.Builder builder = p.toBuilder();
                   builder.pageSize(pageSize);
+                  builder.priority(priority);
                   if (pagingState != null) {
                     builder.pagingState(pagingState);
                   }
@@ -224,7 +203,8 @@ public class QueryExecutor {
     if (nextPagingState == null) {
       return Flowable.empty();
     } else {
-      return fetchPage(query, pageSize, nextPagingState);
+      // follow-up pages of a scan must not delay the interactive requests
+      return fetchPage(query, pageSize, nextPagingState, RequestPriority.BULK);
     }
   }
 
@@ -244,28 +224,71 @@ public class QueryExecutor {
    * Converts a single page of results into {@link DocProperty} objects to maintain an association
    * of rows to their respective {@link ResultSet} objects and queries (the latter is needed for
    * tracking the combined paging state).
+   *
+   * <p>The {@link SortKey} of each row is built here, once, so that the ordered merge of the query
+   * results does not have to look up and decode column values on every comparison. Rows of the
+   * same partition are adjacent in a page, so the decorated partition key is only computed when the
+   * partition changes.
    */
   private Iterable<DocProperty> properties(
-      int queryIndex, BoundQuery query, ResultSet rs, ExecutionContext context) {
+      int queryIndex,
+      BoundQuery query,
+      QueryData queryData,
+      ResultSet rs,
+      ExecutionContext context) {
     List<Row> rows = rs.currentPageRows();
     context.traceCqlResult(query, rows.size());
 
-    Page page = ImmutablePage.builder().resultSet(rs).build();
     List<DocProperty> properties = new ArrayList<>(rows.size());
+    Page page = ImmutablePage.builder().resultSet(rs).build();
+    String[] partitionKeyNames = columnNames(queryData.table().partitionKeyColumns());
+    String[] pathNames = columnNames(queryData.docPathColumns());
+
+    Row previous = null;
+    ComparableKey<?> partitionKey = null;
     int count = rows.size();
     for (Row row : rows) {
       boolean last = --count <= 0;
+      if (previous == null || !sameValues(previous, row, partitionKeyNames)) {
+        partitionKey = page.decorator().decoratePartitionKey(row);
+      }
+      previous = row;
+
       properties.add(
           ImmutableDocProperty.builder()
               .queryIndex(queryIndex)
               .page(page)
               .row(row)
               .lastInPage(last)
+              .sortKey(new SortKey(partitionKey, columnValues(row, pathNames)))
               .build());
     }
     return properties;
   }
 
+  private static String[] columnNames(List<Column> columns) {
+    return columns.stream().map(Column::name).toArray(String[]::new);
+  }
+
+  // Note: only a few columns are read per row, so they are accessed by name instead of resolving
+  // their indexes for each column layout (see Row).
+  private static ByteBuffer[] columnValues(Row row, String[] names) {
+    ByteBuffer[] values = new ByteBuffer[names.length];
+    for (int i = 0; i < names.length; i++) {
+      values[i] = row.getBytesUnsafe(names[i]);
+    }
+    return values;
+  }
+
+  private static boolean sameValues(Row row1, Row row2, String[] names) {
+    for (String name : names) {
+      if (!Objects.equals(row1.getBytesUnsafe(name), row2.getBytesUnsafe(name))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public DataStore getDataStore() {
     return dataStore;
   }
@@ -449,14 +472,9 @@ public class QueryExecutor {
      */
     abstract int queryIndex();
 
-    @Value.Lazy
-    ComparableKey<?> comparableKey() {
-      return page().decorator().decoratePartitionKey(row());
-    }
-
-    String keyValue(Column column) {
-      return row().getString(column.name());
-    }
+    /** The key defining the order of this row in the merged results of all queries. */
+    @Value.Auxiliary
+    abstract SortKey sortKey();
 
     @Override
     public ByteBuffer makePagingState(ResumeMode resumeMode) {
@@ -479,6 +497,52 @@ public class QueryExecutor {
     }
   }
 
+  /**
+   * Follows the natural order of rows in document tables, but limited to the selected clustering
+   * columns (i.e., "path" columns): the ring order of the partition key, then the raw path values.
+   *
+   * <p>Path columns are text columns in ascending order, and Cassandra orders UTF-8 text by its
+   * unsigned bytes, so the serialized values are compared as they are. A {@code null} value (f.e.
+   * in a row with only static columns) sorts before any other value.
+   */
+  static final class SortKey implements Comparable<SortKey> {
+
+    private final ComparableKey<?> partitionKey;
+    private final ByteBuffer[] pathValues;
+
+    SortKey(ComparableKey<?> partitionKey, ByteBuffer[] pathValues) {
+      this.partitionKey = partitionKey;
+      this.pathValues = pathValues;
+    }
+
+    @Override
+    public int compareTo(SortKey other) {
+      // Note: rows of the same partition from the same page share the same partition key object
+      int result = partitionKey.compareTo(other.partitionKey);
+      if (result != 0) {
+        return result;
+      }
+
+      for (int i = 0; i < pathValues.length; i++) {
+        result = compare(pathValues[i], other.pathValues[i]);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return 0;
+    }
+
+    private static int compare(ByteBuffer value1, ByteBuffer value2) {
+      if (value1 == null) {
+        return value2 == null ? 0 : -1;
+      }
+      if (value2 == null) {
+        return 1;
+      }
+      return FastByteOperations.compareUnsigned(value1, value2);
+    }
+  }
+
   /** A thin wrapper around {@link ResultSet} that caches {@link #decorator()} objects. */
   @Value.Immutable(lazyhash = true)
   public abstract static class Page {
@@ -25,6 +25,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
@@ -46,7 +47,6 @@ import io.stargate.web.docsapi.service.query.ExpressionParser;
 import io.stargate.web.docsapi.service.query.FilterExpression;
 import io.stargate.web.docsapi.service.query.FilterPath;
 import io.stargate.web.docsapi.service.util.DocsApiUtils;
-import io.stargate.web.rx.RxUtils;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -68,6 +68,9 @@ public class ReactiveDocumentService {
   @Inject JsonConverter jsonConverter;
   @Inject ObjectMapper objectMapper;
   @Inject TimeSource timeSource;
+  @Inject DeadLeafCompactionQueue deadLeafQueue;
+  @Inject DocumentCache documentCache;
+  @Inject DocumentBlobCodec documentBlobCodec;
 
   public ReactiveDocumentService() {}
 
@@ -76,12 +79,18 @@ public class ReactiveDocumentService {
       DocumentSearchService searchService,
       JsonConverter jsonConverter,
       ObjectMapper objectMapper,
-      TimeSource timeSource) {
+      TimeSource timeSource,
+      DeadLeafCompactionQueue deadLeafQueue,
+      DocumentCache documentCache,
+      DocumentBlobCodec documentBlobCodec) {
     this.expressionParser = expressionParser;
     this.searchService = searchService;
     this.jsonConverter = jsonConverter;
     this.objectMapper = objectMapper;
     this.timeSource = timeSource;
+    this.deadLeafQueue = deadLeafQueue;
+    this.documentCache = documentCache;
+    this.documentBlobCodec = documentBlobCodec;
   }
 
   /**
@@ -148,6 +157,65 @@ public class ReactiveDocumentService {
         });
   }
 
+  /**
+   * Prepares the export of all documents of a collection that are in the given range of tokens,
+   * see {@link DocumentSearchService#exportDocuments}.
+   *
+   * <p>The inputs are resolved and the read is authorized when the returned single is subscribed,
+   * so that errors can be reported before anything is exported. The documents are read when the
+   * emitted flowable is subscribed, following its back-pressure.
+   *
+   * @param db {@link DocumentDB} to be used
+   * @param namespace Namespace
+   * @param collection Collection name
+   * @param where Conditions to be matched at the top-level documents, may be {@code null}
+   * @param fields Fields to include in the exported documents, may be {@code null}
+   * @param tokenStart Start of the token range (exclusive)
+   * @param tokenEnd End of the token range (inclusive)
+   * @param context Execution content
+   * @return Single emitting the flowable of the exported documents, each with its ID
+   */
+  public Single<Flowable<DocumentResponseWrapper<JsonNode>>> exportDocuments(
+      DocumentDB db,
+      String namespace,
+      String collection,
+      String where,
+      String fields,
+      long tokenStart,
+      long tokenEnd,
+      ExecutionContext context) {
+
+    return Single.fromCallable(
+        () -> {
+          // resolve the inputs first
+          Expression<FilterExpression> expression =
+              getExpression(db, Collections.emptyList(), where);
+          Collection<List<String>> fieldPaths = getFields(fields);
+
+          // authentication for the read before exporting
+          AuthorizationService authorizationService = db.getAuthorizationService();
+          AuthenticationSubject authenticationSubject = db.getAuthenticationSubject();
+          authorizationService.authorizeDataRead(
+              authenticationSubject, namespace, collection, SourceAPI.REST);
+
+          boolean numericBooleans = db.treatBooleansAsNumeric();
+          return searchService
+              .exportDocuments(
+                  db.getQueryExecutor(),
+                  namespace,
+                  collection,
+                  expression,
+                  tokenStart,
+                  tokenEnd,
+                  context)
+              .map(
+                  document -> {
+                    JsonNode node = documentToNode(document, fieldPaths, false, numericBooleans);
+                    return new DocumentResponseWrapper<>(document.id(), null, node, null);
+                  });
+        });
+  }
+
   /**
    * Gets all sub-documents of a single document at the given path, or a complete document if
    * #subDocumentPath is empty. Response structure is key to value pairs, where key matches the key
@@ -223,73 +291,118 @@ public class ReactiveDocumentService {
                   .peek(l -> l.addAll(0, subDocumentPathProcessed))
                   .collect(Collectors.toList());
 
-          // call the search service
-          return searchService
-              .getDocument(
-                  db.getQueryExecutor(),
-                  namespace,
-                  collection,
-                  documentId,
-                  subDocumentPathProcessed,
-                  context)
-
-              // one document only
-              .singleElement()
+          // complete documents can be served from the cache when no fields are requested
+          boolean cacheable =
+              fieldPaths.isEmpty() && documentCache.isEnabled(namespace, collection);
+          long cacheGeneration = documentCache.generation();
+          Maybe<Pair<JsonNode, Disposable>> cached =
+              cacheable
+                  ? documentCache
+                      .get(db, namespace, collection, documentId)
+                      .map(node -> Pair.with(node, Disposable.disposed()))
+                  : Maybe.empty();
+
+          // call the search service on a cache miss, reading only the requested fields
+          Maybe<Pair<JsonNode, Disposable>> searched =
+              searchService
+                  .getDocument(
+                      db.getQueryExecutor(),
+                      namespace,
+                      collection,
+                      documentId,
+                      subDocumentPathProcessed,
+                      fieldPathsFinal,
+                      context)
+
+                  // one document only
+                  .singleElement()
+
+                  // map to the json
+                  .map(
+                      document -> {
+                        DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
+                        JsonNode docsResult =
+                            documentToNode(
+                                document,
+                                fieldPathsFinal,
+                                collector,
+                                false,
+                                db.treatBooleansAsNumeric());
+
+                        Disposable deleteBatch;
+                        // dead leaf deletion init on non-empty collection
+                        if (!collector.isEmpty()) {
+                          int size = collector.getLeaves().size();
+                          // Submit the DELETE batch to the dead leaves queue (do not block, do
+                          // not wait), where it's merged with other corrections of the document
+                          // Note: authorizeDeleteDeadLeaves is called only if dead leaves are
+                          // found.
+                          deleteBatch =
+                              Single.fromCallable(
+                                      () -> db.authorizeDeleteDeadLeaves(namespace, collection))
+                                  .filter(
+                                      authorized -> {
+                                        // Don't fail this read request if the corrective DELETE
+                                        // statements are not authorized, simply skip DELETE
+                                        // batch in that case.
+                                        if (authorized) {
+                                          logger.debug(
+                                              "Queueing deletion of {} dead leaves", size);
+                                        } else {
+                                          logger.info(
+                                              "Not authorized to delete {} dead leaves", size);
+                                        }
+
+                                        return authorized;
+                                      })
+                                  .flatMapCompletable(
+                                      __ ->
+                                          deadLeafQueue.submit(
+                                              db,
+                                              namespace,
+                                              collection,
+                                              documentId,
+                                              now,
+                                              collector.getLeaves(),
+                                              context))
+                                  .subscribeOn(Schedulers.io())
+                                  .doOnError(
+                                      t -> logger.error("Unable to delete dead leaves: " + t, t))
+                                  .subscribe();
+                        } else {
+                          deleteBatch = Disposable.disposed();
+                        }
+
+                        // cache only complete documents
+                        if (cacheable && subDocumentPathProcessed.isEmpty()) {
+                          documentCache.put(
+                              namespace,
+                              collection,
+                              documentId,
+                              cacheGeneration,
+                              docsResult,
+                              document.rows());
+                        }
+
+                        return Pair.with(docsResult, deleteBatch);
+                      });
+
+          // complete documents are read from their blob, if the collection stores them
+          if (fieldPaths.isEmpty()
+              && subDocumentPathProcessed.isEmpty()
+              && db.hasDocumentBlob(namespace, collection)) {
+            searched =
+                db.selectDocumentBlob(
+                        namespace, collection, documentId, context.nested("GetDocumentBlob"))
+                    .map(blob -> Pair.with(documentBlobCodec.decode(blob), Disposable.disposed()))
+                    .switchIfEmpty(searched);
+          }
 
-              // map to the json
+          return cached
+              .switchIfEmpty(searched)
               .flatMap(
-                  document -> {
-                    DeadLeafCollectorImpl collector = new DeadLeafCollectorImpl();
-                    JsonNode docsResult =
-                        documentToNode(
-                            document,
-                            fieldPathsFinal,
-                            collector,
-                            false,
-                            db.treatBooleansAsNumeric());
-
-                    Disposable deleteBatch;
-                    // dead leaf deletion init on non-empty collection
-                    if (!collector.isEmpty()) {
-                      int size = collector.getLeaves().size();
-                      // Submit the DELETE batch for async execution (do not block, do not wait)
-                      // Note: authorizeDeleteDeadLeaves is called only if dead leaves are found.
-                      deleteBatch =
-                          Single.fromCallable(
-                                  () -> db.authorizeDeleteDeadLeaves(namespace, collection))
-                              .filter(
-                                  authorized -> {
-                                    // Don't fail this read request if the corrective DELETE
-                                    // statements
-                                    // are not authorized, simply skip DELETE batch in that case.
-                                    if (authorized) {
-                                      logger.info("Deleting {} dead leaves", size);
-                                    } else {
-                                      logger.info("Not authorized to delete {} dead leaves", size);
-                                    }
-
-                                    return authorized;
-                                  })
-                              .flatMap(
-                                  __ ->
-                                      RxUtils.singleFromFuture(
-                                              () ->
-                                                  db.deleteDeadLeaves(
-                                                      namespace,
-                                                      collection,
-                                                      documentId,
-                                                      now,
-                                                      collector.getLeaves(),
-                                                      context))
-                                          .toMaybe())
-                              .subscribeOn(Schedulers.io())
-                              .doOnSuccess(__ -> logger.info("Deleted {} dead leaves", size))
-                              .doOnError(t -> logger.error("Unable to delete dead leaves: " + t, t))
-                              .subscribe();
-                    } else {
-                      deleteBatch = Disposable.disposed();
-                    }
-
+                  result -> {
+                    JsonNode docsResult = result.getValue0();
                     // create json pattern expression if sub path is defined
                     if (!subDocumentPath.isEmpty()) {
                       String jsonPtrExpr =
@@ -311,7 +424,7 @@ public class ReactiveDocumentService {
                     DocumentResponseWrapper<JsonNode> wrapper =
                         new DocumentResponseWrapper<>(
                             documentId, null, docsResult, context.toProfile());
-                    return Maybe.just(Pair.with(wrapper, deleteBatch));
+                    return Maybe.just(Pair.with(wrapper, result.getValue1()));
                   });
         });
   }
@@ -25,19 +25,30 @@ import io.stargate.db.datastore.DataStore;
 import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.Query;
 import io.stargate.db.query.builder.BuiltQuery;
+import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.dao.Paginator;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
+import io.stargate.web.docsapi.service.query.eval.CompiledExpression;
 import io.stargate.web.docsapi.service.query.search.db.impl.FullSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.PopulateSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.SubDocumentSearchQueryBuilder;
+import io.stargate.web.docsapi.service.query.search.db.impl.TokenRangeSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.resolver.BaseResolver;
 import io.stargate.web.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.web.docsapi.service.query.search.resolver.impl.SubDocumentsResolver;
+import io.stargate.web.docsapi.service.util.DocsApiUtils;
 import io.stargate.web.rx.RxUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -144,6 +155,70 @@ public class DocumentSearchService {
         .take(paginator.docPageSize);
   }
 
+  /**
+   * Reads all the documents of a collection that are in the given range of tokens and match the
+   * given expression, in the token order, for exporting them.
+   *
+   * <p>Contrarily to the {@link #searchDocuments} the documents are not paged, and the expression
+   * is evaluated in memory on a scan of the token range: the candidate queries of the filters can
+   * not be restricted to a range of tokens, so that disjoint ranges can be exported concurrently.
+   * The rows are fetched page by page on demand, so that only the requested documents are kept in
+   * memory.
+   *
+   * @param queryExecutor Query executor for running queries.
+   * @param keyspace Keyspace to export from.
+   * @param collection Collection to export from.
+   * @param expression Expression tree
+   * @param tokenStart Start of the token range (exclusive)
+   * @param tokenEnd End of the token range (inclusive)
+   * @param context Context for recording profiling information
+   * @return Flowable of {@link RawDocument}s.
+   */
+  public Flowable<RawDocument> exportDocuments(
+      QueryExecutor queryExecutor,
+      String keyspace,
+      String collection,
+      Expression<FilterExpression> expression,
+      long tokenStart,
+      long tokenEnd,
+      ExecutionContext context) {
+
+    // for the sake of correctness make sure we don't have false
+    if (Literal.getFalse().equals(expression)) {
+      return Flowable.empty();
+    }
+
+    Flowable<RawDocument> documents =
+        RxUtils.singleFromFuture(
+                () -> {
+                  int maxDepth = configuration.getMaxDepth();
+                  String[] columns = QueryConstants.ALL_COLUMNS_NAMES.apply(maxDepth);
+
+                  DataStore dataStore = queryExecutor.getDataStore();
+
+                  TokenRangeSearchQueryBuilder queryBuilder = new TokenRangeSearchQueryBuilder();
+                  BuiltQuery<? extends BoundQuery> query =
+                      queryBuilder.buildQuery(
+                          dataStore::queryBuilder, keyspace, collection, columns);
+
+                  return dataStore.prepare(query);
+                })
+            .flatMapPublisher(
+                prepared -> {
+                  BoundQuery boundQuery = prepared.bind(tokenStart, tokenEnd);
+                  return queryExecutor.queryDocs(
+                      boundQuery, configuration.getSearchPageSize(), null, nestedExport(context));
+                });
+
+    // no filtering needed if we have true
+    if (Literal.EXPR_TYPE.equals(expression.getExprType())) {
+      return documents;
+    }
+
+    CompiledExpression compiledExpression = CompiledExpression.compile(expression);
+    return documents.filter(compiledExpression::test);
+  }
+
   /**
    * Gets a single document optionally limit to the the #subDocumentPath.
    *
@@ -177,6 +252,68 @@ public class DocumentSearchService {
         .take(1);
   }
 
+  /**
+   * Gets a single document optionally limited to the #subDocumentPath, reading only the rows on
+   * the given #fieldPaths. Each field path is read with a separate query and the queries are
+   * executed concurrently. If the field paths can not be read separately, the complete
+   * (sub-)document is read instead.
+   *
+   * <p>Note that the returned document can contain rows that are not on any of the field paths,
+   * thus the rows must be filtered by the caller.
+   *
+   * @param queryExecutor Query executor for running queries.
+   * @param keyspace Keyspace to search in.
+   * @param collection Collection to search in.
+   * @param documentId Document ID to search in
+   * @param subDocumentPath Path where to find the document
+   * @param fieldPaths Field paths to read (note that #subDocumentPath must be already included in
+   *     the field paths)
+   * @param context Context for recording profiling information
+   * @return Flowable of {@link RawDocument}s representing a document or sub-document in the given
+   *     #subDocumentPath.
+   */
+  public Flowable<RawDocument> getDocument(
+      QueryExecutor queryExecutor,
+      String keyspace,
+      String collection,
+      String documentId,
+      List<String> subDocumentPath,
+      Collection<List<String>> fieldPaths,
+      ExecutionContext context) {
+
+    List<List<String>> paths = projectionPaths(fieldPaths);
+    if (paths.isEmpty()) {
+      return getDocument(queryExecutor, keyspace, collection, documentId, subDocumentPath, context);
+    }
+
+    // if none of the fields exist, make sure to return the document if it exists
+    // by reading a single row of it
+    Flowable<RawDocument> existing =
+        pathsDocument(
+            queryExecutor,
+            configuration,
+            keyspace,
+            collection,
+            documentId,
+            Collections.singletonList(subDocumentPath),
+            1,
+            nestedDocumentExists(context));
+
+    return pathsDocument(
+            queryExecutor,
+            configuration,
+            keyspace,
+            collection,
+            documentId,
+            paths,
+            null,
+            nestedDocumentFields(context))
+        .switchIfEmpty(existing)
+
+        // take one, as there can be only one document
+        .take(1);
+  }
+
   private Flowable<RawDocument> fullSearch(
       QueryExecutor queryExecutor,
       DocsApiConfiguration configuration,
@@ -220,30 +357,114 @@ public class DocumentSearchService {
       List<String> subDocumentPath,
       ExecutionContext context) {
 
-    // prepare first
-    return RxUtils.singleFromFuture(
-            () -> {
-              int maxDepth = configuration.getMaxDepth();
-              String[] columns = QueryConstants.ALL_COLUMNS_NAMES.apply(maxDepth);
+    return pathsDocument(
+        queryExecutor,
+        configuration,
+        keyspace,
+        collection,
+        documentId,
+        Collections.singletonList(subDocumentPath),
+        null,
+        context);
+  }
 
-              DataStore dataStore = queryExecutor.getDataStore();
+  // reads the rows of a single document on the given paths, with one query per path
+  private Flowable<RawDocument> pathsDocument(
+      QueryExecutor queryExecutor,
+      DocsApiConfiguration configuration,
+      String keyspace,
+      String collection,
+      String documentId,
+      List<List<String>> paths,
+      Integer limit,
+      ExecutionContext context) {
 
-              SubDocumentSearchQueryBuilder queryBuilder =
-                  new SubDocumentSearchQueryBuilder(documentId, subDocumentPath);
-              BuiltQuery<? extends BoundQuery> query =
-                  queryBuilder.buildQuery(dataStore::queryBuilder, keyspace, collection, columns);
+    DataStore dataStore = queryExecutor.getDataStore();
+    String[] columns = QueryConstants.ALL_COLUMNS_NAMES.apply(configuration.getMaxDepth());
 
-              return dataStore.prepare(query);
-            })
+    // prepare first
+    return Flowable.fromIterable(paths)
+        .concatMap(
+            path ->
+                RxUtils.singleFromFuture(
+                        () -> {
+                          SubDocumentSearchQueryBuilder queryBuilder =
+                              new SubDocumentSearchQueryBuilder(documentId, path);
+                          BuiltQuery<? extends BoundQuery> query =
+                              queryBuilder.buildQuery(
+                                  dataStore::queryBuilder, keyspace, collection, limit, columns);
+
+                          return dataStore.prepare(query);
+                        })
+                    .toFlowable())
+        .toList()
         .cache()
         .flatMapPublisher(
-            prepared -> {
-              BoundQuery boundQuery = prepared.bind();
+            preparedQueries -> {
+              List<BoundQuery> boundQueries =
+                  preparedQueries.stream().map(Query::bind).collect(Collectors.toList());
+
+              // executed concurrently, rows are merged in the document order
               return queryExecutor.queryDocs(
-                  boundQuery, configuration.getSearchPageSize(), null, context);
+                  boundQueries, configuration.getSearchPageSize(), null, context);
             });
   }
 
+  // resolves the paths to query in order to read the rows on the field paths, returns an empty
+  // list if the field paths can not be queried separately without reading some rows twice
+  private static List<List<String>> projectionPaths(Collection<List<String>> fieldPaths) {
+    // the glob matches the empty path segment as well, which a path query can not express
+    if (fieldPaths.stream().anyMatch(path -> path.contains(DocumentDB.GLOB_VALUE))) {
+      return Collections.emptyList();
+    }
+
+    // keep only paths that are not covered by a shorter one
+    List<List<String>> paths = new ArrayList<>();
+    fieldPaths.stream()
+        .distinct()
+        .sorted(Comparator.comparingInt(List::size))
+        .forEach(
+            path -> {
+              boolean covered = paths.stream().anyMatch(p -> path.subList(0, p.size()).equals(p));
+              if (!covered) {
+                paths.add(path);
+              }
+            });
+
+    // and make sure that no row is on two paths
+    for (int i = 0; i < paths.size(); i++) {
+      for (int j = i + 1; j < paths.size(); j++) {
+        if (!disjointPaths(paths.get(i), paths.get(j))) {
+          return Collections.emptyList();
+        }
+      }
+    }
+    return paths;
+  }
+
+  private static boolean disjointPaths(List<String> first, List<String> second) {
+    int depth = Math.min(first.size(), second.size());
+    for (int i = 0; i < depth; i++) {
+      String firstSegment = first.get(i);
+      String secondSegment = second.get(i);
+      if (DocumentDB.GLOB_ARRAY_VALUE.equals(firstSegment)
+          || DocumentDB.GLOB_ARRAY_VALUE.equals(secondSegment)) {
+        continue;
+      }
+
+      if (Collections.disjoint(segmentValues(firstSegment), segmentValues(secondSegment))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Set<String> segmentValues(String segment) {
+    return Arrays.stream(segment.split(DocsApiUtils.COMMA_PATTERN.pattern()))
+        .map(DocsApiUtils::convertEscapedCharacters)
+        .collect(Collectors.toSet());
+  }
+
   // populates the given documents by using a prepared query
   private Flowable<RawDocument> populateCandidates(
       Flowable<RawDocument> candidates,
@@ -300,7 +521,19 @@ public class DocumentSearchService {
     return context.nested("LoadAllDocuments");
   }
 
+  private ExecutionContext nestedExport(ExecutionContext context) {
+    return context.nested("ExportDocuments");
+  }
+
   private ExecutionContext nestedFullDocument(ExecutionContext context) {
     return context.nested("GetFullDocument");
   }
+
+  private ExecutionContext nestedDocumentFields(ExecutionContext context) {
+    return context.nested("GetDocumentFields");
+  }
+
+  private ExecutionContext nestedDocumentExists(ExecutionContext context) {
+    return context.nested("GetDocumentExists");
+  }
 }
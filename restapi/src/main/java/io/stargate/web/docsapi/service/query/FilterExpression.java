@@ -24,7 +24,6 @@ import io.stargate.db.datastore.Row;
 import io.stargate.web.docsapi.service.RawDocument;
 import io.stargate.web.docsapi.service.query.condition.BaseCondition;
 import io.stargate.web.docsapi.service.query.filter.operation.FilterHintCode;
-import io.stargate.web.docsapi.service.util.DocsApiUtils;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -164,8 +163,7 @@ public abstract class FilterExpression extends Expression<FilterExpression>
 
   // if given row matches the filter path in the
   public boolean matchesFilterPath(Row row) {
-    List<String> targetPath = getFilterPath().getPath();
-    return DocsApiUtils.isRowMatchingPath(row, targetPath);
+    return getFilterPath().getRowMatcher().test(row);
   }
 
   // below is Expression relevant implementation that targets this
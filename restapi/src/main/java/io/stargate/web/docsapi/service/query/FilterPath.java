@@ -16,10 +16,13 @@
 
 package io.stargate.web.docsapi.service.query;
 
+import io.stargate.db.datastore.Row;
 import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.util.DocsApiUtils;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 import org.immutables.value.Value;
 
 /** Contains path information for a filter operation. */
@@ -50,6 +53,15 @@ public interface FilterPath {
                     || Objects.equals(p, DocumentDB.GLOB_ARRAY_VALUE));
   }
 
+  /**
+   * @return Predicate that tests if a row is exactly on this path, same as {@link
+   *     DocsApiUtils#isRowMatchingPath(Row, List)} but with the path resolved only once.
+   */
+  @Value.Lazy
+  default Predicate<Row> getRowMatcher() {
+    return new FilterPathRowMatcher(getPath());
+  }
+
   /** @return The name of the field. Effectively, the last element of {@link #getPath()}. */
   default String getField() {
     List<String> path = getPath();
@@ -0,0 +1,103 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.stargate.web.docsapi.service.query;
+
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.util.DocsApiUtils;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Tests if rows are exactly on a filter path, with the same rules as {@link
+ * DocsApiUtils#isRowMatchingPath(Row, List)}. The escaped characters, the path segments and the
+ * names of the path columns are resolved once, instead of for every row.
+ */
+class FilterPathRowMatcher implements Predicate<Row> {
+
+  private final String field;
+
+  // the column that must be empty for a row to be exactly on the path (and not below it)
+  private final String terminalColumn;
+
+  private final String[] pathColumns;
+
+  private final Segment[] segments;
+
+  FilterPathRowMatcher(List<String> path) {
+    this.field = DocsApiUtils.convertEscapedCharacters(path.get(path.size() - 1));
+    this.terminalColumn = QueryConstants.P_COLUMN_NAME.apply(path.size());
+    this.pathColumns = new String[path.size()];
+    this.segments = new Segment[path.size()];
+    for (int i = 0; i < path.size(); i++) {
+      pathColumns[i] = QueryConstants.P_COLUMN_NAME.apply(i);
+      segments[i] = new Segment(path.get(i));
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean test(Row row) {
+    // short-circuit if the field is not matching, we expect leaf to be always fetched
+    if (!Objects.equals(field, row.getString(QueryConstants.LEAF_COLUMN_NAME))) {
+      return false;
+    }
+
+    if (!row.columnExists(terminalColumn) || !Objects.equals(row.getString(terminalColumn), "")) {
+      return false;
+    }
+
+    for (int i = 0; i < segments.length; i++) {
+      String column = pathColumns[i];
+      if (!row.columnExists(column) || !segments[i].matches(row.getString(column))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** A segment of the path: a glob, an array glob, or a set of accepted values. */
+  private static class Segment {
+
+    private final boolean glob;
+
+    private final boolean arrayGlob;
+
+    private final Set<String> values = new HashSet<>();
+
+    private Segment(String target) {
+      this.glob = Objects.equals(target, DocumentDB.GLOB_VALUE);
+      this.arrayGlob = Objects.equals(target, DocumentDB.GLOB_ARRAY_VALUE);
+      for (String value : DocsApiUtils.COMMA_PATTERN.split(target)) {
+        values.add(DocsApiUtils.convertEscapedCharacters(value));
+      }
+    }
+
+    private boolean matches(String path) {
+      if (glob) {
+        return true;
+      }
+      if (arrayGlob) {
+        return DocsApiUtils.isArrayPath(path);
+      }
+      return values.contains(path);
+    }
+  }
+}
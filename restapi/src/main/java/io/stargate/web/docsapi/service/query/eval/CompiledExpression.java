@@ -0,0 +1,292 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.web.docsapi.service.query.eval;
+
+import com.bpodgursky.jbool_expressions.And;
+import com.bpodgursky.jbool_expressions.Expression;
+import com.bpodgursky.jbool_expressions.Literal;
+import com.bpodgursky.jbool_expressions.Not;
+import com.bpodgursky.jbool_expressions.Or;
+import com.bpodgursky.jbool_expressions.eval.EvalEngine;
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.service.RawDocument;
+import io.stargate.web.docsapi.service.query.FilterExpression;
+import io.stargate.web.docsapi.service.query.FilterPath;
+import io.stargate.web.docsapi.service.query.search.weigth.impl.UserOrderWeightResolver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A filter {@link Expression} compiled into a predicate over all rows of a document.
+ *
+ * <p>Evaluating with the {@link EvalEngine} needs new rules per document, and walks the expression
+ * tree generically. The compiled expression is created once per request instead, and:
+ *
+ * <ol>
+ *   <li>evaluates each distinct filter expression at most once per document, the result is shared
+ *       by all the places it appears in the tree;
+ *   <li>orders the children of each AND and OR so that filter expressions are evaluated before
+ *       nested expressions, in the order given by the {@link UserOrderWeightResolver}, and stops as
+ *       soon as the result is known.
+ * </ol>
+ *
+ * A single filter expression is true if at least one row is on its filter path and passes its
+ * condition (see {@link FilterExpression#test(List)}), or if no row is on its filter path and its
+ * condition evaluates on missing fields. Filter paths are resolved once per expression, by {@link
+ * FilterPath#getRowMatcher()}.
+ *
+ * <p>This class is thread-safe, the state of an evaluation is local to {@link #test(List)}.
+ */
+public class CompiledExpression implements Predicate<RawDocument> {
+
+  private static final Comparator<Node> COST_ORDER =
+      (n1, n2) -> {
+        if (n1 instanceof Leaf && n2 instanceof Leaf) {
+          return UserOrderWeightResolver.of()
+              .compare(((Leaf) n1).expression, ((Leaf) n2).expression);
+        }
+        return Integer.compare(n1.cost(), n2.cost());
+      };
+
+  private final Node root;
+
+  private final int leafCount;
+
+  private CompiledExpression(Expression<FilterExpression> expression) {
+    Map<FilterExpression, Leaf> leaves = new HashMap<>();
+    root = compile(expression, leaves);
+    leafCount = leaves.size();
+  }
+
+  /**
+   * Compiles the given expression.
+   *
+   * @param expression Expression made of {@link FilterExpression}s, ANDs, ORs, NOTs and literals.
+   * @return Compiled expression
+   * @throws IllegalArgumentException If the expression contains other types of expressions
+   */
+  public static CompiledExpression compile(Expression<FilterExpression> expression) {
+    return new CompiledExpression(expression);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean test(RawDocument document) {
+    return test(document.rows());
+  }
+
+  /**
+   * Evaluates the expression against all rows of a single document.
+   *
+   * @param documentRows All rows of the document
+   * @return If the document matches the expression
+   */
+  public boolean test(List<Row> documentRows) {
+    return root.test(new Evaluation(documentRows, leafCount));
+  }
+
+  private static Node compile(
+      Expression<FilterExpression> expression, Map<FilterExpression, Leaf> leaves) {
+    if (expression instanceof FilterExpression) {
+      return leaves.computeIfAbsent(
+          (FilterExpression) expression, e -> new Leaf(e, leaves.size()));
+    }
+    if (expression instanceof Literal) {
+      return new Constant(((Literal<FilterExpression>) expression).getValue());
+    }
+    if (expression instanceof Not) {
+      return new Negation(compile(((Not<FilterExpression>) expression).getE(), leaves));
+    }
+    if (expression instanceof And || expression instanceof Or) {
+      List<Node> children = new ArrayList<>();
+      for (Expression<FilterExpression> child : expression.getChildren()) {
+        children.add(compile(child, leaves));
+      }
+      children.sort(COST_ORDER);
+      Node[] nodes = children.toArray(new Node[0]);
+      return expression instanceof And ? new Conjunction(nodes) : new Disjunction(nodes);
+    }
+    throw new IllegalArgumentException(
+        "Unsupported expression type " + expression.getExprType() + ": " + expression);
+  }
+
+  /** A node of the compiled expression. */
+  private interface Node {
+
+    boolean test(Evaluation evaluation);
+
+    /** @return Relative cost of evaluating the node. */
+    int cost();
+  }
+
+  private static class Constant implements Node {
+
+    private final boolean value;
+
+    private Constant(boolean value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean test(Evaluation evaluation) {
+      return value;
+    }
+
+    @Override
+    public int cost() {
+      return 0;
+    }
+  }
+
+  private static class Negation implements Node {
+
+    private final Node child;
+
+    private Negation(Node child) {
+      this.child = child;
+    }
+
+    @Override
+    public boolean test(Evaluation evaluation) {
+      return !child.test(evaluation);
+    }
+
+    @Override
+    public int cost() {
+      return child.cost() + 1;
+    }
+  }
+
+  private static class Conjunction implements Node {
+
+    private final Node[] children;
+    private final int cost;
+
+    private Conjunction(Node[] children) {
+      this.children = children;
+      this.cost = Arrays.stream(children).mapToInt(Node::cost).sum() + 1;
+    }
+
+    @Override
+    public boolean test(Evaluation evaluation) {
+      for (Node child : children) {
+        if (!child.test(evaluation)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int cost() {
+      return cost;
+    }
+  }
+
+  private static class Disjunction implements Node {
+
+    private final Node[] children;
+    private final int cost;
+
+    private Disjunction(Node[] children) {
+      this.children = children;
+      this.cost = Arrays.stream(children).mapToInt(Node::cost).sum() + 1;
+    }
+
+    @Override
+    public boolean test(Evaluation evaluation) {
+      for (Node child : children) {
+        if (child.test(evaluation)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int cost() {
+      return cost;
+    }
+  }
+
+  /** A single filter expression. */
+  private static class Leaf implements Node {
+
+    private final FilterExpression expression;
+    private final boolean evaluateOnMissingFields;
+    private final int index;
+
+    private Leaf(FilterExpression expression, int index) {
+      this.expression = expression;
+      this.evaluateOnMissingFields = expression.getCondition().isEvaluateOnMissingFields();
+      this.index = index;
+    }
+
+    @Override
+    public boolean test(Evaluation evaluation) {
+      return evaluation.result(this);
+    }
+
+    @Override
+    public int cost() {
+      return 1;
+    }
+
+    private boolean evaluate(List<Row> rows) {
+      if (evaluateOnMissingFields) {
+        return expression.test(rows);
+      }
+      for (Row row : rows) {
+        if (expression.matchesFilterPath(row)) {
+          return expression.test(rows);
+        }
+      }
+      return false;
+    }
+  }
+
+  /** The state of the evaluation of a single document. */
+  private static class Evaluation {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+
+    private final List<Row> rows;
+    private final byte[] results;
+
+    private Evaluation(List<Row> rows, int leafCount) {
+      this.rows = rows;
+      this.results = new byte[leafCount];
+    }
+
+    private boolean result(Leaf leaf) {
+      byte result = results[leaf.index];
+      if (result == UNKNOWN) {
+        result = leaf.evaluate(rows) ? TRUE : FALSE;
+        results[leaf.index] = result;
+      }
+      return result == TRUE;
+    }
+  }
+}
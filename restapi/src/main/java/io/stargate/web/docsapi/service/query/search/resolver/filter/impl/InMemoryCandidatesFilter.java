@@ -27,6 +27,7 @@ import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.Query;
 import io.stargate.db.query.builder.BuiltQuery;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
+import io.stargate.web.docsapi.service.DocsApiMetrics;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
@@ -112,27 +113,31 @@ public class InMemoryCandidatesFilter implements CandidatesFilter {
 
     // page size 2 with limit 1 to ensure no extra page fetching (only on fixed path)
     int pageSize = filterPath.isFixed() ? 2 : configuration.getSearchPageSize();
-    return queryExecutor
-        .queryDocs(query, pageSize, null, context)
-        .take(1)
-        .map(RawDocument::rows)
-        .switchIfEmpty(
-            Flowable.defer(
-                () -> {
-                  // check if we might have only evaluate on missing
-                  boolean allEvalOnMissing =
-                      expressions.stream()
-                          .allMatch(e -> e.getCondition().isEvaluateOnMissingFields());
-
-                  // if so, pass empty row list here, so we test against this
-                  // otherwise keep empty
-                  if (allEvalOnMissing) {
-                    return Flowable.just(Collections.emptyList());
-                  } else {
-                    return Flowable.empty();
-                  }
-                }))
-        .filter(matchAll(expressions))
+    return context
+        .measure(
+            DocsApiMetrics.Stage.IN_MEMORY_CANDIDATES_FILTER,
+            stageContext ->
+                queryExecutor
+                    .queryDocs(query, pageSize, null, stageContext)
+                    .take(1)
+                    .map(RawDocument::rows)
+                    .switchIfEmpty(
+                        Flowable.defer(
+                            () -> {
+                              // check if we might have only evaluate on missing
+                              boolean allEvalOnMissing =
+                                  expressions.stream()
+                                      .allMatch(e -> e.getCondition().isEvaluateOnMissingFields());
+
+                              // if so, pass empty row list here, so we test against this
+                              // otherwise keep empty
+                              if (allEvalOnMissing) {
+                                return Flowable.just(Collections.<Row>emptyList());
+                              } else {
+                                return Flowable.<List<Row>>empty();
+                              }
+                            }))
+                    .filter(matchAll(expressions)))
         .singleElement();
   }
 
@@ -149,11 +154,14 @@ public class InMemoryCandidatesFilter implements CandidatesFilter {
 
   private ExecutionContext createContext(
       ExecutionContext context, Collection<FilterExpression> expressions) {
-    String expressionDesc =
-        expressions.stream()
-            .map(FilterExpression::getDescription)
-            .collect(Collectors.joining(" AND "));
-
-    return context.nested("FILTER IN MEMORY: " + expressionDesc);
+    return context.nested(
+        () -> {
+          String expressionDesc =
+              expressions.stream()
+                  .map(FilterExpression::getDescription)
+                  .collect(Collectors.joining(" AND "));
+
+          return "FILTER IN MEMORY: " + expressionDesc;
+        });
   }
 }
@@ -24,6 +24,7 @@ import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.Query;
 import io.stargate.db.query.builder.BuiltQuery;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
+import io.stargate.web.docsapi.service.DocsApiMetrics;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
@@ -104,16 +105,23 @@ public class PersistenceCandidatesFilter implements CandidatesFilter {
     // page size 2 with limit 1 to ensure no additional pages fetched (only on fixed path)
     FilterPath filterPath = queryBuilder.getFilterPath();
     int pageSize = filterPath.isFixed() ? 2 : configuration.getSearchPageSize();
-    return queryExecutor.queryDocs(query, pageSize, null, context).take(1).singleElement();
+    return context
+        .measure(
+            DocsApiMetrics.Stage.PERSISTENCE_CANDIDATES_FILTER,
+            stageContext -> queryExecutor.queryDocs(query, pageSize, null, stageContext).take(1))
+        .singleElement();
   }
 
   private ExecutionContext createContext(
       ExecutionContext context, Collection<FilterExpression> expressions) {
-    String expressionDesc =
-        expressions.stream()
-            .map(FilterExpression::getDescription)
-            .collect(Collectors.joining(" AND "));
+    return context.nested(
+        () -> {
+          String expressionDesc =
+              expressions.stream()
+                  .map(FilterExpression::getDescription)
+                  .collect(Collectors.joining(" AND "));
 
-    return context.nested("FILTER: " + expressionDesc);
+          return "FILTER: " + expressionDesc;
+        });
   }
 }
@@ -24,6 +24,7 @@ import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.builder.BuiltQuery;
 import io.stargate.web.docsapi.dao.Paginator;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
+import io.stargate.web.docsapi.service.DocsApiMetrics;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
@@ -116,15 +117,20 @@ public class InMemoryDocumentsResolver implements DocumentsResolver {
               // once ready bind (no values) and fire
               BoundQuery query = prepared.bind();
 
-              return queryExecutor.queryDocs(
-                  query,
-                  configuration.getSearchPageSize(),
-                  paginator.getCurrentDbPageState(),
-                  context);
-            })
-
-        // then filter to match the expression (in-memory filters have no predicates on the values)
-        .filter(matchAll(expressions));
+              return context.measure(
+                  DocsApiMetrics.Stage.IN_MEMORY,
+                  stageContext ->
+                      queryExecutor
+                          .queryDocs(
+                              query,
+                              configuration.getSearchPageSize(),
+                              paginator.getCurrentDbPageState(),
+                              stageContext)
+
+                          // then filter to match the expression (in-memory filters have no
+                          // predicates on the values)
+                          .filter(matchAll(expressions)));
+            });
   }
 
   private Predicate<? super RawDocument> matchAll(Collection<FilterExpression> expressions) {
@@ -140,11 +146,14 @@ public class InMemoryDocumentsResolver implements DocumentsResolver {
 
   private ExecutionContext createContext(
       ExecutionContext context, Collection<FilterExpression> expressions) {
-    String expressionDesc =
-        expressions.stream()
-            .map(FilterExpression::getDescription)
-            .collect(Collectors.joining(" AND "));
-
-    return context.nested("FILTER IN MEMORY: " + expressionDesc);
+    return context.nested(
+        () -> {
+          String expressionDesc =
+              expressions.stream()
+                  .map(FilterExpression::getDescription)
+                  .collect(Collectors.joining(" AND "));
+
+          return "FILTER IN MEMORY: " + expressionDesc;
+        });
   }
 }
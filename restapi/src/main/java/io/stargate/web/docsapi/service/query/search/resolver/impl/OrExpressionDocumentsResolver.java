@@ -18,8 +18,6 @@
 package io.stargate.web.docsapi.service.query.search.resolver.impl;
 
 import com.bpodgursky.jbool_expressions.Or;
-import com.bpodgursky.jbool_expressions.eval.EvalEngine;
-import com.bpodgursky.jbool_expressions.eval.EvalRule;
 import io.reactivex.rxjava3.core.Flowable;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.query.BoundQuery;
@@ -32,7 +30,7 @@ import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
 import io.stargate.web.docsapi.service.query.FilterExpression;
 import io.stargate.web.docsapi.service.query.QueryConstants;
-import io.stargate.web.docsapi.service.query.eval.RawDocumentEvalRule;
+import io.stargate.web.docsapi.service.query.eval.CompiledExpression;
 import io.stargate.web.docsapi.service.query.search.db.AbstractSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.FilterExpressionSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.FilterPathSearchQueryBuilder;
@@ -46,21 +44,20 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class OrExpressionDocumentsResolver implements DocumentsResolver {
 
-  private final Or<FilterExpression> expression;
+  private final CompiledExpression compiledExpression;
 
   private final List<AbstractSearchQueryBuilder> queryBuilders;
 
   private final ExecutionContext context;
 
   public OrExpressionDocumentsResolver(Or<FilterExpression> expression, ExecutionContext context) {
-    this.expression = expression;
+    this.compiledExpression = CompiledExpression.compile(expression);
     this.queryBuilders = buildQueries(getChildren(expression));
     this.context = createContext(context, expression);
   }
@@ -122,11 +119,9 @@ public class OrExpressionDocumentsResolver implements DocumentsResolver {
                 return true;
               }
 
-              // otherwise evaluate using the EvalEngine
+              // otherwise evaluate using the compiled expression
               // this is gonna test the persistence expressions as well, but this is fine
-              Map<String, EvalRule<FilterExpression>> rules = EvalEngine.booleanRules();
-              rules.put(FilterExpression.EXPR_TYPE, new RawDocumentEvalRule(doc));
-              return EvalEngine.evaluate(expression, rules);
+              return compiledExpression.test(doc);
             });
   }
 
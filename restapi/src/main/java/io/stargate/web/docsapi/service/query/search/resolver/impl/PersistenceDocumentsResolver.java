@@ -23,6 +23,7 @@ import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.builder.BuiltQuery;
 import io.stargate.web.docsapi.dao.Paginator;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
+import io.stargate.web.docsapi.service.DocsApiMetrics;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
@@ -95,21 +96,27 @@ public class PersistenceDocumentsResolver implements DocumentsResolver {
               BoundQuery query = prepared.bind();
 
               // execute by respecting the paging state
-              return queryExecutor.queryDocs(
-                  query,
-                  configuration.getSearchPageSize(),
-                  paginator.getCurrentDbPageState(),
-                  context);
+              return context.measure(
+                  DocsApiMetrics.Stage.PERSISTENCE,
+                  stageContext ->
+                      queryExecutor.queryDocs(
+                          query,
+                          configuration.getSearchPageSize(),
+                          paginator.getCurrentDbPageState(),
+                          stageContext));
             });
   }
 
   private ExecutionContext createContext(
       ExecutionContext context, Collection<FilterExpression> expressions) {
-    String expressionDesc =
-        expressions.stream()
-            .map(FilterExpression::getDescription)
-            .collect(Collectors.joining(" AND "));
+    return context.nested(
+        () -> {
+          String expressionDesc =
+              expressions.stream()
+                  .map(FilterExpression::getDescription)
+                  .collect(Collectors.joining(" AND "));
 
-    return context.nested("FILTER: " + expressionDesc);
+          return "FILTER: " + expressionDesc;
+        });
   }
 }
@@ -18,26 +18,24 @@
 package io.stargate.web.docsapi.service.query.search.resolver.impl;
 
 import com.bpodgursky.jbool_expressions.Expression;
-import com.bpodgursky.jbool_expressions.eval.EvalEngine;
-import com.bpodgursky.jbool_expressions.eval.EvalRule;
 import io.reactivex.rxjava3.core.Flowable;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.builder.BuiltQuery;
 import io.stargate.web.docsapi.dao.Paginator;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
+import io.stargate.web.docsapi.service.DocsApiMetrics;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.QueryExecutor;
 import io.stargate.web.docsapi.service.RawDocument;
 import io.stargate.web.docsapi.service.query.FilterExpression;
 import io.stargate.web.docsapi.service.query.QueryConstants;
-import io.stargate.web.docsapi.service.query.eval.RawDocumentEvalRule;
+import io.stargate.web.docsapi.service.query.eval.CompiledExpression;
 import io.stargate.web.docsapi.service.query.search.db.AbstractSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.db.impl.SubDocumentSearchQueryBuilder;
 import io.stargate.web.docsapi.service.query.search.resolver.DocumentsResolver;
 import io.stargate.web.rx.RxUtils;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A document resolver that loads full (sub-)documents on the given sub-path that match an
@@ -57,6 +55,8 @@ public class SubDocumentsResolver implements DocumentsResolver {
 
   private final Expression<FilterExpression> expression;
 
+  private final CompiledExpression compiledExpression;
+
   private final AbstractSearchQueryBuilder queryBuilder;
 
   private final ExecutionContext context;
@@ -69,6 +69,7 @@ public class SubDocumentsResolver implements DocumentsResolver {
       List<String> subDocumentPath,
       ExecutionContext context) {
     this.expression = expression;
+    this.compiledExpression = CompiledExpression.compile(expression);
     this.context = createContext(context, subDocumentPath);
     this.queryBuilder = new SubDocumentSearchQueryBuilder(documentId, subDocumentPath);
     // key depth explained:
@@ -102,27 +103,27 @@ public class SubDocumentsResolver implements DocumentsResolver {
               BoundQuery query = prepared.bind();
 
               // execute by respecting the paging state
-              return queryExecutor.queryDocs(
-                  keyDepth,
-                  query,
-                  configuration.getSearchPageSize(),
-                  paginator.getCurrentDbPageState(),
-                  context);
-            })
-        .filter(
-            document -> {
-              Map<String, EvalRule<FilterExpression>> rules = EvalEngine.booleanRules();
-              rules.put(FilterExpression.EXPR_TYPE, new RawDocumentEvalRule(document));
-              return EvalEngine.evaluate(expression, rules);
+              return context.measure(
+                  DocsApiMetrics.Stage.SUB_DOCUMENTS,
+                  stageContext ->
+                      queryExecutor
+                          .queryDocs(
+                              keyDepth,
+                              query,
+                              configuration.getSearchPageSize(),
+                              paginator.getCurrentDbPageState(),
+                              stageContext)
+                          .filter(compiledExpression::test));
             });
   }
 
   private ExecutionContext createContext(ExecutionContext context, List<String> prependPath) {
     return context.nested(
-        "SearchSubDocuments: sub-path '"
-            + String.join(".", prependPath)
-            + "', expression: '"
-            + expression.toString()
-            + "'");
+        () ->
+            "SearchSubDocuments: sub-path '"
+                + String.join(".", prependPath)
+                + "', expression: '"
+                + expression.toString()
+                + "'");
   }
 }
@@ -239,6 +239,16 @@ public final class DocsApiUtils {
     }
   }
 
+  /**
+   * Tests if the given path segment is an array path, f.e. {@code [000001]}.
+   *
+   * @param path single path segment
+   * @return True if it's an array path
+   */
+  public static boolean isArrayPath(String path) {
+    return ARRAY_PATH_PATTERN.matcher(path).matches();
+  }
+
   /**
    * Tests if the given row exactly matches the path, where path is defined by the list of strings.
    *
@@ -316,7 +326,7 @@ public final class DocsApiUtils {
       // skip any target path that is an array wildcard
       if (Objects.equals(target, DocumentDB.GLOB_ARRAY_VALUE)) {
         // but make sure this is not an normal field
-        if (!ARRAY_PATH_PATTERN.matcher(path).matches()) {
+        if (!isArrayPath(path)) {
           return false;
         }
         continue;
@@ -150,7 +150,7 @@ public class Server extends Application<ApplicationConfiguration> {
     environment.jersey().register(UserDefinedTypesResource.class);
 
     // Documents API
-    environment.jersey().register(new DocsApiComponentsBinder(environment));
+    environment.jersey().register(new DocsApiComponentsBinder(environment, metrics));
     environment.jersey().register(ReactiveDocumentResourceV2.class);
     environment.jersey().register(DocumentResourceV2.class);
     environment.jersey().register(JsonSchemaResource.class);
@@ -22,7 +22,6 @@ import com.datastax.oss.driver.api.core.data.UdtValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -117,8 +116,7 @@ public class Converters {
     return map;
   }
 
-  @VisibleForTesting
-  static Object toJsonValue(final Object cqlValue) {
+  public static Object toJsonValue(final Object cqlValue) {
     if (cqlValue instanceof UUID
         || cqlValue instanceof CqlDuration
         // Large numbers can cause JSON interoperability issues, for example Javascript only handles
@@ -20,7 +20,9 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
+import io.stargate.auth.SourceAPI;
 import io.stargate.auth.UnauthorizedException;
+import io.stargate.db.Parameters;
 import io.stargate.db.datastore.DataStore;
 import io.stargate.db.datastore.DataStoreFactory;
 import io.stargate.db.datastore.DataStoreOptions;
@@ -33,6 +35,9 @@ import java.util.stream.Collectors;
 
 public class Db {
 
+  private static final Parameters DEFAULT_PARAMETERS =
+      Parameters.builder().sourceApi(SourceAPI.REST.getName()).build();
+
   private final DataStore dataStore;
   private final AuthenticationService authenticationService;
   private final AuthorizationService authorizationService;
@@ -59,7 +64,11 @@ public class Db {
     this.authorizationService = authorizationService;
     this.dataStoreFactory = dataStoreFactory;
     this.dataStore =
-        dataStoreFactory.createInternal(DataStoreOptions.defaultsWithAutoPreparedQueries());
+        dataStoreFactory.createInternal(
+            DataStoreOptions.builder()
+                .alwaysPrepareQueries(true)
+                .defaultParameters(DEFAULT_PARAMETERS)
+                .build());
   }
 
   public DataStore getDataStore() {
@@ -79,6 +88,7 @@ public class Db {
             authenticationSubject.asUser(),
             DataStoreOptions.builder()
                 .alwaysPrepareQueries(true)
+                .defaultParameters(DEFAULT_PARAMETERS)
                 .putAllCustomProperties(headers)
                 .build());
 
@@ -105,6 +115,7 @@ public class Db {
             authenticationSubject.asUser(),
             DataStoreOptions.builder()
                 .alwaysPrepareQueries(true)
+                .defaultParameters(DEFAULT_PARAMETERS)
                 .putAllCustomProperties(tokenAndHeaders.headers)
                 .build());
     return new AuthenticatedDB(dataStore, authenticationSubject);
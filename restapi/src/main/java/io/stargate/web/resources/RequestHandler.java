@@ -15,16 +15,23 @@
  */
 package io.stargate.web.resources;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
 import io.stargate.web.models.Error;
+import java.io.UncheckedIOException;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import org.apache.cassandra.stargate.exceptions.InvalidRequestException;
+import org.apache.cassandra.stargate.exceptions.OverloadedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +42,75 @@ public class RequestHandler {
   public static Response handle(Callable<Response> action) {
     try {
       return action.call();
+    } catch (Exception e) {
+      return toErrorResponse(e);
+    }
+  }
+
+  /**
+   * Completion based variant of {@link #handle(Callable)}. The action returns a stage that is
+   * completed by the persistence layer, and the suspended response is resumed once that stage
+   * completes, so no request thread is blocked while the queries are executing.
+   *
+   * <p>Errors thrown by the action itself are mapped exactly as in {@link #handle(Callable)}. A
+   * failed stage is mapped as if its result had been obtained with a blocking {@code get()}, so the
+   * responses are the same as for the blocking endpoints.
+   *
+   * @param asyncResponse Suspended response to resume
+   * @param action Action producing the response stage
+   */
+  public static void handleAsync(
+      AsyncResponse asyncResponse, Callable<CompletionStage<Response>> action) {
+    CompletionStage<Response> stage;
+    try {
+      stage = action.call();
+    } catch (Exception e) {
+      asyncResponse.resume(toErrorResponse(e));
+      return;
+    }
+
+    stage.whenComplete(
+        (response, error) -> {
+          if (null == error) {
+            asyncResponse.resume(response);
+          } else {
+            asyncResponse.resume(toErrorResponse(unwrapFailure(error)));
+          }
+        });
+  }
+
+  /**
+   * Builds a response with the entity written using {@link Converters#writeResponse(Object)}, for
+   * use in the stages passed to {@link #handleAsync(AsyncResponse, Callable)}.
+   */
+  public static Response jsonResponse(Response.Status status, Object entity) {
+    try {
+      return Response.status(status).entity(Converters.writeResponse(entity)).build();
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Exception unwrapFailure(Throwable error) {
+    Throwable cause = error;
+    if (cause instanceof CompletionException && null != cause.getCause()) {
+      cause = cause.getCause();
+    }
+
+    // failures raised by the resource code while composing the stage are passed as they are,
+    // everything else originates from the persistence and is treated like a blocking get() would
+    if (cause instanceof ErrorCodeRuntimeException
+        || cause instanceof NotFoundException
+        || cause instanceof IllegalArgumentException
+        || cause instanceof UnauthorizedException) {
+      return (Exception) cause;
+    }
+    return new ExecutionException(cause);
+  }
+
+  private static Response toErrorResponse(Exception exception) {
+    try {
+      throw exception;
     } catch (ErrorCodeRuntimeException errorCodeException) {
       return errorCodeException.getResponse();
     } catch (NotFoundException nfe) {
@@ -83,6 +159,22 @@ public class RequestHandler {
                 new Error(
                     "Bad request: " + ee.getMessage(), Response.Status.BAD_REQUEST.getStatusCode()))
             .build();
+      } else if (ee.getCause() instanceof OverloadedException) {
+        logger.debug("Request rejected by overloaded persistence", ee);
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+            .entity(
+                new Error(
+                    "Too many requests: " + ee.getCause().getMessage(),
+                    Response.Status.TOO_MANY_REQUESTS.getStatusCode()))
+            .build();
+      } else if (ee.getCause() instanceof TimeoutException) {
+        logger.debug("Request timed out", ee);
+        return Response.status(Response.Status.GATEWAY_TIMEOUT)
+            .entity(
+                new Error(
+                    "Timed out: " + ee.getCause().getMessage(),
+                    Response.Status.GATEWAY_TIMEOUT.getStatusCode()))
+            .build();
       }
 
       logger.error("Error when executing request", ee);
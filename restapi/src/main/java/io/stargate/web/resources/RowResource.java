@@ -22,7 +22,6 @@ import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.TypedKeyValue;
 import io.stargate.core.util.ByteBufferUtils;
-import io.stargate.db.ImmutableParameters;
 import io.stargate.db.ImmutableParameters.Builder;
 import io.stargate.db.Parameters;
 import io.stargate.db.datastore.ResultSet;
@@ -58,6 +57,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -73,6 +73,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.PathSegment;
@@ -111,7 +113,7 @@ public class RowResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
   @Path("/{primaryKey : (.+)?}")
-  public Response getRows(
+  public void getRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -130,8 +132,10 @@ public class RowResource {
               required = true)
           @PathParam("primaryKey")
           final PathSegment id,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -148,26 +152,24 @@ public class RowResource {
                   .build()
                   .bind();
 
-          final ResultSet r =
-              db.getAuthorizationService()
-                  .authorizedDataRead(
-                      () ->
-                          authenticatedDB
-                              .getDataStore()
-                              .execute(query, ConsistencyLevel.LOCAL_QUORUM)
-                              .get(),
-                      authenticatedDB.getAuthenticationSubject(),
-                      keyspaceName,
-                      tableName,
-                      TypedKeyValue.forSelect((BoundSelect) query),
-                      SourceAPI.REST);
-
-          final List<Map<String, Object>> rows =
-              r.rows().stream().map(Converters::row2MapV1).collect(Collectors.toList());
-
-          return Response.status(Response.Status.OK)
-              .entity(new RowResponse(rows.size(), rows))
-              .build();
+          return db.getAuthorizationService()
+              .authorizedAsyncDataRead(
+                  () ->
+                      authenticatedDB.getDataStore().execute(query, ConsistencyLevel.LOCAL_QUORUM),
+                  authenticatedDB.getAuthenticationSubject(),
+                  keyspaceName,
+                  tableName,
+                  TypedKeyValue.forSelect((BoundSelect) query),
+                  SourceAPI.REST)
+              .thenApply(
+                  r -> {
+                    final List<Map<String, Object>> rows =
+                        r.rows().stream().map(Converters::row2MapV1).collect(Collectors.toList());
+
+                    return Response.status(Response.Status.OK)
+                        .entity(new RowResponse(rows.size(), rows))
+                        .build();
+                  });
         });
   }
 
@@ -186,7 +188,7 @@ public class RowResource {
         @ApiResponse(code = 404, message = "Not Found", response = Error.class),
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
-  public Response getAllRows(
+  public void getAllRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -203,8 +205,10 @@ public class RowResource {
           final int pageSizeParam,
       @ApiParam(value = "Move the cursor to a particular result") @QueryParam("pageState")
           final String pageStateParam,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           ByteBuffer pageState = null;
           if (pageStateParam != null) {
@@ -233,33 +237,22 @@ public class RowResource {
           int finalPageSize = pageSize;
           UnaryOperator<Parameters> parametersModifier =
               p -> {
-                Builder parametersBuilder = ImmutableParameters.builder().pageSize(finalPageSize);
+                Builder parametersBuilder = p.toBuilder().pageSize(finalPageSize);
                 if (finalPageState != null) {
                   parametersBuilder.pagingState(finalPageState);
                 }
                 return parametersBuilder.consistencyLevel(ConsistencyLevel.LOCAL_QUORUM).build();
               };
 
-          final ResultSet r =
-              db.getAuthorizationService()
-                  .authorizedDataRead(
-                      () -> authenticatedDB.getDataStore().execute(query, parametersModifier).get(),
-                      authenticatedDB.getAuthenticationSubject(),
-                      keyspaceName,
-                      tableName,
-                      Collections.emptyList(),
-                      SourceAPI.REST);
-
-          final List<Map<String, Object>> rows =
-              r.currentPageRows().stream().map(Converters::row2MapV1).collect(Collectors.toList());
-
-          String newPagingState =
-              r.getPagingState() != null
-                  ? ByteBufferUtils.toBase64ForUrl(r.getPagingState())
-                  : null;
-          return Response.status(Response.Status.OK)
-              .entity(new Rows(rows.size(), newPagingState, rows))
-              .build();
+          return db.getAuthorizationService()
+              .authorizedAsyncDataRead(
+                  () -> authenticatedDB.getDataStore().execute(query, parametersModifier),
+                  authenticatedDB.getAuthenticationSubject(),
+                  keyspaceName,
+                  tableName,
+                  Collections.emptyList(),
+                  SourceAPI.REST)
+              .thenApply(RowResource::toRowsResponse);
         });
   }
 
@@ -278,7 +271,7 @@ public class RowResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
   @Path("/query")
-  public Response queryRows(
+  public void queryRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -293,8 +286,10 @@ public class RowResource {
           final String tableName,
       @ApiParam(value = "The query to be used for retrieving rows.", required = true) @NotNull
           final Query queryModel,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           ByteBuffer pageState = null;
           if (queryModel.getPageState() != null) {
@@ -320,16 +315,18 @@ public class RowResource {
           }
 
           if (queryModel.getFilters() == null || queryModel.getFilters().size() == 0) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(new Error("filters must be provided"))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new Error("filters must be provided"))
+                    .build());
           }
 
           for (Filter filter : queryModel.getFilters()) {
             if (!validateFilter(filter)) {
-              return Response.status(Response.Status.BAD_REQUEST)
-                  .entity(new Error("filter requires column name, operator, and value"))
-                  .build();
+              return CompletableFuture.completedFuture(
+                  Response.status(Response.Status.BAD_REQUEST)
+                      .entity(new Error("filter requires column name, operator, and value"))
+                      .build());
             }
           }
           List<BuiltCondition> where =
@@ -340,16 +337,19 @@ public class RowResource {
             String name = queryModel.getOrderBy().getColumn();
             String direction = queryModel.getOrderBy().getOrder();
             if (direction == null || name == null) {
-              return Response.status(Response.Status.BAD_REQUEST)
-                  .entity(new Error("both order and column are required for order by expression"))
-                  .build();
+              return CompletableFuture.completedFuture(
+                  Response.status(Response.Status.BAD_REQUEST)
+                      .entity(
+                          new Error("both order and column are required for order by expression"))
+                      .build());
             }
 
             direction = direction.toUpperCase();
             if (!direction.equals("ASC") && !direction.equals("DESC")) {
-              return Response.status(Response.Status.BAD_REQUEST)
-                  .entity(new Error("order must be either 'asc' or 'desc'"))
-                  .build();
+              return CompletableFuture.completedFuture(
+                  Response.status(Response.Status.BAD_REQUEST)
+                      .entity(new Error("order must be either 'asc' or 'desc'"))
+                      .build());
             }
             orderBy.add(ColumnOrder.of(name, Order.valueOf(direction)));
           }
@@ -371,33 +371,22 @@ public class RowResource {
           int finalPageSize = pageSize;
           UnaryOperator<Parameters> parametersModifier =
               p -> {
-                Builder parametersBuilder = ImmutableParameters.builder().pageSize(finalPageSize);
+                Builder parametersBuilder = p.toBuilder().pageSize(finalPageSize);
                 if (finalPageState != null) {
                   parametersBuilder.pagingState(finalPageState);
                 }
                 return parametersBuilder.consistencyLevel(ConsistencyLevel.LOCAL_QUORUM).build();
               };
 
-          ResultSet r =
-              db.getAuthorizationService()
-                  .authorizedDataRead(
-                      () -> authenticatedDB.getDataStore().execute(query, parametersModifier).get(),
-                      authenticatedDB.getAuthenticationSubject(),
-                      keyspaceName,
-                      tableName,
-                      TypedKeyValue.forSelect((BoundSelect) query),
-                      SourceAPI.REST);
-
-          final List<Map<String, Object>> rows =
-              r.currentPageRows().stream().map(Converters::row2MapV1).collect(Collectors.toList());
-
-          String newPagingState =
-              r.getPagingState() != null
-                  ? ByteBufferUtils.toBase64ForUrl(r.getPagingState())
-                  : null;
-          return Response.status(Response.Status.OK)
-              .entity(new Rows(rows.size(), newPagingState, rows))
-              .build();
+          return db.getAuthorizationService()
+              .authorizedAsyncDataRead(
+                  () -> authenticatedDB.getDataStore().execute(query, parametersModifier),
+                  authenticatedDB.getAuthenticationSubject(),
+                  keyspaceName,
+                  tableName,
+                  TypedKeyValue.forSelect((BoundSelect) query),
+                  SourceAPI.REST)
+              .thenApply(RowResource::toRowsResponse);
         });
   }
 
@@ -417,7 +406,7 @@ public class RowResource {
         @ApiResponse(code = 403, message = "Forbidden", response = Error.class),
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
-  public Response addRow(
+  public void addRow(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -432,8 +421,10 @@ public class RowResource {
           final String tableName,
       @ApiParam(value = "Row object that needs to be added to the table", required = true) @NotNull
           final RowAdd rowAdd,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -466,9 +457,14 @@ public class RowResource {
                   Scope.MODIFY,
                   SourceAPI.REST);
 
-          authenticatedDB.getDataStore().execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
-
-          return Response.status(Response.Status.CREATED).entity(new RowsResponse(true, 1)).build();
+          return authenticatedDB
+              .getDataStore()
+              .execute(query, ConsistencyLevel.LOCAL_QUORUM)
+              .thenApply(
+                  rs ->
+                      Response.status(Response.Status.CREATED)
+                          .entity(new RowsResponse(true, 1))
+                          .build());
         });
   }
 
@@ -484,7 +480,7 @@ public class RowResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
   @Path("/{primaryKey}")
-  public Response deleteRow(
+  public void deleteRow(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -503,8 +499,10 @@ public class RowResource {
               required = true)
           @PathParam("primaryKey")
           final PathSegment id,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -530,9 +528,14 @@ public class RowResource {
                   Scope.DELETE,
                   SourceAPI.REST);
 
-          authenticatedDB.getDataStore().execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
-
-          return Response.status(Response.Status.NO_CONTENT).entity(new SuccessResponse()).build();
+          return authenticatedDB
+              .getDataStore()
+              .execute(query, ConsistencyLevel.LOCAL_QUORUM)
+              .thenApply(
+                  rs ->
+                      Response.status(Response.Status.NO_CONTENT)
+                          .entity(new SuccessResponse())
+                          .build());
         });
   }
 
@@ -551,7 +554,7 @@ public class RowResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
   @Path("/{primaryKey}")
-  public Response updateRow(
+  public void updateRow(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -571,8 +574,10 @@ public class RowResource {
           @PathParam("primaryKey")
           final PathSegment id,
       @Context HttpServletRequest request,
-      final RowUpdate changeSet) {
-    return RequestHandler.handle(
+      final RowUpdate changeSet,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -603,12 +608,25 @@ public class RowResource {
                   Scope.MODIFY,
                   SourceAPI.REST);
 
-          authenticatedDB.getDataStore().execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
-
-          return Response.status(Response.Status.OK).entity(new SuccessResponse()).build();
+          return authenticatedDB
+              .getDataStore()
+              .execute(query, ConsistencyLevel.LOCAL_QUORUM)
+              .thenApply(
+                  rs -> Response.status(Response.Status.OK).entity(new SuccessResponse()).build());
         });
   }
 
+  private static Response toRowsResponse(ResultSet r) {
+    final List<Map<String, Object>> rows =
+        r.currentPageRows().stream().map(Converters::row2MapV1).collect(Collectors.toList());
+
+    String newPagingState =
+        r.getPagingState() != null ? ByteBufferUtils.toBase64ForUrl(r.getPagingState()) : null;
+    return Response.status(Response.Status.OK)
+        .entity(new Rows(rows.size(), newPagingState, rows))
+        .build();
+  }
+
   private boolean validateFilter(Filter filter) {
     if (filter.getColumnName() == null) {
       return false;
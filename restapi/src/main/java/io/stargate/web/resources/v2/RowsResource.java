@@ -24,9 +24,10 @@ import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.TypedKeyValue;
 import io.stargate.core.util.ByteBufferUtils;
-import io.stargate.db.ImmutableParameters;
 import io.stargate.db.ImmutableParameters.Builder;
 import io.stargate.db.Parameters;
+import io.stargate.db.aggregation.Aggregate;
+import io.stargate.db.aggregation.TokenRangeAggregation;
 import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.query.BoundDMLQuery;
 import io.stargate.db.query.BoundQuery;
@@ -55,9 +56,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.inject.Inject;
@@ -72,6 +80,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.PathSegment;
@@ -89,6 +99,7 @@ public class RowsResource {
   @Inject private Db db;
   private static final ObjectMapper mapper = new ObjectMapper();
   private final int DEFAULT_PAGE_SIZE = 100;
+  private static final Pattern AGGREGATE_PATTERN = Pattern.compile("(\\w+)\\s*\\((.+)\\)");
 
   @Timed
   @GET
@@ -104,7 +115,7 @@ public class RowsResource {
         @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
-  public Response getRowWithWhere(
+  public void getRowWithWhere(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -146,15 +157,19 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "Keys to sort by") @QueryParam("sort") final String sort,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           if (Strings.isNullOrEmpty(where)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "where parameter is required", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "where parameter is required",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           ByteBuffer pageState = null;
@@ -171,8 +186,7 @@ public class RowsResource {
               db.getRestDataStoreForToken(token, getAllHeaders(request));
           final Table tableMetadata = authenticatedDB.getTable(keyspaceName, tableName);
 
-          Object response =
-              getRows(
+          return getRows(
                   fields,
                   raw,
                   sort,
@@ -180,10 +194,8 @@ public class RowsResource {
                   tableMetadata,
                   WhereParser.parseWhere(where, tableMetadata),
                   pageState,
-                  pageSize);
-          return Response.status(Response.Status.OK)
-              .entity(Converters.writeResponse(response))
-              .build();
+                  pageSize)
+              .thenApply(response -> RequestHandler.jsonResponse(Response.Status.OK, response));
         });
   }
 
@@ -202,7 +214,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response getRows(
+  public void getRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -231,8 +243,10 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "Keys to sort by") @QueryParam("sort") final String sort,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           ByteBuffer pageState = null;
           if (pageStateParam != null) {
@@ -252,20 +266,12 @@ public class RowsResource {
           try {
             where = buildWhereForPath(tableMetadata, path);
           } catch (IllegalArgumentException iae) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "not enough partition keys provided: " + iae.getMessage(),
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(notEnoughPartitionKeys(iae));
           }
 
-          Object response =
-              getRows(
-                  fields, raw, sort, authenticatedDB, tableMetadata, where, pageState, pageSize);
-          return Response.status(Response.Status.OK)
-              .entity(Converters.writeResponse(response))
-              .build();
+          return getRows(
+                  fields, raw, sort, authenticatedDB, tableMetadata, where, pageState, pageSize)
+              .thenApply(response -> RequestHandler.jsonResponse(Response.Status.OK, response));
         });
   }
 
@@ -285,7 +291,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
   @Path("/rows")
-  public Response getAllRows(
+  public void getAllRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -306,8 +312,10 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "Keys to sort by") @QueryParam("sort") final String sort,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           ByteBuffer pageState = null;
           if (pageStateParam != null) {
@@ -323,8 +331,7 @@ public class RowsResource {
               db.getRestDataStoreForToken(token, getAllHeaders(request));
           final Table tableMetadata = authenticatedDB.getTable(keyspaceName, tableName);
 
-          Object response =
-              getRows(
+          return getRows(
                   fields,
                   raw,
                   sort,
@@ -332,10 +339,115 @@ public class RowsResource {
                   tableMetadata,
                   Collections.emptyList(),
                   pageState,
-                  pageSize);
-          return Response.status(Response.Status.OK)
-              .entity(Converters.writeResponse(response))
-              .build();
+                  pageSize)
+              .thenApply(response -> RequestHandler.jsonResponse(Response.Status.OK, response));
+        });
+  }
+
+  @Timed
+  @GET
+  @ApiOperation(
+      value = "Aggregate all rows",
+      notes =
+          "Compute aggregates over all the rows of a table. The token ring is split in ranges that are aggregated in parallel, so that large tables can be aggregated without timing out.",
+      response = GetResponseWrapper.class)
+  @ApiResponses(
+      value = {
+        @ApiResponse(code = 200, message = "OK", response = GetResponseWrapper.class),
+        @ApiResponse(code = 400, message = "Bad request", response = Error.class),
+        @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
+        @ApiResponse(code = 404, message = "Not Found", response = Error.class),
+        @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class),
+        @ApiResponse(code = 504, message = "Gateway Timeout", response = Error.class)
+      })
+  @Path("/aggregate")
+  public void aggregateRows(
+      @ApiParam(
+              value =
+                  "The token returned from the authorization endpoint. Use this token in each request.",
+              required = true)
+          @HeaderParam("X-Cassandra-Token")
+          String token,
+      @ApiParam(value = "Name of the keyspace to use for the request.", required = true)
+          @PathParam("keyspaceName")
+          final String keyspaceName,
+      @ApiParam(value = "Name of the table to use for the request.", required = true)
+          @PathParam("tableName")
+          final String tableName,
+      @ApiParam(
+              value =
+                  "Comma delimited list of aggregates among count, sum, min, max and avg, f.e. `count(*),avg(price)`",
+              required = true)
+          @QueryParam("functions")
+          final String functions,
+      @ApiParam(value = "Comma delimited prefix of the partition key columns to group by")
+          @QueryParam("group-by")
+          final String groupBy,
+      @ApiParam(value = "Number of token ranges to split the table into, at most 4096")
+          @QueryParam("splits")
+          final int splitsParam,
+      @ApiParam(value = "Maximum number of token ranges aggregated concurrently, limited by the server (64 by default)")
+          @QueryParam("concurrency")
+          final int concurrencyParam,
+      @ApiParam(value = "Time after which the aggregation fails, in milliseconds")
+          @QueryParam("timeout-ms")
+          final long timeoutMillis,
+      @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
+          final boolean raw,
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
+        () -> {
+          if (Strings.isNullOrEmpty(functions)) {
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "functions parameter is required",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
+          }
+
+          AuthenticatedDB authenticatedDB =
+              db.getRestDataStoreForToken(token, getAllHeaders(request));
+          final Table tableMetadata = authenticatedDB.getTable(keyspaceName, tableName);
+
+          TokenRangeAggregation.Builder builder =
+              TokenRangeAggregation.builder(authenticatedDB.getDataStore(), tableMetadata)
+                  .aggregates(parseAggregates(functions))
+                  .parameters(p -> p.withConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM));
+          if (!Strings.isNullOrEmpty(groupBy)) {
+            builder.groupBy(splitList(groupBy));
+          }
+          if (splitsParam > 0) {
+            builder.splits(splitsParam);
+          }
+          if (concurrencyParam > 0) {
+            builder.concurrency(concurrencyParam);
+          }
+          if (timeoutMillis > 0) {
+            builder.timeout(timeoutMillis, TimeUnit.MILLISECONDS);
+          }
+          TokenRangeAggregation aggregation = builder.build();
+
+          db.getAuthorizationService()
+              .authorizeDataRead(
+                  authenticatedDB.getAuthenticationSubject(),
+                  tableMetadata.keyspace(),
+                  tableMetadata.name(),
+                  SourceAPI.REST);
+
+          return aggregation
+              .execute()
+              .thenApply(
+                  rows -> {
+                    List<Map<String, Object>> jsonRows =
+                        rows.stream().map(RowsResource::toJsonRow).collect(Collectors.toList());
+                    Object response =
+                        raw ? jsonRows : new GetResponseWrapper(jsonRows.size(), null, jsonRows);
+                    return RequestHandler.jsonResponse(Response.Status.OK, response);
+                  });
         });
   }
 
@@ -360,7 +472,7 @@ public class RowsResource {
         @ApiResponse(code = 409, message = "Conflict", response = Error.class),
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
-  public Response createRow(
+  public void createRow(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -374,8 +486,10 @@ public class RowsResource {
           @PathParam("tableName")
           final String tableName,
       @ApiParam(value = "", required = true) String payload,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -408,16 +522,15 @@ public class RowsResource {
                   Scope.MODIFY,
                   SourceAPI.REST);
 
-          authenticatedDB.getDataStore().execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
-
           Map<String, Object> keys = new HashMap<>();
           for (Column col : table.primaryKeyColumns()) {
             keys.put(col.name(), requestBody.get(col.name()));
           }
 
-          return Response.status(Response.Status.CREATED)
-              .entity(Converters.writeResponse(keys))
-              .build();
+          return authenticatedDB
+              .getDataStore()
+              .execute(query, ConsistencyLevel.LOCAL_QUORUM)
+              .thenApply(rs -> RequestHandler.jsonResponse(Response.Status.CREATED, keys));
         });
   }
 
@@ -435,7 +548,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response updateRows(
+  public void updateRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -457,8 +570,10 @@ public class RowsResource {
       @ApiParam(value = "Unwrap results", defaultValue = "false") @QueryParam("raw")
           final boolean raw,
       @ApiParam(value = "", required = true) String payload,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () ->
             modifyRow(token, keyspaceName, tableName, path, raw, payload, getAllHeaders(request)));
   }
@@ -473,7 +588,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response deleteRows(
+  public void deleteRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -492,8 +607,10 @@ public class RowsResource {
               required = true)
           @PathParam("primaryKey")
           List<PathSegment> path,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -504,12 +621,7 @@ public class RowsResource {
           try {
             where = buildWhereForPath(tableMetadata, path);
           } catch (IllegalArgumentException iae) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "not enough partition keys provided: " + iae.getMessage(),
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(notEnoughPartitionKeys(iae));
           }
 
           BoundQuery query =
@@ -531,8 +643,10 @@ public class RowsResource {
                   Scope.DELETE,
                   SourceAPI.REST);
 
-          authenticatedDB.getDataStore().execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
-          return Response.status(Response.Status.NO_CONTENT).build();
+          return authenticatedDB
+              .getDataStore()
+              .execute(query, ConsistencyLevel.LOCAL_QUORUM)
+              .thenApply(rs -> Response.status(Response.Status.NO_CONTENT).build());
         });
   }
 
@@ -550,7 +664,7 @@ public class RowsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{primaryKey: .*}")
-  public Response patchRows(
+  public void patchRows(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -571,13 +685,15 @@ public class RowsResource {
           List<PathSegment> path,
       @QueryParam("raw") final boolean raw,
       @ApiParam(value = "document", required = true) String payload,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () ->
             modifyRow(token, keyspaceName, tableName, path, raw, payload, getAllHeaders(request)));
   }
 
-  private Response modifyRow(
+  private CompletionStage<Response> modifyRow(
       String token,
       String keyspaceName,
       String tableName,
@@ -594,12 +710,7 @@ public class RowsResource {
     try {
       where = buildWhereForPath(tableMetadata, path);
     } catch (IllegalArgumentException iae) {
-      return Response.status(Response.Status.BAD_REQUEST)
-          .entity(
-              new Error(
-                  "not enough partition keys provided: " + iae.getMessage(),
-                  Response.Status.BAD_REQUEST.getStatusCode()))
-          .build();
+      return CompletableFuture.completedFuture(notEnoughPartitionKeys(iae));
     }
 
     @SuppressWarnings("unchecked")
@@ -628,12 +739,23 @@ public class RowsResource {
             Scope.MODIFY,
             SourceAPI.REST);
 
-    authenticatedDB.getDataStore().execute(query, ConsistencyLevel.LOCAL_QUORUM).get();
     Object response = raw ? requestBody : new ResponseWrapper(requestBody);
-    return Response.status(Response.Status.OK).entity(Converters.writeResponse(response)).build();
+    return authenticatedDB
+        .getDataStore()
+        .execute(query, ConsistencyLevel.LOCAL_QUORUM)
+        .thenApply(rs -> RequestHandler.jsonResponse(Response.Status.OK, response));
+  }
+
+  private static Response notEnoughPartitionKeys(IllegalArgumentException iae) {
+    return Response.status(Response.Status.BAD_REQUEST)
+        .entity(
+            new Error(
+                "not enough partition keys provided: " + iae.getMessage(),
+                Response.Status.BAD_REQUEST.getStatusCode()))
+        .build();
   }
 
-  private Object getRows(
+  private CompletionStage<Object> getRows(
       String fields,
       boolean raw,
       String sort,
@@ -669,23 +791,25 @@ public class RowsResource {
 
     UnaryOperator<Parameters> parametersModifier =
         p -> {
-          Builder parametersBuilder = ImmutableParameters.builder().pageSize(pageSize);
+          Builder parametersBuilder = p.toBuilder().pageSize(pageSize);
           if (pageState != null) {
             parametersBuilder.pagingState(pageState);
           }
           return parametersBuilder.consistencyLevel(ConsistencyLevel.LOCAL_QUORUM).build();
         };
 
-    final ResultSet r =
-        db.getAuthorizationService()
-            .authorizedDataRead(
-                () -> authenticatedDB.getDataStore().execute(query, parametersModifier).get(),
-                authenticatedDB.getAuthenticationSubject(),
-                tableMetadata.keyspace(),
-                tableMetadata.name(),
-                TypedKeyValue.forSelect((BoundSelect) query),
-                SourceAPI.REST);
+    return db.getAuthorizationService()
+        .authorizedAsyncDataRead(
+            () -> authenticatedDB.getDataStore().execute(query, parametersModifier),
+            authenticatedDB.getAuthenticationSubject(),
+            tableMetadata.keyspace(),
+            tableMetadata.name(),
+            TypedKeyValue.forSelect((BoundSelect) query),
+            SourceAPI.REST)
+        .thenApply(r -> toRowsResponse(r, raw));
+  }
 
+  private static Object toRowsResponse(ResultSet r, boolean raw) {
     List<Map<String, Object>> rows =
         r.currentPageRows().stream().map(Converters::row2Map).collect(Collectors.toList());
     String newPagingState =
@@ -727,4 +851,46 @@ public class RowsResource {
             i -> Converters.idToWhere(path.get(i).getPath(), keys.get(i).name(), tableMetadata))
         .collect(Collectors.toList());
   }
+
+  private static List<Aggregate> parseAggregates(String functions) {
+    List<Aggregate> aggregates = new ArrayList<>();
+    for (String function : splitList(functions)) {
+      Matcher matcher = AGGREGATE_PATTERN.matcher(function);
+      if (!matcher.matches()) {
+        throw new IllegalArgumentException(
+            String.format("Invalid aggregate '%s', expected f.e. 'sum(column)'", function));
+      }
+      Aggregate.Function aggregateFunction;
+      try {
+        aggregateFunction = Aggregate.Function.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            String.format("Unsupported aggregate function '%s'", matcher.group(1)));
+      }
+      String column = matcher.group(2).trim();
+      if (column.equals("*")) {
+        if (aggregateFunction != Aggregate.Function.COUNT) {
+          throw new IllegalArgumentException(
+              String.format("Only count can be applied to *, got '%s'", function));
+        }
+        aggregates.add(Aggregate.count().as(function));
+      } else {
+        aggregates.add(Aggregate.of(aggregateFunction, column).as(function));
+      }
+    }
+    return aggregates;
+  }
+
+  private static List<String> splitList(String list) {
+    return Arrays.stream(list.split(","))
+        .map(String::trim)
+        .filter(s -> s.length() != 0)
+        .collect(Collectors.toList());
+  }
+
+  private static Map<String, Object> toJsonRow(Map<String, Object> row) {
+    Map<String, Object> json = new LinkedHashMap<>();
+    row.forEach((name, value) -> json.put(name, Converters.toJsonValue(value)));
+    return json;
+  }
 }
@@ -41,6 +41,7 @@ import io.swagger.annotations.ApiResponses;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -54,6 +55,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -154,7 +157,7 @@ public class ColumnsResource {
         @ApiResponse(code = 409, message = "Conflict", response = Error.class),
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
-  public Response createColumn(
+  public void createColumn(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -168,19 +171,22 @@ public class ColumnsResource {
           @PathParam("tableName")
           final String tableName,
       @ApiParam(value = "", required = true) @NotNull final ColumnDefinition columnDefinition,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
           Keyspace keyspace = authenticatedDB.getKeyspace(keyspaceName);
           if (keyspace == null) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        String.format("keyspace '%s' not found", keyspaceName),
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            String.format("keyspace '%s' not found", keyspaceName),
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           String name = columnDefinition.getName();
@@ -193,9 +199,10 @@ public class ColumnsResource {
           try {
             type = Column.Type.fromCqlDefinitionOf(keyspace, columnDefinition.getTypeDefinition());
           } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(new Error(e.getMessage(), Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new Error(e.getMessage(), Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           Column column = ImmutableColumn.builder().name(name).kind(kind).type(type).build();
@@ -209,7 +216,7 @@ public class ColumnsResource {
                   SourceAPI.REST,
                   ResourceKind.TABLE);
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .alter()
@@ -217,13 +224,11 @@ public class ColumnsResource {
               .addColumn(column)
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Response.Status.CREATED)
-              .entity(
-                  Converters.writeResponse(
-                      Collections.singletonMap("name", columnDefinition.getName())))
-              .build();
+              .thenApply(
+                  rs ->
+                      RequestHandler.jsonResponse(
+                          Response.Status.CREATED,
+                          Collections.singletonMap("name", columnDefinition.getName())));
         });
   }
 
@@ -319,7 +324,7 @@ public class ColumnsResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
   @Path("/{columnName}")
-  public Response updateColumn(
+  public void updateColumn(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -334,8 +339,10 @@ public class ColumnsResource {
           final String tableName,
       @PathParam("columnName") final String columnName,
       @NotNull final ColumnDefinition columnUpdate,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -349,7 +356,7 @@ public class ColumnsResource {
                   SourceAPI.REST,
                   ResourceKind.TABLE);
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .alter()
@@ -357,12 +364,11 @@ public class ColumnsResource {
               .renameColumn(columnName, columnUpdate.getName())
               .build()
               .execute()
-              .get();
-          return Response.status(Response.Status.OK)
-              .entity(
-                  Converters.writeResponse(
-                      Collections.singletonMap("name", columnUpdate.getName())))
-              .build();
+              .thenApply(
+                  rs ->
+                      RequestHandler.jsonResponse(
+                          Response.Status.OK,
+                          Collections.singletonMap("name", columnUpdate.getName())));
         });
   }
 
@@ -376,7 +382,7 @@ public class ColumnsResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{columnName}")
-  public Response deleteColumn(
+  public void deleteColumn(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -391,8 +397,10 @@ public class ColumnsResource {
           final String tableName,
       @ApiParam(value = "column name", required = true) @PathParam("columnName")
           final String columnName,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -406,7 +414,7 @@ public class ColumnsResource {
                   SourceAPI.REST,
                   ResourceKind.TABLE);
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .alter()
@@ -414,9 +422,7 @@ public class ColumnsResource {
               .dropColumn(columnName)
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Response.Status.NO_CONTENT).build();
+              .thenApply(rs -> Response.status(Response.Status.NO_CONTENT).build());
         });
   }
 }
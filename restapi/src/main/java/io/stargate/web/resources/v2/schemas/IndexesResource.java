@@ -23,7 +23,6 @@ import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.TypedKeyValue;
 import io.stargate.auth.entity.ResourceKind;
-import io.stargate.db.datastore.ResultSet;
 import io.stargate.db.query.BoundQuery;
 import io.stargate.db.query.BoundSelect;
 import io.stargate.db.query.Predicate;
@@ -48,6 +47,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -61,6 +61,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -92,7 +94,7 @@ public class IndexesResource {
         @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
-  public Response getAllIndexesForTable(
+  public void getAllIndexesForTable(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -105,8 +107,10 @@ public class IndexesResource {
       @ApiParam(value = "Name of the table to use for the request.", required = true)
           @PathParam("tableName")
           final String tableName,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -133,32 +137,33 @@ public class IndexesResource {
                     .build()
                     .bind();
 
-            final ResultSet r =
-                db.getAuthorizationService()
-                    .authorizedDataRead(
-                        () ->
-                            authenticatedDB
-                                .getDataStore()
-                                .execute(query, ConsistencyLevel.LOCAL_QUORUM)
-                                .get(),
-                        authenticatedDB.getAuthenticationSubject(),
-                        keyspaceName,
-                        tableName,
-                        TypedKeyValue.forSelect((BoundSelect) query),
-                        SourceAPI.REST);
-
-            List<Map<String, Object>> rows =
-                r.currentPageRows().stream().map(Converters::row2Map).collect(Collectors.toList());
-            return Response.status(Response.Status.OK)
-                .entity(Converters.writeResponse(rows))
-                .build();
+            return db.getAuthorizationService()
+                .authorizedAsyncDataRead(
+                    () ->
+                        authenticatedDB
+                            .getDataStore()
+                            .execute(query, ConsistencyLevel.LOCAL_QUORUM),
+                    authenticatedDB.getAuthenticationSubject(),
+                    keyspaceName,
+                    tableName,
+                    TypedKeyValue.forSelect((BoundSelect) query),
+                    SourceAPI.REST)
+                .thenApply(
+                    r -> {
+                      List<Map<String, Object>> rows =
+                          r.currentPageRows().stream()
+                              .map(Converters::row2Map)
+                              .collect(Collectors.toList());
+                      return RequestHandler.jsonResponse(Response.Status.OK, rows);
+                    });
           } catch (NotFoundException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity(
-                    new Error(
-                        String.format("Table '%s' not found in keyspace.", tableName),
-                        Response.Status.NOT_FOUND.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.NOT_FOUND)
+                    .entity(
+                        new Error(
+                            String.format("Table '%s' not found in keyspace.", tableName),
+                            Response.Status.NOT_FOUND.getStatusCode()))
+                    .build());
           }
         });
   }
@@ -177,7 +182,7 @@ public class IndexesResource {
         @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
-  public Response addIndex(
+  public void addIndex(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -191,8 +196,10 @@ public class IndexesResource {
           @PathParam("tableName")
           final String tableName,
       @ApiParam(required = true) @NotNull final IndexAdd indexAdd,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -208,42 +215,46 @@ public class IndexesResource {
 
           String columnName = indexAdd.getColumn();
           if (Strings.isNullOrEmpty(columnName)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        String.format("Column name ('%s') cannot be empty/null.", columnName),
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            String.format("Column name ('%s') cannot be empty/null.", columnName),
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           Keyspace keyspace = authenticatedDB.getDataStore().schema().keyspace(keyspaceName);
           if (keyspace == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity(
-                    new Error(
-                        String.format("Keyspace '%s' not found.", keyspaceName),
-                        Response.Status.NOT_FOUND.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.NOT_FOUND)
+                    .entity(
+                        new Error(
+                            String.format("Keyspace '%s' not found.", keyspaceName),
+                            Response.Status.NOT_FOUND.getStatusCode()))
+                    .build());
           }
 
           try {
             final Table tableMetadata = authenticatedDB.getTable(keyspaceName, tableName);
             final Column col = tableMetadata.column(columnName);
             if (col == null) {
-              return Response.status(Response.Status.NOT_FOUND)
-                  .entity(
-                      new Error(
-                          String.format("Column '%s' not found in table.", columnName),
-                          Response.Status.NOT_FOUND.getStatusCode()))
-                  .build();
+              return CompletableFuture.completedFuture(
+                  Response.status(Response.Status.NOT_FOUND)
+                      .entity(
+                          new Error(
+                              String.format("Column '%s' not found in table.", columnName),
+                              Response.Status.NOT_FOUND.getStatusCode()))
+                      .build());
             }
           } catch (NotFoundException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity(
-                    new Error(
-                        String.format("Table '%s' not found in keyspace.", tableName),
-                        Response.Status.NOT_FOUND.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.NOT_FOUND)
+                    .entity(
+                        new Error(
+                            String.format("Table '%s' not found in keyspace.", tableName),
+                            Response.Status.NOT_FOUND.getStatusCode()))
+                    .build());
           }
 
           boolean indexKeys = indexAdd.getKind() == IndexKind.KEYS;
@@ -259,7 +270,7 @@ public class IndexesResource {
                   .indexFull(indexFull)
                   .build();
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .create()
@@ -271,9 +282,11 @@ public class IndexesResource {
               .custom(indexAdd.getType(), indexAdd.getOptions())
               .build()
               .execute()
-              .get();
-
-          return Response.status(Response.Status.CREATED).entity(new SuccessResponse()).build();
+              .thenApply(
+                  rs ->
+                      Response.status(Response.Status.CREATED)
+                          .entity(new SuccessResponse())
+                          .build());
         });
   }
 
@@ -292,7 +305,7 @@ public class IndexesResource {
         @ApiResponse(code = 500, message = "Internal Server Error", response = Error.class)
       })
   @Path("/{indexName}")
-  public Response dropIndex(
+  public void dropIndex(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -314,8 +327,10 @@ public class IndexesResource {
                   "If the index doesn't exists drop will throw an error unless this query param is set to true.")
           @QueryParam("ifExists")
           final boolean ifExists,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -331,35 +346,38 @@ public class IndexesResource {
 
           Keyspace keyspace = authenticatedDB.getDataStore().schema().keyspace(keyspaceName);
           if (keyspace == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity(
-                    new Error(
-                        String.format("Keyspace '%s' not found.", keyspaceName),
-                        Response.Status.NOT_FOUND.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.NOT_FOUND)
+                    .entity(
+                        new Error(
+                            String.format("Keyspace '%s' not found.", keyspaceName),
+                            Response.Status.NOT_FOUND.getStatusCode()))
+                    .build());
           }
 
           try {
             final Table tableMetadata = authenticatedDB.getTable(keyspaceName, tableName);
             Index index = tableMetadata.index(indexName);
             if (index == null && !ifExists) {
-              return Response.status(Response.Status.NOT_FOUND)
-                  .entity(
-                      new Error(
-                          String.format("Index '%s' not found.", indexName),
-                          Response.Status.NOT_FOUND.getStatusCode()))
-                  .build();
+              return CompletableFuture.completedFuture(
+                  Response.status(Response.Status.NOT_FOUND)
+                      .entity(
+                          new Error(
+                              String.format("Index '%s' not found.", indexName),
+                              Response.Status.NOT_FOUND.getStatusCode()))
+                      .build());
             }
           } catch (NotFoundException e) {
-            return Response.status(Response.Status.NOT_FOUND)
-                .entity(
-                    new Error(
-                        String.format("Table '%s' not found in keyspace.", tableName),
-                        Response.Status.NOT_FOUND.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.NOT_FOUND)
+                    .entity(
+                        new Error(
+                            String.format("Table '%s' not found in keyspace.", tableName),
+                            Response.Status.NOT_FOUND.getStatusCode()))
+                    .build());
           }
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .drop()
@@ -367,9 +385,7 @@ public class IndexesResource {
               .ifExists(ifExists)
               .build()
               .execute()
-              .get();
-
-          return Response.status(Response.Status.NO_CONTENT).build();
+              .thenApply(rs -> Response.status(Response.Status.NO_CONTENT).build());
         });
   }
 }
@@ -52,6 +52,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -188,7 +190,7 @@ public class KeyspacesResource {
         @ApiResponse(code = 409, message = "Conflict", response = Error.class),
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
-  public Response createKeyspace(
+  public void createKeyspace(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -214,8 +216,10 @@ public class KeyspacesResource {
                       + "}\n"
                       + "```")
           String payload,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -249,7 +253,7 @@ public class KeyspacesResource {
             replication = Replication.simpleStrategy((int) requestBody.getOrDefault("replicas", 1));
           }
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .create()
@@ -258,11 +262,10 @@ public class KeyspacesResource {
               .withReplication(replication)
               .build()
               .execute()
-              .get();
-
-          return Response.status(Response.Status.CREATED)
-              .entity(Converters.writeResponse(Collections.singletonMap("name", keyspaceName)))
-              .build();
+              .thenApply(
+                  rs ->
+                      RequestHandler.jsonResponse(
+                          Response.Status.CREATED, Collections.singletonMap("name", keyspaceName)));
         });
   }
 
@@ -276,7 +279,7 @@ public class KeyspacesResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{keyspaceName}")
-  public Response deleteKeyspace(
+  public void deleteKeyspace(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -286,8 +289,10 @@ public class KeyspacesResource {
       @ApiParam(value = "Name of the keyspace to use for the request.", required = true)
           @PathParam("keyspaceName")
           final String keyspaceName,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -301,16 +306,14 @@ public class KeyspacesResource {
                   SourceAPI.REST,
                   ResourceKind.KEYSPACE);
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .drop()
               .keyspace(keyspaceName)
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Response.Status.NO_CONTENT).build();
+              .thenApply(rs -> Response.status(Response.Status.NO_CONTENT).build());
         });
   }
 
@@ -50,6 +50,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -63,6 +64,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -195,7 +198,7 @@ public class TablesResource {
         @ApiResponse(code = 409, message = "Conflict", response = Error.class),
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
-  public Response createTable(
+  public void createTable(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -206,28 +209,34 @@ public class TablesResource {
           @PathParam("keyspaceName")
           final String keyspaceName,
       @ApiParam(required = true) @NotNull final TableAdd tableAdd,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
 
           Keyspace keyspace = authenticatedDB.getDataStore().schema().keyspace(keyspaceName);
           if (keyspace == null) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "keyspace does not exists", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "keyspace does not exists",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           String tableName = tableAdd.getName();
           if (tableName == null || tableName.equals("")) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "table name must be provided", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "table name must be provided",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           db.getAuthorizationService()
@@ -241,12 +250,13 @@ public class TablesResource {
 
           PrimaryKey primaryKey = tableAdd.getPrimaryKey();
           if (primaryKey == null) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "primary key must be provided",
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "primary key must be provided",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           List<Column> columns = new ArrayList<>();
@@ -254,12 +264,13 @@ public class TablesResource {
           for (ColumnDefinition colDef : tableAdd.getColumnDefinitions()) {
             String columnName = colDef.getName();
             if (columnName == null || columnName.equals("")) {
-              return Response.status(Response.Status.BAD_REQUEST)
-                  .entity(
-                      new Error(
-                          "column name must be provided",
-                          Response.Status.BAD_REQUEST.getStatusCode()))
-                  .build();
+              return CompletableFuture.completedFuture(
+                  Response.status(Response.Status.BAD_REQUEST)
+                      .entity(
+                          new Error(
+                              "column name must be provided",
+                              Response.Status.BAD_REQUEST.getStatusCode()))
+                      .build());
             }
 
             Kind kind = Converters.getColumnKind(colDef, primaryKey);
@@ -268,12 +279,13 @@ public class TablesResource {
             try {
               order = kind == Kind.Clustering ? Converters.getColumnOrder(colDef, options) : null;
             } catch (Exception e) {
-              return Response.status(Response.Status.BAD_REQUEST)
-                  .entity(
-                      new Error(
-                          "Unable to create table options " + e.getMessage(),
-                          Response.Status.BAD_REQUEST.getStatusCode()))
-                  .build();
+              return CompletableFuture.completedFuture(
+                  Response.status(Response.Status.BAD_REQUEST)
+                      .entity(
+                          new Error(
+                              "Unable to create table options " + e.getMessage(),
+                              Response.Status.BAD_REQUEST.getStatusCode()))
+                      .build());
             }
             columns.add(Column.create(columnName, kind, type, order));
           }
@@ -283,7 +295,7 @@ public class TablesResource {
             ttl = options.getDefaultTimeToLive();
           }
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .create()
@@ -293,11 +305,10 @@ public class TablesResource {
               .withDefaultTTL(ttl)
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Response.Status.CREATED)
-              .entity(Converters.writeResponse(Collections.singletonMap("name", tableName)))
-              .build();
+              .thenApply(
+                  rs ->
+                      RequestHandler.jsonResponse(
+                          Response.Status.CREATED, Collections.singletonMap("name", tableName)));
         });
   }
 
@@ -317,7 +328,7 @@ public class TablesResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{tableName}")
-  public Response updateTable(
+  public void updateTable(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -331,8 +342,10 @@ public class TablesResource {
           @PathParam("tableName")
           final String tableName,
       @ApiParam(value = "table name", required = true) @NotNull final TableAdd tableUpdate,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -349,23 +362,26 @@ public class TablesResource {
           TableOptions options = tableUpdate.getTableOptions();
           List<ClusteringExpression> clusteringExpressions = options.getClusteringExpression();
           if (clusteringExpressions != null && !clusteringExpressions.isEmpty()) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "Cannot update the clustering order of a table",
-                        Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "Cannot update the clustering order of a table",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           Integer defaultTTL = options.getDefaultTimeToLive();
           if (defaultTTL == null) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error("No update provided", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "No update provided", Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .alter()
@@ -373,12 +389,10 @@ public class TablesResource {
               .withDefaultTTL(options.getDefaultTimeToLive())
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Status.OK)
-              .entity(
-                  Converters.writeResponse(Collections.singletonMap("name", tableUpdate.getName())))
-              .build();
+              .thenApply(
+                  rs ->
+                      RequestHandler.jsonResponse(
+                          Status.OK, Collections.singletonMap("name", tableUpdate.getName())));
         });
   }
 
@@ -394,7 +408,7 @@ public class TablesResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{tableName}")
-  public Response deleteTable(
+  public void deleteTable(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -407,8 +421,10 @@ public class TablesResource {
       @ApiParam(value = "Name of the table to use for the request.", required = true)
           @PathParam("tableName")
           final String tableName,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
@@ -422,16 +438,14 @@ public class TablesResource {
                   SourceAPI.REST,
                   ResourceKind.TABLE);
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .drop()
               .table(keyspaceName, tableName)
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Response.Status.NO_CONTENT).build();
+              .thenApply(rs -> Response.status(Response.Status.NO_CONTENT).build());
         });
   }
 
@@ -25,6 +25,7 @@ import io.stargate.auth.Scope;
 import io.stargate.auth.SourceAPI;
 import io.stargate.auth.UnauthorizedException;
 import io.stargate.auth.entity.ResourceKind;
+import io.stargate.db.query.builder.BuiltQuery;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.Kind;
 import io.stargate.db.schema.Column.Type;
@@ -51,7 +52,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -66,6 +68,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import org.apache.cassandra.stargate.db.ConsistencyLevel;
@@ -218,7 +222,7 @@ public class UserDefinedTypesResource {
             response = Error.class),
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
-  public Response createType(
+  public void createType(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -229,36 +233,42 @@ public class UserDefinedTypesResource {
           @PathParam("keyspaceName")
           final String keyspaceName,
       @ApiParam(value = "", required = true) @NotNull final UserDefinedTypeAdd udtAdd,
-      @Context final HttpServletRequest request) {
-
-    return RequestHandler.handle(
+      @Context final HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
           Keyspace keyspace = authenticatedDB.getDataStore().schema().keyspace(keyspaceName);
 
           if (keyspace == null) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "keyspace does not exists", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "keyspace does not exists",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
           String typeName = udtAdd.getName();
           if (Strings.isNullOrEmpty(typeName)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "Type name must be provided", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "Type name must be provided",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           if (udtAdd.getFields() == null || udtAdd.getFields().isEmpty()) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "Fields must be provided", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "Fields must be provided", Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           db.getAuthorizationService()
@@ -274,9 +284,10 @@ public class UserDefinedTypesResource {
           try {
             columns = getUdtColumns(keyspace, udtAdd.getFields());
           } catch (IllegalArgumentException | InvalidRequestException ex) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(new Error(ex.getMessage(), Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new Error(ex.getMessage(), Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           UserDefinedType udt =
@@ -286,7 +297,7 @@ public class UserDefinedTypesResource {
                   .addColumns(columns.toArray(new Column[0]))
                   .build();
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .create()
@@ -294,11 +305,10 @@ public class UserDefinedTypesResource {
               .ifNotExists(udtAdd.getIfNotExists())
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Response.Status.CREATED)
-              .entity(Converters.writeResponse(Collections.singletonMap("name", typeName)))
-              .build();
+              .thenApply(
+                  rs ->
+                      RequestHandler.jsonResponse(
+                          Response.Status.CREATED, Collections.singletonMap("name", typeName)));
         });
   }
 
@@ -314,7 +324,7 @@ public class UserDefinedTypesResource {
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
   @Path("/{typeName}")
-  public Response delete(
+  public void delete(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -329,18 +339,22 @@ public class UserDefinedTypesResource {
               required = true)
           @PathParam("typeName")
           final String typeName,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
           Keyspace keyspace = authenticatedDB.getDataStore().schema().keyspace(keyspaceName);
           if (keyspace == null) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "keyspace does not exists", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "keyspace does not exists",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           db.getAuthorizationService()
@@ -352,7 +366,7 @@ public class UserDefinedTypesResource {
                   SourceAPI.REST,
                   ResourceKind.TYPE);
 
-          authenticatedDB
+          return authenticatedDB
               .getDataStore()
               .queryBuilder()
               .drop()
@@ -361,9 +375,7 @@ public class UserDefinedTypesResource {
                   ImmutableUserDefinedType.builder().keyspace(keyspaceName).name(typeName).build())
               .build()
               .execute(ConsistencyLevel.LOCAL_QUORUM)
-              .get();
-
-          return Response.status(Response.Status.NO_CONTENT).build();
+              .thenApply(rs -> Response.status(Response.Status.NO_CONTENT).build());
         });
   }
 
@@ -378,7 +390,7 @@ public class UserDefinedTypesResource {
         @ApiResponse(code = 401, message = "Unauthorized", response = Error.class),
         @ApiResponse(code = 500, message = "Internal server error", response = Error.class)
       })
-  public Response update(
+  public void update(
       @ApiParam(
               value =
                   "The token returned from the authorization endpoint. Use this token in each request.",
@@ -389,28 +401,34 @@ public class UserDefinedTypesResource {
           @PathParam("keyspaceName")
           final String keyspaceName,
       @ApiParam(value = "", required = true) @NotNull final UserDefinedTypeUpdate udtUpdate,
-      @Context HttpServletRequest request) {
-    return RequestHandler.handle(
+      @Context HttpServletRequest request,
+      @Suspended AsyncResponse asyncResponse) {
+    RequestHandler.handleAsync(
+        asyncResponse,
         () -> {
           AuthenticatedDB authenticatedDB =
               db.getRestDataStoreForToken(token, getAllHeaders(request));
 
           Keyspace keyspace = authenticatedDB.getDataStore().schema().keyspace(keyspaceName);
           if (keyspace == null) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "keyspace does not exists.", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "keyspace does not exists.",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           String typeName = udtUpdate.getName();
           if (Strings.isNullOrEmpty(typeName)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(
-                    new Error(
-                        "Type name must be provided.", Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(
+                        new Error(
+                            "Type name must be provided.",
+                            Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
           db.getAuthorizationService()
@@ -424,24 +442,25 @@ public class UserDefinedTypesResource {
 
           UserDefinedType udt =
               ImmutableUserDefinedType.builder().keyspace(keyspaceName).name(typeName).build();
+          CompletionStage<?> update;
           try {
-            updateUdt(authenticatedDB, keyspace, udtUpdate, udt);
+            update = updateUdt(authenticatedDB, keyspace, udtUpdate, udt);
           } catch (IllegalArgumentException | InvalidRequestException ex) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                .entity(new Error(ex.getMessage(), Response.Status.BAD_REQUEST.getStatusCode()))
-                .build();
+            return CompletableFuture.completedFuture(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new Error(ex.getMessage(), Response.Status.BAD_REQUEST.getStatusCode()))
+                    .build());
           }
 
-          return Response.status(Response.Status.OK).build();
+          return update.thenApply(rs -> Response.status(Response.Status.OK).build());
         });
   }
 
-  private void updateUdt(
+  private CompletionStage<?> updateUdt(
       AuthenticatedDB authenticatedDB,
       Keyspace keyspace,
       UserDefinedTypeUpdate udtUpdate,
-      UserDefinedType udt)
-      throws ExecutionException, InterruptedException {
+      UserDefinedType udt) {
     List<UserDefinedTypeField> addFields = udtUpdate.getAddFields();
     List<UserDefinedTypeUpdate.RenameUdtField> renameFields = udtUpdate.getRenameFields();
 
@@ -451,17 +470,18 @@ public class UserDefinedTypesResource {
           "addFields and/or renameFields is required to update an UDT.");
     }
 
+    CompletionStage<?> result = CompletableFuture.completedFuture(null);
     if (addFields != null && !addFields.isEmpty()) {
       List<Column> columns = getUdtColumns(keyspace, addFields);
-      authenticatedDB
-          .getDataStore()
-          .queryBuilder()
-          .alter()
-          .type(keyspace.name(), udt)
-          .addColumn(columns)
-          .build()
-          .execute(ConsistencyLevel.LOCAL_QUORUM)
-          .get();
+      result =
+          authenticatedDB
+              .getDataStore()
+              .queryBuilder()
+              .alter()
+              .type(keyspace.name(), udt)
+              .addColumn(columns)
+              .build()
+              .execute(ConsistencyLevel.LOCAL_QUORUM);
     }
 
     if (renameFields != null && !renameFields.isEmpty()) {
@@ -469,16 +489,18 @@ public class UserDefinedTypesResource {
           renameFields.stream()
               .map(r -> Pair.fromArray(new String[] {r.getFrom(), r.getTo()}))
               .collect(Collectors.toList());
-      authenticatedDB
-          .getDataStore()
-          .queryBuilder()
-          .alter()
-          .type(keyspace.name(), udt)
-          .renameColumn(columns)
-          .build()
-          .execute(ConsistencyLevel.LOCAL_QUORUM)
-          .get();
+      BuiltQuery<?> rename =
+          authenticatedDB
+              .getDataStore()
+              .queryBuilder()
+              .alter()
+              .type(keyspace.name(), udt)
+              .renameColumn(columns)
+              .build();
+      // the renames are only applied once the new fields are added
+      result = result.thenCompose(__ -> rename.execute(ConsistencyLevel.LOCAL_QUORUM));
     }
+    return result;
   }
 
   private List<Column> getUdtColumns(Keyspace keyspace, List<UserDefinedTypeField> fields) {
@@ -33,10 +33,15 @@ import java.util.stream.Collectors;
 /**
  * A simple DseRow implementation that simply stores data in a {@link Map}. Created via {@link
  * ListBackedResultSet}.
+ *
+ * <p>The columns of the row are the columns of the table that have a value, in table order,
+ * followed by the other keys of the map (f.e. {@code writetime(leaf)}). Values can be accessed by
+ * their index in these columns, but index accessors only support the Java types of the map values.
  */
 public class MapBackedRow implements Row {
   private final Table table;
   private final Map<String, Object> dataMap;
+  private final List<Column> columns;
 
   public static Row of(Table table, Map<String, Object> dataMap) {
     return new MapBackedRow(table, dataMap);
@@ -45,13 +50,23 @@ public class MapBackedRow implements Row {
   private MapBackedRow(Table table, Map<String, Object> data) {
     this.table = table;
     this.dataMap = data;
+    this.columns =
+        table.columns().stream()
+            .filter(c -> data.containsKey(c.name()))
+            .collect(Collectors.toList());
+    data.keySet().stream()
+        .filter(name -> table.column(name) == null)
+        .sorted()
+        .forEach(name -> columns.add(Column.reference(name)));
   }
 
   @Override
   public List<Column> columns() {
-    return table.columns().stream()
-        .filter(c -> dataMap.containsKey(c.name()))
-        .collect(Collectors.toList());
+    return columns;
+  }
+
+  private String name(int i) {
+    return columns.get(i).name();
   }
 
   @Nullable
@@ -93,15 +108,23 @@ public class MapBackedRow implements Row {
   @Nullable
   @Override
   public ByteBuffer getBytesUnsafe(@NonNull String name) {
-    // Should only be used for building paging name, not for actual values.
+    // Should only be used for key values (paging state, row order), not for actual values.
     // Assume that relevant values are Strings.
-    String value = dataMap.get(name).toString();
-    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    Object value = dataMap.get(name);
+    if (value == null) {
+      return null;
+    }
+    return ByteBuffer.wrap(value.toString().getBytes(StandardCharsets.UTF_8));
   }
 
   @Override
   public int firstIndexOf(@NonNull String name) {
-    throw new UnsupportedOperationException();
+    for (int i = 0; i < columns.size(); i++) {
+      if (name(i).equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException(name);
   }
 
   @NonNull
@@ -113,7 +136,44 @@ public class MapBackedRow implements Row {
   @Nullable
   @Override
   public ByteBuffer getBytesUnsafe(int i) {
-    throw new UnsupportedOperationException();
+    return getBytesUnsafe(name(i));
+  }
+
+  @Nullable
+  @Override
+  public Object getObject(int i) {
+    return getObject(name(i));
+  }
+
+  @Nullable
+  @Override
+  public String getString(int i) {
+    return getString(name(i));
+  }
+
+  @Override
+  public double getDouble(int i) {
+    return getDouble(name(i));
+  }
+
+  @Override
+  public long getLong(int i) {
+    return getLong(name(i));
+  }
+
+  @Override
+  public boolean getBoolean(int i) {
+    return getBoolean(name(i));
+  }
+
+  @Override
+  public byte getByte(int i) {
+    return ((Number) dataMap.get(name(i))).byteValue();
+  }
+
+  @Override
+  public boolean isNull(int i) {
+    return isNull(name(i));
   }
 
   @Override
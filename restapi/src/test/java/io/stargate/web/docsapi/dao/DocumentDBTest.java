@@ -3,6 +3,7 @@ package io.stargate.web.docsapi.dao;
 import static io.stargate.db.query.TypedValue.javaValues;
 import static io.stargate.db.schema.Column.Kind.Clustering;
 import static io.stargate.db.schema.Column.Kind.PartitionKey;
+import static io.stargate.db.schema.Column.Kind.Static;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +32,7 @@ import io.stargate.db.schema.SchemaBuilder.SchemaBuilder__5;
 import io.stargate.web.docsapi.service.ExecutionContext;
 import io.stargate.web.docsapi.service.json.DeadLeaf;
 import io.stargate.web.docsapi.service.json.ImmutableDeadLeaf;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.UnaryOperator;
@@ -39,14 +41,15 @@ import org.junit.jupiter.api.Test;
 
 public class DocumentDBTest {
 
-  private static final Schema schema = buildSchema();
+  private static final Schema schema = buildSchema(false);
+  private static final Schema blobSchema = buildSchema(true);
 
   private final ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
   private DocumentDB documentDB;
   private TestDataStore ds;
   private static final ObjectMapper mapper = new ObjectMapper();
 
-  private static Schema buildSchema() {
+  private static Schema buildSchema(boolean withDocumentBlob) {
     SchemaBuilder__5 schemaBuilder =
         Schema.build()
             .keyspace("keyspace")
@@ -60,6 +63,9 @@ public class DocumentDBTest {
     for (int i = 0; i < DocumentDB.MAX_DEPTH; i++) {
       schemaBuilder = schemaBuilder.column("p" + i, Type.Text, Clustering);
     }
+    if (withDocumentBlob) {
+      schemaBuilder = schemaBuilder.column(DocumentDB.DOCUMENT_BLOB_COLUMN, Type.Blob, Static);
+    }
 
     return schemaBuilder.build();
   }
@@ -257,6 +263,81 @@ public class DocumentDBTest {
         .isEqualTo(makeValues(0L, "key", path, singletonList(patchedKeys)));
   }
 
+  @Test
+  public void deleteThenInsertBatchWithDocumentBlob() throws UnauthorizedException {
+    ds = new TestDataStore(blobSchema);
+    AuthorizationService authorizationService = mock(AuthorizationService.class);
+    documentDB = new DocumentDB(ds, AuthenticationSubject.of("foo", "bar"), authorizationService);
+    List<String> path = Collections.emptyList();
+    Map<String, Object> map = documentDB.newBindMap(ImmutableList.of("a"));
+    map.put("key", "key");
+    map.put("leaf", "a");
+    map.put("bool_value", true);
+    map.put("dbl_value", null);
+    map.put("text_value", null);
+    Object[] values = map.values().toArray();
+    ByteBuffer blob = ByteBuffer.wrap(new byte[] {1, 2, 3});
+    documentDB.deleteThenInsertBatch(
+        "keyspace", "table", "key", singletonList(values), path, blob, 1L, context);
+
+    List<BoundQuery> generatedQueries = ds.getRecentStatements();
+    assertThat(generatedQueries).hasSize(3);
+
+    assertThat(generatedQueries.get(0).queryString())
+        .isEqualTo("DELETE FROM \"keyspace\".\"table\" USING TIMESTAMP ? WHERE key = ?");
+    assertThat(javaValues(generatedQueries.get(0).values())).isEqualTo(asList(0L, "key"));
+
+    assertThat(generatedQueries.get(2).queryString())
+        .isEqualTo(
+            "INSERT INTO \"keyspace\".\"table\" (key, doc_blob) VALUES (?, ?) USING TIMESTAMP ?");
+    assertThat(javaValues(generatedQueries.get(2).values())).isEqualTo(asList("key", blob, 1L));
+  }
+
+  @Test
+  public void deletePatchedPathsThenInsertBatchWithDocumentBlob() throws UnauthorizedException {
+    ds = new TestDataStore(blobSchema);
+    AuthorizationService authorizationService = mock(AuthorizationService.class);
+    documentDB = new DocumentDB(ds, AuthenticationSubject.of("foo", "bar"), authorizationService);
+    List<String> path = ImmutableList.of("a");
+    List<String> patchedKeys = ImmutableList.of("b");
+    Map<String, Object> map = documentDB.newBindMap(path);
+    map.put("key", "key");
+    map.put("leaf", "a");
+    map.put("bool_value", null);
+    map.put("dbl_value", 3.0);
+    map.put("text_value", null);
+    Object[] values = map.values().toArray();
+    documentDB.deletePatchedPathsThenInsertBatch(
+        "keyspace", "table", "key", singletonList(values), path, patchedKeys, 1L, context);
+
+    List<BoundQuery> generatedQueries = ds.getRecentStatements();
+    assertThat(generatedQueries).hasSize(5);
+    assertThat(generatedQueries)
+        .filteredOn(q -> q.queryString().startsWith("DELETE doc_blob"))
+        .singleElement()
+        .satisfies(
+            q -> {
+              assertThat(q.queryString())
+                  .isEqualTo(
+                      "DELETE doc_blob FROM \"keyspace\".\"table\" USING TIMESTAMP ? WHERE key = ?");
+              assertThat(javaValues(q.values())).isEqualTo(asList(1L, "key"));
+            });
+  }
+
+  @Test
+  public void hasDocumentBlob() {
+    assertThat(documentDB.hasDocumentBlob("keyspace", "table")).isFalse();
+    assertThat(documentDB.hasDocumentBlob("keyspace", "other")).isFalse();
+
+    documentDB =
+        new DocumentDB(
+            new TestDataStore(blobSchema),
+            AuthenticationSubject.of("foo", "bar"),
+            mock(AuthorizationService.class));
+    assertThat(documentDB.hasDocumentBlob("keyspace", "table")).isTrue();
+    assertThat(documentDB.isDocumentsTable("keyspace", "table")).isTrue();
+  }
+
   @Test
   public void delete() throws UnauthorizedException {
     ds = new TestDataStore(schema);
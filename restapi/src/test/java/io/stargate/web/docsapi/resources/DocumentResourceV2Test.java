@@ -1,12 +1,17 @@
 package io.stargate.web.docsapi.resources;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
 import io.stargate.web.docsapi.service.DocsApiConfiguration;
 import io.stargate.web.docsapi.service.DocsSchemaChecker;
 import io.stargate.web.docsapi.service.DocumentService;
@@ -17,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.Response;
@@ -40,11 +46,37 @@ public class DocumentResourceV2Test {
   @Spy private ObjectMapper mapper = new ObjectMapper();
   @Spy private DocsApiConfiguration conf;
   private HttpServletRequest httpServletRequest;
+  private AsyncResponse asyncResponse;
 
   @BeforeEach
   public void setup() {
     httpServletRequest = mock(HttpServletRequest.class);
     when(httpServletRequest.getHeaderNames()).thenReturn(Collections.emptyEnumeration());
+    asyncResponse = mock(AsyncResponse.class);
+
+    when(documentServiceMock.putAtPath(
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            any(),
+            anyBoolean(),
+            any(),
+            anyBoolean(),
+            any(),
+            any()))
+        .thenReturn(Completable.complete());
+    when(documentServiceMock.writeManyDocs(any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(Single.just(Collections.emptyList()));
+    when(documentServiceMock.deleteAtPath(any(), any(), any(), any(), any()))
+        .thenReturn(Completable.complete());
+  }
+
+  private Response resumed() {
+    ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+    verify(asyncResponse).resume(captor.capture());
+    return captor.getValue();
   }
 
   @Test
@@ -57,9 +89,17 @@ public class DocumentResourceV2Test {
     String collection = "collection";
     String payload = "{}";
 
-    Response r =
-        documentResourceV2.postDoc(
-            headers, ui, authToken, keyspace, collection, payload, false, httpServletRequest);
+    documentResourceV2.postDoc(
+        headers,
+        ui,
+        authToken,
+        keyspace,
+        collection,
+        payload,
+        false,
+        httpServletRequest,
+        asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(201);
     mapper.readTree((String) r.getEntity()).requiredAt("/documentId");
@@ -75,9 +115,18 @@ public class DocumentResourceV2Test {
     String collection = "collection";
     InputStream payload = mock(InputStream.class);
 
-    Response r =
-        documentResourceV2.writeManyDocs(
-            headers, ui, authToken, keyspace, collection, payload, null, false, httpServletRequest);
+    documentResourceV2.writeManyDocs(
+        headers,
+        ui,
+        authToken,
+        keyspace,
+        collection,
+        payload,
+        null,
+        false,
+        httpServletRequest,
+        asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(202);
     mapper.readTree((String) r.getEntity()).requiredAt("/documentIds");
@@ -94,9 +143,18 @@ public class DocumentResourceV2Test {
     String id = "id";
     String payload = "{}";
 
-    Response r =
-        documentResourceV2.putDoc(
-            headers, ui, authToken, keyspace, collection, id, payload, false, httpServletRequest);
+    documentResourceV2.putDoc(
+        headers,
+        ui,
+        authToken,
+        keyspace,
+        collection,
+        id,
+        payload,
+        false,
+        httpServletRequest,
+        asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(200);
     mapper.readTree((String) r.getEntity()).requiredAt("/documentId");
@@ -114,18 +172,19 @@ public class DocumentResourceV2Test {
     List<PathSegment> path = new ArrayList<>();
     String payload = "{}";
 
-    Response r =
-        documentResourceV2.putDocPath(
-            headers,
-            ui,
-            authToken,
-            keyspace,
-            collection,
-            id,
-            path,
-            payload,
-            false,
-            httpServletRequest);
+    documentResourceV2.putDocPath(
+        headers,
+        ui,
+        authToken,
+        keyspace,
+        collection,
+        id,
+        path,
+        payload,
+        false,
+        httpServletRequest,
+        asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(200);
     assertThat(mapper.readTree((String) r.getEntity()).requiredAt("/documentId").asText())
@@ -143,9 +202,18 @@ public class DocumentResourceV2Test {
     String id = "id";
     String payload = "{}";
 
-    Response r =
-        documentResourceV2.patchDoc(
-            headers, ui, authToken, keyspace, collection, id, payload, false, httpServletRequest);
+    documentResourceV2.patchDoc(
+        headers,
+        ui,
+        authToken,
+        keyspace,
+        collection,
+        id,
+        payload,
+        false,
+        httpServletRequest,
+        asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(200);
     assertThat(mapper.readTree((String) r.getEntity()).requiredAt("/documentId").asText())
@@ -164,18 +232,19 @@ public class DocumentResourceV2Test {
     List<PathSegment> path = new ArrayList<>();
     String payload = "{}";
 
-    Response r =
-        documentResourceV2.patchDocPath(
-            headers,
-            ui,
-            authToken,
-            keyspace,
-            collection,
-            id,
-            path,
-            payload,
-            false,
-            httpServletRequest);
+    documentResourceV2.patchDocPath(
+        headers,
+        ui,
+        authToken,
+        keyspace,
+        collection,
+        id,
+        path,
+        payload,
+        false,
+        httpServletRequest,
+        asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(200);
     assertThat(mapper.readTree((String) r.getEntity()).requiredAt("/documentId").asText())
@@ -191,9 +260,9 @@ public class DocumentResourceV2Test {
     String collection = "collection";
     String id = "id";
 
-    Response r =
-        documentResourceV2.deleteDoc(
-            headers, ui, authToken, keyspace, collection, id, httpServletRequest);
+    documentResourceV2.deleteDoc(
+        headers, ui, authToken, keyspace, collection, id, httpServletRequest, asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(204);
   }
@@ -208,9 +277,9 @@ public class DocumentResourceV2Test {
     String id = "id";
     List<PathSegment> path = new ArrayList<>();
 
-    Response r =
-        documentResourceV2.deleteDocPath(
-            headers, ui, authToken, keyspace, collection, id, path, httpServletRequest);
+    documentResourceV2.deleteDocPath(
+        headers, ui, authToken, keyspace, collection, id, path, httpServletRequest, asyncResponse);
+    Response r = resumed();
 
     assertThat(r.getStatus()).isEqualTo(204);
   }
@@ -0,0 +1,175 @@
+package io.stargate.web.docsapi.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Single;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.exception.ErrorCode;
+import io.stargate.web.docsapi.exception.ErrorCodeRuntimeException;
+import io.stargate.web.docsapi.models.DocumentResponseWrapper;
+import io.stargate.web.docsapi.service.DocsApiMetrics;
+import io.stargate.web.docsapi.service.DocsSchemaChecker;
+import io.stargate.web.docsapi.service.ReactiveDocumentService;
+import io.stargate.web.resources.Db;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDocumentResourceV2Test {
+
+  @InjectMocks ReactiveDocumentResourceV2 resource;
+
+  @Mock ReactiveDocumentService reactiveDocumentService;
+
+  @Mock Db dbFactory;
+
+  @Mock DocsSchemaChecker schemaChecker;
+
+  @Mock DocsApiMetrics docsApiMetrics;
+
+  @Mock DocumentDB documentDB;
+
+  @Spy ObjectMapper objectMapper = new ObjectMapper();
+
+  HttpHeaders headers = mock(HttpHeaders.class);
+
+  HttpServletRequest request = mock(HttpServletRequest.class);
+
+  AsyncResponse asyncResponse = mock(AsyncResponse.class);
+
+  private Response resumed() {
+    ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+    verify(asyncResponse).resume(captor.capture());
+    return captor.getValue();
+  }
+
+  private void givenDocumentDB() throws Exception {
+    when(request.getHeaderNames()).thenReturn(Collections.emptyEnumeration());
+    when(dbFactory.getDocDataStoreForToken(eq("token"), any())).thenReturn(documentDB);
+  }
+
+  @Nested
+  class ExportDocs {
+
+    @Test
+    public void writesOneDocumentPerLine() throws Exception {
+      givenDocumentDB();
+      JsonNode first = objectMapper.readTree("{\"a\":1}");
+      JsonNode second = objectMapper.readTree("{\"b\":{\"c\":\"multi\\nline\"}}");
+      Flowable<DocumentResponseWrapper<JsonNode>> documents =
+          Flowable.just(
+              new DocumentResponseWrapper<>("1", null, first, null),
+              new DocumentResponseWrapper<>("2", null, second, null));
+      when(reactiveDocumentService.exportDocuments(
+              eq(documentDB),
+              eq("ns"),
+              eq("coll"),
+              any(),
+              any(),
+              eq(Long.MIN_VALUE),
+              eq(Long.MAX_VALUE),
+              any()))
+          .thenReturn(Single.just(documents));
+
+      resource.exportDocs(
+          headers, "token", "ns", "coll", null, null, null, null, request, asyncResponse);
+
+      Response response = resumed();
+      assertThat(response.getStatus()).isEqualTo(200);
+      assertThat(response.getMediaType().toString())
+          .isEqualTo(ReactiveDocumentResourceV2.APPLICATION_NDJSON);
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      ((StreamingOutput) response.getEntity()).write(output);
+      String body = new String(output.toByteArray(), StandardCharsets.UTF_8);
+      assertThat(body).endsWith("\n");
+      String[] lines = body.split("\n");
+      assertThat(lines).hasSize(2);
+      assertThat(objectMapper.readTree(lines[0]).get("documentId").asText()).isEqualTo("1");
+      assertThat(objectMapper.readTree(lines[0]).get("data")).isEqualTo(first);
+      assertThat(objectMapper.readTree(lines[1]).get("documentId").asText()).isEqualTo("2");
+      assertThat(objectMapper.readTree(lines[1]).get("data")).isEqualTo(second);
+    }
+
+    @Test
+    public void passesTokenRange() throws Exception {
+      givenDocumentDB();
+      when(reactiveDocumentService.exportDocuments(
+              any(), anyString(), anyString(), any(), any(), anyLong(), anyLong(), any()))
+          .thenReturn(Single.just(Flowable.empty()));
+
+      resource.exportDocs(
+          headers, "token", "ns", "coll", null, null, -10L, 20L, request, asyncResponse);
+
+      assertThat(resumed().getStatus()).isEqualTo(200);
+      verify(reactiveDocumentService)
+          .exportDocuments(
+              eq(documentDB), eq("ns"), eq("coll"), any(), any(), eq(-10L), eq(20L), any());
+    }
+
+    @Test
+    public void errorsReportedAsJson() throws Exception {
+      givenDocumentDB();
+      when(reactiveDocumentService.exportDocuments(
+              any(), anyString(), anyString(), any(), any(), anyLong(), anyLong(), any()))
+          .thenReturn(
+              Single.error(
+                  new ErrorCodeRuntimeException(ErrorCode.DOCS_API_SEARCH_WHERE_JSON_INVALID)));
+
+      resource.exportDocs(
+          headers, "token", "ns", "coll", "{", null, null, null, request, asyncResponse);
+
+      Response response = resumed();
+      assertThat(response.getStatus()).isEqualTo(400);
+      assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    @Test
+    public void tokenStartEqualToTokenEnd() {
+      resource.exportDocs(
+          headers, "token", "ns", "coll", null, null, 10L, 10L, request, asyncResponse);
+
+      Response response = resumed();
+      assertThat(response.getStatus()).isEqualTo(400);
+      assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+      verifyNoInteractions(dbFactory, reactiveDocumentService);
+    }
+
+    @Test
+    public void tokenStartAfterTokenEnd() {
+      resource.exportDocs(
+          headers, "token", "ns", "coll", null, null, 10L, -10L, request, asyncResponse);
+
+      Response response = resumed();
+      assertThat(response.getStatus()).isEqualTo(400);
+      assertThat(response.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+      verifyNoInteractions(dbFactory, reactiveDocumentService);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.db.datastore.ResultSet;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import io.stargate.web.docsapi.service.json.DeadLeaf;
+import io.stargate.web.docsapi.service.json.ImmutableDeadLeaf;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLeafCompactionQueueTest {
+
+  private static final DeadLeaf LEAF_A = ImmutableDeadLeaf.builder().name("a").build();
+  private static final DeadLeaf LEAF_B = ImmutableDeadLeaf.builder().name("b").build();
+
+  private MeterRegistry meterRegistry;
+
+  @Mock private DocumentDB documentDB;
+
+  @Mock private ResultSet resultSet;
+
+  private final ExecutionContext context = ExecutionContext.NOOP_CONTEXT;
+
+  @BeforeEach
+  public void init() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Nested
+  class Submit {
+
+    @Test
+    public void collapsed() {
+      when(documentDB.deleteDeadLeaves(any(), any(), any(), anyLong(), anyMap(), any()))
+          .thenReturn(CompletableFuture.completedFuture(resultSet));
+      DeadLeafCompactionQueue queue =
+          new DeadLeafCompactionQueue(10, 1, 200)
+              .withMetrics(meterRegistry, Tags.of("module", "test"));
+
+      queue
+          .submit(documentDB, "ns", "col", "doc", 20L, leaves("$.x", LEAF_A), context)
+          .mergeWith(
+              queue.submit(documentDB, "ns", "col", "doc", 10L, leaves("$.x", LEAF_B), context))
+          .mergeWith(
+              queue.submit(documentDB, "ns", "col", "doc", 30L, leaves("$.y", LEAF_A), context))
+          .test()
+          .awaitDone(5, TimeUnit.SECONDS)
+          .assertComplete();
+
+      @SuppressWarnings("unchecked")
+      ArgumentCaptor<Map<String, Set<DeadLeaf>>> captor = ArgumentCaptor.forClass(Map.class);
+      verify(documentDB, times(1))
+          .deleteDeadLeaves(
+              eq("ns"),
+              eq("col"),
+              eq("doc"),
+              eq(10L),
+              captor.capture(),
+              eq(context));
+      assertThat(captor.getValue())
+          .isEqualTo(
+              ImmutableMap.of(
+                  "$.x", ImmutableSet.of(LEAF_A, LEAF_B), "$.y", ImmutableSet.of(LEAF_A)));
+
+      assertThat(queue.depth()).isZero();
+      assertThat(queue.corrections()).isEqualTo(1);
+      assertThat(queue.collapsed()).isEqualTo(2);
+      assertThat(
+              meterRegistry
+                  .get(DeadLeafCompactionQueue.COLLAPSED_METRIC)
+                  .tag("module", "test")
+                  .functionCounter()
+                  .count())
+          .isEqualTo(2d);
+    }
+
+    @Test
+    public void differentDocuments() {
+      when(documentDB.deleteDeadLeaves(any(), any(), any(), anyLong(), anyMap(), any()))
+          .thenReturn(CompletableFuture.completedFuture(resultSet));
+      DeadLeafCompactionQueue queue = new DeadLeafCompactionQueue(10, 1, 10);
+
+      queue
+          .submit(documentDB, "ns", "col", "doc1", 10L, leaves("$.x", LEAF_A), context)
+          .mergeWith(
+              queue.submit(documentDB, "ns", "col", "doc2", 10L, leaves("$.x", LEAF_A), context))
+          .test()
+          .awaitDone(5, TimeUnit.SECONDS)
+          .assertComplete();
+
+      verify(documentDB, times(2))
+          .deleteDeadLeaves(any(), any(), any(), anyLong(), anyMap(), any());
+      assertThat(queue.corrections()).isEqualTo(2);
+      assertThat(queue.collapsed()).isZero();
+    }
+
+    @Test
+    public void full() {
+      DeadLeafCompactionQueue queue = new DeadLeafCompactionQueue(0, 1, 10);
+
+      queue
+          .submit(documentDB, "ns", "col", "doc", 10L, leaves("$.x", LEAF_A), context)
+          .test()
+          .awaitDone(5, TimeUnit.SECONDS)
+          .assertComplete();
+
+      verify(documentDB, never())
+          .deleteDeadLeaves(any(), any(), any(), anyLong(), anyMap(), any());
+      assertThat(queue.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    public void failureNotPropagated() {
+      CompletableFuture<ResultSet> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new IllegalStateException("Ignored"));
+      when(documentDB.deleteDeadLeaves(any(), any(), any(), anyLong(), anyMap(), any()))
+          .thenReturn(failed);
+      DeadLeafCompactionQueue queue = new DeadLeafCompactionQueue(10, 1, 10);
+
+      queue
+          .submit(documentDB, "ns", "col", "doc", 10L, leaves("$.x", LEAF_A), context)
+          .test()
+          .awaitDone(5, TimeUnit.SECONDS)
+          .assertComplete();
+
+      assertThat(queue.corrections()).isZero();
+      assertThat(queue.depth()).isZero();
+    }
+  }
+
+  private static Map<String, Set<DeadLeaf>> leaves(String path, DeadLeaf leaf) {
+    return ImmutableMap.of(path, ImmutableSet.of(leaf));
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Flowable;
+import io.stargate.db.query.BoundQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DocsApiMetricsTest {
+
+  private MeterRegistry meterRegistry;
+
+  private DocsApiMetrics metrics;
+
+  @Mock private BoundQuery query;
+
+  @BeforeEach
+  public void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new DocsApiMetrics(meterRegistry, Tags.of("module", "test"));
+  }
+
+  @Nested
+  class Measure {
+
+    @Test
+    public void happyPath() {
+      ExecutionContext context =
+          ExecutionContext.create(false, metrics.forCollection("ns", "collection"));
+
+      context
+          .measure(
+              DocsApiMetrics.Stage.PERSISTENCE,
+              stageContext ->
+                  Flowable.defer(
+                      () -> {
+                        stageContext.traceCqlResult(query, 10);
+                        stageContext.traceCqlResult(query, 5);
+                        return Flowable.just("doc1", "doc2");
+                      }))
+          .test()
+          .assertValues("doc1", "doc2")
+          .assertComplete();
+
+      Tags tags =
+          Tags.of("module", "test", "namespace", "ns", "collection", "collection")
+              .and("resolver", "persistence");
+      DistributionSummary queries =
+          meterRegistry.get(DocsApiMetrics.QUERIES_METRIC).tags(tags).summary();
+      DistributionSummary rows =
+          meterRegistry.get(DocsApiMetrics.ROWS_SCANNED_METRIC).tags(tags).summary();
+      DistributionSummary documents =
+          meterRegistry.get(DocsApiMetrics.DOCUMENTS_RETURNED_METRIC).tags(tags).summary();
+      Timer latency = meterRegistry.get(DocsApiMetrics.LATENCY_METRIC).tags(tags).timer();
+
+      assertThat(queries.count()).isEqualTo(1);
+      assertThat(queries.totalAmount()).isEqualTo(2d);
+      assertThat(rows.totalAmount()).isEqualTo(15d);
+      assertThat(documents.totalAmount()).isEqualTo(2d);
+      assertThat(latency.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void nestedContextQueries() {
+      ExecutionContext context =
+          ExecutionContext.create(true, metrics.forCollection("ns", "collection"));
+
+      context
+          .measure(
+              DocsApiMetrics.Stage.PERSISTENCE_CANDIDATES_FILTER,
+              stageContext ->
+                  Flowable.defer(
+                      () -> {
+                        stageContext.nested("first").traceCqlResult(query, 3);
+                        ExecutionContext second = stageContext.nested(() -> "second");
+                        second.nested("deeper").traceCqlResult(query, 4);
+                        return Flowable.just("doc1");
+                      }))
+          .test()
+          .assertValues("doc1")
+          .assertComplete();
+
+      Tags tags = Tags.of("resolver", "persistence_candidates_filter");
+      DistributionSummary queries =
+          meterRegistry.get(DocsApiMetrics.QUERIES_METRIC).tags(tags).summary();
+      DistributionSummary rows =
+          meterRegistry.get(DocsApiMetrics.ROWS_SCANNED_METRIC).tags(tags).summary();
+      assertThat(queries.totalAmount()).isEqualTo(2d);
+      assertThat(rows.totalAmount()).isEqualTo(7d);
+
+      // the queries are still part of the profile
+      assertThat(context.toProfile().nested()).hasSize(2);
+    }
+
+    @Test
+    public void recordedOnCancel() {
+      ExecutionContext context =
+          ExecutionContext.create(true, metrics.forCollection("ns", "collection"));
+
+      context
+          .nested("nested")
+          .measure(
+              DocsApiMetrics.Stage.IN_MEMORY, stageContext -> Flowable.just("doc1", "doc2"))
+          .take(1)
+          .test()
+          .assertValues("doc1")
+          .assertComplete();
+
+      DistributionSummary documents =
+          meterRegistry
+              .get(DocsApiMetrics.DOCUMENTS_RETURNED_METRIC)
+              .tag("resolver", "in_memory")
+              .summary();
+      assertThat(documents.count()).isEqualTo(1);
+      assertThat(documents.totalAmount()).isEqualTo(1d);
+    }
+
+    @Test
+    public void disabled() {
+      assertThat(DocsApiMetrics.DISABLED.forCollection("ns", "collection")).isNull();
+
+      ExecutionContext context = ExecutionContext.create(false, null);
+
+      context
+          .measure(DocsApiMetrics.Stage.SUB_DOCUMENTS, stageContext -> Flowable.just("doc1"))
+          .test()
+          .assertValues("doc1")
+          .assertComplete();
+
+      assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+  }
+
+  @Nested
+  class ForCollection {
+
+    @Test
+    public void cached() {
+      assertThat(metrics.forCollection("ns", "collection"))
+          .isSameAs(metrics.forCollection("ns", "collection"));
+      assertThat(metrics.forCollection("ns", "collection"))
+          .isNotSameAs(metrics.forCollection("ns", "other"));
+    }
+
+    @Test
+    public void evictedMetersRemoved() {
+      metrics = new DocsApiMetrics(meterRegistry, Tags.of("module", "test"), 2, false);
+
+      metrics.forCollection("ns", "c1");
+      metrics.forCollection("ns", "c2");
+      metrics.forCollection("ns", "c3");
+
+      int metersPerCollection = 4 * DocsApiMetrics.Stage.values().length;
+      assertThat(meterRegistry.getMeters()).hasSize(2 * metersPerCollection);
+    }
+
+    @Test
+    public void percentileHistogramsOptIn() {
+      metrics.forCollection("ns", "collection").start(DocsApiMetrics.Stage.IN_MEMORY).finish();
+      DistributionSummary queries =
+          meterRegistry.get(DocsApiMetrics.QUERIES_METRIC).tag("resolver", "in_memory").summary();
+      assertThat(queries.takeSnapshot().histogramCounts()).isEmpty();
+
+      MeterRegistry histogramsRegistry = new SimpleMeterRegistry();
+      new DocsApiMetrics(histogramsRegistry, Tags.empty(), 10, true)
+          .forCollection("ns", "collection")
+          .start(DocsApiMetrics.Stage.IN_MEMORY)
+          .finish();
+      queries =
+          histogramsRegistry
+              .get(DocsApiMetrics.QUERIES_METRIC)
+              .tag("resolver", "in_memory")
+              .summary();
+      assertThat(queries.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class DocumentBlobCodecTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final DocumentBlobCodec codec = new DocumentBlobCodec(objectMapper);
+
+  @Test
+  public void roundTrip() throws Exception {
+    JsonNode document =
+        objectMapper.readTree(
+            "{\"a\":\"text\",\"b\":[true,null,{\"c\":2.5}],\"d\":{\"e\":\"value\"}}");
+
+    ByteBuffer blob = codec.encode(document);
+
+    assertThat(blob.get(0)).isEqualTo((byte) 1);
+    assertThat(codec.decode(blob)).isEqualTo(document);
+    // decoding does not consume the buffer
+    assertThat(codec.decode(blob)).isEqualTo(document);
+  }
+
+  @Test
+  public void normalized() throws Exception {
+    JsonNode document =
+        objectMapper.readTree(
+            String.format(
+                "{\"z\":1,\"a\\\\.b\":1.5,\"B\":\"%s\",\"é\":\"%s\",\"a\":1.0}",
+                DocumentDB.EMPTY_OBJECT_MARKER, DocumentDB.EMPTY_ARRAY_MARKER));
+
+    JsonNode result = codec.decode(codec.encode(document));
+
+    assertThat(objectMapper.writeValueAsString(result))
+        .isEqualTo("{\"B\":{},\"a\":1,\"a.b\":1.5,\"z\":1,\"é\":[]}");
+  }
+
+  @Test
+  public void unsupportedVersion() {
+    ByteBuffer blob = ByteBuffer.wrap(new byte[] {2, 0, 0});
+
+    assertThatThrownBy(() -> codec.decode(blob))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("version: 2");
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.docsapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.reactivex.rxjava3.core.Flowable;
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.dao.DocumentDB;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private MeterRegistry meterRegistry;
+
+  private JsonNode document;
+
+  @Mock private DocumentDB documentDB;
+
+  @Mock private Row row1;
+
+  @Mock private Row row2;
+
+  @BeforeEach
+  public void init() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    document = objectMapper.readTree("{\"a\":1,\"b\":\"text\"}");
+    lenient().when(row1.getLong("writetime(leaf)")).thenReturn(10L);
+    lenient().when(row2.getLong("writetime(leaf)")).thenReturn(20L);
+  }
+
+  @Nested
+  class Get {
+
+    @Test
+    public void hitWithinProbeInterval() throws Exception {
+      DocumentCache cache =
+          new DocumentCache(objectMapper, 1024, 60000, Collections.emptyList())
+              .withMetrics(meterRegistry, Tags.of("module", "test"));
+
+      cache.put("ns", "col", "doc", cache.generation(), document, Arrays.asList(row1, row2));
+
+      cache.get(documentDB, "ns", "col", "doc").test().assertValue(document).assertComplete();
+      verify(documentDB, never()).selectWriteTimes("ns", "col", "doc");
+      assertThat(cache.hits()).isEqualTo(1);
+      assertThat(cache.bytes()).isEqualTo(objectMapper.writeValueAsBytes(document).length);
+      assertThat(
+              meterRegistry
+                  .get(DocumentCache.HITS_METRIC)
+                  .tag("module", "test")
+                  .functionCounter()
+                  .count())
+          .isEqualTo(1d);
+    }
+
+    @Test
+    public void probeUnchanged() {
+      when(documentDB.selectWriteTimes("ns", "col", "doc")).thenReturn(Flowable.just(row2, row1));
+      DocumentCache cache = new DocumentCache(objectMapper, 1024, 0, Collections.emptyList());
+
+      cache.put("ns", "col", "doc", cache.generation(), document, Arrays.asList(row1, row2));
+
+      cache
+          .get(documentDB, "ns", "col", "doc")
+          .test()
+          .awaitDone(5, TimeUnit.SECONDS)
+          .assertValue(document)
+          .assertComplete();
+      assertThat(cache.probes()).isEqualTo(1);
+      assertThat(cache.hits()).isEqualTo(1);
+    }
+
+    @Test
+    public void probeChanged() {
+      when(documentDB.selectWriteTimes("ns", "col", "doc")).thenReturn(Flowable.just(row1));
+      DocumentCache cache = new DocumentCache(objectMapper, 1024, 0, Collections.emptyList());
+
+      cache.put("ns", "col", "doc", cache.generation(), document, Arrays.asList(row1, row2));
+
+      cache.get(documentDB, "ns", "col", "doc").test().assertNoValues().assertComplete();
+      assertThat(cache.bytes()).isZero();
+      assertThat(cache.hits()).isZero();
+    }
+
+    @Test
+    public void probeFailed() {
+      when(documentDB.selectWriteTimes("ns", "col", "doc"))
+          .thenReturn(Flowable.error(new IllegalStateException("Ignored")));
+      DocumentCache cache = new DocumentCache(objectMapper, 1024, 0, Collections.emptyList());
+
+      cache.put("ns", "col", "doc", cache.generation(), document, Arrays.asList(row1, row2));
+
+      cache.get(documentDB, "ns", "col", "doc").test().assertNoValues().assertComplete();
+    }
+
+    @Test
+    public void collectionNotCached() {
+      DocumentCache cache =
+          new DocumentCache(objectMapper, 1024, 60000, Collections.singletonList("ns.other"));
+
+      cache.put("ns", "col", "doc", cache.generation(), document, Arrays.asList(row1, row2));
+
+      assertThat(cache.isEnabled("ns", "col")).isFalse();
+      assertThat(cache.isEnabled("ns", "other")).isTrue();
+      cache.get(documentDB, "ns", "col", "doc").test().assertNoValues().assertComplete();
+    }
+
+    @Test
+    public void disabled() {
+      DocumentCache cache = new DocumentCache(objectMapper, 0, 60000, Collections.emptyList());
+
+      cache.put("ns", "col", "doc", cache.generation(), document, Arrays.asList(row1, row2));
+
+      assertThat(cache.isEnabled("ns", "col")).isFalse();
+      cache.get(documentDB, "ns", "col", "doc").test().assertNoValues().assertComplete();
+    }
+  }
+
+  @Nested
+  class Invalidate {
+
+    @Test
+    public void document() {
+      DocumentCache cache = new DocumentCache(objectMapper, 1024, 60000, Collections.emptyList());
+      cache.put("ns", "col", "doc", cache.generation(), document, Arrays.asList(row1, row2));
+
+      cache.invalidate("ns", "col", "doc");
+
+      cache.get(documentDB, "ns", "col", "doc").test().assertNoValues().assertComplete();
+    }
+
+    @Test
+    public void collection() {
+      DocumentCache cache = new DocumentCache(objectMapper, 1024, 60000, Collections.emptyList());
+      cache.put("ns", "col", "doc1", cache.generation(), document, Arrays.asList(row1, row2));
+      cache.put("ns", "col", "doc2", cache.generation(), document, Arrays.asList(row1, row2));
+
+      cache.invalidateCollection("ns", "col");
+
+      cache.get(documentDB, "ns", "col", "doc1").test().assertNoValues().assertComplete();
+      cache.get(documentDB, "ns", "col", "doc2").test().assertNoValues().assertComplete();
+    }
+
+    @Test
+    public void concurrentWriteNotCached() {
+      DocumentCache cache = new DocumentCache(objectMapper, 1024, 60000, Collections.emptyList());
+      long generation = cache.generation();
+
+      // write done while the document was read
+      cache.invalidate("ns", "col", "doc");
+      cache.put("ns", "col", "doc", generation, document, Arrays.asList(row1, row2));
+
+      cache.get(documentDB, "ns", "col", "doc").test().assertNoValues().assertComplete();
+    }
+  }
+}
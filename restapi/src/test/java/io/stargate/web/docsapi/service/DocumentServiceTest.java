@@ -24,6 +24,8 @@ import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableList;
@@ -32,7 +34,6 @@ import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap.Builder;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
-import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import io.stargate.auth.AuthenticationService;
 import io.stargate.auth.AuthenticationSubject;
 import io.stargate.auth.AuthorizationService;
@@ -58,7 +59,6 @@ import io.stargate.web.docsapi.models.QueryInfo;
 import io.stargate.web.docsapi.resources.DocumentResourceV2;
 import io.stargate.web.resources.Db;
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
@@ -66,6 +66,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.PathSegment;
@@ -79,6 +80,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -124,6 +126,7 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
   @Mock private AuthorizationService authorizationService;
   @Mock private DataStoreFactory dataStoreFactory;
   @Mock private UriInfo uriInfo;
+  @Mock private AsyncResponse asyncResponse;
 
   @Mock(answer = RETURNS_DEEP_STUBS)
   private HttpHeaders headers;
@@ -161,7 +164,15 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
     db = new Db(authenticationService, authorizationService, dataStoreFactory);
 
     when(authenticationService.validateToken(eq(authToken), anyMap())).thenReturn(subject);
-    service = new DocumentService(timeSource, mapper, config, schemaChecker, jsonSchemaHandler);
+    service =
+        new DocumentService(
+            timeSource,
+            mapper,
+            config,
+            schemaChecker,
+            jsonSchemaHandler,
+            new DocumentCache(mapper, 0, 0, Collections.emptyList()),
+            new DocumentBlobCodec(mapper));
     resource = new DocumentResourceV2(db, mapper, service, config, schemaChecker);
   }
 
@@ -214,6 +225,12 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
     return resp;
   }
 
+  private Response resumed() {
+    ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+    verify(asyncResponse, timeout(5000)).resume(captor.capture());
+    return captor.getValue();
+  }
+
   private PathSegment p(String segment) {
     return new PathSegment() {
       @Override
@@ -266,7 +283,7 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
   }
 
   @Test
-  void testPutAtPathRoot() throws UnauthorizedException, ProcessingException {
+  void testPutAtPathRoot() {
     withQuery(table, "DELETE FROM %s USING TIMESTAMP ? WHERE key = ?", 99L, "id1")
         .returningNothing();
 
@@ -297,22 +314,24 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
         .returningNothing();
 
     now.set(100);
-    service.putAtPath(
-        authToken,
-        keyspace.name(),
-        table.name(),
-        "id1",
-        "{\"a\":123, \"b\":true, \"c\":\"text\", \"d\":{}, \"e\":[], \"f\":null, \"g\":[{\"h\":1}]}",
-        ImmutableList.of(),
-        false,
-        db,
-        true,
-        Collections.emptyMap(),
-        ExecutionContext.NOOP_CONTEXT);
+    service
+        .putAtPath(
+            authToken,
+            keyspace.name(),
+            table.name(),
+            "id1",
+            "{\"a\":123, \"b\":true, \"c\":\"text\", \"d\":{}, \"e\":[], \"f\":null, \"g\":[{\"h\":1}]}",
+            ImmutableList.of(),
+            false,
+            db,
+            true,
+            Collections.emptyMap(),
+            ExecutionContext.NOOP_CONTEXT)
+        .blockingAwait();
   }
 
   @Test
-  void testPutAtPathNested() throws UnauthorizedException, ProcessingException {
+  void testPutAtPathNested() {
     withQuery(
             table,
             "DELETE FROM test_docs.collection1 USING TIMESTAMP ? WHERE key = ? AND p0 = ? AND p1 = ? AND p2 = ?",
@@ -333,22 +352,24 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
         .returningNothing();
 
     now.set(200);
-    service.putAtPath(
-        authToken,
-        keyspace.name(),
-        table.name(),
-        "id2",
-        "{\"a\":123}",
-        ImmutableList.of(p("x"), p("y"), p("[000000]")),
-        false,
-        db,
-        true,
-        Collections.emptyMap(),
-        ExecutionContext.NOOP_CONTEXT);
+    service
+        .putAtPath(
+            authToken,
+            keyspace.name(),
+            table.name(),
+            "id2",
+            "{\"a\":123}",
+            ImmutableList.of(p("x"), p("y"), p("[000000]")),
+            false,
+            db,
+            true,
+            Collections.emptyMap(),
+            ExecutionContext.NOOP_CONTEXT)
+        .blockingAwait();
   }
 
   @Test
-  void testPutAtPathPatch() throws UnauthorizedException, ProcessingException {
+  void testPutAtPathPatch() {
     String insert =
         "INSERT INTO %s (key, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16, p17, p18, p19, p20, p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31, p32, p33, p34, p35, p36, p37, p38, p39, p40, p41, p42, p43, p44, p45, p46, p47, p48, p49, p50, p51, p52, p53, p54, p55, p56, p57, p58, p59, p60, p61, p62, p63, leaf, text_value, dbl_value, bool_value) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) USING TIMESTAMP ?";
     withQuery(table, insert, fillParams(70, "id3", "a", SEPARATOR, "a", null, 123.0d, null, 200L))
@@ -371,43 +392,47 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
         .returningNothing();
 
     now.set(200);
-    service.putAtPath(
-        authToken,
-        keyspace.name(),
-        table.name(),
-        "id3",
-        "{\"a\":123}",
-        ImmutableList.of(),
-        true,
-        db,
-        true,
-        Collections.emptyMap(),
-        ExecutionContext.NOOP_CONTEXT);
+    service
+        .putAtPath(
+            authToken,
+            keyspace.name(),
+            table.name(),
+            "id3",
+            "{\"a\":123}",
+            ImmutableList.of(),
+            true,
+            db,
+            true,
+            Collections.emptyMap(),
+            ExecutionContext.NOOP_CONTEXT)
+        .blockingAwait();
   }
 
   @Test
   void testPutAtPathUnauthorized() throws UnauthorizedException {
     ThrowingCallable action =
         () ->
-            service.putAtPath(
-                authToken,
-                keyspace.name(),
-                table.name(),
-                "id3",
-                "{\"a\":123}",
-                ImmutableList.of(),
-                true,
-                db,
-                true,
-                Collections.emptyMap(),
-                ExecutionContext.NOOP_CONTEXT);
+            service
+                .putAtPath(
+                    authToken,
+                    keyspace.name(),
+                    table.name(),
+                    "id3",
+                    "{\"a\":123}",
+                    ImmutableList.of(),
+                    true,
+                    db,
+                    true,
+                    Collections.emptyMap(),
+                    ExecutionContext.NOOP_CONTEXT)
+                .blockingAwait();
 
     Mockito.doThrow(new UnauthorizedException("test1"))
         .when(authorizationService)
         .authorizeDataWrite(
             any(), eq(keyspace.name()), eq(table.name()), eq(Scope.DELETE), eq(SourceAPI.REST));
 
-    assertThatThrownBy(action).hasMessage("test1");
+    assertThatThrownBy(action).hasRootCauseMessage("test1");
 
     Mockito.doNothing()
         .when(authorizationService)
@@ -418,11 +443,11 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
         .authorizeDataWrite(
             any(), eq(keyspace.name()), eq(table.name()), eq(Scope.MODIFY), eq(SourceAPI.REST));
 
-    assertThatThrownBy(action).hasMessage("test2");
+    assertThatThrownBy(action).hasRootCauseMessage("test2");
   }
 
   @Test
-  void testWriteManyDocs() throws UnauthorizedException, IOException {
+  void testWriteManyDocs() {
     ByteArrayInputStream in =
         new ByteArrayInputStream("[{\"a\":\"b\"}]".getBytes(StandardCharsets.UTF_8));
     now.set(200);
@@ -430,15 +455,19 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
         .returningNothing();
     withQuery(table, insert, fillParams(70, "b", "a", SEPARATOR, "a", "b", null, null, 200L))
         .returningNothing();
-    service.writeManyDocs(
-        authToken,
-        keyspace.name(),
-        table.name(),
-        in,
-        Optional.of("a"),
-        db,
-        ExecutionContext.NOOP_CONTEXT,
-        Collections.emptyMap());
+    assertThat(
+            service
+                .writeManyDocs(
+                    authToken,
+                    keyspace.name(),
+                    table.name(),
+                    in,
+                    Optional.of("a"),
+                    db,
+                    ExecutionContext.NOOP_CONTEXT,
+                    Collections.emptyMap())
+                .blockingGet())
+        .containsExactly("b");
   }
 
   @Test
@@ -447,15 +476,17 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
         new ByteArrayInputStream("[{\"a\":\"b\"}]".getBytes(StandardCharsets.UTF_8));
     assertThatThrownBy(
             () ->
-                service.writeManyDocs(
-                    authToken,
-                    keyspace.name(),
-                    table.name(),
-                    in,
-                    Optional.of("no.good"),
-                    db,
-                    ExecutionContext.NOOP_CONTEXT,
-                    Collections.emptyMap()))
+                service
+                    .writeManyDocs(
+                        authToken,
+                        keyspace.name(),
+                        table.name(),
+                        in,
+                        Optional.of("no.good"),
+                        db,
+                        ExecutionContext.NOOP_CONTEXT,
+                        Collections.emptyMap())
+                    .blockingGet())
         .hasMessage(
             "Json Document {\"a\":\"b\"} requires a String value at the path no.good, found . Batch write failed.");
   }
@@ -518,18 +549,18 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
       withQuery(table, delete, 199L, "id3").returningNothing();
 
       now.set(200);
-      DocumentResponseWrapper<Object> r =
-          unwrap(
-              resource.putDoc(
-                  headers,
-                  uriInfo,
-                  authToken,
-                  keyspace.name(),
-                  table.name(),
-                  "id3",
-                  "{\"a\":123}",
-                  true,
-                  request));
+      resource.putDoc(
+          headers,
+          uriInfo,
+          authToken,
+          keyspace.name(),
+          table.name(),
+          "id3",
+          "{\"a\":123}",
+          true,
+          request,
+          asyncResponse);
+      DocumentResponseWrapper<Object> r = unwrap(resumed());
       assertThat(r.getProfile())
           .isEqualTo(
               ImmutableExecutionProfile.builder()
@@ -554,17 +585,18 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
           .returningNothing();
 
       now.set(200);
-      Response r =
-          resource.writeManyDocs(
-              headers,
-              uriInfo,
-              authToken,
-              keyspace.name(),
-              table.name(),
-              new ByteArrayInputStream("[{\"a\":\"123\"},{\"a\":\"234\"}]".getBytes()),
-              "a",
-              true,
-              request);
+      resource.writeManyDocs(
+          headers,
+          uriInfo,
+          authToken,
+          keyspace.name(),
+          table.name(),
+          new ByteArrayInputStream("[{\"a\":\"123\"},{\"a\":\"234\"}]".getBytes()),
+          "a",
+          true,
+          request,
+          asyncResponse);
+      Response r = resumed();
       MultiDocsResponse mdr = mapper.readValue((String) r.getEntity(), MultiDocsResponse.class);
       assertThat(mdr.getProfile())
           .isEqualTo(
@@ -591,18 +623,18 @@ public class DocumentServiceTest extends AbstractDataStoreTest {
       withQuery(table, delete2, 199L, "id3", ImmutableList.of("a")).returningNothing();
 
       now.set(200);
-      DocumentResponseWrapper<Object> r =
-          unwrap(
-              resource.patchDoc(
-                  headers,
-                  uriInfo,
-                  authToken,
-                  keyspace.name(),
-                  table.name(),
-                  "id3",
-                  "{\"a\":123}",
-                  true,
-                  request));
+      resource.patchDoc(
+          headers,
+          uriInfo,
+          authToken,
+          keyspace.name(),
+          table.name(),
+          "id3",
+          "{\"a\":123}",
+          true,
+          request,
+          asyncResponse);
+      DocumentResponseWrapper<Object> r = unwrap(resumed());
       assertThat(r.getProfile())
           .isEqualTo(
               ImmutableExecutionProfile.builder()
@@ -9,9 +9,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.db.datastore.ArrayListBackedRow;
+import io.stargate.db.datastore.MapBackedRow;
 import io.stargate.db.datastore.Row;
 import io.stargate.db.schema.Column;
 import io.stargate.db.schema.Column.Type;
+import io.stargate.db.schema.Table;
+import io.stargate.web.docsapi.DocsApiTestSchemaProvider;
 import io.stargate.web.docsapi.dao.DocumentDB;
 import io.stargate.web.docsapi.service.json.DeadLeaf;
 import io.stargate.web.docsapi.service.json.DeadLeafCollectorImpl;
@@ -290,6 +293,47 @@ public class JsonConverterTest {
         .isEqualTo(mapper.readTree("{\"a\":{\"b\":{\"c\":{}}}}").toString());
   }
 
+  @Test
+  public void convertToJsonDoc_sharedColumns() {
+    List<Row> initial = makeMultipleReplacements();
+
+    // rows of a result page share the same column list
+    List<Column> columns = initial.get(0).columns();
+    List<Row> shared = new ArrayList<>(initial.size());
+    for (Row row : initial) {
+      List<ByteBuffer> values = new ArrayList<>(columns.size());
+      for (int i = 0; i < columns.size(); i++) {
+        values.add(row.getBytesUnsafe(i));
+      }
+      shared.add(new ArrayListBackedRow(columns, values, ProtocolVersion.DEFAULT));
+    }
+
+    assertThat(service.convertToJsonDoc(shared, false, false))
+        .isEqualTo(service.convertToJsonDoc(initial, false, false));
+  }
+
+  @Test
+  public void convertToJsonDoc_mapBackedRows() {
+    Table table = new DocsApiTestSchemaProvider(DocumentDB.MAX_DEPTH).getTable();
+    List<Row> initial = makeInitialRowData(false);
+    initial.addAll(makeSecondRowData(false));
+
+    // rows that only have the columns with a value, each with its own column list
+    List<Row> mapBacked = new ArrayList<>(initial.size());
+    for (Row row : initial) {
+      Map<String, Object> values = new HashMap<>();
+      for (Column column : row.columns()) {
+        if (!row.isNull(column.name())) {
+          values.put(column.name(), row.getObject(column.name()));
+        }
+      }
+      mapBacked.add(MapBackedRow.of(table, values));
+    }
+
+    assertThat(service.convertToJsonDoc(mapBacked, false, false))
+        .isEqualTo(service.convertToJsonDoc(initial, false, false));
+  }
+
   public static List<Row> makeInitialRowData(boolean numericBooleans) {
     List<Row> rows = new ArrayList<>();
     Map<String, Object> data0 = new HashMap<>();
@@ -73,4 +73,17 @@ public class JsonSchemaHandlerTest {
         .hasMessage(
             "Invalid JSON: [object has missing required properties ([\"id\",\"name\",\"price\"])]");
   }
+
+  @Test
+  void testValidateWithReplacedSchema() throws JsonProcessingException, ProcessingException {
+    schemaHandler.validate(schema, "{\"id\":1,\"name\":\"a\",\"price\":1}");
+
+    JsonNode replaced = mapper.readTree("{\"type\": \"object\", \"required\": [\"sku\"]}");
+    schemaHandler.validate(replaced, "{\"sku\":\"a\"}");
+
+    ThrowableAssert.ThrowingCallable action =
+        () -> schemaHandler.validate(replaced, "{\"id\":1,\"name\":\"a\",\"price\":1}");
+    assertThatThrownBy(action)
+        .hasMessage("Invalid JSON: [object has missing required properties ([\"sku\"])]");
+  }
 }
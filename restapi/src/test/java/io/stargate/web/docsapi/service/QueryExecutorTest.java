@@ -463,6 +463,46 @@ class QueryExecutorTest extends AbstractDataStoreTest {
     assertThat(docs.get(3).rows()).extracting(r -> r.getString("p0")).contains("z1", "z2");
   }
 
+  @ParameterizedTest
+  @CsvSource({"1", "2", "3", "4", "5", "100"})
+  void testMergeFollowsStorageTextOrder(int pageSize) throws Exception {
+    // Cassandra orders text by its UTF-8 bytes, where U+FF61 sorts before supplementary
+    // characters, unlike String.compareTo() on their UTF-16 surrogate pairs.
+    String bmp = "\uFF61";
+    String supplementary = "\uD83D\uDE00";
+    withQuery(table, "SELECT * FROM %s WHERE p0 > ?", "x")
+        .withPageSize(pageSize)
+        .returning(
+            ImmutableList.of(
+                row("a", "x", bmp, "", 1.0d),
+                row("a", "x", supplementary, "", 2.0d),
+                row("b", "x", supplementary, "", 3.0d)));
+    withQuery(table, "SELECT * FROM %s WHERE p0 > ?", "y")
+        .withPageSize(pageSize)
+        .returning(
+            ImmutableList.of(
+                row("a", "x", supplementary, "", 2.0d),
+                row("b", "x", bmp, "", 4.0d),
+                row("b", "x", supplementary, "", 3.0d)));
+
+    BuiltQuery<?> query =
+        datastore().queryBuilder().select().star().from(table).where("p0", Predicate.GT).build();
+
+    AbstractBound<?> q1 = query.bind("x");
+    AbstractBound<?> q2 = query.bind("y");
+
+    List<RawDocument> docs =
+        values(executor.queryDocs(ImmutableList.of(q1, q2), pageSize, null, context));
+
+    assertThat(docs).extracting(RawDocument::id).containsExactly("a", "b");
+    assertThat(docs.get(0).rows())
+        .extracting(r -> r.getDouble("test_value"))
+        .containsExactly(1.0d, 2.0d);
+    assertThat(docs.get(1).rows())
+        .extracting(r -> r.getDouble("test_value"))
+        .containsExactly(4.0d, 3.0d);
+  }
+
   @ParameterizedTest
   @CsvSource({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "100"})
   void testMergeSubDocuments(int pageSize) throws Exception {
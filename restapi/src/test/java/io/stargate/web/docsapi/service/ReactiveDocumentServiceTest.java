@@ -119,7 +119,14 @@ class ReactiveDocumentServiceTest {
   public void init() {
     reactiveDocumentService =
         new ReactiveDocumentService(
-            expressionParser, searchService, jsonConverter, objectMapper, timeSource);
+            expressionParser,
+            searchService,
+            jsonConverter,
+            objectMapper,
+            timeSource,
+            new DeadLeafCompactionQueue(),
+            new DocumentCache(objectMapper, 0, 0, Collections.emptyList()),
+            new DocumentBlobCodec(objectMapper));
     lenient()
         .when(documentDB.deleteDeadLeaves(any(), any(), any(), anyLong(), anyMap(), any()))
         .thenReturn(CompletableFuture.completedFuture(deleteResultSet));
@@ -455,6 +462,80 @@ class ReactiveDocumentServiceTest {
     }
   }
 
+  @Nested
+  class ExportDocuments {
+
+    @Test
+    public void happyPath() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ObjectNode documentNode = objectMapper.createObjectNode();
+      ExecutionContext context = ExecutionContext.create(false);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      String fields = "[\"myField\"]";
+      when(documentDB.treatBooleansAsNumeric()).thenReturn(true);
+      when(documentDB.getQueryExecutor()).thenReturn(queryExecutor);
+      when(searchService.exportDocuments(
+              queryExecutor, namespace, collection, Literal.getTrue(), -1L, 1L, context))
+          .thenReturn(Flowable.just(rawDocument));
+      doReturn(documentNode)
+          .when(jsonConverter)
+          .convertToJsonDoc(
+              eq(Collections.singletonList(row)),
+              eq(ImmutableDeadLeafCollector.of()),
+              eq(false),
+              anyBoolean());
+      when(row.getString("p0")).thenReturn("myField");
+      when(rawDocument.id()).thenReturn(documentId);
+      when(rawDocument.rows()).thenReturn(Collections.singletonList(row));
+
+      Single<Flowable<DocumentResponseWrapper<JsonNode>>> result =
+          reactiveDocumentService.exportDocuments(
+              documentDB, namespace, collection, null, fields, -1L, 1L, context);
+
+      result
+          .flatMapPublisher(documents -> documents)
+          .test()
+          .await()
+          .assertValue(
+              wrapper -> {
+                assertThat(wrapper.getDocumentId()).isEqualTo(documentId);
+                assertThat(wrapper.getData()).isEqualTo(documentNode);
+                assertThat(wrapper.getPageState()).isNull();
+                assertThat(wrapper.getProfile()).isNull();
+                return true;
+              })
+          .assertComplete();
+
+      verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
+    }
+
+    @Test
+    public void notAuthorized() throws Exception {
+      ExecutionContext context = ExecutionContext.create(false);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      doThrow(UnauthorizedException.class)
+          .when(authService)
+          .authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
+
+      Single<Flowable<DocumentResponseWrapper<JsonNode>>> result =
+          reactiveDocumentService.exportDocuments(
+              documentDB,
+              namespace,
+              collection,
+              null,
+              null,
+              Long.MIN_VALUE,
+              Long.MAX_VALUE,
+              context);
+
+      result.test().await().assertError(UnauthorizedException.class);
+
+      verifyNoInteractions(searchService);
+    }
+  }
+
   @Nested
   class GetDocument {
 
@@ -476,6 +557,7 @@ class ReactiveDocumentServiceTest {
               collection,
               documentId,
               Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
               context))
           .thenReturn(docs);
       doReturn(documentNode)
@@ -525,6 +607,7 @@ class ReactiveDocumentServiceTest {
               collection,
               documentId,
               Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
               context))
           .thenReturn(docs);
 
@@ -584,6 +667,7 @@ class ReactiveDocumentServiceTest {
               collection,
               documentId,
               Collections.singletonList("prePath"),
+              Collections.singletonList(Arrays.asList("prePath", "myField")),
               context))
           .thenReturn(docs);
 
@@ -625,6 +709,143 @@ class ReactiveDocumentServiceTest {
               eq(namespace), eq(collection), eq(documentId), anyLong(), anyMap(), eq(context));
       verifyNoMoreInteractions(authService);
     }
+
+    @Test
+    public void documentBlobHit() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      JsonNode documentNode = objectMapper.readTree("{\"a\":{\"b\":[1,true,\"c\"]}}");
+      ExecutionContext context = ExecutionContext.create(true);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      ByteBuffer blob = new DocumentBlobCodec(objectMapper).encode(documentNode);
+      when(documentDB.getQueryExecutor()).thenReturn(queryExecutor);
+      when(documentDB.hasDocumentBlob(namespace, collection)).thenReturn(true);
+      when(documentDB.selectDocumentBlob(eq(namespace), eq(collection), eq(documentId), any()))
+          .thenReturn(Maybe.just(blob));
+      // the rows must not be read
+      when(searchService.getDocument(
+              queryExecutor,
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              Collections.emptyList(),
+              context))
+          .thenReturn(Flowable.error(new AssertionError("Rows read on a blob hit")));
+
+      Maybe<DocumentResponseWrapper<? extends JsonNode>> result =
+          reactiveDocumentService.getDocument(
+              documentDB,
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              null,
+              context);
+
+      result
+          .test()
+          .await()
+          .assertValue(
+              wrapper -> {
+                assertThat(wrapper.getDocumentId()).isEqualTo(documentId);
+                assertThat(wrapper.getData()).isEqualTo(documentNode);
+                return true;
+              })
+          .assertComplete();
+
+      verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
+      verifyNoInteractions(jsonConverter);
+    }
+
+    @Test
+    public void documentBlobMiss() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ObjectNode documentNode = objectMapper.createObjectNode().put("a", 1);
+      ExecutionContext context = ExecutionContext.create(true);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      List<Row> rows = Collections.singletonList(row);
+      when(documentDB.getQueryExecutor()).thenReturn(queryExecutor);
+      when(documentDB.hasDocumentBlob(namespace, collection)).thenReturn(true);
+      when(documentDB.selectDocumentBlob(eq(namespace), eq(collection), eq(documentId), any()))
+          .thenReturn(Maybe.empty());
+      when(searchService.getDocument(
+              queryExecutor,
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              Collections.emptyList(),
+              context))
+          .thenReturn(Flowable.just(rawDocument));
+      when(rawDocument.rows()).thenReturn(rows);
+      doReturn(documentNode)
+          .when(jsonConverter)
+          .convertToJsonDoc(eq(rows), any(), eq(false), anyBoolean());
+
+      Maybe<DocumentResponseWrapper<? extends JsonNode>> result =
+          reactiveDocumentService.getDocument(
+              documentDB,
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              null,
+              context);
+
+      result
+          .test()
+          .await()
+          .assertValue(
+              wrapper -> {
+                assertThat(wrapper.getDocumentId()).isEqualTo(documentId);
+                assertThat(wrapper.getData()).isEqualTo(documentNode);
+                return true;
+              })
+          .assertComplete();
+
+      verify(authService).authorizeDataRead(authSubject, namespace, collection, SourceAPI.REST);
+    }
+
+    @Test
+    public void documentBlobNotReadForFields() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ObjectNode documentNode = objectMapper.createObjectNode().put("myField", 1);
+      ExecutionContext context = ExecutionContext.create(true);
+      String namespace = RandomStringUtils.randomAlphanumeric(16);
+      String collection = RandomStringUtils.randomAlphanumeric(16);
+      List<Row> rows = Collections.singletonList(row);
+      when(documentDB.getQueryExecutor()).thenReturn(queryExecutor);
+      when(searchService.getDocument(
+              queryExecutor,
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              Collections.singletonList(Collections.singletonList("myField")),
+              context))
+          .thenReturn(Flowable.just(rawDocument));
+      when(row.getString("p0")).thenReturn("myField");
+      when(rawDocument.rows()).thenReturn(rows);
+      doReturn(documentNode)
+          .when(jsonConverter)
+          .convertToJsonDoc(eq(rows), any(), eq(false), anyBoolean());
+
+      Maybe<DocumentResponseWrapper<? extends JsonNode>> result =
+          reactiveDocumentService.getDocument(
+              documentDB,
+              namespace,
+              collection,
+              documentId,
+              Collections.emptyList(),
+              "[\"myField\"]",
+              context);
+
+      result.test().await().assertValueCount(1).assertComplete();
+
+      verify(documentDB, never()).selectDocumentBlob(any(), any(), any(), any());
+    }
   }
 
   @Nested
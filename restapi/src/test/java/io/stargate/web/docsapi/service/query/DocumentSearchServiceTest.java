@@ -486,6 +486,124 @@ class DocumentSearchServiceTest extends AbstractDataStoreTest {
     }
   }
 
+  @Nested
+  class ExportDocuments {
+
+    @Test
+    public void exportAll() throws Exception {
+      ExecutionContext context = ExecutionContext.create(true);
+
+      String exportCql =
+          "SELECT key, leaf, text_value, dbl_value, bool_value, p0, p1, p2, p3, WRITETIME(leaf) FROM %s WHERE TOKEN(key) > ? AND TOKEN(key) <= ?";
+      ValidatingDataStore.QueryAssert exportAssert =
+          withQuery(TABLE, exportCql, Long.MIN_VALUE, 0L)
+              .withPageSize(configuration.getSearchPageSize())
+              .returning(
+                  Arrays.asList(
+                      ImmutableMap.of("key", "1", "text_value", "value", "p0", "field"),
+                      ImmutableMap.of("key", "2", "text_value", "value", "p0", "field")));
+
+      Flowable<RawDocument> results =
+          service.exportDocuments(
+              new QueryExecutor(datastore()),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              Literal.getTrue(),
+              Long.MIN_VALUE,
+              0L,
+              context);
+
+      // assert results
+      results
+          .test()
+          .await()
+          .assertValueAt(0, doc -> doc.id().equals("1") && doc.rows().size() == 1)
+          .assertValueAt(1, doc -> doc.id().equals("2") && doc.rows().size() == 1)
+          .assertValueCount(2)
+          .assertComplete();
+
+      // assert queries execution
+      exportAssert.assertExecuteCount().isEqualTo(1);
+
+      // assert execution context
+      ExecutionProfile executionProfile = context.toProfile();
+      assertThat(executionProfile.nested())
+          .singleElement()
+          .satisfies(c -> assertThat(c.description()).isEqualTo("ExportDocuments"));
+    }
+
+    @Test
+    public void exportFiltered() throws Exception {
+      ExecutionContext context = ExecutionContext.create(true);
+      FilterPath filterPath = ImmutableFilterPath.of(Collections.singletonList("field"));
+      BaseCondition condition = ImmutableStringCondition.of(EqFilterOperation.of(), "find-me");
+      FilterExpression expression = ImmutableFilterExpression.of(filterPath, condition, 0);
+
+      String exportCql =
+          "SELECT key, leaf, text_value, dbl_value, bool_value, p0, p1, p2, p3, WRITETIME(leaf) FROM %s WHERE TOKEN(key) > ? AND TOKEN(key) <= ?";
+      ValidatingDataStore.QueryAssert exportAssert =
+          withQuery(TABLE, exportCql, -10L, 10L)
+              .withPageSize(configuration.getSearchPageSize())
+              .returning(
+                  Arrays.asList(
+                      ImmutableMap.of(
+                          "key",
+                          "1",
+                          "text_value",
+                          "other",
+                          "p0",
+                          "field",
+                          "p1",
+                          "",
+                          "leaf",
+                          "field"),
+                      ImmutableMap.of(
+                          "key",
+                          "2",
+                          "text_value",
+                          "find-me",
+                          "p0",
+                          "field",
+                          "p1",
+                          "",
+                          "leaf",
+                          "field")));
+
+      Flowable<RawDocument> results =
+          service.exportDocuments(
+              new QueryExecutor(datastore()),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              expression,
+              -10L,
+              10L,
+              context);
+
+      // assert results
+      results.test().await().assertValue(doc -> doc.id().equals("2")).assertComplete();
+
+      // assert queries execution
+      exportAssert.assertExecuteCount().isEqualTo(1);
+    }
+
+    @Test
+    public void exportNothing() throws Exception {
+      ExecutionContext context = ExecutionContext.create(true);
+
+      Flowable<RawDocument> results =
+          service.exportDocuments(
+              new QueryExecutor(datastore()),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              Literal.getFalse(),
+              Long.MIN_VALUE,
+              Long.MAX_VALUE,
+              context);
+
+      results.test().await().assertNoValues().assertComplete();
+    }
+  }
+
   @Nested
   class SearchSubDocuments {
 
@@ -823,6 +941,150 @@ class DocumentSearchServiceTest extends AbstractDataStoreTest {
                         });
               });
     }
+
+    @Test
+    public void getDocumentFields() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+      List<List<String>> fieldPaths =
+          Arrays.asList(
+              Arrays.asList("field", "k1"),
+              Arrays.asList("field", "k3"),
+              Arrays.asList("field", "k1", "nested"));
+
+      String cql =
+          "SELECT key, leaf, text_value, dbl_value, bool_value, p0, p1, p2, p3, WRITETIME(leaf) FROM %s WHERE p0 = ? AND p1 = ? AND key = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert k1Assert =
+          withQuery(TABLE, cql, "field", "k1", documentId)
+              .withPageSize(configuration.getSearchPageSize())
+              .returning(
+                  Collections.singletonList(
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v1", "p0", "field", "p1", "k1")));
+      ValidatingDataStore.QueryAssert k3Assert =
+          withQuery(TABLE, cql, "field", "k3", documentId)
+              .withPageSize(configuration.getSearchPageSize())
+              .returning(
+                  Collections.singletonList(
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v3", "p0", "field", "p1", "k3")));
+
+      Flowable<RawDocument> results =
+          service.getDocument(
+              new QueryExecutor(datastore()),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              documentId,
+              subPath,
+              fieldPaths,
+              context);
+
+      // assert results
+      results
+          .test()
+          .await()
+          .assertValue(
+              doc -> {
+                assertThat(doc.id()).isEqualTo(documentId);
+                assertThat(doc.rows())
+                    .extracting(row -> row.getString("p1"))
+                    .containsExactly("k1", "k3");
+                return true;
+              })
+          .assertComplete();
+
+      // assert queries execution, the nested field path is covered by its parent
+      k1Assert.assertExecuteCount().isEqualTo(1);
+      k3Assert.assertExecuteCount().isEqualTo(1);
+
+      // assert execution context
+      ExecutionProfile executionProfile = context.toProfile();
+      assertThat(executionProfile.nested())
+          .singleElement()
+          .satisfies(c -> assertThat(c.description()).isEqualTo("GetDocumentFields"));
+    }
+
+    @Test
+    public void getDocumentFieldsNotExisting() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+      List<List<String>> fieldPaths = Collections.singletonList(Arrays.asList("field", "k1"));
+
+      String fieldCql =
+          "SELECT key, leaf, text_value, dbl_value, bool_value, p0, p1, p2, p3, WRITETIME(leaf) FROM %s WHERE p0 = ? AND p1 = ? AND key = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert fieldAssert =
+          withQuery(TABLE, fieldCql, "field", "k1", documentId)
+              .withPageSize(configuration.getSearchPageSize())
+              .returningNothing();
+      String existsCql =
+          "SELECT key, leaf, text_value, dbl_value, bool_value, p0, p1, p2, p3, WRITETIME(leaf) FROM %s WHERE p0 = ? AND key = ? LIMIT ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert existsAssert =
+          withQuery(TABLE, existsCql, "field", documentId, 1)
+              .withPageSize(configuration.getSearchPageSize())
+              .returning(
+                  Collections.singletonList(
+                      ImmutableMap.of(
+                          "key", documentId, "text_value", "v2", "p0", "field", "p1", "k2")));
+
+      Flowable<RawDocument> results =
+          service.getDocument(
+              new QueryExecutor(datastore()),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              documentId,
+              subPath,
+              fieldPaths,
+              context);
+
+      // document is returned, the caller filters the rows that are not on the field paths
+      results
+          .test()
+          .await()
+          .assertValue(
+              doc -> {
+                assertThat(doc.id()).isEqualTo(documentId);
+                assertThat(doc.rows()).hasSize(1);
+                return true;
+              })
+          .assertComplete();
+
+      // assert queries execution
+      fieldAssert.assertExecuteCount().isEqualTo(1);
+      existsAssert.assertExecuteCount().isEqualTo(1);
+    }
+
+    @Test
+    public void getDocumentFieldsWithGlob() throws Exception {
+      String documentId = RandomStringUtils.randomAlphanumeric(16);
+      ExecutionContext context = ExecutionContext.create(true);
+      List<String> subPath = Collections.singletonList("field");
+      List<List<String>> fieldPaths = Collections.singletonList(Arrays.asList("field", "*"));
+
+      String cql =
+          "SELECT key, leaf, text_value, dbl_value, bool_value, p0, p1, p2, p3, WRITETIME(leaf) FROM %s WHERE p0 = ? AND key = ? ALLOW FILTERING";
+      ValidatingDataStore.QueryAssert cqlAssert =
+          withQuery(TABLE, cql, "field", documentId)
+              .withPageSize(configuration.getSearchPageSize())
+              .returning(
+                  Collections.singletonList(
+                      ImmutableMap.of("key", documentId, "text_value", "v1", "p0", "field")));
+
+      Flowable<RawDocument> results =
+          service.getDocument(
+              new QueryExecutor(datastore()),
+              KEYSPACE_NAME,
+              COLLECTION_NAME,
+              documentId,
+              subPath,
+              fieldPaths,
+              context);
+
+      // glob matches the empty path as well, thus the full sub-document is read
+      results.test().await().assertValueCount(1).assertComplete();
+      cqlAssert.assertExecuteCount().isEqualTo(1);
+    }
   }
 
   @Nested
@@ -0,0 +1,182 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.stargate.web.docsapi.service.query.eval;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bpodgursky.jbool_expressions.And;
+import com.bpodgursky.jbool_expressions.Literal;
+import com.bpodgursky.jbool_expressions.Not;
+import com.bpodgursky.jbool_expressions.Or;
+import com.bpodgursky.jbool_expressions.Variable;
+import io.stargate.db.datastore.Row;
+import io.stargate.web.docsapi.service.query.FilterExpression;
+import io.stargate.web.docsapi.service.query.condition.BaseCondition;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CompiledExpressionTest {
+
+  @Mock FilterExpression expression;
+
+  @Mock FilterExpression expression2;
+
+  @Mock BaseCondition baseCondition;
+
+  @Mock Row row;
+
+  List<Row> rows;
+
+  @BeforeEach
+  public void init() {
+    rows = Collections.singletonList(row);
+    lenient().when(expression.getCondition()).thenReturn(baseCondition);
+    lenient().when(expression2.getCondition()).thenReturn(baseCondition);
+  }
+
+  @Nested
+  class SingleExpression {
+
+    @Test
+    public void evalTrue() {
+      when(expression.test(rows)).thenReturn(true);
+      when(expression.matchesFilterPath(any())).thenReturn(true);
+
+      boolean result = CompiledExpression.compile(expression).test(rows);
+
+      assertThat(result).isTrue();
+      verify(expression).test(rows);
+    }
+
+    @Test
+    public void evalFalse() {
+      when(expression.test(rows)).thenReturn(false);
+      when(expression.matchesFilterPath(any())).thenReturn(true);
+
+      boolean result = CompiledExpression.compile(expression).test(rows);
+
+      assertThat(result).isFalse();
+      verify(expression).test(rows);
+    }
+
+    @Test
+    public void evalNotOnPathButEvaluateOnMissingFields() {
+      when(expression.test(rows)).thenReturn(true);
+      when(baseCondition.isEvaluateOnMissingFields()).thenReturn(true);
+
+      boolean result = CompiledExpression.compile(expression).test(rows);
+
+      assertThat(result).isTrue();
+      verify(expression).test(rows);
+    }
+
+    @Test
+    public void notOnPathNotEvaluateOnMissingFields() {
+      when(expression.matchesFilterPath(any())).thenReturn(false);
+
+      boolean result = CompiledExpression.compile(expression).test(rows);
+
+      assertThat(result).isFalse();
+      verify(expression, never()).test(rows);
+    }
+  }
+
+  @Nested
+  class Composite {
+
+    @Test
+    public void andShortCircuits() {
+      when(expression.matchesFilterPath(any())).thenReturn(false);
+
+      boolean result = CompiledExpression.compile(And.of(expression, expression2)).test(rows);
+
+      assertThat(result).isFalse();
+      verify(expression2, never()).matchesFilterPath(any());
+      verify(expression2, never()).test(rows);
+    }
+
+    @Test
+    public void orShortCircuits() {
+      when(expression.matchesFilterPath(any())).thenReturn(true);
+      when(expression.test(rows)).thenReturn(true);
+
+      boolean result = CompiledExpression.compile(Or.of(expression, expression2)).test(rows);
+
+      assertThat(result).isTrue();
+      verify(expression2, never()).matchesFilterPath(any());
+      verify(expression2, never()).test(rows);
+    }
+
+    @Test
+    public void filterExpressionEvaluatedOncePerDocument() {
+      when(expression.matchesFilterPath(any())).thenReturn(true);
+      when(expression.test(rows)).thenReturn(false);
+      when(expression2.matchesFilterPath(any())).thenReturn(true);
+      when(expression2.test(rows)).thenReturn(true);
+
+      // (e1 || e2) && (e1 || !e2)
+      CompiledExpression compiled =
+          CompiledExpression.compile(
+              And.of(Or.of(expression, expression2), Or.of(expression, Not.of(expression2))));
+
+      assertThat(compiled.test(rows)).isFalse();
+      verify(expression).test(rows);
+      verify(expression2).test(rows);
+    }
+
+    @Test
+    public void nestedExpressionsEvaluatedLast() {
+      when(expression.matchesFilterPath(any())).thenReturn(true);
+      when(expression.test(rows)).thenReturn(false);
+
+      // the nested OR is never evaluated, although given first
+      boolean result =
+          CompiledExpression.compile(And.of(Or.of(expression2, Not.of(expression2)), expression))
+              .test(rows);
+
+      assertThat(result).isFalse();
+      verify(expression2, never()).matchesFilterPath(any());
+      verify(expression2, never()).test(rows);
+    }
+
+    @Test
+    public void literals() {
+      assertThat(CompiledExpression.compile(Literal.getTrue()).test(rows)).isTrue();
+      assertThat(CompiledExpression.compile(Not.of(Literal.getTrue())).test(rows)).isFalse();
+    }
+
+    @Test
+    public void variablesNotSupported() {
+      assertThatThrownBy(() -> CompiledExpression.compile(Variable.of(expression)))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+}
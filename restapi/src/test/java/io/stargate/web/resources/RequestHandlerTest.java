@@ -0,0 +1,100 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.web.resources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.stargate.auth.UnauthorizedException;
+import io.stargate.web.models.Error;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import org.apache.cassandra.stargate.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class RequestHandlerTest {
+
+  private AsyncResponse asyncResponse;
+
+  @BeforeEach
+  void setup() {
+    asyncResponse = mock(AsyncResponse.class);
+  }
+
+  private Response resumed() {
+    ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+    verify(asyncResponse).resume(captor.capture());
+    return captor.getValue();
+  }
+
+  @Test
+  void resumedOnCompletion() {
+    CompletableFuture<Response> future = new CompletableFuture<>();
+
+    RequestHandler.handleAsync(asyncResponse, () -> future);
+    verify(asyncResponse, never()).resume(any(Object.class));
+
+    future.complete(Response.status(Response.Status.CREATED).build());
+    assertThat(resumed().getStatus()).isEqualTo(Response.Status.CREATED.getStatusCode());
+  }
+
+  @Test
+  void actionFailureMappedAsBlocking() {
+    RequestHandler.handleAsync(
+        asyncResponse,
+        () -> {
+          throw new IllegalArgumentException("no good");
+        });
+
+    Response response = resumed();
+    assertThat(response.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+    assertThat(((Error) response.getEntity()).getDescription()).isEqualTo("Bad request: no good");
+  }
+
+  @Test
+  void persistenceFailureMappedAsBlockingGet() {
+    CompletableFuture<Response> future = new CompletableFuture<>();
+    InvalidRequestException failure = new InvalidRequestException("bad query");
+
+    RequestHandler.handleAsync(asyncResponse, () -> future.thenApply(r -> r));
+    future.completeExceptionally(failure);
+
+    Response response = resumed();
+    assertThat(response.getStatus()).isEqualTo(Response.Status.BAD_REQUEST.getStatusCode());
+    assertThat(((Error) response.getEntity()).getDescription())
+        .isEqualTo("Bad request: " + failure);
+  }
+
+  @Test
+  void unauthorizedFailure() {
+    RequestHandler.handleAsync(
+        asyncResponse,
+        () -> {
+          CompletableFuture<Response> future = new CompletableFuture<>();
+          future.completeExceptionally(new CompletionException(new UnauthorizedException("no")));
+          return future;
+        });
+
+    assertThat(resumed().getStatus()).isEqualTo(Response.Status.UNAUTHORIZED.getStatusCode());
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright The Stargate Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.stargate.starter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.osgi.framework.Constants;
+
+/**
+ * Installs and starts the Stargate bundles.
+ *
+ * <p>The bundle cache is reused across restarts: the bundles whose jar did not change since the
+ * previous start are not installed again, and the cached bundles whose jar is gone are uninstalled.
+ * A jar is considered changed if its size or modification time differs from the one recorded when
+ * it was installed.
+ *
+ * <p>The activators of the Stargate bundles only open service trackers when their bundle starts,
+ * and start their services once all the services they depend on are registered, concurrently when
+ * the {@code stargate.parallel_start} property is set (see {@code BaseActivator}). So starting the
+ * bundles is quick, and the dependencies declared by the activators are what order the start-up.
+ * Once the bundles are started, this waits for the activators to complete, and prints the start-up
+ * timeline that they recorded.
+ */
+class BundleStartup {
+
+  static final String FINGERPRINTS_FILE = "stargate-bundles.properties";
+
+  private static final String CORE_BUNDLE = "io.stargate.core";
+  private static final String TIMELINE_CLASS = "io.stargate.core.activator.StartupTimeline";
+
+  private final BundleContext context;
+
+  BundleStartup(BundleContext context) {
+    this.context = context;
+  }
+
+  /**
+   * Installs the bundles of the given jars, re-using the cached ones. This must be called before
+   * the framework is started, so that the cached bundles are not started before being updated.
+   *
+   * @return the bundles, in the order of the jars.
+   */
+  List<Bundle> install(List<File> jars) throws BundleException {
+    File fingerprintsFile = context.getDataFile(FINGERPRINTS_FILE);
+    Properties fingerprints = load(fingerprintsFile);
+
+    Set<String> locations = new HashSet<>();
+    List<Bundle> bundles = new ArrayList<>(jars.size());
+    for (File jar : jars) {
+      String location = jar.toURI().toString();
+      String fingerprint = fingerprint(jar);
+      locations.add(location);
+
+      Bundle bundle = context.getBundle(location);
+      if (bundle == null) {
+        System.out.println("Installing bundle " + jar.getName());
+        bundle = context.installBundle(location);
+      } else if (!fingerprint.equals(fingerprints.getProperty(location))) {
+        System.out.println("Updating cached bundle " + jar.getName());
+        bundle.update();
+      } else {
+        System.out.println("Using cached bundle " + jar.getName());
+      }
+      // Clear the autostart setting persisted by a previous run, the bundles are started by start()
+      bundle.stop();
+      fingerprints.setProperty(location, fingerprint);
+      bundles.add(bundle);
+    }
+
+    for (Bundle bundle : context.getBundles()) {
+      if (bundle.getBundleId() != Constants.SYSTEM_BUNDLE_ID
+          && !locations.contains(bundle.getLocation())) {
+        System.out.println("Uninstalling cached bundle " + bundle.getSymbolicName());
+        fingerprints.remove(bundle.getLocation());
+        bundle.uninstall();
+      }
+    }
+
+    store(fingerprints, fingerprintsFile);
+    return bundles;
+  }
+
+  static String fingerprint(File jar) {
+    return jar.length() + ":" + jar.lastModified();
+  }
+
+  private static Properties load(File file) {
+    Properties properties = new Properties();
+    if (file != null && file.isFile()) {
+      try (InputStream in = new FileInputStream(file)) {
+        properties.load(in);
+      } catch (IOException e) {
+        // Worst case, all the bundles are updated
+        System.err.println("Unable to read " + file + ": " + e.getMessage());
+      }
+    }
+    return properties;
+  }
+
+  private static void store(Properties properties, File file) {
+    if (file == null) {
+      return;
+    }
+    try (OutputStream out = new FileOutputStream(file)) {
+      properties.store(out, "Jars of the cached Stargate bundles, as <size>:<last modified>");
+    } catch (IOException e) {
+      System.err.println("Unable to write " + file + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Starts the bundles, then waits for their activators to start their services.
+   *
+   * @param timeoutMillis how long to wait for the activators, zero to wait indefinitely.
+   * @return whether all the activators whose dependencies are available started successfully.
+   */
+  boolean start(List<Bundle> bundles, long timeoutMillis) throws BundleException {
+    long startNanos = System.nanoTime();
+    for (Bundle bundle : bundles) {
+      System.out.println("Starting bundle " + bundle.getSymbolicName());
+      bundle.start();
+    }
+
+    boolean success = awaitActivators(bundles, timeoutMillis);
+    System.out.printf(
+        "Started %d bundles in %d ms%n",
+        bundles.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    return success;
+  }
+
+  private boolean awaitActivators(List<Bundle> bundles, long timeoutMillis) {
+    Class<?> timeline = null;
+    for (Bundle bundle : bundles) {
+      if (CORE_BUNDLE.equals(bundle.getSymbolicName())) {
+        try {
+          timeline = bundle.loadClass(TIMELINE_CLASS);
+        } catch (ClassNotFoundException e) {
+          // An older core bundle, nothing to wait for
+        }
+      }
+    }
+    if (timeline == null) {
+      return true;
+    }
+
+    // The timeline is loaded by the core bundle, hence the reflection
+    try {
+      Method await = timeline.getMethod("await", long.class);
+      boolean completed = (Boolean) await.invoke(null, timeoutMillis);
+      System.out.println(timeline.getMethod("format").invoke(null));
+      if (!completed) {
+        System.out.printf("Services did not finish starting within %d ms%n", timeoutMillis);
+        return false;
+      }
+      return !(Boolean) timeline.getMethod("hasFailures").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
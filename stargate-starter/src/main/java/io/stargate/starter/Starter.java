@@ -83,6 +83,13 @@ public class Starter {
       System.getProperty("stargate.libdir", "../stargate-lib");
   protected static final String CACHE_DIRECTORY = System.getProperty("stargate.bundle.cache.dir");
 
+  /** Whether to clear the bundle cache on start, rather than re-using the unchanged bundles. */
+  protected static final boolean CLEAN_CACHE = Boolean.getBoolean("stargate.bundle.cache.clean");
+
+  /** How long to wait for the services to start, zero to wait indefinitely. */
+  protected static final long STARTUP_TIMEOUT_MILLIS =
+      Long.getLong("stargate.startup_timeout_ms", 0);
+
   @Retention(RetentionPolicy.RUNTIME)
   public @interface Order {
     int value();
@@ -357,6 +364,10 @@ public class Starter {
     System.setProperty(
         "org.apache.cassandra.disable_mbean_registration",
         String.valueOf(disableMBeanRegistration));
+    if (System.getProperty("stargate.parallel_start") == null) {
+      // Start the services of the bundles concurrently, as their dependencies become available
+      System.setProperty("stargate.parallel_start", "true");
+    }
 
     if (bindToListenAddressOnly) {
       // Restrict the listen address for Jersey endpoints
@@ -397,15 +408,11 @@ public class Starter {
     context.addFrameworkListener(new BundleFailureListener());
     File[] files = new File(JAR_DIRECTORY).listFiles();
     List<File> jars = pickBundles(files);
-    framework.start();
 
-    bundleList = new ArrayList<>();
     // Install bundle JAR files and remember the bundle objects.
-    for (File jar : jars) {
-      System.out.println("Installing bundle " + jar.getName());
-      Bundle b = context.installBundle(jar.toURI().toString());
-      bundleList.add(b);
-    }
+    BundleStartup bundleStartup = new BundleStartup(context);
+    bundleList = bundleStartup.install(jars);
+    framework.start();
 
     if (nodetool) {
       Bundle bundle = bundleList.get(0); // expect the persistence bundle to be first in the list
@@ -426,9 +433,8 @@ public class Starter {
     }
 
     // Start all installed bundles.
-    for (Bundle bundle : bundleList) {
-      System.out.println("Starting bundle " + bundle.getSymbolicName());
-      bundle.start();
+    if (!bundleStartup.start(bundleList, STARTUP_TIMEOUT_MILLIS)) {
+      startError.set(true);
     }
 
     if (startError.get()) {
@@ -443,7 +449,9 @@ public class Starter {
 
   protected Map<String, String> felixConfig() {
     Map<String, String> configMap = new HashMap<>();
-    configMap.put(Constants.FRAMEWORK_STORAGE_CLEAN, "onFirstInit");
+    if (CLEAN_CACHE) {
+      configMap.put(Constants.FRAMEWORK_STORAGE_CLEAN, "onFirstInit");
+    }
     configMap.put(
         FelixConstants.LOG_LEVEL_PROP,
         System.getProperty("felix.log.level", String.valueOf(Logger.LOG_WARNING)));
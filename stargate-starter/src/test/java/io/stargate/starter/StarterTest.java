@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.osgi.framework.Constants;
 
 class StarterTest {
 
@@ -207,4 +208,25 @@ class StarterTest {
 
     assertThat(thrown.getMessage()).isEqualTo("--listen must be a valid IPv4 or IPv6 address");
   }
+
+  @Test
+  void testParallelStartByDefault() {
+    starter.setStargateProperties();
+
+    assertThat(System.getProperty("stargate.parallel_start")).isEqualTo("true");
+  }
+
+  @Test
+  void testParallelStartCanBeDisabled() {
+    System.setProperty("stargate.parallel_start", "false");
+
+    starter.setStargateProperties();
+
+    assertThat(System.getProperty("stargate.parallel_start")).isEqualTo("false");
+  }
+
+  @Test
+  void testBundleCacheIsReused() {
+    assertThat(starter.felixConfig()).doesNotContainKey(Constants.FRAMEWORK_STORAGE_CLEAN);
+  }
 }